@@ -0,0 +1,92 @@
+package cucumber.runtime;
+
+import net.thucydides.core.pages.Pages;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating the glue of one scenario. {@code reflectiveInstantiation} looks up the constructors of each glue class
+ * for every scenario, as the SerenityObjectFactory used to do, while {@code plannedInstantiation} uses the cached instantiation plans.
+ * {@code factoryPerScenario} adds the Serenity injection done by the factory, to show how much of the total the instantiation is.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerenityObjectFactoryBenchmark {
+
+    public static class CalculatorSteps {
+    }
+
+    public static class AccountSteps {
+    }
+
+    public static class SearchSteps {
+        public SearchSteps(Pages pages) {
+        }
+    }
+
+    public static class NavigationSteps {
+        public NavigationSteps(Pages pages) {
+        }
+    }
+
+    private final List<Class<?>> glueClasses = Arrays.asList(CalculatorSteps.class, AccountSteps.class, SearchSteps.class, NavigationSteps.class);
+
+    private final Pages pages = new Pages();
+
+    @Benchmark
+    public void reflectiveInstantiation(Blackhole blackhole) throws ReflectiveOperationException {
+        for (Class<?> glueClass : glueClasses) {
+            if (hasConstructorWithPagesParameter(glueClass)) {
+                Constructor<?> constructor = glueClass.getConstructor(Pages.class);
+                blackhole.consume(constructor.newInstance(pages));
+            } else {
+                blackhole.consume(glueClass.getConstructor().newInstance());
+            }
+        }
+    }
+
+    private boolean hasConstructorWithPagesParameter(Class<?> type) {
+        try {
+            type.getConstructor(Pages.class);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public void plannedInstantiation(Blackhole blackhole) throws Throwable {
+        for (Class<?> glueClass : glueClasses) {
+            GlueInstantiationPlan plan = GlueInstantiationPlan.forClass(glueClass);
+            blackhole.consume(plan.isPageEnabled() ? plan.newInstance(pages) : plan.newInstance());
+        }
+    }
+
+    @Benchmark
+    public void factoryPerScenario(Blackhole blackhole) {
+        SerenityObjectFactory factory = new SerenityObjectFactory();
+        glueClasses.forEach(factory::addClass);
+        factory.start();
+        for (Class<?> glueClass : glueClasses) {
+            blackhole.consume(factory.getInstance(glueClass));
+        }
+        factory.stop();
+    }
+}
@@ -0,0 +1,76 @@
+package net.serenitybdd.cucumber.model;
+
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Compares the time taken to load a large number of feature files with and without the persistent feature cache.
+ * <p>
+ * Each measurement is repeated, as the first rounds mostly measure JIT warm-up.
+ * <p>
+ * Usage: FeatureCacheStartupBenchmark [featureCount] [scenariosPerFeature] [rounds]
+ */
+public class FeatureCacheStartupBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int featureCount = (args.length > 0) ? Integer.parseInt(args[0]) : 2000;
+        int scenariosPerFeature = (args.length > 1) ? Integer.parseInt(args[1]) : 20;
+        int rounds = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+
+        Path workingDirectory = Files.createTempDirectory("feature-cache-benchmark");
+        try {
+            File featureDirectory = generateFeatures(workingDirectory.resolve("features").toFile(), featureCount, scenariosPerFeature);
+            List<URI> featurePaths = singletonList(featureDirectory.toURI());
+            ResourceLoader resourceLoader = new MultiLoader(FeatureCacheStartupBenchmark.class.getClassLoader());
+            PersistentFeatureCache persistentCache = new PersistentFeatureCache(workingDirectory.resolve("feature-cache"));
+
+            for (int round = 1; round <= rounds; round++) {
+                System.out.println("Round " + round);
+                FileUtils.deleteQuietly(persistentCache.getCacheDirectory().toFile());
+                time("Parsing without a persistent cache", () -> new FeatureCache().load(resourceLoader, featurePaths).size());
+                time("Cold start (parse and store)", () -> new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, featurePaths).size());
+                time("Warm start (load from disk)", () -> new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, featurePaths).size());
+            }
+        } finally {
+            FileUtils.deleteQuietly(workingDirectory.toFile());
+        }
+    }
+
+    private static void time(String description, Supplier<Integer> loadFeatures) {
+        long start = System.nanoTime();
+        int loadedFeatures = loadFeatures.get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(String.format("%-40s %6d ms (%d features)", description, elapsedMillis, loadedFeatures));
+    }
+
+    private static File generateFeatures(File featureDirectory, int featureCount, int scenariosPerFeature) throws IOException {
+        Files.createDirectories(featureDirectory.toPath());
+        for (int feature = 0; feature < featureCount; feature++) {
+            StringBuilder source = new StringBuilder();
+            source.append("@generated\nFeature: Generated feature ").append(feature).append("\n\n");
+            source.append("  Background:\n    Given a calculator I just turned on\n\n");
+            for (int scenario = 0; scenario < scenariosPerFeature; scenario++) {
+                source.append("  @scenario_").append(scenario).append("\n");
+                source.append("  Scenario Outline: Generated scenario ").append(scenario).append("\n");
+                source.append("    Given the previous entries:\n      | first | second |\n      | 1     | 2      |\n");
+                source.append("    When I add <a> and <b>\n    Then the result is <c>\n\n");
+                source.append("    Examples:\n      | a | b | c |\n      | 1 | 2 | 3 |\n      | 2 | 3 | 5 |\n\n");
+            }
+            Files.write(new File(featureDirectory, "generated_" + feature + ".feature").toPath(), source.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return featureDirectory;
+    }
+}
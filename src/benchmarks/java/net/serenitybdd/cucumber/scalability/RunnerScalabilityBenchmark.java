@@ -0,0 +1,279 @@
+package net.serenitybdd.cucumber.scalability;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import cucumber.runtime.Runtime;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.junit.CucumberSerenityRunner;
+import net.serenitybdd.cucumber.model.FeatureCache;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.InitializationError;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_BATCH_COUNT;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_BATCH_NUMBER;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_FORK_COUNT;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_FORK_NUMBER;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_OUTPUT_DIRECTORY;
+
+/**
+ * Measures how the CucumberSerenityRunner scales with the size of a suite, using synthetic feature trees of increasing size.
+ * For each suite, it records:
+ * <ul>
+ *     <li>how long it takes to construct the runner (loading and parsing every feature) and the peak heap usage while doing so,</li>
+ *     <li>how long getChildren() takes, with every feature and when slicing the suite between batches and forks,</li>
+ *     <li>how long a run of the suite takes with the runner, compared to a plain Cucumber run without Serenity,
+ *     giving the reporter overhead for each step, and the peak heap usage during the run.</li>
+ * </ul>
+ * The step definitions do nothing, so the measurements only cover Cucumber, the runner and the reporter.
+ * <p>
+ * Results are appended to a JSON array in the results file, so that the scaling curves of different versions can be charted together.
+ * Peak heap usage is the sum of the peak usage of each heap memory pool, so it is an upper bound.
+ * The first suite also measures the warm-up of the JVM and of Serenity, so the list of suites should start with a small one.
+ * Run with a large enough heap (-Xmx) for the largest suite and, on Java 9 and later, with --add-opens java.base/java.lang=ALL-UNNAMED.
+ * <p>
+ * Usage: RunnerScalabilityBenchmark [--features=10,100,1000] [--scenarios=10] [--outlines=1] [--rows=10] [--background-steps=1]
+ * [--steps=3] [--batches=4] [--forks=2] [--run=true] [--label=name] [--results=runner-scalability.json]
+ */
+public class RunnerScalabilityBenchmark {
+
+    private static final String GLUE = "classpath:net/serenitybdd/cucumber/scalability/glue";
+
+    private final Map<String, String> options;
+    private final Path featureDirectory;
+    private final EnvironmentVariables environmentVariables;
+
+    private RunnerScalabilityBenchmark(Map<String, String> options, Path featureDirectory, EnvironmentVariables environmentVariables) {
+        this.options = options;
+        this.featureDirectory = featureDirectory;
+        this.environmentVariables = environmentVariables;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = optionsFrom(args);
+        Path workingDirectory = Files.createTempDirectory("runner-scalability");
+        Path featureDirectory = workingDirectory.resolve("features");
+
+        // Cucumber and Serenity read these once, so they must be set before either is used
+        System.setProperty("cucumber.options", "--plugin null_summary " + featureDirectory.toAbsolutePath());
+        System.setProperty(SERENITY_OUTPUT_DIRECTORY.getPropertyName(), workingDirectory.resolve("serenity").toString());
+        EnvironmentVariables environmentVariables = Injectors.getInjector().getInstance(EnvironmentVariables.class);
+
+        Path resultsFile = Paths.get(options.getOrDefault("results", "runner-scalability.json"));
+        try {
+            RunnerScalabilityBenchmark benchmark = new RunnerScalabilityBenchmark(options, featureDirectory, environmentVariables);
+            for (String features : options.getOrDefault("features", "10,100,1000").split(",")) {
+                Map<String, Object> result = benchmark.measure(suiteWith(Integer.parseInt(features.trim()), options));
+                System.out.println(result);
+                appendTo(resultsFile, result);
+            }
+        } finally {
+            FileUtils.deleteQuietly(workingDirectory.toFile());
+        }
+        System.out.println("Results written to " + resultsFile.toAbsolutePath());
+    }
+
+    private static SyntheticFeatureTree suiteWith(int features, Map<String, String> options) {
+        return new SyntheticFeatureTree()
+                .withFeatures(features)
+                .withScenariosPerFeature(Integer.parseInt(options.getOrDefault("scenarios", "10")))
+                .withOutlinesPerFeature(Integer.parseInt(options.getOrDefault("outlines", "1")))
+                .withExampleRowsPerOutline(Integer.parseInt(options.getOrDefault("rows", "10")))
+                .withBackgroundSteps(Integer.parseInt(options.getOrDefault("background-steps", "1")))
+                .withStepsPerScenario(Integer.parseInt(options.getOrDefault("steps", "3")));
+    }
+
+    private Map<String, Object> measure(SyntheticFeatureTree suite) throws Exception {
+        FileUtils.deleteQuietly(featureDirectory.toFile());
+        suite.writeTo(featureDirectory);
+        FeatureCache.shared().clear();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", options.getOrDefault("label", versionLabel()));
+        result.put("date", ZonedDateTime.now().toString());
+        result.put("javaVersion", System.getProperty("java.version"));
+        result.put("maxHeapBytes", java.lang.Runtime.getRuntime().maxMemory());
+        result.put("suite", suite.settings());
+
+        resetPeakHeapUsage();
+        CucumberSerenityRunner runner = timed(result, "constructionMillis", this::newRunner);
+        result.put("constructionPeakHeapBytes", peakHeapUsage());
+        timed(result, "getChildrenMillis", () -> runner.getChildren().size());
+
+        int batches = Integer.parseInt(options.getOrDefault("batches", "4"));
+        int forks = Integer.parseInt(options.getOrDefault("forks", "2"));
+        result.put("batches", batches);
+        result.put("forks", forks);
+        sliceInto(batches, forks);
+        try {
+            CucumberSerenityRunner slicingRunner = newRunner();
+            timed(result, "slicedGetChildrenMillis", () -> slicingRunner.getChildren().size());
+        } finally {
+            sliceInto(1, 1);
+        }
+
+        if (Boolean.parseBoolean(options.getOrDefault("run", "true"))) {
+            measureRuns(suite, result);
+        }
+        return result;
+    }
+
+    private void measureRuns(SyntheticFeatureTree suite, Map<String, Object> result) {
+        CucumberSerenityRunner runner = newRunner();
+        RunNotifier notifier = new RunNotifier();
+        AtomicInteger testsRun = new AtomicInteger();
+        AtomicInteger testFailures = new AtomicInteger();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                testsRun.incrementAndGet();
+            }
+
+            @Override
+            public void testFailure(Failure failure) {
+                testFailures.incrementAndGet();
+            }
+        });
+
+        resetPeakHeapUsage();
+        long runMillis = timed(result, "runMillis", () -> runner.run(notifier));
+        result.put("runPeakHeapBytes", peakHeapUsage());
+        result.put("testsRun", testsRun.get());
+        result.put("testFailures", testFailures.get());
+
+        Runtime plainCucumberRuntime = plainCucumberRuntime();
+        long baselineMillis = timed(result, "baselineRunMillis", plainCucumberRuntime::run);
+        result.put("reporterOverheadMicrosPerStep", (runMillis - baselineMillis) * 1000.0 / Math.max(1, suite.stepCount()));
+    }
+
+    private CucumberSerenityRunner newRunner() {
+        try {
+            return new CucumberSerenityRunner(SyntheticSuiteRunner.class);
+        } catch (InitializationError e) {
+            throw new IllegalStateException("Could not create the runner: " + e.getCauses(), e);
+        }
+    }
+
+    /**
+     * The same suite run by Cucumber alone, without the Serenity reporter.
+     */
+    private Runtime plainCucumberRuntime() {
+        ResourceLoader resourceLoader = new MultiLoader(getClass().getClassLoader());
+        RuntimeOptions runtimeOptions = new CommandlineOptionsParser(resourceLoader)
+                .parse(Arrays.asList("--glue", GLUE, "--plugin", "null_summary", featureDirectory.toAbsolutePath().toString()))
+                .build();
+        return Runtime.builder()
+                .withRuntimeOptions(runtimeOptions)
+                .withClassLoader(getClass().getClassLoader())
+                .withResourceLoader(resourceLoader)
+                .build();
+    }
+
+    private void sliceInto(int batches, int forks) {
+        environmentVariables.setProperty(SERENITY_BATCH_COUNT.getPropertyName(), Integer.toString(batches));
+        environmentVariables.setProperty(SERENITY_BATCH_NUMBER.getPropertyName(), "1");
+        environmentVariables.setProperty(SERENITY_FORK_COUNT.getPropertyName(), Integer.toString(forks));
+        environmentVariables.setProperty(SERENITY_FORK_NUMBER.getPropertyName(), "1");
+    }
+
+    private static <T> T timed(Map<String, Object> result, String measurement, Supplier<T> action) {
+        long start = System.nanoTime();
+        T value = action.get();
+        result.put(measurement, (System.nanoTime() - start) / 1_000_000);
+        return value;
+    }
+
+    private static long timed(Map<String, Object> result, String measurement, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        result.put(measurement, elapsedMillis);
+        return elapsedMillis;
+    }
+
+    private static void resetPeakHeapUsage() {
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsage() {
+        return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                heapPools.add(pool);
+            }
+        }
+        return heapPools;
+    }
+
+    private static String versionLabel() {
+        String version = CucumberSerenityRunner.class.getPackage().getImplementationVersion();
+        return (version != null) ? version : "development";
+    }
+
+    private static Map<String, String> optionsFrom(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected an option of the form --name=value, but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static void appendTo(Path resultsFile, Map<String, Object> result) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        JsonArray results = new JsonArray();
+        if (Files.isRegularFile(resultsFile)) {
+            try (Reader reader = Files.newBufferedReader(resultsFile, StandardCharsets.UTF_8)) {
+                JsonElement previousResults = new JsonParser().parse(reader);
+                if (previousResults.isJsonArray()) {
+                    results.addAll(previousResults.getAsJsonArray());
+                }
+            }
+        }
+        results.add(gson.toJsonTree(result));
+        if (resultsFile.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(resultsFile, StandardCharsets.UTF_8)) {
+            gson.toJson(results, writer);
+        }
+    }
+}
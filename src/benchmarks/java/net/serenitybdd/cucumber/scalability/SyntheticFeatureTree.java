@@ -0,0 +1,166 @@
+package net.serenitybdd.cucumber.scalability;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes a tree of synthetic feature files, to reproduce the scale of large suites: any number of features, spread over
+ * sub-directories, each with a background, plain scenarios, and scenario outlines with any number of example rows.
+ * Scenarios are given a few tags from a fixed set, so that tag filters select a predictable share of them.
+ * <p>
+ * Every step matches the no-op step definitions in {@link net.serenitybdd.cucumber.scalability.glue.SyntheticSteps}.
+ * The same settings and seed always produce the same features.
+ */
+public class SyntheticFeatureTree {
+
+    private static final int FEATURES_PER_DIRECTORY = 100;
+
+    private int features = 100;
+    private int scenariosPerFeature = 10;
+    private int outlinesPerFeature = 1;
+    private int exampleRowsPerOutline = 10;
+    private int backgroundSteps = 1;
+    private int stepsPerScenario = 3;
+    private int tagsPerScenario = 2;
+    private int distinctTags = 20;
+    private long seed = 42;
+
+    public SyntheticFeatureTree withFeatures(int features) {
+        this.features = features;
+        return this;
+    }
+
+    public SyntheticFeatureTree withScenariosPerFeature(int scenariosPerFeature) {
+        this.scenariosPerFeature = scenariosPerFeature;
+        return this;
+    }
+
+    public SyntheticFeatureTree withOutlinesPerFeature(int outlinesPerFeature) {
+        this.outlinesPerFeature = outlinesPerFeature;
+        return this;
+    }
+
+    public SyntheticFeatureTree withExampleRowsPerOutline(int exampleRowsPerOutline) {
+        this.exampleRowsPerOutline = exampleRowsPerOutline;
+        return this;
+    }
+
+    public SyntheticFeatureTree withBackgroundSteps(int backgroundSteps) {
+        this.backgroundSteps = backgroundSteps;
+        return this;
+    }
+
+    public SyntheticFeatureTree withStepsPerScenario(int stepsPerScenario) {
+        this.stepsPerScenario = stepsPerScenario;
+        return this;
+    }
+
+    public SyntheticFeatureTree withTagsPerScenario(int tagsPerScenario, int distinctTags) {
+        this.tagsPerScenario = tagsPerScenario;
+        this.distinctTags = distinctTags;
+        return this;
+    }
+
+    public SyntheticFeatureTree withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * The number of pickles (scenarios, and examples of scenario outlines) in the suite.
+     */
+    public long pickleCount() {
+        return (long) features * (scenariosPerFeature + (long) outlinesPerFeature * exampleRowsPerOutline);
+    }
+
+    /**
+     * The number of steps run by the suite, including background steps.
+     */
+    public long stepCount() {
+        return pickleCount() * (backgroundSteps + stepsPerScenario);
+    }
+
+    /**
+     * The settings of this suite, for example to record them with measurements made on it.
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("features", features);
+        settings.put("scenariosPerFeature", scenariosPerFeature);
+        settings.put("outlinesPerFeature", outlinesPerFeature);
+        settings.put("exampleRowsPerOutline", exampleRowsPerOutline);
+        settings.put("backgroundSteps", backgroundSteps);
+        settings.put("stepsPerScenario", stepsPerScenario);
+        settings.put("tagsPerScenario", tagsPerScenario);
+        settings.put("distinctTags", distinctTags);
+        settings.put("pickles", pickleCount());
+        settings.put("steps", stepCount());
+        return settings;
+    }
+
+    public void writeTo(Path directory) throws IOException {
+        Random random = new Random(seed);
+        for (int feature = 0; feature < features; feature++) {
+            Path featureDirectory = directory.resolve(String.format("area_%03d", feature / FEATURES_PER_DIRECTORY));
+            Files.createDirectories(featureDirectory);
+            try (BufferedWriter writer = Files.newBufferedWriter(featureDirectory.resolve(String.format("feature_%06d.feature", feature)), StandardCharsets.UTF_8)) {
+                writeFeature(writer, feature, random);
+            }
+        }
+    }
+
+    private void writeFeature(BufferedWriter writer, int feature, Random random) throws IOException {
+        writer.write("@feature_" + feature + "\n");
+        writer.write("Feature: Synthetic feature " + feature + "\n");
+        writer.write("  A generated feature, used to measure how the runner scales.\n\n");
+        if (backgroundSteps > 0) {
+            writer.write("  Background:\n");
+            for (int step = 1; step <= backgroundSteps; step++) {
+                writer.write("    Given background step " + step + " of feature " + feature + "\n");
+            }
+            writer.write("\n");
+        }
+        for (int scenario = 1; scenario <= scenariosPerFeature; scenario++) {
+            writeTags(writer, random);
+            writer.write("  Scenario: Scenario " + scenario + " of feature " + feature + "\n");
+            for (int step = 1; step <= stepsPerScenario; step++) {
+                writer.write("    " + keywordOf(step) + " a synthetic step with value " + random.nextInt(1000) + "\n");
+            }
+            writer.write("\n");
+        }
+        for (int outline = 1; outline <= outlinesPerFeature; outline++) {
+            writeTags(writer, random);
+            writer.write("  Scenario Outline: Outline " + outline + " of feature " + feature + "\n");
+            for (int step = 1; step <= stepsPerScenario; step++) {
+                String stepText = (step % 2 == 0) ? "a synthetic step with text \"<text>\"" : "a synthetic step with value <value>";
+                writer.write("    " + keywordOf(step) + " " + stepText + "\n");
+            }
+            writer.write("\n    Examples:\n");
+            writer.write("      | value | text |\n");
+            for (int row = 1; row <= exampleRowsPerOutline; row++) {
+                writer.write("      | " + random.nextInt(1000) + " | row " + row + " |\n");
+            }
+            writer.write("\n");
+        }
+    }
+
+    private void writeTags(BufferedWriter writer, Random random) throws IOException {
+        if (tagsPerScenario > 0) {
+            writer.write(" ");
+            for (int tag = 0; tag < tagsPerScenario; tag++) {
+                writer.write(" @tag" + random.nextInt(distinctTags));
+            }
+            writer.write("\n");
+        }
+    }
+
+    private static String keywordOf(int step) {
+        return (step == 1) ? "Given" : (step == 2) ? "When" : "Then";
+    }
+}
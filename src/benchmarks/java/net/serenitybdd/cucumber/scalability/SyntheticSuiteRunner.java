@@ -0,0 +1,11 @@
+package net.serenitybdd.cucumber.scalability;
+
+import io.cucumber.junit.CucumberOptions;
+
+/**
+ * The test class given to the CucumberSerenityRunner when running a synthetic suite.
+ * The feature paths are supplied through the cucumber.options system property.
+ */
+@CucumberOptions(glue = "net.serenitybdd.cucumber.scalability.glue")
+public class SyntheticSuiteRunner {
+}
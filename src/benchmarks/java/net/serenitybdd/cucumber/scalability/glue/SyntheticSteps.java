@@ -0,0 +1,22 @@
+package net.serenitybdd.cucumber.scalability.glue;
+
+import cucumber.api.java.en.Given;
+
+/**
+ * Step definitions for the steps of a {@link net.serenitybdd.cucumber.scalability.SyntheticFeatureTree}.
+ * They do nothing, so that a run of a synthetic suite only measures the runner and the reporter.
+ */
+public class SyntheticSteps {
+
+    @Given("background step {int} of feature {int}")
+    public void backgroundStep(int step, int feature) {
+    }
+
+    @Given("a synthetic step with value {int}")
+    public void stepWithValue(int value) {
+    }
+
+    @Given("a synthetic step with text {string}")
+    public void stepWithText(String text) {
+    }
+}
@@ -0,0 +1,67 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to load the statistics of a number of earlier runs (the history depth) and weight every scenario.
+ * <p>
+ * Statistics are loaded from the classpath, so the generated files are written to the directory holding the benchmark classes,
+ * and removed at the end of the trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class MultiRunTestStatisticsBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int scenarioCount;
+
+    @Param({"1", "5", "20"})
+    private int historyDepth;
+
+    private Path statisticsDirectory;
+    private String statisticsPath;
+
+    @Setup
+    public void generateStatistics() throws IOException, URISyntaxException {
+        Path classesDirectory = Paths.get(MultiRunTestStatisticsBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        if (!Files.isDirectory(classesDirectory)) {
+            throw new IllegalStateException("The benchmark classes must be in a directory, not in " + classesDirectory);
+        }
+        statisticsPath = "/benchmark-statistics/" + scenarioCount + "-" + historyDepth;
+        statisticsDirectory = classesDirectory.resolve(statisticsPath.substring(1));
+        new SyntheticSuite(scenarioCount).writeStatistics(statisticsDirectory, historyDepth);
+    }
+
+    @TearDown
+    public void deleteStatistics() {
+        FileUtils.deleteQuietly(statisticsDirectory.toFile());
+    }
+
+    @Benchmark
+    public MultiRunTestStatistics load() {
+        return MultiRunTestStatistics.fromRelativePath(statisticsPath, DurationModel.defaultModel(), historyDepth);
+    }
+}
@@ -0,0 +1,61 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to split a suite into slices, and then to split one of those slices between forks,
+ * as each fork does when it starts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SlicingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int scenarioCount;
+
+    @Param({"4", "16", "64"})
+    private int sliceCount;
+
+    @Param({"1", "4"})
+    private int forkCount;
+
+    @Param({"lpt", "karmarkar-karp"})
+    private String slicingStrategy;
+
+    private WeightedCucumberScenarios scenarios;
+
+    @Setup
+    public void generateSuite() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.slicing.strategy", slicingStrategy);
+        scenarios = new SyntheticSuite(scenarioCount).weightedScenarios().usingPartitioner(ScenarioPartitioner.from(environmentVariables));
+    }
+
+    @Benchmark
+    public List<WeightedCucumberScenarios> sliceInto() {
+        return scenarios.sliceInto(sliceCount);
+    }
+
+    @Benchmark
+    public WeightedCucumberScenarios sliceForFork() {
+        return scenarios.slice(1).of(sliceCount).slice(1).of(forkCount);
+    }
+}
@@ -0,0 +1,102 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates reproducible test suites of any size for the benchmarks: weighted scenarios spread over features,
+ * each with a few tags, and the statistics files that a number of earlier runs of the suite would have produced.
+ * <p>
+ * Scenario durations follow a long-tailed distribution, as in real suites, where a few slow scenarios dominate.
+ */
+public class SyntheticSuite {
+
+    private static final int SCENARIOS_PER_FEATURE = 20;
+    private static final String[] RESULTS = {"SUCCESS", "SUCCESS", "SUCCESS", "SUCCESS", "SUCCESS", "SUCCESS", "SUCCESS", "FAILURE", "ERROR", "PENDING"};
+
+    private final int scenarioCount;
+    private final long seed;
+
+    public SyntheticSuite(int scenarioCount, long seed) {
+        this.scenarioCount = scenarioCount;
+        this.seed = seed;
+    }
+
+    public SyntheticSuite(int scenarioCount) {
+        this(scenarioCount, 42);
+    }
+
+    public static String featureName(int scenarioNumber) {
+        return "Feature " + (scenarioNumber / SCENARIOS_PER_FEATURE);
+    }
+
+    public static String scenarioName(int scenarioNumber) {
+        return "Scenario " + scenarioNumber;
+    }
+
+    public static String tagName(int tagNumber) {
+        return "@tag" + tagNumber;
+    }
+
+    public List<WeightedCucumberScenario> scenarios() {
+        Random random = new Random(seed);
+        List<WeightedCucumberScenario> scenarios = new ArrayList<>(scenarioCount);
+        for (int scenarioNumber = 0; scenarioNumber < scenarioCount; scenarioNumber++) {
+            Set<String> tags = new LinkedHashSet<>();
+            tags.add("@" + featureName(scenarioNumber).replace(' ', '_').toLowerCase());
+            for (int tag = 0; tag < 3; tag++) {
+                tags.add(tagName(random.nextInt(50)));
+            }
+            scenarios.add(new WeightedCucumberScenario(featureName(scenarioNumber).toLowerCase().replace(' ', '_') + ".feature",
+                                                       featureName(scenarioNumber),
+                                                       scenarioName(scenarioNumber),
+                                                       duration(random),
+                                                       tags,
+                                                       1));
+        }
+        return scenarios;
+    }
+
+    public WeightedCucumberScenarios weightedScenarios() {
+        return new WeightedCucumberScenarios(scenarios());
+    }
+
+    /**
+     * Writes one statistics file for each of the given number of runs, in the format exported by Serenity.
+     */
+    public void writeStatistics(Path directory, int runCount) throws IOException {
+        Files.createDirectories(directory);
+        Random random = new Random(seed);
+        ZonedDateTime firstRun = ZonedDateTime.parse("2020-01-01T09:00:00Z");
+        for (int run = 1; run <= runCount; run++) {
+            String date = firstRun.plusDays(run).toString();
+            try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(String.format("run-%03d.csv", run)), StandardCharsets.UTF_8)) {
+                writer.write("\"Story\",\"Title\",\"Result\",\"Date\",\"Stability\",\"Duration (s)\"\n");
+                for (int scenarioNumber = 0; scenarioNumber < scenarioCount; scenarioNumber++) {
+                    writer.write(String.format("\"%s\",\"%s\",\"%s\",\"%s\",\"%s\",\"%s\"%n",
+                                               featureName(scenarioNumber),
+                                               scenarioName(scenarioNumber),
+                                               RESULTS[random.nextInt(RESULTS.length)],
+                                               date,
+                                               BigDecimal.valueOf(random.nextInt(101), 2),
+                                               duration(random)));
+                }
+            }
+        }
+    }
+
+    private static BigDecimal duration(Random random) {
+        double seconds = Math.exp(random.nextGaussian() * 1.2 + 1.5);
+        return BigDecimal.valueOf(Math.round(seconds * 100), 2);
+    }
+}
@@ -0,0 +1,53 @@
+package net.serenitybdd.cucumber.util;
+
+import net.serenitybdd.cucumber.suiteslicing.SyntheticSuite;
+import net.serenitybdd.cucumber.suiteslicing.WeightedCucumberScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Measures the averaging of scenario durations, as done when a scenario has no recorded duration of its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BigDecimalAverageCollectorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int scenarioCount;
+
+    private List<BigDecimal> durations;
+
+    @Setup
+    public void generateDurations() {
+        durations = new SyntheticSuite(scenarioCount).scenarios().stream().map(WeightedCucumberScenario::weighting).collect(toList());
+    }
+
+    @Benchmark
+    public BigDecimal average() {
+        return durations.stream().collect(BigDecimalAverageCollector.create());
+    }
+
+    @Benchmark
+    public BigDecimal parallelAverage() {
+        return durations.parallelStream().collect(BigDecimalAverageCollector.create());
+    }
+}
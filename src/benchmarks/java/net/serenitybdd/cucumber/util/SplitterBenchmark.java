@@ -0,0 +1,52 @@
+package net.serenitybdd.cucumber.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the splitting of comma-separated property values, such as tag lists, with and without trimming.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SplitterBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int elementCount;
+
+    private String value;
+
+    @Setup
+    public void generateValue() {
+        StringBuilder builder = new StringBuilder();
+        for (int element = 0; element < elementCount; element++) {
+            builder.append(element % 10 == 0 ? " , " : " @tag").append(element).append(" ,");
+        }
+        value = builder.toString();
+    }
+
+    @Benchmark
+    public List<String> splitToList() {
+        return Splitter.on(",").splitToList(value);
+    }
+
+    @Benchmark
+    public List<String> splitToTrimmedList() {
+        return Splitter.on(",").trimResults().omitEmptyStrings().splitToList(value);
+    }
+}
@@ -0,0 +1,54 @@
+package net.serenitybdd.cucumber.util;
+
+import io.cucumber.tagexpressions.Expression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of tag filters, as given in @CucumberOptions or on the command line, into a single tag expression.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TagParserBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int tagFilterCount;
+
+    private List<String> tagFilters;
+
+    @Setup
+    public void generateTagFilters() {
+        tagFilters = new ArrayList<>();
+        for (int filter = 0; filter < tagFilterCount; filter++) {
+            tagFilters.add("(@tag" + filter + " or @smoke) and not @wip" + filter);
+            tagFilters.add("~@manual" + filter);
+        }
+    }
+
+    @Benchmark
+    public Expression parseFromTagFilters() {
+        return TagParser.parseFromTagFilters(tagFilters);
+    }
+
+    @Benchmark
+    public CompiledTagExpression compileFromTagFilters() {
+        return TagParser.compileFromTagFilters(tagFilters);
+    }
+}
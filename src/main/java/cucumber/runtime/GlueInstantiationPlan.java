@@ -0,0 +1,65 @@
+package cucumber.runtime;
+
+import net.thucydides.core.pages.Pages;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * How to create an instance of a glue class: the constructor to call, and whether it takes the Pages of the current driver.
+ * The constructor is looked up once per class and kept as a method handle, so that creating the glue of each scenario
+ * is a direct call rather than a reflective lookup.
+ */
+final class GlueInstantiationPlan {
+
+    private static final MethodType PAGE_ENABLED_CONSTRUCTOR = MethodType.methodType(Object.class, Pages.class);
+    private static final MethodType EMPTY_CONSTRUCTOR = MethodType.methodType(Object.class);
+
+    private static final ClassValue<GlueInstantiationPlan> PLANS = new ClassValue<GlueInstantiationPlan>() {
+        @Override
+        protected GlueInstantiationPlan computeValue(Class<?> type) {
+            return planFor(type);
+        }
+    };
+
+    private final MethodHandle constructor;
+    private final boolean pageEnabled;
+
+    private GlueInstantiationPlan(MethodHandle constructor, boolean pageEnabled) {
+        this.constructor = constructor;
+        this.pageEnabled = pageEnabled;
+    }
+
+    static GlueInstantiationPlan forClass(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Prefers a constructor with a Pages parameter, as step libraries written for page objects have one, then an empty constructor.
+     */
+    private static GlueInstantiationPlan planFor(Class<?> type) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return new GlueInstantiationPlan(lookup.unreflectConstructor(type.getConstructor(Pages.class)).asType(PAGE_ENABLED_CONSTRUCTOR), true);
+        } catch (NoSuchMethodException | IllegalAccessException noPageEnabledConstructor) {
+            try {
+                return new GlueInstantiationPlan(lookup.unreflectConstructor(type.getConstructor()).asType(EMPTY_CONSTRUCTOR), false);
+            } catch (ReflectiveOperationException e) {
+                throw new CucumberException(String.format("Failed to instantiate %s - this class doesn't have an empty or a page enabled constructor", type), e);
+            }
+        }
+    }
+
+    boolean isPageEnabled() {
+        return pageEnabled;
+    }
+
+    Object newInstance() throws Throwable {
+        return constructor.invokeExact();
+    }
+
+    Object newInstance(Pages pages) throws Throwable {
+        return constructor.invokeExact(pages);
+    }
+}
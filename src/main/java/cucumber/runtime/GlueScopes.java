@@ -0,0 +1,197 @@
+package cucumber.runtime;
+
+import cucumber.api.event.EventPublisher;
+import cucumber.api.event.TestCaseFinished;
+import cucumber.api.event.TestCaseStarted;
+import cucumber.api.event.TestRunFinished;
+import cucumber.api.event.TestRunStarted;
+import net.serenitybdd.cucumber.FeatureScoped;
+import net.serenitybdd.cucumber.RunScoped;
+import net.serenitybdd.cucumber.util.Splitter;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_FEATURE_SCOPED_GLUE;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_RUN_SCOPED_GLUE;
+
+/**
+ * Keeps the instances of the glue classes that live longer than a scenario: {@link FeatureScoped} glue until the last scenario
+ * of its feature has finished, and {@link RunScoped} glue until the end of the test run. The instances are shared by the
+ * object factories of every thread, so the scopes are only changed while holding their lock.
+ * <p>
+ * A feature is known to be finished when the runner has said how many test cases it will run. Otherwise its glue is disposed
+ * when a scenario of another feature starts while none of its own are running, so glue may be created again for a feature
+ * whose scenarios are interleaved with those of other features. Outside a test run, scoped glue is created for each scenario.
+ */
+public class GlueScopes {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GlueScopes.class);
+
+    enum Scope {SCENARIO, FEATURE, RUN}
+
+    private static class SharedGlueScopes {
+        private static final GlueScopes INSTANCE = new GlueScopes(Injectors.getInjector().getInstance(EnvironmentVariables.class));
+    }
+
+    private final Set<String> featureScopedClasses;
+    private final Set<String> runScopedClasses;
+
+    private final Map<Class<?>, ScopedInstance> runScopedInstances = new HashMap<>();
+    private final Map<String, FeatureScope> featureScopes = new HashMap<>();
+    private final ThreadLocal<String> currentFeature = new ThreadLocal<>();
+    private int activeRuns;
+
+    GlueScopes(EnvironmentVariables environmentVariables) {
+        this.featureScopedClasses = classNamesIn(SERENITY_CUCUMBER_FEATURE_SCOPED_GLUE.from(environmentVariables, ""));
+        this.runScopedClasses = classNamesIn(SERENITY_CUCUMBER_RUN_SCOPED_GLUE.from(environmentVariables, ""));
+    }
+
+    private static Set<String> classNamesIn(String classNames) {
+        return new HashSet<>(Splitter.on(",").trimResults().omitEmptyStrings().splitToList(classNames));
+    }
+
+    public static GlueScopes shared() {
+        return SharedGlueScopes.INSTANCE;
+    }
+
+    public void registerWith(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> testRunStarted());
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> testCaseStarted(event.testCase.getUri()));
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> testCaseFinished(event.testCase.getUri()));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> testRunFinished());
+    }
+
+    Scope scopeOf(Class<?> type) {
+        if (type.isAnnotationPresent(RunScoped.class) || runScopedClasses.contains(type.getName())) {
+            return Scope.RUN;
+        }
+        if (type.isAnnotationPresent(FeatureScoped.class) || featureScopedClasses.contains(type.getName())) {
+            return Scope.FEATURE;
+        }
+        return Scope.SCENARIO;
+    }
+
+    /**
+     * The instance of the type for the scenario running on this thread: a new one for scenario scoped glue, or the one shared
+     * by the feature or the test run, which is created the first time it is needed.
+     */
+    <T> T instanceOf(Class<T> type, Function<Class<T>, T> newInstance) {
+        ScopedInstance scopedInstance = scopedInstanceOf(type);
+        if (scopedInstance == null) {
+            return newInstance.apply(type);
+        }
+        return type.cast(scopedInstance.get(() -> newInstance.apply(type)));
+    }
+
+    private synchronized ScopedInstance scopedInstanceOf(Class<?> type) {
+        Scope scope = scopeOf(type);
+        if (scope == Scope.SCENARIO || activeRuns == 0) {
+            return null;
+        }
+        if (scope == Scope.RUN) {
+            return runScopedInstances.computeIfAbsent(type, key -> new ScopedInstance());
+        }
+        String featurePath = currentFeature.get();
+        FeatureScope featureScope = (featurePath == null) ? null : featureScopes.get(featurePath);
+        return (featureScope == null) ? null : featureScope.instances.computeIfAbsent(type, key -> new ScopedInstance());
+    }
+
+    /**
+     * Tells the glue scopes how many test cases are going to run in a feature, so that its glue can be disposed
+     * as soon as the last of them has finished.
+     */
+    public synchronized void expectTestCasesFor(String featurePath, int testCaseCount) {
+        if (testCaseCount > 0) {
+            featureScopes.computeIfAbsent(featurePath, key -> new FeatureScope()).remainingTestCases = testCaseCount;
+        }
+    }
+
+    synchronized void testRunStarted() {
+        activeRuns++;
+    }
+
+    synchronized void testCaseStarted(String featurePath) {
+        currentFeature.set(featurePath);
+        featureScopes.computeIfAbsent(featurePath, key -> new FeatureScope()).runningTestCases++;
+        List<String> idleFeatures = new ArrayList<>();
+        featureScopes.forEach((otherFeaturePath, featureScope) -> {
+            if (!otherFeaturePath.equals(featurePath) && featureScope.remainingTestCases == null && featureScope.runningTestCases == 0) {
+                idleFeatures.add(otherFeaturePath);
+            }
+        });
+        idleFeatures.forEach(this::disposeFeature);
+    }
+
+    synchronized void testCaseFinished(String featurePath) {
+        currentFeature.remove();
+        FeatureScope featureScope = featureScopes.get(featurePath);
+        if (featureScope == null) {
+            return;
+        }
+        featureScope.runningTestCases--;
+        if (featureScope.remainingTestCases != null) {
+            featureScope.remainingTestCases--;
+            if (featureScope.remainingTestCases <= 0 && featureScope.runningTestCases <= 0) {
+                disposeFeature(featurePath);
+            }
+        }
+    }
+
+    synchronized void testRunFinished() {
+        activeRuns = Math.max(0, activeRuns - 1);
+        if (activeRuns == 0) {
+            new ArrayList<>(featureScopes.keySet()).forEach(this::disposeFeature);
+            runScopedInstances.values().forEach(ScopedInstance::dispose);
+            runScopedInstances.clear();
+        }
+    }
+
+    private void disposeFeature(String featurePath) {
+        FeatureScope featureScope = featureScopes.remove(featurePath);
+        if (featureScope != null) {
+            featureScope.instances.values().forEach(ScopedInstance::dispose);
+        }
+    }
+
+    private static class FeatureScope {
+        private final Map<Class<?>, ScopedInstance> instances = new HashMap<>();
+        private int runningTestCases;
+        private Integer remainingTestCases;
+    }
+
+    /**
+     * Holds a shared glue instance, so that only one is created even when several threads need it at the same time.
+     */
+    private static class ScopedInstance {
+        private Object instance;
+
+        synchronized Object get(Supplier<Object> newInstance) {
+            if (instance == null) {
+                instance = newInstance.get();
+            }
+            return instance;
+        }
+
+        synchronized void dispose() {
+            if (instance instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) instance).close();
+                } catch (Exception e) {
+                    LOGGER.warn("Could not close {}: {}", instance.getClass().getName(), e.getMessage());
+                }
+            }
+            instance = null;
+        }
+    }
+}
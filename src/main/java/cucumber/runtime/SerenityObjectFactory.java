@@ -3,10 +3,15 @@ package cucumber.runtime;
 //import io.cucumber.core.backend.ObjectFactory;
 import cucumber.api.java.ObjectFactory;
 import net.serenitybdd.core.Serenity;
+import net.serenitybdd.core.pages.PageObject;
+import net.thucydides.core.annotations.Managed;
+import net.thucydides.core.annotations.Shared;
+import net.thucydides.core.annotations.Steps;
 import net.thucydides.core.pages.Pages;
 import net.thucydides.core.webdriver.ThucydidesWebDriverSupport;
+import org.openqa.selenium.WebDriver;
 
-import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.util.*;
 
 /**
@@ -21,6 +26,8 @@ public class SerenityObjectFactory implements ObjectFactory {
 
     private final Map<Class<?>, Object> instances = Collections.synchronizedMap(new HashMap<Class<?>, Object>());
 
+    private final GlueScopes glueScopes = GlueScopes.shared();
+
     public void start() {
     }
 
@@ -32,10 +39,64 @@ public class SerenityObjectFactory implements ObjectFactory {
 
     @Override
     public boolean addClass(Class<?> glueClass) {
+        checkThatItCanBeShared(glueClass);
         classes.add(glueClass);
         return true;
     }
 
+    /**
+     * Feature and run scoped glue is created once and shared by several scenarios, so it cannot hold anything that belongs to
+     * the scenario that created it: Serenity would inject the driver, page objects and step libraries of that scenario only.
+     * Java 8 glue registers its step definitions when it is created, so it has to be created for each scenario.
+     */
+    private void checkThatItCanBeShared(Class<?> glueClass) {
+        GlueScopes.Scope scope = glueScopes.scopeOf(glueClass);
+        if (scope == GlueScopes.Scope.SCENARIO) {
+            return;
+        }
+        String scopedGlue = String.format("%s is %s scoped glue, shared by several scenarios, ", glueClass.getName(), scope.name().toLowerCase());
+        if (isJava8Glue(glueClass)) {
+            throw new CucumberException(scopedGlue + "but Java 8 glue registers its step definitions when it is created for a scenario: "
+                                        + "it can only be scenario scoped");
+        }
+        if (GlueInstantiationPlan.forClass(glueClass).isPageEnabled()) {
+            throw new CucumberException(scopedGlue + "but its constructor takes the Pages of a single scenario: "
+                                        + "give it an empty constructor, and move the page objects to scenario scoped glue");
+        }
+        Optional<Field> scenarioField = scenarioFieldOf(glueClass);
+        if (scenarioField.isPresent()) {
+            throw new CucumberException(scopedGlue + "but its " + scenarioField.get().getName() + " field would be injected with "
+                                        + "the driver, a page object or a step library of a single scenario: move it to scenario scoped glue");
+        }
+    }
+
+    private static boolean isJava8Glue(Class<?> glueClass) {
+        for (Class<?> type = glueClass; type != null; type = type.getSuperclass()) {
+            if (Arrays.stream(type.getInterfaces()).anyMatch(SerenityObjectFactory::isOrExtendsJava8GlueBase)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOrExtendsJava8GlueBase(Class<?> glueInterface) {
+        return glueInterface.getName().equals("cucumber.api.java8.GlueBase")
+               || Arrays.stream(glueInterface.getInterfaces()).anyMatch(SerenityObjectFactory::isOrExtendsJava8GlueBase);
+    }
+
+    private static Optional<Field> scenarioFieldOf(Class<?> glueClass) {
+        for (Class<?> type = glueClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Managed.class) || field.isAnnotationPresent(Steps.class) || field.isAnnotationPresent(Shared.class)
+                    || WebDriver.class.isAssignableFrom(field.getType()) || Pages.class.isAssignableFrom(field.getType())
+                    || PageObject.class.isAssignableFrom(field.getType())) {
+                    return Optional.of(field);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
     public <T> T getInstance(Class<T> type) {
         T instance = type.cast(instances.get(type));
         if (instance == null) {
@@ -45,57 +106,40 @@ public class SerenityObjectFactory implements ObjectFactory {
     }
 
     /**
-     * Tries to instantiate the type using an empty constructor, if it does not work, tries to instantiate
-     * using a constructor with a Pages parameter.
+     * Instantiates the type using a constructor with a Pages parameter if it has one, or its empty constructor if not.
+     * Feature and run scoped glue is only instantiated once for the feature or the test run.
      */
     private <T> T cacheNewInstance(Class<T> type) {
-        T instance = newInstance(type);
+        T instance = glueScopes.instanceOf(type, this::newInstance);
         instances.put(type, instance);
         return instance;
     }
 
     private <T> T newInstance(Class<T> type) {
-        T instance;
-        try {
-            if (hasConstructorWithPagesParameter(type)) {
-                instance = createNewPageEnabledStepCandidate(type);
-            } else {
-                Constructor<T> constructor = type.getConstructor();
-                instance = constructor.newInstance();
-            }
-        } catch (ReflectiveOperationException e) {
-            throw new CucumberException(String.format("Failed to instantiate %s - this class doesn't have an empty or a page enabled constructor\"", type), e);
-        }
+        GlueInstantiationPlan plan = GlueInstantiationPlan.forClass(type);
+        T instance = plan.isPageEnabled() ? createNewPageEnabledStepCandidate(type, plan) : createNewStepCandidate(type, plan);
         Serenity.initializeWithNoStepListener(instance).throwExceptionsImmediately();
         return instance;
     }
 
-    private <T> T createNewPageEnabledStepCandidate(final Class<T> type) {
+    private <T> T createNewStepCandidate(Class<T> type, GlueInstantiationPlan plan) {
+        try {
+            return type.cast(plan.newInstance());
+        } catch (Throwable e) {
+            throw new CucumberException(String.format("Failed to instantiate %s", type), e);
+        }
+    }
+
+    private <T> T createNewPageEnabledStepCandidate(Class<T> type, GlueInstantiationPlan plan) {
         T newInstance;
         try {
             ThucydidesWebDriverSupport.initialize();
             Pages pageFactory = ThucydidesWebDriverSupport.getPages();
-            Class[] constructorArgs = new Class[1];
-            constructorArgs[0] = Pages.class;
-            Constructor<T> constructor = type.getConstructor(constructorArgs);
-            newInstance = constructor.newInstance(pageFactory);
+            newInstance = type.cast(plan.newInstance(pageFactory));
             Serenity.initialize(newInstance);
-        } catch (Exception e) {
-            throw new CucumberException(String.format("%s doesn't have an empty or a page enabled constructor.", type), e);
+        } catch (Throwable e) {
+            throw new CucumberException(String.format("Failed to instantiate %s with a page enabled constructor", type), e);
         }
         return newInstance;
     }
-
-    private boolean hasConstructorWithPagesParameter(Class<?> type) {
-        Class[] constructorArgs = new Class[1];
-        constructorArgs[0] = Pages.class;
-        try {
-            type.getConstructor(constructorArgs);
-        } catch (NoSuchMethodException e) {
-            return false;
-        }
-        return true;
-    }
-
-
 }
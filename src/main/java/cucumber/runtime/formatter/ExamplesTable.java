@@ -0,0 +1,172 @@
+package cucumber.runtime.formatter;
+
+import gherkin.ast.Tag;
+import gherkin.ast.TableCell;
+import gherkin.ast.TableRow;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The rows of an Examples table of a scenario outline that are run, read once from the Gherkin table.
+ * The headers are kept in a single interned array shared by every row, each row is an array of cell values,
+ * and rows are found by line number with a binary search over the (ascending) line numbers of the table,
+ * so that large tables do not need a map for each row.
+ */
+final class ExamplesTable {
+
+    private final String[] headers;
+    private final Map<String, Integer> columns;
+    private final String[][] rows;
+    private final int[] lineNumbers;
+    private final List<Tag> tags;
+
+    private ExamplesTable(String[] headers, String[][] rows, int[] lineNumbers, List<Tag> tags) {
+        this.headers = headers;
+        this.columns = columnsOf(headers);
+        this.rows = rows;
+        this.lineNumbers = lineNumbers;
+        this.tags = tags;
+    }
+
+    static ExamplesTable from(TableRow headerRow, List<TableRow> tableRows, List<Tag> tags) {
+        String[] headers = new String[headerRow.getCells().size()];
+        for (int column = 0; column < headers.length; column++) {
+            headers[column] = headerRow.getCells().get(column).getValue().intern();
+        }
+        String[][] rows = new String[tableRows.size()][];
+        int[] lineNumbers = new int[tableRows.size()];
+        for (int row = 0; row < rows.length; row++) {
+            List<TableCell> cells = tableRows.get(row).getCells();
+            rows[row] = new String[headers.length];
+            for (int column = 0; column < headers.length; column++) {
+                rows[row][column] = cells.get(column).getValue();
+            }
+            lineNumbers[row] = tableRows.get(row).getLocation().getLine();
+        }
+        return new ExamplesTable(headers, rows, lineNumbers, tags);
+    }
+
+    /**
+     * Where there are several columns with the same header, the last one is used, as it would be in a map of the row.
+     */
+    private static Map<String, Integer> columnsOf(String[] headers) {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        for (int column = 0; column < headers.length; column++) {
+            columns.put(headers[column], column);
+        }
+        return columns;
+    }
+
+    List<String> getHeaders() {
+        return Collections.unmodifiableList(Arrays.asList(headers));
+    }
+
+    List<Tag> getTags() {
+        return tags;
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    /**
+     * The index of the row at the given line of the feature file, or -1 if this table has no row there.
+     */
+    int rowAt(int lineNumber) {
+        int row = Arrays.binarySearch(lineNumbers, lineNumber);
+        return (row >= 0) ? row : -1;
+    }
+
+    int lineNumberOf(int row) {
+        return lineNumbers[row];
+    }
+
+    /**
+     * The cell values of a row, in the order of the headers.
+     */
+    List<String> valuesOf(int row) {
+        return Collections.unmodifiableList(Arrays.asList(rows[row]));
+    }
+
+    /**
+     * A row as a read-only map from header to cell value, in the order of the headers, backed by the cell values of the table.
+     */
+    Map<String, String> row(int row) {
+        return new RowView(rows[row]);
+    }
+
+    /**
+     * The line number of each row, by row index, as Serenity's data tables expect them.
+     */
+    Map<Integer, Integer> lineNumbersOfEachRow() {
+        Map<Integer, Integer> lineNumbersOfEachRow = new HashMap<>();
+        for (int row = 0; row < lineNumbers.length; row++) {
+            lineNumbersOfEachRow.put(row, lineNumbers[row]);
+        }
+        return lineNumbersOfEachRow;
+    }
+
+    private class RowView extends AbstractMap<String, String> {
+        private final String[] values;
+
+        RowView(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object header) {
+            Integer column = columns.get(header);
+            return (column == null) ? null : values[column];
+        }
+
+        @Override
+        public boolean containsKey(Object header) {
+            return columns.containsKey(header);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, Integer>> columnIterator = columns.entrySet().iterator();
+                    return new Iterator<Entry<String, String>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return columnIterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Integer> column = columnIterator.next();
+                            return new SimpleImmutableEntry<>(column.getKey(), values[column.getValue()]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columns.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package cucumber.runtime.formatter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of how many test cases are still to run in each feature, so that the reporter
+ * knows when a feature has finished without waiting for the end of the test run.
+ * Features that were never announced are never considered complete.
+ */
+class FeatureCompletionTracker {
+
+    private final Map<String, AtomicInteger> remainingTestCases = new ConcurrentHashMap<>();
+
+    void expectTestCasesFor(String featurePath, int testCaseCount) {
+        remainingTestCases.put(featurePath, new AtomicInteger(testCaseCount));
+    }
+
+    boolean isTracking(String featurePath) {
+        return remainingTestCases.containsKey(featurePath);
+    }
+
+    /**
+     * Records a finished test case, and returns true if it was the last one expected in this feature.
+     */
+    boolean testCaseFinishedIn(String featurePath) {
+        AtomicInteger remaining = remainingTestCases.get(featurePath);
+        if (remaining == null) {
+            return false;
+        }
+        if (remaining.decrementAndGet() == 0) {
+            remainingTestCases.remove(featurePath);
+            return true;
+        }
+        return false;
+    }
+}
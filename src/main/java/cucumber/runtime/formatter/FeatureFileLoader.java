@@ -1,20 +1,42 @@
 package cucumber.runtime.formatter;
 
 import cucumber.api.event.TestSourceRead;
+import cucumber.runtime.CucumberException;
+import gherkin.ast.Examples;
 import gherkin.ast.Feature;
+import gherkin.ast.GherkinDocument;
+import gherkin.ast.ScenarioDefinition;
+import gherkin.ast.ScenarioOutline;
+import gherkin.ast.Step;
+import gherkin.ast.TableRow;
+import net.serenitybdd.cucumber.model.FeatureCache;
 import net.thucydides.core.util.Inflector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+/**
+ * Gives the reporter access to the Gherkin AST of the features being run.
+ * Gherkin documents come from the shared {@link FeatureCache}, so features already parsed by the runner
+ * or the suite slicer are not parsed again here.
+ */
 public class FeatureFileLoader {
 
     private final TestSourcesModel testSources = new TestSourcesModel();
 
+    private final Map<String, TestSourceRead> testSourceReadEvents = new ConcurrentHashMap<>();
+    private final Map<String, GherkinDocument> gherkinDocuments = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, TestSourcesModel.AstNode>> astNodes = new ConcurrentHashMap<>();
+
     private static final Logger LOGGER = LoggerFactory.getLogger(FeatureFileLoader.class);
 
     private Optional<Feature> featureFrom(String featureFileUri) {
@@ -24,11 +46,11 @@ public class FeatureFileLoader {
 
         parseGherkinIn(featureFileUri);
 
-        if (isEmpty(testSources.getFeatureName(featureFileUri))) {
+        if (isEmpty(getFeatureName(featureFileUri))) {
             return Optional.empty();
         }
 
-        Feature feature = testSources.getFeature(featureFileUri);
+        Feature feature = getFeature(featureFileUri);
         if (feature.getName().isEmpty()) {
             feature = featureWithDefaultName(feature, defaultFeatureName);
         }
@@ -37,7 +59,7 @@ public class FeatureFileLoader {
 
     private void parseGherkinIn(String featureFileUri) {
         try {
-            testSources.getFeature(featureFileUri);
+            getFeature(featureFileUri);
         } catch (Throwable ignoreParsingErrors) {
             LOGGER.warn("Could not parse the Gherkin in feature file " + featureFileUri + ": file ignored");
         }
@@ -54,18 +76,86 @@ public class FeatureFileLoader {
     }
 
     public void addTestSourceReadEvent(String path, TestSourceRead event) {
-        testSources.addTestSourceReadEvent(event.uri, event);
+        testSourceReadEvents.put(event.uri, event);
     }
 
     public String getFeatureName(String featureFileUri) {
-        return testSources.getFeatureName(featureFileUri);
+        Feature feature = getFeature(featureFileUri);
+        return (feature != null) ? feature.getName() : "";
     }
 
     public Feature getFeature(String featureFileUri) {
-        return testSources.getFeature(featureFileUri);
+        GherkinDocument gherkinDocument = gherkinDocumentFor(featureFileUri);
+        return (gherkinDocument != null) ? gherkinDocument.getFeature() : null;
     }
 
     TestSourcesModel.AstNode getAstNode(String path, int line) {
-        return testSources.getAstNode(path,line);
+        if (gherkinDocumentFor(path) == null) {
+            return null;
+        }
+        Map<Integer, TestSourcesModel.AstNode> nodesByLine = astNodes.get(path);
+        return (nodesByLine != null) ? nodesByLine.get(line) : null;
+    }
+
+    private GherkinDocument gherkinDocumentFor(String path) {
+        GherkinDocument gherkinDocument = gherkinDocuments.get(path);
+        if (gherkinDocument != null) {
+            return gherkinDocument;
+        }
+        TestSourceRead event = testSourceReadEvents.get(path);
+        if (event == null) {
+            return null;
+        }
+        try {
+            gherkinDocument = FeatureCache.shared().gherkinDocumentFor(URI.create(path), event.source);
+        } catch (CucumberException ignoreParsingErrors) {
+            return null;
+        }
+        astNodes.put(path, astNodesIn(gherkinDocument));
+        gherkinDocuments.put(path, gherkinDocument);
+        return gherkinDocument;
+    }
+
+    /**
+     * Indexes the AST nodes of a feature by line, in the same way as Cucumber's TestSourcesModel.
+     */
+    private Map<Integer, TestSourcesModel.AstNode> astNodesIn(GherkinDocument gherkinDocument) {
+        Map<Integer, TestSourcesModel.AstNode> nodesByLine = new HashMap<>();
+        Feature feature = gherkinDocument.getFeature();
+        if (feature == null) {
+            return nodesByLine;
+        }
+        TestSourcesModel.AstNode featureNode = testSources.new AstNode(feature, null);
+        for (ScenarioDefinition child : feature.getChildren()) {
+            TestSourcesModel.AstNode childNode = testSources.new AstNode(child, featureNode);
+            nodesByLine.put(child.getLocation().getLine(), childNode);
+            for (Step step : child.getSteps()) {
+                nodesByLine.put(step.getLocation().getLine(), testSources.new AstNode(step, childNode));
+            }
+            if (child instanceof ScenarioOutline) {
+                addExamplesOf((ScenarioOutline) child, childNode, nodesByLine);
+            }
+        }
+        return nodesByLine;
+    }
+
+    private void addExamplesOf(ScenarioOutline scenarioOutline,
+                               TestSourcesModel.AstNode scenarioOutlineNode,
+                               Map<Integer, TestSourcesModel.AstNode> nodesByLine) {
+        for (Examples examples : scenarioOutline.getExamples()) {
+            TestSourcesModel.AstNode examplesNode = testSources.new AstNode(examples, scenarioOutlineNode);
+            TableRow headerRow = examples.getTableHeader();
+            if (headerRow != null) {
+                nodesByLine.put(headerRow.getLocation().getLine(), testSources.new AstNode(headerRow, examplesNode));
+            }
+            List<TableRow> bodyRows = examples.getTableBody();
+            if (bodyRows != null) {
+                for (int i = 0; i < bodyRows.size(); ++i) {
+                    TableRow examplesRow = bodyRows.get(i);
+                    TestSourcesModel.ExamplesRowWrapperNode rowNode = testSources.new ExamplesRowWrapperNode(examplesRow, i);
+                    nodesByLine.put(examplesRow.getLocation().getLine(), testSources.new AstNode(rowNode, examplesNode));
+                }
+            }
+        }
     }
 }
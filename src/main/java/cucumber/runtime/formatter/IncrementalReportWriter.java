@@ -0,0 +1,87 @@
+package cucumber.runtime.formatter;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.model.TestOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Writes the reports for finished features on a small pool of background threads,
+ * so that report generation overlaps with the execution of the remaining features.
+ */
+class IncrementalReportWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalReportWriter.class);
+
+    private final Consumer<List<TestOutcome>> reportGenerator;
+    private final int threadCount;
+
+    private ExecutorService executor;
+    private final List<Future<?>> pendingReports = new ArrayList<>();
+
+    IncrementalReportWriter(Consumer<List<TestOutcome>> reportGenerator, int threadCount) {
+        this.reportGenerator = reportGenerator;
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    synchronized void writeReportsFor(String featurePath, List<TestOutcome> testOutcomes) {
+        if (testOutcomes.isEmpty()) {
+            return;
+        }
+        pendingReports.add(executor().submit(() -> {
+            LOGGER.debug("Writing {} test outcome(s) for {}", testOutcomes.size(), featurePath);
+            reportGenerator.accept(testOutcomes);
+        }));
+    }
+
+    /**
+     * The number of feature reports submitted but not yet written.
+     */
+    synchronized int pendingReports() {
+        return (int) pendingReports.stream().filter(report -> !report.isDone()).count();
+    }
+
+    /**
+     * Blocks until every submitted report has been written, then releases the writer threads.
+     */
+    void awaitCompletion() {
+        List<Future<?>> reportsToComplete;
+        ExecutorService executorToShutdown;
+        synchronized (this) {
+            reportsToComplete = new ArrayList<>(pendingReports);
+            pendingReports.clear();
+            executorToShutdown = executor;
+            executor = null;
+        }
+        try {
+            for (Future<?> report : reportsToComplete) {
+                report.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for feature reports to be written", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to write feature reports", e.getCause());
+        } finally {
+            if (executorToShutdown != null) {
+                executorToShutdown.shutdown();
+            }
+        }
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threadCount,
+                    new ThreadFactoryBuilder().setNameFormat("serenity-report-writer-%d").setDaemon(true).build());
+        }
+        return executor;
+    }
+}
@@ -2,6 +2,7 @@ package cucumber.runtime.formatter;
 
 import gherkin.ast.Examples;
 import gherkin.ast.TableRow;
+import io.cucumber.core.options.RuntimeOptions;
 import net.serenitybdd.cucumber.CucumberWithSerenity;
 
 import java.net.URI;
@@ -12,24 +13,46 @@ import java.util.Set;
 
 public class LineFilters {
 
+    private static volatile LineFilters lineFiltersForLatestRuntimeOptions;
+
+    private final RuntimeOptions runtimeOptions;
     private Map<URI, Set<Integer>> lineFilters;
 
+    /**
+     * Line filters indexed by feature path (the string form of the feature URI), so that lookups
+     * from the reporter, which only knows the feature path, do not need to scan every filtered URI.
+     */
+    private final Map<String, FilteredFeature> filteredFeatures = new HashMap<>();
+
     public LineFilters() {
+        this(CucumberWithSerenity.currentRuntimeOptions());
+    }
+
+    private LineFilters(RuntimeOptions runtimeOptions) {
+        this.runtimeOptions = runtimeOptions;
         lineFilters = newLineFilters();
+        lineFilters.forEach((uri, lines) -> filteredFeatures.put(uri.toString(), new FilteredFeature(uri, lines)));
     }
 
+    /**
+     * The line filters of the current runtime options. The index is only built once for a given set of runtime options.
+     */
     public static LineFilters forCurrentContext() {
-        return new LineFilters();
+        RuntimeOptions currentRuntimeOptions = CucumberWithSerenity.currentRuntimeOptions();
+        LineFilters latestLineFilters = lineFiltersForLatestRuntimeOptions;
+        if (latestLineFilters == null || latestLineFilters.runtimeOptions != currentRuntimeOptions) {
+            latestLineFilters = new LineFilters(currentRuntimeOptions);
+            lineFiltersForLatestRuntimeOptions = latestLineFilters;
+        }
+        return latestLineFilters;
     }
 
     public Optional<URI> getURIForFeaturePath(String featurePath) {
-        return lineFilters.keySet().stream()
-                .filter(uri -> featurePath.equals(uri.toString()))
-                .findFirst();
+        return Optional.ofNullable(filteredFeatures.get(featurePath)).map(filteredFeature -> filteredFeature.uri);
     }
 
     private Map<URI, Set<Integer>> newLineFilters() {
-        Map<URI, Set<Integer>> lineFiltersFromRuntime = CucumberWithSerenity.currentRuntimeOptions().getLineFilters();
+        Map<URI, Set<Integer>> lineFiltersFromRuntime = runtimeOptions.getLineFilters();
         if (lineFiltersFromRuntime == null) {
             return new HashMap<>();
         } else {
@@ -41,6 +64,15 @@ public class LineFilters {
         return lineFilters.get(featurePath);
     }
 
+    /**
+     * The feature path used to identify the event bus of a feature: the feature path itself, or, if the feature
+     * has line filters, the feature path followed by the first filtered line.
+     */
+    public String prefixedFeaturePathFor(String featurePath) {
+        FilteredFeature filteredFeature = filteredFeatures.get(featurePath);
+        return (filteredFeature != null) ? filteredFeature.prefixedPath : featurePath;
+    }
+
 
     public boolean examplesAreNotExcluded(Examples examples, String featurePath) {
         if (lineFilters.isEmpty()) {
@@ -49,13 +81,10 @@ public class LineFilters {
         if (lineFiltersContainFeaturePath(featurePath)) {
             return false;
         } else {
-            Optional<URI> uriForFeaturePath = getURIForFeaturePath(featurePath);
+            FilteredFeature filteredFeature = filteredFeatures.get(featurePath);
 
-            return uriForFeaturePath.filter(
-                    uri -> examples.getTableBody().stream()
-                            .anyMatch(
-                                    row -> lineFilters.get(uri).contains(row.getLocation().getLine()))
-            ).isPresent();
+            return filteredFeature != null
+                    && examples.getTableBody().stream().anyMatch(row -> filteredFeature.lines.contains(row.getLocation().getLine()));
         }
     }
 
@@ -66,12 +95,24 @@ public class LineFilters {
         if (lineFiltersContainFeaturePath(featurePath)) {
             return false;
         } else {
-            Optional<URI> uriForFeaturePath = getURIForFeaturePath(featurePath);
-            return uriForFeaturePath.filter(uri -> lineFilters.get(uri).contains(tableRow.getLocation().getLine())).isPresent();
+            FilteredFeature filteredFeature = filteredFeatures.get(featurePath);
+            return filteredFeature != null && filteredFeature.lines.contains(tableRow.getLocation().getLine());
         }
     }
 
     private boolean lineFiltersContainFeaturePath(String featurePath) {
         return getURIForFeaturePath(featurePath) != null;
     }
+
+    private static class FilteredFeature {
+        private final URI uri;
+        private final Set<Integer> lines;
+        private final String prefixedPath;
+
+        private FilteredFeature(URI uri, Set<Integer> lines) {
+            this.uri = uri;
+            this.lines = lines;
+            this.prefixedPath = lines.isEmpty() ? uri.toString() : uri.toString() + ":" + lines.iterator().next();
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package cucumber.runtime.formatter;
+
+import cucumber.api.PickleStepTestStep;
+import cucumber.api.Result;
+import cucumber.api.event.Event;
+import cucumber.api.event.EventHandler;
+import cucumber.api.event.EventPublisher;
+import cucumber.api.event.TestCaseFinished;
+import cucumber.api.event.TestRunFinished;
+import cucumber.api.event.TestRunStarted;
+import cucumber.api.event.TestStepFinished;
+import net.serenitybdd.cucumber.CucumberSystemProperty;
+import net.serenitybdd.cucumber.metrics.Counter;
+import net.serenitybdd.cucumber.metrics.LatencyHistogram;
+import net.serenitybdd.cucumber.metrics.MetricsFormat;
+import net.serenitybdd.cucumber.metrics.RunMetrics;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.IntSupplier;
+
+/**
+ * The metrics recorded by the Serenity reporter: how long each type of event takes to handle, scenario and step durations
+ * by result, how long reports take to write, and how many feature reports are waiting. The metrics are exposed through JMX
+ * while the test run is in progress, and a snapshot is written when it has finished.
+ */
+class ReporterMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReporterMetrics.class);
+
+    private final RunMetrics runMetrics;
+    private final Path snapshotFile;
+    private final MetricsFormat snapshotFormat;
+
+    private final LatencyHistogram[] scenarioDurations = new LatencyHistogram[Result.Type.values().length];
+    private final LatencyHistogram[] stepDurations = new LatencyHistogram[Result.Type.values().length];
+    private final LatencyHistogram runReportGenerationTime;
+    private final LatencyHistogram featureReportGenerationTime;
+
+    ReporterMetrics(RunMetrics runMetrics, Path snapshotFile, MetricsFormat snapshotFormat) {
+        this.runMetrics = runMetrics;
+        this.snapshotFile = snapshotFile;
+        this.snapshotFormat = snapshotFormat;
+        for (Result.Type resultType : Result.Type.values()) {
+            scenarioDurations[resultType.ordinal()] = runMetrics.histogram("serenity_cucumber_scenario_duration_seconds",
+                    "Duration of the scenarios that have finished, by result", "result", resultType.lowerCaseName());
+            stepDurations[resultType.ordinal()] = runMetrics.histogram("serenity_cucumber_step_duration_seconds",
+                    "Duration of the Gherkin steps that have finished, by result", "result", resultType.lowerCaseName());
+        }
+        this.runReportGenerationTime = reportGenerationTime("run");
+        this.featureReportGenerationTime = reportGenerationTime("feature");
+    }
+
+    private LatencyHistogram reportGenerationTime(String scope) {
+        return runMetrics.histogram("serenity_cucumber_report_generation_seconds",
+                "Time taken to write the Serenity reports, for the whole run or for a finished feature", "scope", scope);
+    }
+
+    static ReporterMetrics configuredIn(EnvironmentVariables environmentVariables) {
+        if (!CucumberSystemProperty.SERENITY_CUCUMBER_METRICS.booleanFrom(environmentVariables, false)) {
+            return null;
+        }
+        MetricsFormat format = MetricsFormat.from(CucumberSystemProperty.SERENITY_CUCUMBER_METRICS_FORMAT.from(environmentVariables, "prometheus"));
+        String outputDirectory = environmentVariables.getProperty(ThucydidesSystemProperty.SERENITY_OUTPUT_DIRECTORY, "target/site/serenity");
+        String defaultSnapshotFile = Paths.get(outputDirectory, "cucumber-metrics." + format.getFileExtension()).toString();
+        Path snapshotFile = Paths.get(CucumberSystemProperty.SERENITY_CUCUMBER_METRICS_FILE.from(environmentVariables, defaultSnapshotFile));
+        return new ReporterMetrics(new RunMetrics(), snapshotFile, format);
+    }
+
+    RunMetrics getRunMetrics() {
+        return runMetrics;
+    }
+
+    /**
+     * Counts the events of the given type and records how long the handler takes to handle each of them.
+     */
+    <T extends Event> EventHandler<T> timed(Class<T> eventType, EventHandler<T> handler) {
+        LatencyHistogram handlingTime = runMetrics.histogram("serenity_cucumber_event_handler_seconds",
+                "Time taken by the Serenity reporter to handle each type of Cucumber event", "event", eventType.getSimpleName());
+        Counter failures = runMetrics.counter("serenity_cucumber_event_handler_failures_total",
+                "Cucumber events that the Serenity reporter failed to handle", "event", eventType.getSimpleName());
+        return event -> {
+            long start = System.nanoTime();
+            try {
+                handler.receive(event);
+            } catch (RuntimeException | Error e) {
+                failures.increment();
+                throw e;
+            } finally {
+                handlingTime.recordSince(start);
+            }
+        };
+    }
+
+    void timeReportGeneration(boolean wholeRun, Runnable generateReports) {
+        long start = System.nanoTime();
+        try {
+            generateReports.run();
+        } finally {
+            (wholeRun ? runReportGenerationTime : featureReportGenerationTime).recordSince(start);
+        }
+    }
+
+    void gauge(String name, String help, IntSupplier value) {
+        runMetrics.gauge(name, help, value::getAsInt);
+    }
+
+    /**
+     * Records scenario and step durations, exposes the metrics through JMX when the test run starts, and writes the
+     * snapshot when it finishes. Must be registered after the reporter's own handlers, so that the snapshot includes
+     * the time taken to write the reports.
+     */
+    void registerWith(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runMetrics.registerMBean());
+        publisher.registerHandlerFor(TestCaseFinished.class, event -> recordDuration(scenarioDurations, event.result));
+        publisher.registerHandlerFor(TestStepFinished.class, event -> {
+            if (event.testStep instanceof PickleStepTestStep) {
+                recordDuration(stepDurations, event.result);
+            }
+        });
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeSnapshot());
+    }
+
+    private static void recordDuration(LatencyHistogram[] durationsByResult, Result result) {
+        Long duration = result.getDuration();
+        if (duration != null) {
+            durationsByResult[result.getStatus().ordinal()].record(duration);
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            runMetrics.writeSnapshotTo(snapshotFile, snapshotFormat);
+            LOGGER.info("Wrote the test run metrics to {}", snapshotFile);
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the test run metrics to {}: {}", snapshotFile, e.getMessage());
+        } finally {
+            runMetrics.unregisterMBean();
+        }
+    }
+}
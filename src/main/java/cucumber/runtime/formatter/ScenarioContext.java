@@ -10,9 +10,7 @@ import net.thucydides.core.steps.StepEventBus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-
-import static java.util.stream.Collectors.toList;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 class ScenarioContext {
     private final Queue<Step> stepQueue = new LinkedList<>();
@@ -22,11 +20,8 @@ class ScenarioContext {
     private boolean addingScenarioOutlineSteps = false;
     private DataTable table;
 
-    //keys are line numbers, entries are example rows (key=header, value=rowValue )
-    Map<Integer, Map<String, String>> exampleRows;
-
-    //keys are line numbers
-    Map<Integer, List<Tag>> exampleTags;
+    //the Examples tables of the current scenario outline, in the order in which they are declared
+    private final List<ExamplesTable> examplesTables = new CopyOnWriteArrayList<>();
 
     int exampleCount = 0;
 
@@ -40,12 +35,19 @@ class ScenarioContext {
 
     List<Tag> featureTags = new ArrayList<>();
 
+    List<Tag> scenarioTags;
+
     String currentFeaturePath;
 
     private FeaturePathFormatter featurePathFormatter = new FeaturePathFormatter();
 
+    private StepEventBus currentStepEventBus;
+
+    private String eventBusKey;
+
     public void currentFeaturePathIs(String featurePath) {
         currentFeaturePath = featurePath;
+        currentStepEventBus = null;
     }
 
     public ScenarioOutline currentScenarioOutline() {
@@ -64,12 +66,16 @@ class ScenarioContext {
         return examplesRunning;
     }
 
-    public Map<Integer, Map<String, String>> getExampleRows() {
-        return exampleRows;
+    public List<ExamplesTable> getExamplesTables() {
+        return examplesTables;
+    }
+
+    public void addExamplesTable(ExamplesTable examplesTable) {
+        examplesTables.add(examplesTable);
     }
 
-    public Map<Integer, List<Tag>> getExampleTags() {
-        return exampleTags;
+    public void clearExamplesTables() {
+        examplesTables.clear();
     }
 
     public int getExampleCount() {
@@ -188,33 +194,20 @@ class ScenarioContext {
         exampleCount = table.getSize();
     }
 
-    public void addTableRows(List<String> headers,
-                             List<Map<String, String>> rows,
+    public void addTableRows(ExamplesTable examplesTable,
                              String name,
-                             String description,
-                             Map<Integer, Integer> lineNumbersOfEachRow) {
+                             String description) {
         table.startNewDataSet(name, description);
-
-        AtomicInteger rowNumber = new AtomicInteger();
-        rows.forEach(
-                row -> table.appendRow(newRow(headers, lineNumbersOfEachRow, rowNumber.getAndIncrement(), row))
-        );
-        table.updateLineNumbers(lineNumbersOfEachRow);
+        for (int row = 0; row < examplesTable.size(); row++) {
+            table.appendRow(newRow(examplesTable, row));
+        }
+        table.updateLineNumbers(examplesTable.lineNumbersOfEachRow());
         exampleCount = table.getSize();
     }
 
     @NotNull
-    private DataTableRow newRow(List<String> headers,
-                                Map<Integer, Integer> lineNumbersOfEachRow,
-                                int rowNumber,
-                                Map<String, String> row) {
-        return new DataTableRow(
-                rowValuesFrom(headers, row),
-                lineNumbersOfEachRow.getOrDefault(rowNumber, 0));
-    }
-
-    private List<String> rowValuesFrom(List<String> headers, Map<String, String> row) {
-        return headers.stream().map(row::get).collect(toList());
+    private DataTableRow newRow(ExamplesTable examplesTable, int row) {
+        return new DataTableRow(examplesTable.valuesOf(row), examplesTable.lineNumberOf(row));
     }
 
     public void addTableTags(List<TestTag> tags) {
@@ -225,9 +218,27 @@ class ScenarioContext {
         table = null;
     }
 
+    /**
+     * Records this scenario on its own event bus, rather than on the event bus of its feature.
+     */
+    public void useEventBus(String eventBusKey) {
+        this.eventBusKey = eventBusKey;
+        currentStepEventBus = null;
+    }
+
+    public String eventBusKey() {
+        return (eventBusKey != null) ? eventBusKey : featurePathFormatter.featurePathWithPrefixIfNecessary(currentFeaturePath());
+    }
+
+    /**
+     * The event bus of the current feature (or scenario). It is resolved once per test case, as event buses are only
+     * cleared between test cases.
+     */
     public StepEventBus stepEventBus() {
-        String prefixedPath = featurePathFormatter.featurePathWithPrefixIfNecessary(currentFeaturePath());
-        return StepEventBus.eventBusFor(prefixedPath);
+        if (currentStepEventBus == null) {
+            currentStepEventBus = StepEventBus.eventBusFor(eventBusKey());
+        }
+        return currentStepEventBus;
     }
 }
 
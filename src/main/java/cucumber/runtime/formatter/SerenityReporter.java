@@ -3,6 +3,7 @@ package cucumber.runtime.formatter;
 import com.google.common.collect.Lists;
 import cucumber.api.*;
 import cucumber.api.event.*;
+import cucumber.runtime.GlueScopes;
 import cucumber.runtime.io.ResourceLoader;
 import gherkin.ast.*;
 import gherkin.ast.Scenario;
@@ -10,13 +11,17 @@ import gherkin.pickles.Argument;
 import gherkin.pickles.PickleCell;
 import gherkin.pickles.PickleRow;
 import gherkin.pickles.PickleTable;
-import io.cucumber.tagexpressions.Expression;
-import io.cucumber.tagexpressions.TagExpressionParser;
 import net.serenitybdd.core.Serenity;
 import net.serenitybdd.core.SerenityListeners;
 import net.serenitybdd.core.SerenityReports;
+import net.serenitybdd.cucumber.CucumberSystemProperty;
 import net.serenitybdd.cucumber.CucumberWithSerenity;
 import net.serenitybdd.cucumber.formatting.ScenarioOutlineDescription;
+import net.serenitybdd.cucumber.metrics.RunMetrics;
+import net.serenitybdd.cucumber.model.ScenarioResultCache;
+import net.serenitybdd.cucumber.util.CompiledTagExpression;
+import net.serenitybdd.cucumber.util.TagDictionary;
+import net.serenitybdd.cucumber.webdriver.DriverSessionPool;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.DataTable;
 import net.thucydides.core.model.*;
@@ -24,6 +29,7 @@ import net.thucydides.core.model.TestStep;
 import net.thucydides.core.model.stacktrace.RootCauseAnalyzer;
 import net.thucydides.core.reports.ReportService;
 import net.thucydides.core.steps.*;
+import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.util.Inflector;
 import net.thucydides.core.webdriver.Configuration;
 import net.thucydides.core.webdriver.ThucydidesWebDriverSupport;
@@ -34,6 +40,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static cucumber.runtime.formatter.TaggedScenario.*;
@@ -63,16 +70,41 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
 
     private LineFilters lineFilters;
 
-    private List<Tag> scenarioTags;
-
     private static final Logger LOGGER = LoggerFactory.getLogger(SerenityReporter.class);
 
     private ManualScenarioChecker manualScenarioDateChecker;
 
-    private ThreadLocal<ScenarioContext> localContext = ThreadLocal.withInitial(ScenarioContext::new);
+    private final ThreadLocal<ScenarioContext> localContext = new ThreadLocal<>();
+
+    private final FeatureCompletionTracker featureCompletion = new FeatureCompletionTracker();
+
+    private IncrementalReportWriter incrementalReportWriter;
+
+    private volatile boolean eventBusPerScenario = false;
+
+    private final Map<String, ScenarioContext> scenarioContexts = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<String>> scenarioEventBusKeys = new ConcurrentHashMap<>();
+
+    private final Map<String, Story> userStories = new ConcurrentHashMap<>();
+
+    private final Map<TestCase, ScenarioContext> testCaseContexts = new ConcurrentHashMap<>();
+
+    private volatile ScenarioResultCache resultCache;
+
+    private final List<TestOutcome> replayedOutcomes = Collections.synchronizedList(new ArrayList<>());
+
+    private ReporterMetrics reporterMetrics;
+
+    private DriverSessionPool driverSessionPool;
 
     private ScenarioContext getContext() {
-        return localContext.get();
+        ScenarioContext context = localContext.get();
+        if (context == null) {
+            context = new ScenarioContext();
+            localContext.set(context);
+        }
+        return context;
     }
 
     /**
@@ -84,6 +116,10 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         this.manualScenarioDateChecker = new ManualScenarioChecker(systemConfiguration.getEnvironmentVariables());
         baseStepListeners = Collections.synchronizedList(new ArrayList<>());
         lineFilters = LineFilters.forCurrentContext();
+        reporterMetrics = ReporterMetrics.configuredIn(systemConfiguration.getEnvironmentVariables());
+        incrementalReportWriter = incrementalReportWriterFor(systemConfiguration);
+        recordMetrics();
+        driverSessionPool = DriverSessionPool.configuredIn(systemConfiguration.getEnvironmentVariables(), getRunMetrics()).orElse(null);
     }
 
     public SerenityReporter(Configuration systemConfiguration, ResourceLoader resourceLoader) {
@@ -91,6 +127,81 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         this.manualScenarioDateChecker = new ManualScenarioChecker(systemConfiguration.getEnvironmentVariables());
         baseStepListeners = Collections.synchronizedList(new ArrayList<>());
         lineFilters = LineFilters.forCurrentContext();
+        reporterMetrics = ReporterMetrics.configuredIn(systemConfiguration.getEnvironmentVariables());
+        incrementalReportWriter = incrementalReportWriterFor(systemConfiguration);
+        recordMetrics();
+        driverSessionPool = DriverSessionPool.configuredIn(systemConfiguration.getEnvironmentVariables(), getRunMetrics()).orElse(null);
+    }
+
+    private IncrementalReportWriter incrementalReportWriterFor(Configuration systemConfiguration) {
+        EnvironmentVariables environmentVariables = systemConfiguration.getEnvironmentVariables();
+        if (!CucumberSystemProperty.SERENITY_CUCUMBER_INCREMENTAL_REPORTING.booleanFrom(environmentVariables, false)) {
+            return null;
+        }
+        int reportThreads = CucumberSystemProperty.SERENITY_CUCUMBER_REPORT_THREADS.integerFrom(environmentVariables, 2);
+        return new IncrementalReportWriter(testOutcomes -> generateReportsFor(testOutcomes, false), reportThreads);
+    }
+
+    /**
+     * Times every event handler, and exposes the depth of the incremental report queue.
+     */
+    private void recordMetrics() {
+        if (reporterMetrics == null) {
+            return;
+        }
+        testSourceReadHandler = reporterMetrics.timed(TestSourceRead.class, testSourceReadHandler);
+        caseStartedHandler = reporterMetrics.timed(TestCaseStarted.class, caseStartedHandler);
+        caseFinishedHandler = reporterMetrics.timed(TestCaseFinished.class, caseFinishedHandler);
+        stepStartedHandler = reporterMetrics.timed(TestStepStarted.class, stepStartedHandler);
+        stepFinishedHandler = reporterMetrics.timed(TestStepFinished.class, stepFinishedHandler);
+        runStartedHandler = reporterMetrics.timed(TestRunStarted.class, runStartedHandler);
+        runFinishedHandler = reporterMetrics.timed(TestRunFinished.class, runFinishedHandler);
+        writeEventHandler = reporterMetrics.timed(WriteEvent.class, writeEventHandler);
+        if (incrementalReportWriter != null) {
+            reporterMetrics.gauge("serenity_cucumber_pending_feature_reports", "Feature reports waiting to be written", incrementalReportWriter::pendingReports);
+        }
+    }
+
+    /**
+     * The metrics recorded during the test run, when serenity.cucumber.metrics is enabled.
+     */
+    public Optional<RunMetrics> getRunMetrics() {
+        return Optional.ofNullable(reporterMetrics).map(ReporterMetrics::getRunMetrics);
+    }
+
+    /**
+     * Tells the reporter how many test cases are going to run in a feature. When incremental reporting is enabled,
+     * the reports for the feature are written as soon as the last of these test cases has finished.
+     */
+    public void expectTestCasesFor(String featurePath, int testCaseCount) {
+        if (incrementalReportWriter != null && testCaseCount > 0) {
+            featureCompletion.expectTestCasesFor(featurePath, testCaseCount);
+        }
+    }
+
+    /**
+     * Records each scenario on its own step event bus, rather than on one event bus per feature, so that the scenarios
+     * of a feature can run on different threads at the same time. Scenario state is then kept for each scenario rather
+     * than for each thread. Must be called before the test run starts.
+     */
+    public void recordScenariosIndependently() {
+        this.eventBusPerScenario = true;
+    }
+
+    /**
+     * Stores the outcome of each passing scenario in the given result cache when its reports are written,
+     * and removes the least recently used outcomes from the cache at the end of the test run.
+     */
+    public void useResultCache(ScenarioResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Reports an outcome from the result cache in place of a scenario that was not run.
+     * Replayed outcomes are reported with the other outcomes at the end of the test run.
+     */
+    public void replay(TestOutcome testOutcome) {
+        replayedOutcomes.add(testOutcome);
     }
 
     private FeaturePathFormatter featurePathFormatter = new FeaturePathFormatter();
@@ -100,16 +211,11 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         return StepEventBus.eventBusFor(prefixedPath);
     }
 
-    private void setStepEventBus(String featurePath) {
-        String prefixedPath = featurePathFormatter.featurePathWithPrefixIfNecessary(featurePath);
-        StepEventBus.setCurrentBusToEventBusFor(prefixedPath);
-    }
-
-    private void initialiseListenersFor(String featurePath) {
-        if (getStepEventBus(featurePath).isBaseStepListenerRegistered()) {
+    private void initialiseListenersOn(StepEventBus stepEventBus) {
+        if (stepEventBus.isBaseStepListenerRegistered()) {
             return;
         }
-        SerenityListeners listeners = new SerenityListeners(getStepEventBus(featurePath), systemConfiguration);
+        SerenityListeners listeners = new SerenityListeners(stepEventBus, systemConfiguration);
         baseStepListeners.add(listeners.getBaseStepListener());
     }
 
@@ -123,6 +229,9 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
     private EventHandler<WriteEvent> writeEventHandler = this::handleWrite;
 
     private void handleTestRunStarted(TestRunStarted event) {
+        if (driverSessionPool != null) {
+            driverSessionPool.activate();
+        }
     }
 
     @Override
@@ -131,10 +240,49 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         publisher.registerHandlerFor(TestRunStarted.class, runStartedHandler);
         publisher.registerHandlerFor(TestRunFinished.class, runFinishedHandler);
         publisher.registerHandlerFor(TestCaseStarted.class, caseStartedHandler);
-        publisher.registerHandlerFor(TestCaseFinished.class, caseFinishedHandler);
-        publisher.registerHandlerFor(TestStepStarted.class, stepStartedHandler);
-        publisher.registerHandlerFor(TestStepFinished.class, stepFinishedHandler);
-        publisher.registerHandlerFor(WriteEvent.class, writeEventHandler);
+        publisher.registerHandlerFor(TestCaseFinished.class, inTestCaseContext(caseFinishedHandler));
+        publisher.registerHandlerFor(TestStepStarted.class, inTestCaseContext(stepStartedHandler));
+        publisher.registerHandlerFor(TestStepFinished.class, inTestCaseContext(stepFinishedHandler));
+        publisher.registerHandlerFor(WriteEvent.class, inTestCaseContext(writeEventHandler));
+        if (reporterMetrics != null) {
+            reporterMetrics.registerWith(publisher);
+        }
+        GlueScopes.shared().registerWith(publisher);
+    }
+
+    /**
+     * Handles an event in the context of the test case it belongs to, whichever thread publishes it.
+     * Events are correlated with their scenario by test case rather than by thread, so that the events of concurrently
+     * running test cases can be consumed as they happen, interleaved in any order, without being buffered first.
+     */
+    private <T extends TestCaseEvent> EventHandler<T> inTestCaseContext(EventHandler<T> handler) {
+        return event -> {
+            ScenarioContext testCaseContext = testCaseContexts.get(event.getTestCase());
+            if (testCaseContext == null) {
+                handler.receive(event);
+            } else {
+                inContext(testCaseContext, () -> handler.receive(event));
+            }
+        };
+    }
+
+    /**
+     * Runs a handler with the given context as the current context. A thread that had no context of its own is left
+     * without one, so that threads which only ever handle events in the context of a scenario (such as the virtual
+     * threads of a large parallel run) do not each keep a context of their own.
+     */
+    private void inContext(ScenarioContext context, Runnable handler) {
+        ScenarioContext previousContext = localContext.get();
+        localContext.set(context);
+        try {
+            handler.run();
+        } finally {
+            if (previousContext == null) {
+                localContext.remove();
+            } else {
+                localContext.set(previousContext);
+            }
+        }
     }
 
     private void handleTestSourceRead(TestSourceRead event) {
@@ -145,9 +293,14 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
                 feature -> {
                     getContext().setFeatureTags(feature.getTags());
 
+                    if (eventBusPerScenario) {
+                        userStories.put(featurePath, userStoryFrom(feature, relativeUriFrom(event.uri)));
+                        return;
+                    }
+
                     resetEventBusFor(featurePath);
-                    initialiseListenersFor(featurePath);
-                    configureDriver(feature, featurePath);
+                    initialiseListenersOn(getStepEventBus(featurePath));
+                    configureDriver(feature, getStepEventBus(featurePath));
 
                     Story userStory = userStoryFrom(feature, relativeUriFrom(event.uri));
 
@@ -207,10 +360,22 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
     }
 
     private void handleTestCaseStarted(TestCaseStarted event) {
+        if (eventBusPerScenario) {
+            inContext(scenarioContextFor(event.testCase.getUri(), event.testCase.getLine()), () -> startTestCase(event));
+        } else {
+            startTestCase(event);
+        }
+    }
+
+    private void startTestCase(TestCaseStarted event) {
 
         String featurePath = event.testCase.getUri();
+        if (!eventBusPerScenario && !featurePath.equals(getContext().currentFeaturePath())) {
+            featureFrom(featurePath).ifPresent(feature -> getContext().setFeatureTags(feature.getTags()));
+        }
         getContext().currentFeaturePathIs(featurePath);
-        setStepEventBus(featurePath);
+        testCaseContexts.put(event.testCase, getContext());
+        StepEventBus.setCurrentBusToEventBusFor(getContext().eventBusKey());
 
         String scenarioName = event.testCase.getName();
         TestSourcesModel.AstNode astNode = featureLoader.getAstNode(getContext().currentFeaturePath(), event.testCase.getLine());
@@ -224,7 +389,7 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
             String scenarioId = scenarioIdFrom(currentFeature.get().getName(), TestSourcesModel.convertToId(getContext().currentScenarioDefinition.getName()));
             boolean newScenario = !scenarioId.equals(getContext().getCurrentScenario());
             if (newScenario) {
-                configureDriver(currentFeature.get(), getContext().currentFeaturePath());
+                configureDriver(currentFeature.get(), getContext().stepEventBus());
                 if (getContext().isAScenarioOutline()) {
                     getContext().startNewExample();
                     handleExamples(currentFeature.get(),
@@ -246,6 +411,32 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         }
     }
 
+    /**
+     * The context of the scenario of this test case, created (along with its own event bus) for the first test case
+     * of the scenario. The test cases of a scenario outline share a context.
+     */
+    private ScenarioContext scenarioContextFor(String featurePath, int testCaseLine) {
+        TestSourcesModel.AstNode astNode = featureLoader.getAstNode(featurePath, testCaseLine);
+        int scenarioLine = (astNode != null) ? TestSourcesModel.getScenarioDefinition(astNode).getLocation().getLine() : testCaseLine;
+        String eventBusKey = featurePathFormatter.featurePathWithPrefixIfNecessary(featurePath) + ":" + scenarioLine;
+        return scenarioContexts.computeIfAbsent(eventBusKey, key -> newScenarioContext(featurePath, key));
+    }
+
+    private ScenarioContext newScenarioContext(String featurePath, String eventBusKey) {
+        ScenarioContext scenarioContext = new ScenarioContext();
+        scenarioContext.useEventBus(eventBusKey);
+        featureFrom(featurePath).ifPresent(feature -> scenarioContext.setFeatureTags(feature.getTags()));
+
+        StepEventBus stepEventBus = StepEventBus.eventBusFor(eventBusKey);
+        initialiseListenersOn(stepEventBus);
+        Story userStory = userStories.get(featurePath);
+        if (userStory != null) {
+            stepEventBus.testSuiteStarted(userStory);
+        }
+        scenarioEventBusKeys.computeIfAbsent(featurePath, path -> ConcurrentHashMap.newKeySet()).add(eventBusKey);
+        return scenarioContext;
+    }
+
     private void handleTestCaseFinished(TestCaseFinished event) {
         if (getContext().examplesAreRunning()) {
             handleResult(event.result);
@@ -253,16 +444,55 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         }
 
         if (event.result.is(Result.Type.FAILED) && noAnnotatedResultIdDefinedFor(event)) {
-            getStepEventBus(event.testCase.getUri()).testFailed(event.result.getError());
+            getContext().stepEventBus().testFailed(event.result.getError());
         } else {
-            getStepEventBus(event.testCase.getUri()).testFinished(getContext().examplesAreRunning());
+            getContext().stepEventBus().testFinished(getContext().examplesAreRunning());
         }
 
         getContext().clearStepQueue();
+        testCaseContexts.remove(event.testCase);
+
+        if (featureCompletion.testCaseFinishedIn(event.testCase.getUri())) {
+            writeReportsForFinishedFeature(event.testCase.getUri());
+        }
+    }
+
+    private void writeReportsForFinishedFeature(String featurePath) {
+        List<TestOutcome> testOutcomes = new ArrayList<>();
+        for (String eventBusKey : eventBusKeysFor(featurePath)) {
+            StepEventBus stepEventBus = StepEventBus.eventBusFor(eventBusKey);
+            if (!stepEventBus.isBaseStepListenerRegistered()) {
+                continue;
+            }
+            BaseStepListener baseStepListener = stepEventBus.getBaseStepListener();
+            testOutcomes.addAll(baseStepListener.getTestOutcomes());
+            baseStepListeners.remove(baseStepListener);
+
+            stepEventBus.testSuiteFinished();
+            stepEventBus.dropAllListeners();
+            stepEventBus.clear();
+            StepEventBus.clearEventBusFor(eventBusKey);
+            scenarioContexts.remove(eventBusKey);
+        }
+        if (!testOutcomes.isEmpty()) {
+            storePassingOutcomes(testOutcomes);
+            incrementalReportWriter.writeReportsFor(featurePath, testOutcomes);
+        }
+    }
+
+    /**
+     * The keys of the step event buses used to record the scenarios of a feature.
+     */
+    private List<String> eventBusKeysFor(String featurePath) {
+        if (eventBusPerScenario) {
+            Set<String> eventBusKeys = scenarioEventBusKeys.remove(featurePath);
+            return (eventBusKeys != null) ? new ArrayList<>(eventBusKeys) : Collections.emptyList();
+        }
+        return Collections.singletonList(featurePathFormatter.featurePathWithPrefixIfNecessary(featurePath));
     }
 
     private boolean noAnnotatedResultIdDefinedFor(TestCaseFinished event) {
-        BaseStepListener baseStepListener = getStepEventBus(event.testCase.getUri()).getBaseStepListener();
+        BaseStepListener baseStepListener = getContext().stepEventBus().getBaseStepListener();
         return (baseStepListener.getTestOutcomes().isEmpty() || (latestOf(baseStepListener.getTestOutcomes()).getAnnotatedResult() == null));
     }
 
@@ -315,19 +545,28 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
 
     private void handleTestRunFinished(TestRunFinished event) {
         generateReports();
+        if (incrementalReportWriter != null) {
+            incrementalReportWriter.awaitCompletion();
+        }
         assureTestSuiteFinished();
+        testCaseContexts.clear();
+        if (driverSessionPool != null) {
+            driverSessionPool.shutdown();
+        }
     }
 
     private ReportService getReportService() {
         return SerenityReports.getReportService(systemConfiguration);
     }
 
-    private void configureDriver(Feature feature, String featurePath) {
-        getStepEventBus(featurePath).setUniqueSession(systemConfiguration.shouldUseAUniqueBrowser());
+    private void configureDriver(Feature feature, StepEventBus stepEventBus) {
+        stepEventBus.setUniqueSession(systemConfiguration.shouldUseAUniqueBrowser());
         List<String> tags = getTagNamesFrom(feature.getTags());
         String requestedDriver = getDriverFrom(tags);
         String requestedDriverOptions = getDriverOptionsFrom(tags);
-        if (isNotEmpty(requestedDriver)) {
+        if (driverSessionPool != null) {
+            driverSessionPool.useSessionFor(requestedDriver, requestedDriverOptions);
+        } else if (isNotEmpty(requestedDriver)) {
             ThucydidesWebDriverSupport.useDefaultDriver(requestedDriver);
             ThucydidesWebDriverSupport.useDriverOptions(requestedDriverOptions);
         }
@@ -366,6 +605,7 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         List<Tag> currentFeatureTags = currentFeature.getTags();
         getContext().doneAddingScenarioOutlineSteps();
         initializeExamples();
+        getContext().clearExamplesTables();
         for (Examples examples : examplesList) {
             if (examplesAreNotExcludedByTags(examples, scenarioOutlineTags, currentFeatureTags)
                     && lineFilters.examplesAreNotExcluded(examples, getContext().currentFeaturePath())) {
@@ -374,19 +614,9 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
                         .stream()
                         .filter(tableRow -> lineFilters.tableRowIsNotExcludedBy(tableRow, getContext().currentFeaturePath()))
                         .collect(Collectors.toList());
-                List<String> headers = getHeadersFrom(examples.getTableHeader());
-                List<Map<String, String>> rows = getValuesFrom(examplesTableRows, headers);
-
-                Map<Integer, Integer> lineNumbersOfEachRow = new HashMap<>();
+                ExamplesTable examplesTable = ExamplesTable.from(examples.getTableHeader(), examplesTableRows, examples.getTags());
+                getContext().addExamplesTable(examplesTable);
 
-                for (int i = 0; i < examplesTableRows.size(); i++) {
-                    TableRow tableRow = examplesTableRows.get(i);
-                    lineNumbersOfEachRow.put(i, tableRow.getLocation().getLine());
-                    addRow(exampleRows(), headers, tableRow);
-                    if (examples.getTags() != null) {
-                        exampleTags().put(examplesTableRows.get(i).getLocation().getLine(), examples.getTags());
-                    }
-                }
                 String scenarioId = scenarioIdFrom(featureName, id);
                 boolean newScenario = !getContext().hasScenarioId(scenarioId);
 
@@ -395,17 +625,13 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
                 if (newScenario) {
                     getContext().setTable(
                             dataTableFrom(SCENARIO_OUTLINE_NOT_KNOWN_YET,
-                                    headers,
-                                    rows,
+                                    examplesTable,
                                     exampleTableName,
-                                    exampleTableDescription,
-                                    lineNumbersOfEachRow));
+                                    exampleTableDescription));
                 } else {
-                    getContext().addTableRows(headers,
-                            rows,
+                    getContext().addTableRows(examplesTable,
                             exampleTableName,
-                            exampleTableDescription,
-                            lineNumbersOfEachRow);
+                            exampleTableDescription);
                 }
                 getContext().addTableTags(tagsIn(examples));
 
@@ -428,11 +654,9 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
 
     private boolean examplesMatchFilter(Examples examples, List<Tag> scenarioOutlineTags, List<Tag> currentFeatureTags) {
         List<Tag> allExampleTags = getExampleAllTags(examples, scenarioOutlineTags, currentFeatureTags);
-        List<String> allTagsForAnExampleScenario = allExampleTags.stream().map(Tag::getName).collect(Collectors.toList());
         String TagValuesFromCucumberOptions = getCucumberRuntimeTags().get(0);
-        TagExpressionParser parser = new TagExpressionParser();
-        Expression expressionNode = parser.parse(TagValuesFromCucumberOptions);
-        return expressionNode.evaluate(allTagsForAnExampleScenario);
+        CompiledTagExpression expression = CompiledTagExpression.compile(TagValuesFromCucumberOptions);
+        return expression.evaluate(TagDictionary.shared().tagSetOf(allExampleTags.stream().map(Tag::getName).collect(toList())));
     }
 
     private boolean testRunHasFilterTags() {
@@ -460,37 +684,6 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         return allTags;
     }
 
-    private List<String> getHeadersFrom(TableRow headerRow) {
-        return headerRow.getCells().stream().map(TableCell::getValue).collect(Collectors.toList());
-    }
-
-    private List<Map<String, String>> getValuesFrom(List<TableRow> examplesTableRows, List<String> headers) {
-
-        List<Map<String, String>> rows = new ArrayList<>();
-        for (int row = 0; row < examplesTableRows.size(); row++) {
-            Map<String, String> rowValues = new HashMap<>();
-            int column = 0;
-            List<String> cells = examplesTableRows.get(row).getCells().stream().map(TableCell::getValue).collect(Collectors.toList());
-            for (String cellValue : cells) {
-                String columnName = headers.get(column++);
-                rowValues.put(columnName, cellValue);
-            }
-            rows.add(rowValues);
-        }
-        return rows;
-    }
-
-    private void addRow(Map<Integer, Map<String, String>> exampleRows,
-                        List<String> headers,
-                        TableRow currentTableRow) {
-        Map<String, String> row = new LinkedHashMap<>();
-        for (int j = 0; j < headers.size(); j++) {
-            List<String> cells = currentTableRow.getCells().stream().map(TableCell::getValue).collect(Collectors.toList());
-            row.put(headers.get(j), cells.get(j));
-        }
-        exampleRows().put(currentTableRow.getLocation().getLine(), row);
-    }
-
     private String scenarioIdFrom(String featureId, String scenarioIdOrExampleId) {
         return (featureId != null && scenarioIdOrExampleId != null) ? String.format("%s;%s", featureId, scenarioIdOrExampleId) : "";
     }
@@ -499,29 +692,20 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         getContext().setExamplesRunning(true);
     }
 
-    private Map<Integer, Map<String, String>> exampleRows() {
-        if (getContext().exampleRows == null) {
-            getContext().exampleRows = Collections.synchronizedMap(new HashMap<>());
-        }
-        return getContext().exampleRows;
-    }
-
-    private Map<Integer, List<Tag>> exampleTags() {
-        if (getContext().exampleTags == null) {
-            getContext().exampleTags = Collections.synchronizedMap(new HashMap<>());
-        }
-        return getContext().exampleTags;
-    }
-
+    /**
+     * Serenity reads the rows of a new data table from maps, so the rows are passed to it as views over the cells of the examples table.
+     */
     private DataTable dataTableFrom(String scenarioOutline,
-                                    List<String> headers,
-                                    List<Map<String, String>> rows,
+                                    ExamplesTable examplesTable,
                                     String name,
-                                    String description,
-                                    Map<Integer, Integer> lineNumbersOfEachRow) {
-        return DataTable.withHeaders(headers)
+                                    String description) {
+        List<Map<String, String>> rows = new ArrayList<>(examplesTable.size());
+        for (int row = 0; row < examplesTable.size(); row++) {
+            rows.add(examplesTable.row(row));
+        }
+        return DataTable.withHeaders(examplesTable.getHeaders())
                 .andScenarioOutline(scenarioOutline)
-                .andMappedRows(rows, lineNumbersOfEachRow)
+                .andMappedRows(rows, examplesTable.lineNumbersOfEachRow())
                 .andTitle(name)
                 .andDescription(description)
                 .build();
@@ -580,8 +764,8 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         List<Tag> tags = getTagsOfScenarioDefinition(scenarioDefinition);
         registerScenarioJiraIssues(tags);
 
-        scenarioTags = tagsForScenario(scenarioDefinition);
-        updateResultFromTags(scenarioTags);
+        getContext().scenarioTags = tagsForScenario(scenarioDefinition);
+        updateResultFromTags(getContext().scenarioTags);
     }
 
     private List<Tag> tagsForScenario(ScenarioDefinition scenarioDefinition) {
@@ -665,13 +849,13 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         return issues;
     }
 
-    private void startExample(Integer lineNumber) {
-        Map<String, String> data = exampleRows().get(lineNumber);
+    private void startExample(int lineNumber) {
+        Optional<ExamplesTable> examplesTable = getContext().getExamplesTables().stream().filter(table -> table.rowAt(lineNumber) >= 0).findFirst();
+        Map<String, String> data = examplesTable.map(table -> table.row(table.rowAt(lineNumber))).orElse(null);
         getContext().stepEventBus().clearStepFailures();
         getContext().stepEventBus().exampleStarted(data);
-        if (exampleTags().containsKey(lineNumber)) {
-            List<Tag> currentExampleTags = exampleTags().get(lineNumber);
-            getContext().stepEventBus().addTagsToCurrentTest(convertCucumberTags(currentExampleTags));
+        if (examplesTable.isPresent() && examplesTable.get().getTags() != null) {
+            getContext().stepEventBus().addTagsToCurrentTest(convertCucumberTags(examplesTable.get().getTags()));
         }
     }
 
@@ -724,6 +908,15 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
                     StepEventBus.clearEventBusFor(featurePath);
                 }
         );
+        scenarioEventBusKeys.clear();
+        scenarioContexts.keySet().forEach(eventBusKey -> {
+            StepEventBus stepEventBus = StepEventBus.eventBusFor(eventBusKey);
+            stepEventBus.testSuiteFinished();
+            stepEventBus.dropAllListeners();
+            stepEventBus.clear();
+            StepEventBus.clearEventBusFor(eventBusKey);
+        });
+        scenarioContexts.clear();
         Serenity.done();
         getContext().clearTable();
         getContext().currentScenarioId = null;
@@ -760,7 +953,7 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
         if (getContext().waitingToProcessBackgroundSteps) {
             getContext().waitingToProcessBackgroundSteps = false;
         } else {
-            updateResultFromTags(scenarioTags);
+            updateResultFromTags(getContext().scenarioTags);
         }
     }
 
@@ -884,12 +1077,35 @@ public class SerenityReporter implements Plugin, ConcurrentEventListener {
     }
 
     private void generateReports() {
-        getReportService().generateReportsFor(getAllTestOutcomes());
+        List<TestOutcome> testOutcomes = getAllTestOutcomes();
+        storePassingOutcomes(testOutcomes);
+        generateReportsFor(testOutcomes, true);
+        if (resultCache != null) {
+            resultCache.evictLeastRecentlyUsedOutcomes();
+        }
+    }
+
+    private void generateReportsFor(List<TestOutcome> testOutcomes, boolean wholeRun) {
+        if (reporterMetrics == null) {
+            getReportService().generateReportsFor(testOutcomes);
+        } else {
+            reporterMetrics.timeReportGeneration(wholeRun, () -> getReportService().generateReportsFor(testOutcomes));
+        }
+    }
+
+    private void storePassingOutcomes(List<TestOutcome> testOutcomes) {
+        if (resultCache != null) {
+            testOutcomes.forEach(resultCache::storePassingOutcome);
+        }
     }
 
     public List<TestOutcome> getAllTestOutcomes() {
-        return baseStepListeners.stream().map(BaseStepListener::getTestOutcomes).flatMap(List::stream)
+        List<TestOutcome> testOutcomes = baseStepListeners.stream().map(BaseStepListener::getTestOutcomes).flatMap(List::stream)
                 .collect(Collectors.toList());
+        synchronized (replayedOutcomes) {
+            testOutcomes.addAll(replayedOutcomes);
+        }
+        return testOutcomes;
     }
 
     private String normalized(String value) {
@@ -0,0 +1,109 @@
+package io.cucumber.junit;
+
+import cucumber.runtime.formatter.SerenityReporter;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.events.PickleEvent;
+import net.serenitybdd.cucumber.model.ScenarioResultCache;
+import net.thucydides.core.model.TestOutcome;
+import org.junit.AssumptionViolatedException;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Replays the outcomes of unchanged scenarios that passed in an earlier run, instead of running them again.
+ * Replayed scenarios are reported to Serenity with their stored outcome, and to JUnit as skipped,
+ * and are then filtered out of their feature so that only the remaining scenarios run.
+ */
+class CachedScenarioReplay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedScenarioReplay.class);
+
+    private static final String REPLAYED_MESSAGE = "Not run: this scenario passed in an earlier run with the same Gherkin text, glue and properties, and its outcome was replayed from the result cache";
+
+    private final ScenarioResultCache resultCache;
+    private final SerenityReporter reporter;
+    private final FeaturesByUri featuresByUri;
+
+    CachedScenarioReplay(ScenarioResultCache resultCache, SerenityReporter reporter, FeaturesByUri featuresByUri) {
+        this.resultCache = resultCache;
+        this.reporter = reporter;
+        this.featuresByUri = featuresByUri;
+    }
+
+    /**
+     * Replays the cached scenarios of the given features before running the rest of them.
+     */
+    Statement replayCachedScenarios(List<FeatureRunner> featureRunners, RunNotifier notifier, Statement runScenarios) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                int replayedScenarios = 0;
+                for (FeatureRunner featureRunner : featureRunners) {
+                    replayedScenarios += replayCachedScenariosIn(featureRunner, notifier);
+                }
+                if (replayedScenarios > 0) {
+                    LOGGER.info("Replayed {} unchanged passing scenario(s) from the {}", replayedScenarios, resultCache);
+                }
+                runScenarios.evaluate();
+            }
+        };
+    }
+
+    private int replayCachedScenariosIn(FeatureRunner featureRunner, RunNotifier notifier) {
+        Optional<CucumberFeature> cucumberFeature = featuresByUri.featureAt(FeatureRunnerExtractors.featurePathFor(featureRunner));
+        if (!cucumberFeature.isPresent()) {
+            return 0;
+        }
+        CucumberFeature feature = cucumberFeature.get();
+        int replayedScenarios = 0;
+        Set<Description> replayedDescriptions = new HashSet<>();
+        for (List<PickleRunners.PickleRunner> scenario : ParallelScenarioExecution.scenariosIn(singletonList(featureRunner))) {
+            List<PickleEvent> pickleEvents = scenario.stream().map(FeatureRunnerExtractors::pickleEventFor).collect(toList());
+            Optional<TestOutcome> replayedOutcome = resultCache.replayableOutcomeFor(feature, pickleEvents);
+            if (replayedOutcome.isPresent()) {
+                reporter.replay(replayedOutcome.get());
+                scenario.forEach(pickleRunner -> reportReplayed(pickleRunner.getDescription(), notifier));
+                scenario.forEach(pickleRunner -> replayedDescriptions.add(pickleRunner.getDescription()));
+                replayedScenarios++;
+            }
+        }
+        if (!replayedDescriptions.isEmpty()) {
+            try {
+                featureRunner.filter(new Filter() {
+                    @Override
+                    public boolean shouldRun(Description description) {
+                        return !replayedDescriptions.contains(description);
+                    }
+
+                    @Override
+                    public String describe() {
+                        return "scenarios not replayed from the " + resultCache;
+                    }
+                });
+            } catch (NoTestsRemainException e) {
+                LOGGER.debug("Replayed every scenario of {}", feature.getUri());
+            }
+        }
+        return replayedScenarios;
+    }
+
+    private void reportReplayed(Description description, RunNotifier notifier) {
+        notifier.fireTestStarted(description);
+        notifier.fireTestAssumptionFailed(new Failure(description, new AssumptionViolatedException(REPLAYED_MESSAGE)));
+        notifier.fireTestFinished(description);
+    }
+}
@@ -21,13 +21,19 @@ import io.cucumber.core.options.CucumberOptionsAnnotationParser;
 import io.cucumber.core.options.EnvironmentOptionsParser;
 import io.cucumber.core.options.RuntimeOptions;
 import cucumber.runtime.model.CucumberFeature;
-import cucumber.runtime.model.FeatureLoader;
 import io.cucumber.core.options.RuntimeOptionsBuilder;
+import net.serenitybdd.cucumber.model.CachedFeatureSupplier;
+import net.serenitybdd.cucumber.model.ScenarioResultCache;
 import net.serenitybdd.cucumber.suiteslicing.CucumberSuiteSlicer;
 import net.serenitybdd.cucumber.suiteslicing.ScenarioFilter;
+import net.serenitybdd.cucumber.suiteslicing.ScenarioOrder;
+import net.serenitybdd.cucumber.suiteslicing.ScenarioPartitioner;
+import net.serenitybdd.cucumber.suiteslicing.SharedScenarioQueue;
 import net.serenitybdd.cucumber.suiteslicing.TestStatistics;
+import net.serenitybdd.cucumber.suiteslicing.WeightedCucumberScenario;
 import net.serenitybdd.cucumber.suiteslicing.WeightedCucumberScenarios;
 import net.serenitybdd.cucumber.util.PathUtils;
+import net.serenitybdd.cucumber.util.ScenarioThreads;
 import net.serenitybdd.cucumber.util.Splitter;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
@@ -44,6 +50,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,6 +61,11 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static java.util.stream.Collectors.toList;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DISPATCH_DIRECTORY;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DISPATCH_RUN_ID;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DRIVER_AFFINITY;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DYNAMIC_DISPATCH;
+import static net.serenitybdd.cucumber.glue.IndexedGlueResourceLoader.withGlueIndexFrom;
 import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_BATCH_COUNT;
 import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_BATCH_NUMBER;
 import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_FORK_COUNT;
@@ -73,10 +85,20 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
     private static ThreadLocal<RuntimeOptions> RUNTIME_OPTIONS = new ThreadLocal<>();
 
     private final List<CucumberFeature> features;
+    private final FeaturesByUri featuresByUri;
     private final Plugins plugins;
+    private final SerenityReporter reporter;
 
     private boolean multiThreadingAssumed = false;
 
+    private DynamicScenarioDispatch scenarioDispatch;
+
+    private final ScenarioThreads scenarioThreads;
+
+    private final CachedScenarioReplay cachedScenarioReplay;
+
+    private final StartupTimings startupTimings;
+
     /**
      * Constructor called by JUnit.
      *
@@ -85,10 +107,13 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
      */
     public CucumberSerenityRunner(Class clazz) throws InitializationError {
         super(clazz);
+        this.startupTimings = StartupTimings.startingNow(clazz.getName());
         ClassLoader classLoader = clazz.getClassLoader();
         ResourceLoader resourceLoader = new MultiLoader(classLoader);
         Assertions.assertNoCucumberAnnotatedMethods(clazz);
-        
+
+        Configuration systemConfiguration = Injectors.getInjector().getInstance(Configuration.class);
+        startupTimings.finished("injector");
 
         // Parse the options early to provide fast feedback about invalid options
         RuntimeOptions annotationOptions = new CucumberOptionsAnnotationParser(resourceLoader)
@@ -112,23 +137,41 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
                 .build(junitAnnotationOptions);
 
         setRuntimeOptions(runtimeOptions);
+        startupTimings.finished("options");
 
-        FeatureLoader featureLoader = new FeatureLoader(resourceLoader);
-        FeaturePathFeatureSupplier featureSupplier = new FeaturePathFeatureSupplier(featureLoader, runtimeOptions);
+        FeatureSupplier featureSupplier = new CachedFeatureSupplier(resourceLoader, runtimeOptions);
         // Parse the features early. Don't proceed when there are lexer errors
         this.features = featureSupplier.get();
+        this.featuresByUri = new FeaturesByUri(features);
+        startupTimings.finished("features");
 
-        ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
+        ResourceLoader glueResourceLoader = withGlueIndexFrom(classLoader, resourceLoader, systemConfiguration.getEnvironmentVariables());
+        ClassFinder classFinder = new ResourceLoaderClassFinder(glueResourceLoader, classLoader);
 
         this.plugins = new Plugins(classLoader, new PluginFactory(),runtimeOptions);
         this.bus = new TimeServiceEventBus(TimeService.SYSTEM);
+        startupTimings.finished("plugins");
 
-        Configuration systemConfiguration = Injectors.getInjector().getInstance(Configuration.class);
-        SerenityReporter reporter = new SerenityReporter(systemConfiguration, resourceLoader);
-        addSerenityReporterPlugin(plugins,reporter);
+        this.reporter = addSerenityReporterPlugin(plugins, new SerenityReporter(systemConfiguration, resourceLoader));
+        startupTimings.finished("reporter");
+
+        this.scenarioThreads = ScenarioThreads.from(systemConfiguration.getEnvironmentVariables());
+        if (scenarioThreads.areParallel()) {
+            multiThreadingAssumed = true;
+            reporter.recordScenariosIndependently();
+        }
+
+        this.cachedScenarioReplay = ScenarioResultCache.configuredIn(systemConfiguration.getEnvironmentVariables(), classLoader, resourceLoader, runtimeOptions.getGlue())
+                .map(resultCache -> {
+                    reporter.useResultCache(resultCache);
+                    return new CachedScenarioReplay(resultCache, reporter, featuresByUri);
+                })
+                .orElse(null);
+        startupTimings.finished("result cache");
 
-        BackendSupplier backendSupplier = new BackendModuleBackendSupplier(resourceLoader, classFinder, runtimeOptions);
+        BackendSupplier backendSupplier = new BackendModuleBackendSupplier(glueResourceLoader, classFinder, runtimeOptions);
         this.runnerSupplier = new ThreadLocalRunnerSupplier(runtimeOptions, bus, backendSupplier);
+        startupTimings.finished("backend");
         Filters filters = new Filters(runtimeOptions);
         for (CucumberFeature cucumberFeature : features) {
             FeatureRunner featureRunner = new FeatureRunner(cucumberFeature, filters, runnerSupplier, junitOptions);
@@ -136,6 +179,7 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
                 children.add(featureRunner);
             }
         }
+        startupTimings.finished("feature runners");
     }
 
     private static RuntimeOptions DEFAULT_RUNTIME_OPTIONS;
@@ -168,33 +212,34 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
                                                        ClassLoader classLoader,
                                                        RuntimeOptions runtimeOptions,
                                                        Configuration systemConfiguration) {
-        ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
+        ResourceLoader glueResourceLoader = withGlueIndexFrom(classLoader, resourceLoader, systemConfiguration.getEnvironmentVariables());
+        ClassFinder classFinder = new ResourceLoaderClassFinder(glueResourceLoader, classLoader);
         setRuntimeOptions(runtimeOptions);
 
-        FeatureLoader featureLoader = new FeatureLoader(resourceLoader);
-        FeaturePathFeatureSupplier featureSupplier = new FeaturePathFeatureSupplier(featureLoader, runtimeOptions);
+        FeatureSupplier featureSupplier = new CachedFeatureSupplier(resourceLoader, runtimeOptions);
         // Parse the features early. Don't proceed when there are lexer errors
         final List<CucumberFeature> features = featureSupplier.get();
         EventBus bus = new TimeServiceEventBus(TimeService.SYSTEM);
         
         SerenityReporter serenityReporter = new SerenityReporter(systemConfiguration, resourceLoader);
-        Runtime runtime = Runtime.builder().withResourceLoader(resourceLoader).withClassFinder(classFinder).
+        Runtime runtime = Runtime.builder().withResourceLoader(glueResourceLoader).withClassFinder(classFinder).
                 withClassLoader(classLoader).withRuntimeOptions(runtimeOptions).
                 withAdditionalPlugins(serenityReporter).
-                withEventBus(bus).withFeatureSupplier(featureSupplier).
+                withEventBus(bus).withFeatureSupplier(() -> features).
                 build();
 
         return runtime;
     }
 
-    private static void addSerenityReporterPlugin(Plugins plugins, SerenityReporter plugin)
+    private static SerenityReporter addSerenityReporterPlugin(Plugins plugins, SerenityReporter plugin)
     {
         for(Plugin currentPlugin : plugins.getPlugins()){
             if (currentPlugin instanceof SerenityReporter) {
-                return;
+                return (SerenityReporter) currentPlugin;
             }
         }
         plugins.addPlugin(plugin);
+        return plugin;
     }
 
 
@@ -203,17 +248,59 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
         return child.getDescription();
     }
 
+    /**
+     * The description of a feature runner is built before any scenarios are filtered out, by slicing or by the result cache,
+     * so the test cases still to run are counted from its filtered children.
+     */
     @Override
     protected void runChild(FeatureRunner child, RunNotifier notifier) {
+        expectTestCasesFor(child, FeatureRunnerExtractors.filteredChildrenOf(child).size());
         child.run(notifier);
     }
 
+    /**
+     * Tells the reporter and the glue scopes how many test cases are going to run in a feature, so that they know when it has finished.
+     */
+    private void expectTestCasesFor(FeatureRunner featureRunner, int testCaseCount) {
+        expectTestCasesFor(FeatureRunnerExtractors.featurePathFor(featureRunner), testCaseCount);
+    }
+
+    private void expectTestCasesFor(String featurePath, int testCaseCount) {
+        reporter.expectTestCasesFor(featurePath, testCaseCount);
+        GlueScopes.shared().expectTestCasesFor(featurePath, testCaseCount);
+    }
+
     @Override
     protected Statement childrenInvoker(RunNotifier notifier) {
         Statement runFeatures = super.childrenInvoker(notifier);
+        if (scenarioDispatch != null) {
+            return new RunCucumber(scenarioDispatch.runScenarios(notifier));
+        }
+        List<FeatureRunner> featureRunners = FeatureRunnerExtractors.filteredChildrenOf(this);
+        if (scenarioThreads.areParallel()) {
+            runFeatures = runInParallel(featureRunners, notifier);
+        }
+        if (cachedScenarioReplay != null) {
+            runFeatures = cachedScenarioReplay.replayCachedScenarios(featureRunners, notifier, runFeatures);
+        }
         return new RunCucumber(runFeatures);
     }
 
+    /**
+     * Runs the scenarios of every feature in parallel. The number of test cases expected in each feature is only counted
+     * when the scenarios start, after any scenarios replayed from the result cache have been filtered out.
+     */
+    private Statement runInParallel(List<FeatureRunner> featureRunners, RunNotifier notifier) {
+        Statement runScenarios = new ParallelScenarioExecution(featureRunners, scenarioThreads).runScenarios(notifier);
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                featureRunners.forEach(featureRunner -> expectTestCasesFor(featureRunner, FeatureRunnerExtractors.filteredChildrenOf(featureRunner).size()));
+                runScenarios.evaluate();
+            }
+        };
+    }
+
     class RunCucumber extends Statement {
         private final Statement runFeatures;
 
@@ -223,6 +310,7 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
 
         @Override
         public void evaluate() throws Throwable {
+            startupTimings.finished("junit");
             if (multiThreadingAssumed) {
                 plugins.setSerialEventBusOnEventListenerPlugins(bus);
             } else {
@@ -233,8 +321,11 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
             for (CucumberFeature feature : features) {
                 feature.sendTestSourceRead(bus);
             }
+            startupTimings.finished("test sources");
             StepDefinitionReporter stepDefinitionReporter = plugins.stepDefinitionReporter();
             runnerSupplier.get().reportStepDefinitions(stepDefinitionReporter);
+            startupTimings.finished("glue");
+            startupTimings.report(Injectors.getInjector().getInstance(EnvironmentVariables.class), reporter.getRunMetrics());
             runFeatures.evaluate();
             bus.send(new TestRunFinished(bus.getTime(), bus.getTimeMillis()));
         }
@@ -248,6 +339,34 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
 
     @Override
     public List<FeatureRunner> getChildren() {
+        startupTimings.finished("junit");
+        long start = System.nanoTime();
+        List<FeatureRunner> childrenToRun = inExecutionOrder(childrenInThisSlice());
+        reporter.getRunMetrics().ifPresent(
+            runMetrics -> runMetrics.histogram("serenity_cucumber_slicing_seconds",
+                "Time taken to select and order the scenarios run by this batch and fork").recordSince(start)
+        );
+        startupTimings.finished("slicing");
+        return childrenToRun;
+    }
+
+    private List<FeatureRunner> inExecutionOrder(List<FeatureRunner> featureRunners) {
+        EnvironmentVariables environmentVariables = Injectors.getInjector().getInstance(EnvironmentVariables.class);
+        ScenarioOrder scenarioOrder = ScenarioOrder.from(environmentVariables);
+        List<FeatureRunner> orderedFeatureRunners = featureRunners;
+        if (!scenarioOrder.isDeclaredOrder()) {
+            List<URI> featurePaths = currentRuntimeOptions().getFeaturePaths();
+            LOGGER.info("Running features and scenarios in {} order", scenarioOrder.name().toLowerCase().replace('_', '-'));
+            orderedFeatureRunners = new ExecutionOrdering(scenarioOrder, TestStatistics.from(environmentVariables, featurePaths), featuresByUri).sort(featureRunners);
+        }
+        if (SERENITY_CUCUMBER_DRIVER_AFFINITY.booleanFrom(environmentVariables, false)) {
+            LOGGER.info("Running the features that ask for the same driver one after the other");
+            orderedFeatureRunners = new DriverAffinityOrdering(featuresByUri).sort(orderedFeatureRunners);
+        }
+        return orderedFeatureRunners;
+    }
+
+    private List<FeatureRunner> childrenInThisSlice() {
         try {
             EnvironmentVariables environmentVariables = Injectors.getInjector().getInstance(EnvironmentVariables.class);
             RuntimeOptions runtimeOptions = currentRuntimeOptions();
@@ -259,30 +378,30 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
             int forkCount = environmentVariables.getPropertyAsInteger(SERENITY_FORK_COUNT, 1);
             if ((batchCount == 1) && (forkCount == 1)) {
                 return children;
+            } else if ((forkCount > 1) && SERENITY_CUCUMBER_DYNAMIC_DISPATCH.booleanFrom(environmentVariables, false) && hasDispatchRunId(environmentVariables)) {
+                LOGGER.info("Running slice {} of {} using fork {} of {} with dynamic scenario dispatch from feature paths {}", batchNumber, batchCount, forkNumber, forkCount, featurePaths);
+
+                WeightedCucumberScenarios batchScenarios = new CucumberSuiteSlicer(featurePaths, TestStatistics.from(environmentVariables, featurePaths), ScenarioPartitioner.from(environmentVariables))
+                    .scenarios(batchNumber, batchCount, 1, 1, tagFilters);
+                List<WeightedCucumberScenario> staticSlice = batchScenarios.slice(forkNumber).of(forkCount).scenarios;
+
+                List<FeatureRunner> batchChildren = childrenIncludedIn(batchScenarios);
+                Path queueDirectory = Paths.get(SERENITY_CUCUMBER_DISPATCH_DIRECTORY.from(environmentVariables, defaultQueueDirectory(environmentVariables)));
+                String queueName = getTestClass().getName() + ":" + batchNumber + "/" + batchCount;
+                String runId = SERENITY_CUCUMBER_DISPATCH_RUN_ID.from(environmentVariables, "").trim();
+                scenarioDispatch = new DynamicScenarioDispatch(batchChildren,
+                    featuresByUri,
+                    () -> SharedScenarioQueue.join(queueDirectory, queueName, runId, batchScenarios.longestFirst(), forkNumber, forkCount),
+                    staticSlice,
+                    this::expectTestCasesFor);
+                return batchChildren;
             } else {
                 LOGGER.info("Running slice {} of {} using fork {} of {} from feature paths {}", batchNumber, batchCount, forkNumber, forkCount, featurePaths);
 
-                WeightedCucumberScenarios weightedCucumberScenarios = new CucumberSuiteSlicer(featurePaths, TestStatistics.from(environmentVariables, featurePaths))
+                WeightedCucumberScenarios weightedCucumberScenarios = new CucumberSuiteSlicer(featurePaths, TestStatistics.from(environmentVariables, featurePaths), ScenarioPartitioner.from(environmentVariables))
                     .scenarios(batchNumber, batchCount, forkNumber, forkCount, tagFilters);
 
-                List<FeatureRunner> unfilteredChildren = children;
-                AtomicInteger filteredInScenarioCount = new AtomicInteger();
-                List<FeatureRunner> filteredChildren = unfilteredChildren.stream()
-                    .filter(forIncludedFeatures(weightedCucumberScenarios))
-                    .map(toPossibleFeatureRunner(weightedCucumberScenarios, filteredInScenarioCount))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(toList());
-
-                if (filteredInScenarioCount.get() != weightedCucumberScenarios.totalScenarioCount()) {
-                    LOGGER.warn(
-                        "There is a mismatch between the number of scenarios included in this test run ({}) and the expected number of scenarios loaded ({}). This suggests that the scenario filtering is not working correctly or feature file(s) of an unexpected structure are being run",
-                        filteredInScenarioCount.get(),
-                        weightedCucumberScenarios.scenarios.size());
-                }
-
-                LOGGER.info("Running {} of {} features", filteredChildren.size(), unfilteredChildren.size());
-                return filteredChildren;
+                return childrenIncludedIn(weightedCucumberScenarios);
             }
         } catch (Exception e) {
             LOGGER.error("Test failed to start", e);
@@ -290,6 +409,40 @@ public class CucumberSerenityRunner extends ParentRunner<FeatureRunner> {
         }
     }
 
+    private List<FeatureRunner> childrenIncludedIn(WeightedCucumberScenarios weightedCucumberScenarios) {
+        List<FeatureRunner> unfilteredChildren = children;
+        AtomicInteger filteredInScenarioCount = new AtomicInteger();
+        List<FeatureRunner> filteredChildren = unfilteredChildren.stream()
+            .filter(forIncludedFeatures(weightedCucumberScenarios))
+            .map(toPossibleFeatureRunner(weightedCucumberScenarios, filteredInScenarioCount))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(toList());
+
+        if (filteredInScenarioCount.get() != weightedCucumberScenarios.totalScenarioCount()) {
+            LOGGER.warn(
+                "There is a mismatch between the number of scenarios included in this test run ({}) and the expected number of scenarios loaded ({}). This suggests that the scenario filtering is not working correctly or feature file(s) of an unexpected structure are being run",
+                filteredInScenarioCount.get(),
+                weightedCucumberScenarios.scenarios.size());
+        }
+
+        LOGGER.info("Running {} of {} features", filteredChildren.size(), unfilteredChildren.size());
+        return filteredChildren;
+    }
+
+    private static boolean hasDispatchRunId(EnvironmentVariables environmentVariables) {
+        if (SERENITY_CUCUMBER_DISPATCH_RUN_ID.from(environmentVariables, "").trim().isEmpty()) {
+            LOGGER.warn("Dynamic scenario dispatch needs a run id in {} that is shared by every fork: running a static slice instead", SERENITY_CUCUMBER_DISPATCH_RUN_ID);
+            return false;
+        }
+        return true;
+    }
+
+    private static String defaultQueueDirectory(EnvironmentVariables environmentVariables) {
+        String outputDirectory = environmentVariables.getProperty(ThucydidesSystemProperty.SERENITY_OUTPUT_DIRECTORY, "target/site/serenity");
+        return Paths.get(outputDirectory, "scenario-queue").toString();
+    }
+
     private Function<FeatureRunner, Optional<FeatureRunner>> toPossibleFeatureRunner(WeightedCucumberScenarios weightedCucumberScenarios, AtomicInteger filteredInScenarioCount) {
         return featureRunner -> {
             int initialScenarioCount = featureRunner.getDescription().getChildren().size();
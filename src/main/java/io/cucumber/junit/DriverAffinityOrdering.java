@@ -0,0 +1,41 @@
+package io.cucumber.junit;
+
+import gherkin.ast.Tag;
+import net.serenitybdd.cucumber.webdriver.DriverSessionKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Puts the features that ask for the same driver and driver options next to each other, so that a browser of one type
+ * is used for as long as possible before switching to another. Each group of features runs in the position of its first
+ * feature, and the features of a group keep their order. The driver of a scenario comes from the tags of its feature,
+ * so the scenarios within a feature already share a driver.
+ */
+class DriverAffinityOrdering {
+
+    private final FeaturesByUri featuresByUri;
+
+    DriverAffinityOrdering(FeaturesByUri featuresByUri) {
+        this.featuresByUri = featuresByUri;
+    }
+
+    List<FeatureRunner> sort(List<FeatureRunner> featureRunners) {
+        Map<Optional<DriverSessionKey>, List<FeatureRunner>> featureRunnersByDriver = new LinkedHashMap<>();
+        featureRunners.forEach(featureRunner -> featureRunnersByDriver.computeIfAbsent(requestedDriverSessionOf(featureRunner), driver -> new ArrayList<>())
+                                                                       .add(featureRunner));
+        List<FeatureRunner> sortedFeatureRunners = new ArrayList<>(featureRunners.size());
+        featureRunnersByDriver.values().forEach(sortedFeatureRunners::addAll);
+        return sortedFeatureRunners;
+    }
+
+    private Optional<DriverSessionKey> requestedDriverSessionOf(FeatureRunner featureRunner) {
+        return featuresByUri.gherkinFeatureAt(FeatureRunnerExtractors.featurePathFor(featureRunner))
+                            .flatMap(feature -> DriverSessionKey.requestedBy(feature.getTags().stream().map(Tag::getName).collect(toList())));
+    }
+}
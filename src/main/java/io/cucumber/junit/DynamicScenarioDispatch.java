@@ -0,0 +1,149 @@
+package io.cucumber.junit;
+
+import gherkin.ast.Feature;
+import gherkin.ast.ScenarioDefinition;
+import gherkin.events.PickleEvent;
+import net.serenitybdd.cucumber.suiteslicing.SharedScenarioQueue;
+import net.serenitybdd.cucumber.suiteslicing.WeightedCucumberScenario;
+import net.serenitybdd.cucumber.util.PickleScenarios;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs the scenarios that this fork takes from a {@link SharedScenarioQueue}, one at a time, until the queue is empty.
+ * All the pickles of a scenario outline are run together, as Serenity reports a scenario outline as a single test.
+ * <p>
+ * If the shared queue cannot be used, the fork runs its own static slice instead, leaving out any scenarios it has already run.
+ * <p>
+ * A fork cannot know up front which scenarios of a feature it will run, so the number of test cases expected in a feature
+ * is only given when the fork takes the last scenario of that feature: the test cases of that scenario are then the last
+ * ones of the feature in this fork. The scenarios of a feature that this fork ran, but whose last scenario was taken by
+ * another fork, are reported at the end of the run.
+ */
+class DynamicScenarioDispatch {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DynamicScenarioDispatch.class);
+
+    private final Map<String, List<PickleRunners.PickleRunner>> pickleRunnersByScenario;
+    private final Callable<SharedScenarioQueue> queue;
+    private final List<WeightedCucumberScenario> staticSlice;
+    private final BiConsumer<String, Integer> expectTestCasesFor;
+
+    /**
+     * @param expectTestCasesFor tells the reporter and the glue scopes how many more test cases are going to run in a feature
+     */
+    DynamicScenarioDispatch(List<FeatureRunner> featureRunners,
+                            FeaturesByUri featuresByUri,
+                            Callable<SharedScenarioQueue> queue,
+                            List<WeightedCucumberScenario> staticSlice,
+                            BiConsumer<String, Integer> expectTestCasesFor) {
+        this.pickleRunnersByScenario = pickleRunnersByScenarioIn(featureRunners, featuresByUri);
+        this.queue = queue;
+        this.staticSlice = staticSlice;
+        this.expectTestCasesFor = expectTestCasesFor;
+    }
+
+    Statement runScenarios(RunNotifier notifier) {
+        return new Statement() {
+            @Override
+            public void evaluate() {
+                Set<String> scenariosRun = new HashSet<>();
+                SharedScenarioQueue sharedQueue;
+                try {
+                    sharedQueue = queue.call();
+                } catch (Exception e) {
+                    runRemainingScenariosOfStaticSlice(notifier, scenariosRun, e);
+                    return;
+                }
+                while (true) {
+                    Optional<WeightedCucumberScenario> next;
+                    try {
+                        next = sharedQueue.next();
+                    } catch (IOException e) {
+                        runRemainingScenariosOfStaticSlice(notifier, scenariosRun, e);
+                        return;
+                    }
+                    if (!next.isPresent()) {
+                        break;
+                    }
+                    run(next.get(), sharedQueue.isTheLastScenarioOfItsFeature(next.get()), notifier, scenariosRun);
+                }
+                LOGGER.info("Ran {} scenario(s) from the {}", scenariosRun.size(), sharedQueue);
+            }
+        };
+    }
+
+    private void runRemainingScenariosOfStaticSlice(RunNotifier notifier, Set<String> scenariosRun, Exception cause) {
+        LOGGER.warn("Could not use the shared scenario queue ({}): running the remaining scenarios of this fork's static slice instead", cause.toString());
+        List<WeightedCucumberScenario> remainingScenarios = staticSlice.stream()
+            .filter(scenario -> !scenariosRun.contains(idOf(scenario.feature, scenario.scenario)))
+            .collect(toList());
+        Map<String, WeightedCucumberScenario> lastScenarioOfEachFeature = new HashMap<>();
+        remainingScenarios.forEach(scenario -> lastScenarioOfEachFeature.put(scenario.featurePath, scenario));
+        remainingScenarios.forEach(scenario -> run(scenario, lastScenarioOfEachFeature.get(scenario.featurePath) == scenario, notifier, scenariosRun));
+    }
+
+    private void run(WeightedCucumberScenario scenario, boolean lastScenarioOfItsFeature, RunNotifier notifier, Set<String> scenariosRun) {
+        String scenarioId = idOf(scenario.feature, scenario.scenario);
+        scenariosRun.add(scenarioId);
+        List<PickleRunners.PickleRunner> pickleRunners = pickleRunnersByScenario.getOrDefault(scenarioId, Collections.emptyList());
+        if (pickleRunners.isEmpty()) {
+            LOGGER.warn("No pickles found for scenario '{}' in feature '{}'", scenario.scenario, scenario.feature);
+        } else if (lastScenarioOfItsFeature) {
+            expectTestCasesFor.accept(FeatureRunnerExtractors.pickleEventFor(pickleRunners.get(0)).uri, pickleRunners.size());
+        }
+        LOGGER.debug("Running scenario '{}' in feature '{}'", scenario.scenario, scenario.feature);
+        pickleRunners.forEach(pickleRunner -> pickleRunner.run(notifier));
+    }
+
+    private static Map<String, List<PickleRunners.PickleRunner>> pickleRunnersByScenarioIn(List<FeatureRunner> featureRunners,
+                                                                                          FeaturesByUri featuresByUri) {
+        Map<String, Map<Integer, ScenarioDefinition>> scenarioDefinitionsByLine = new HashMap<>();
+        Map<String, List<PickleRunners.PickleRunner>> pickleRunnersByScenario = new HashMap<>();
+        for (FeatureRunner featureRunner : featureRunners) {
+            for (PickleRunners.PickleRunner pickleRunner : featureRunner.getChildren()) {
+                PickleEvent pickleEvent = FeatureRunnerExtractors.pickleEventFor(pickleRunner);
+                Optional<Feature> feature = featuresByUri.gherkinFeatureAt(pickleEvent.uri);
+                if (!feature.isPresent()) {
+                    continue;
+                }
+                Feature gherkinFeature = feature.get();
+                ScenarioDefinition scenarioDefinition = scenarioDefinitionsByLine
+                    .computeIfAbsent(pickleEvent.uri, uri -> scenarioDefinitionsByLineIn(gherkinFeature))
+                    .get(PickleScenarios.scenarioLineOf(pickleEvent));
+                if (scenarioDefinition != null) {
+                    pickleRunnersByScenario
+                        .computeIfAbsent(idOf(gherkinFeature.getName(), scenarioDefinition.getName()), id -> new ArrayList<>())
+                        .add(pickleRunner);
+                }
+            }
+        }
+        return pickleRunnersByScenario;
+    }
+
+    private static Map<Integer, ScenarioDefinition> scenarioDefinitionsByLineIn(Feature feature) {
+        Map<Integer, ScenarioDefinition> scenarioDefinitions = new HashMap<>();
+        feature.getChildren().forEach(child -> scenarioDefinitions.put(child.getLocation().getLine(), child));
+        return scenarioDefinitions;
+    }
+
+    private static String idOf(String feature, String scenario) {
+        return feature + "\n" + scenario;
+    }
+}
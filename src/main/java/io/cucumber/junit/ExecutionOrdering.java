@@ -0,0 +1,76 @@
+package io.cucumber.junit;
+
+import gherkin.ast.Feature;
+import gherkin.ast.ScenarioDefinition;
+import gherkin.events.PickleEvent;
+import net.serenitybdd.cucumber.suiteslicing.ScenarioOrder;
+import net.serenitybdd.cucumber.suiteslicing.TestScenarioResult;
+import net.serenitybdd.cucumber.suiteslicing.TestStatistics;
+import net.serenitybdd.cucumber.util.PickleScenarios;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Sorter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Puts features, and the scenarios within each feature, in the order given by a {@link ScenarioOrder},
+ * using the recorded results of each scenario. A feature runs in the position of its first scenario.
+ * The pickles of a scenario outline share the result of their outline, so they stay together.
+ */
+class ExecutionOrdering {
+
+    private final ScenarioOrder scenarioOrder;
+    private final TestStatistics testStatistics;
+    private final FeaturesByUri featuresByUri;
+    private final Map<String, Map<Integer, String>> scenarioNamesByLine = new HashMap<>();
+
+    ExecutionOrdering(ScenarioOrder scenarioOrder, TestStatistics testStatistics, FeaturesByUri featuresByUri) {
+        this.scenarioOrder = scenarioOrder;
+        this.testStatistics = testStatistics;
+        this.featuresByUri = featuresByUri;
+    }
+
+    List<FeatureRunner> sort(List<FeatureRunner> featureRunners) {
+        Map<FeatureRunner, TestScenarioResult> firstScenarioResults = new IdentityHashMap<>();
+        for (FeatureRunner featureRunner : featureRunners) {
+            Map<Description, TestScenarioResult> scenarioResults = new HashMap<>();
+            for (PickleRunners.PickleRunner pickleRunner : FeatureRunnerExtractors.filteredChildrenOf(featureRunner)) {
+                resultFor(FeatureRunnerExtractors.pickleEventFor(pickleRunner)).ifPresent(result -> scenarioResults.put(pickleRunner.getDescription(), result));
+            }
+            featureRunner.sort(new Sorter(scenarioOrder.comparing(scenarioResults::get)));
+
+            List<PickleRunners.PickleRunner> sortedScenarios = FeatureRunnerExtractors.filteredChildrenOf(featureRunner);
+            if (!sortedScenarios.isEmpty()) {
+                firstScenarioResults.put(featureRunner, scenarioResults.get(sortedScenarios.get(0).getDescription()));
+            }
+        }
+        List<FeatureRunner> sortedFeatureRunners = new ArrayList<>(featureRunners);
+        sortedFeatureRunners.sort(scenarioOrder.comparing(firstScenarioResults::get));
+        return sortedFeatureRunners;
+    }
+
+    private Optional<TestScenarioResult> resultFor(PickleEvent pickleEvent) {
+        Optional<Feature> gherkinFeature = featuresByUri.gherkinFeatureAt(pickleEvent.uri);
+        if (!gherkinFeature.isPresent()) {
+            return Optional.empty();
+        }
+        Feature feature = gherkinFeature.get();
+        String scenarioName = scenarioNamesIn(pickleEvent.uri, feature).get(PickleScenarios.scenarioLineOf(pickleEvent));
+        return (scenarioName == null) ? Optional.empty() : testStatistics.resultFor(feature.getName(), scenarioName);
+    }
+
+    private Map<Integer, String> scenarioNamesIn(String featureUri, Feature feature) {
+        return scenarioNamesByLine.computeIfAbsent(featureUri, uri -> {
+            Map<Integer, String> scenarioNames = new HashMap<>();
+            for (ScenarioDefinition scenarioDefinition : feature.getChildren()) {
+                scenarioNames.put(scenarioDefinition.getLocation().getLine(), scenarioDefinition.getName());
+            }
+            return scenarioNames;
+        });
+    }
+}
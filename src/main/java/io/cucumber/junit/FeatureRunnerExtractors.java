@@ -1,8 +1,14 @@
 package io.cucumber.junit;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
+import gherkin.events.PickleEvent;
 import io.cucumber.junit.FeatureRunner;
+import org.junit.runners.ParentRunner;
 
 public class FeatureRunnerExtractors {
 
@@ -20,4 +26,28 @@ public class FeatureRunnerExtractors {
             throw new RuntimeException(e);
         }
     }
+
+    static PickleEvent pickleEventFor(PickleRunners.PickleRunner pickleRunner) {
+        try {
+            Field field = pickleRunner.getClass().getDeclaredField("pickleEvent");
+            field.setAccessible(true);
+            return (PickleEvent) field.get(pickleRunner);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The children of a runner that are left once any JUnit filters have been applied.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> filteredChildrenOf(ParentRunner<T> runner) {
+        try {
+            Method method = ParentRunner.class.getDeclaredMethod("getFilteredChildren");
+            method.setAccessible(true);
+            return new ArrayList<>((Collection<T>) method.invoke(runner));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
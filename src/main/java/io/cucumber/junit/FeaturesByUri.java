@@ -0,0 +1,33 @@
+package io.cucumber.junit;
+
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.ast.Feature;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds the parsed feature of a pickle, or of a feature runner, from the uri of its feature file.
+ * Built once per run and shared by everything that orders, replays or dispatches scenarios.
+ */
+final class FeaturesByUri {
+
+    private final Map<String, CucumberFeature> featuresByUri = new HashMap<>();
+
+    FeaturesByUri(List<CucumberFeature> features) {
+        features.forEach(feature -> featuresByUri.put(feature.getUri().toString(), feature));
+    }
+
+    Optional<CucumberFeature> featureAt(String uri) {
+        return Optional.ofNullable(featuresByUri.get(uri));
+    }
+
+    /**
+     * The Gherkin feature at the given uri, if the file holds one.
+     */
+    Optional<Feature> gherkinFeatureAt(String uri) {
+        return featureAt(uri).map(feature -> feature.getGherkinFeature().getFeature());
+    }
+}
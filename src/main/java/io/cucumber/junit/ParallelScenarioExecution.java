@@ -0,0 +1,66 @@
+package io.cucumber.junit;
+
+import net.serenitybdd.cucumber.util.PickleScenarios;
+import net.serenitybdd.cucumber.util.ScenarioThreads;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs scenarios on a pool of platform or virtual threads, so that the scenarios of a feature do not have to wait for each other.
+ * The pickles of a scenario outline run one after the other on the same thread, as Serenity reports a
+ * scenario outline as a single test.
+ */
+class ParallelScenarioExecution {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelScenarioExecution.class);
+
+    private final List<FeatureRunner> featureRunners;
+    private final ScenarioThreads scenarioThreads;
+
+    ParallelScenarioExecution(List<FeatureRunner> featureRunners, ScenarioThreads scenarioThreads) {
+        this.featureRunners = featureRunners;
+        this.scenarioThreads = scenarioThreads;
+    }
+
+    Statement runScenarios(RunNotifier notifier) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                List<List<PickleRunners.PickleRunner>> scenarios = scenariosIn(featureRunners);
+                LOGGER.info("Running {} scenario(s) from {} feature(s) on {}", scenarios.size(), featureRunners.size(), scenarioThreads);
+                ExecutorService executor = scenarioThreads.newExecutor();
+                try {
+                    List<Future<?>> scenarioResults = new ArrayList<>();
+                    for (List<PickleRunners.PickleRunner> pickleRunners : scenarios) {
+                        scenarioResults.add(executor.submit(() -> pickleRunners.forEach(pickleRunner -> pickleRunner.run(notifier))));
+                    }
+                    for (Future<?> scenarioResult : scenarioResults) {
+                        scenarioResult.get();
+                    }
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw e.getCause();
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        };
+    }
+
+    /**
+     * The pickle runners of each scenario, in feature order.
+     */
+    static List<List<PickleRunners.PickleRunner>> scenariosIn(List<FeatureRunner> featureRunners) {
+        List<PickleRunners.PickleRunner> pickleRunners = new ArrayList<>();
+        featureRunners.forEach(featureRunner -> pickleRunners.addAll(FeatureRunnerExtractors.filteredChildrenOf(featureRunner)));
+        return PickleScenarios.groupedByScenario(pickleRunners, FeatureRunnerExtractors::pickleEventFor);
+    }
+}
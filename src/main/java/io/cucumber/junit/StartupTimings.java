@@ -0,0 +1,129 @@
+package io.cucumber.junit;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.serenitybdd.cucumber.metrics.RunMetrics;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_BATCH_COUNT;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_BATCH_NUMBER;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_FORK_COUNT;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_FORK_NUMBER;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_OUTPUT_DIRECTORY;
+
+/**
+ * Times each phase of the startup of a runner, from the moment it is constructed until its first scenario is about to run.
+ * Each phase lasts from the end of the previous one, using monotonic time, so the phases add up to the total startup time.
+ * The timings are logged on one line and written to a JSON file in the Serenity output directory once the startup is over.
+ */
+class StartupTimings {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimings.class);
+
+    private final String runnerName;
+    private final long jvmUptimeAtStartMillis;
+    private final long startNanos;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+    private long lastMarkNanos;
+    private boolean reported;
+
+    private StartupTimings(String runnerName) {
+        this.runnerName = runnerName;
+        this.jvmUptimeAtStartMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        this.startNanos = System.nanoTime();
+        this.lastMarkNanos = startNanos;
+    }
+
+    static StartupTimings startingNow(String runnerName) {
+        return new StartupTimings(runnerName);
+    }
+
+    /**
+     * Records the time since the end of the previous phase against the given phase.
+     * A phase that finishes more than once is given the total of its durations.
+     */
+    synchronized void finished(String phase) {
+        if (reported) {
+            return;
+        }
+        long now = System.nanoTime();
+        phaseNanos.merge(phase, now - lastMarkNanos, Long::sum);
+        lastMarkNanos = now;
+    }
+
+    /**
+     * Ends the startup: logs the timings, writes them to the output directory, and records them in the run metrics if there are any.
+     */
+    synchronized void report(EnvironmentVariables environmentVariables, Optional<RunMetrics> runMetrics) {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        long totalNanos = lastMarkNanos - startNanos;
+        LOGGER.info(logLine(totalNanos));
+        runMetrics.ifPresent(metrics -> phaseNanos.forEach((phase, nanos) -> metrics.histogram("serenity_cucumber_startup_seconds",
+                "Time taken by each phase of the startup of the runner, until its first scenario starts", "phase", phase).record(nanos)));
+        Path timingsFile = timingsFileIn(environmentVariables);
+        try {
+            Files.createDirectories(timingsFile.toAbsolutePath().getParent());
+            Files.write(timingsFile, new GsonBuilder().setPrettyPrinting().create().toJson(asJson(totalNanos)).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the startup timings to {}: {}", timingsFile, e.getMessage());
+        }
+    }
+
+    private String logLine(long totalNanos) {
+        StringBuilder logLine = new StringBuilder("startup runner=").append(runnerName)
+                .append(" jvm_uptime_at_start_ms=").append(jvmUptimeAtStartMillis)
+                .append(" total_ms=").append(millis(totalNanos));
+        phaseNanos.forEach((phase, nanos) -> logLine.append(' ').append(phase.replace(' ', '_')).append("_ms=").append(millis(nanos)));
+        return logLine.toString();
+    }
+
+    private JsonObject asJson(long totalNanos) {
+        JsonObject timings = new JsonObject();
+        timings.addProperty("runner", runnerName);
+        timings.addProperty("date", ZonedDateTime.now().toString());
+        timings.addProperty("jvmUptimeAtStartMillis", jvmUptimeAtStartMillis);
+        timings.addProperty("totalMillis", millis(totalNanos));
+        timings.addProperty("millisSinceJvmStart", jvmUptimeAtStartMillis + millis(totalNanos));
+        JsonArray phases = new JsonArray();
+        phaseNanos.forEach((phase, nanos) -> {
+            JsonObject phaseTiming = new JsonObject();
+            phaseTiming.addProperty("phase", phase);
+            phaseTiming.addProperty("millis", millis(nanos));
+            phases.add(phaseTiming);
+        });
+        timings.add("phases", phases);
+        return timings;
+    }
+
+    private Path timingsFileIn(EnvironmentVariables environmentVariables) {
+        String outputDirectory = environmentVariables.getProperty(SERENITY_OUTPUT_DIRECTORY, "target/site/serenity");
+        int batchCount = environmentVariables.getPropertyAsInteger(SERENITY_BATCH_COUNT, 1);
+        int forkCount = environmentVariables.getPropertyAsInteger(SERENITY_FORK_COUNT, 1);
+        String slice = ((batchCount == 1) && (forkCount == 1)) ? "" :
+                String.format("-batch-%d-fork-%d", environmentVariables.getPropertyAsInteger(SERENITY_BATCH_NUMBER, 1),
+                                                   environmentVariables.getPropertyAsInteger(SERENITY_FORK_NUMBER, 1));
+        return Paths.get(outputDirectory, "cucumber-startup-" + runnerName + slice + ".json");
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 10) / 10.0;
+    }
+}
@@ -0,0 +1,223 @@
+package net.serenitybdd.cucumber;
+
+import net.thucydides.core.util.EnvironmentVariables;
+
+/**
+ * Configuration properties specific to the Serenity Cucumber integration.
+ * Property names are derived from the enum names, e.g. SERENITY_CUCUMBER_INCREMENTAL_REPORTING
+ * is configured as serenity.cucumber.incremental.reporting.
+ */
+public enum CucumberSystemProperty {
+
+    /**
+     * Write the reports for each feature as soon as all of its scenarios have finished,
+     * instead of writing every report at the end of the test run. The reports are written on background threads,
+     * while Cucumber events are still handled on the thread that runs the scenario, which owns its WebDriver instance.
+     */
+    SERENITY_CUCUMBER_INCREMENTAL_REPORTING,
+
+    /**
+     * Number of background threads used to write feature reports in incremental reporting mode.
+     */
+    SERENITY_CUCUMBER_REPORT_THREADS,
+
+    /**
+     * Store parsed feature files on disk, so that later runs and other forks only need to parse the feature files that have changed.
+     */
+    SERENITY_CUCUMBER_FEATURE_CACHE,
+
+    /**
+     * Directory used to store parsed feature files. Defaults to a feature-cache directory in the Serenity output directory.
+     */
+    SERENITY_CUCUMBER_FEATURE_CACHE_DIRECTORY,
+
+    /**
+     * Maximum size of the feature cache in megabytes (100 by default). The least recently used features are removed first.
+     */
+    SERENITY_CUCUMBER_FEATURE_CACHE_SIZE,
+
+    /**
+     * How scenarios are split between batches and forks: "lpt" (greedy longest processing time first, the default)
+     * or "karmarkar-karp" (largest differencing, for tighter balance).
+     */
+    SERENITY_CUCUMBER_SLICING_STRATEGY,
+
+    /**
+     * How a scenario's weight is calculated from its durations in the test statistics directory: "mean" (the default),
+     * "median", "p90", "decayed" (a mean weighted towards recent runs) or "trimmed-mean" (ignoring the extreme durations).
+     */
+    SERENITY_CUCUMBER_SLICING_WEIGHT_MODEL,
+
+    /**
+     * Maximum number of recent durations kept for each scenario when calculating its weight. By default, every duration is kept.
+     */
+    SERENITY_CUCUMBER_SLICING_HISTORY_SIZE,
+
+    /**
+     * The half-life in days of the "decayed" weight model: the weight of a duration halves for every half-life between its run
+     * and the most recent run. Defaults to 7.
+     */
+    SERENITY_CUCUMBER_SLICING_DECAY_HALF_LIFE,
+
+    /**
+     * When a batch is split between several forks, let each fork take the next scenario from a queue shared by all the forks
+     * on the same machine, heaviest scenarios first, rather than running a fixed slice. Forks fall back to their static slice
+     * if the queue cannot be used.
+     */
+    SERENITY_CUCUMBER_DYNAMIC_DISPATCH,
+
+    /**
+     * Directory holding the shared scenario queues used for dynamic dispatch. Defaults to a scenario-queue directory in the Serenity output directory.
+     */
+    SERENITY_CUCUMBER_DISPATCH_DIRECTORY,
+
+    /**
+     * Identifies the test run for dynamic dispatch. It must be the same in every fork of a run and different for each run,
+     * such as a build number, or a timestamp set once by the build and passed to every fork. Forks run their static slice
+     * when it is not set.
+     */
+    SERENITY_CUCUMBER_DISPATCH_RUN_ID,
+
+    /**
+     * Number of threads used to run scenarios with the CucumberSerenityRunner. With more than one thread, the scenarios
+     * of a feature can run at the same time, and each scenario is recorded separately before being reported with its feature.
+     */
+    SERENITY_CUCUMBER_SCENARIO_THREADS,
+
+    /**
+     * Run each scenario on a virtual thread rather than on a platform thread (Java 21 or later).
+     * On older JVMs, scenarios run on serenity.cucumber.scenario.threads platform threads instead.
+     */
+    SERENITY_CUCUMBER_VIRTUAL_THREADS,
+
+    /**
+     * The maximum number of scenarios run at the same time on virtual threads (256 by default).
+     * Each virtual thread in use keeps its own Cucumber runner and glue instances.
+     */
+    SERENITY_CUCUMBER_VIRTUAL_THREAD_LIMIT,
+
+    /**
+     * The order in which features, and the scenarios within each feature, are run: "declared" (the default),
+     * "failures-first" (scenarios that failed in their last recorded run, then the least stable ones, then the longest)
+     * or "slowest-first". Uses the statistics in serenity.test.statistics.dir when it is set, and step counts otherwise.
+     */
+    SERENITY_CUCUMBER_EXECUTION_ORDER,
+
+    /**
+     * Store the outcome of each passing scenario, and replay it instead of running the scenario again while its Gherkin text,
+     * glue classes and the properties listed in serenity.cucumber.result.cache.properties are unchanged.
+     * Replayed outcomes are tagged "result cache:replayed". Only applies to the CucumberSerenityRunner without dynamic dispatch.
+     */
+    SERENITY_CUCUMBER_RESULT_CACHE,
+
+    /**
+     * Directory used to store scenario outcomes. Defaults to a result-cache directory in the Serenity output directory.
+     */
+    SERENITY_CUCUMBER_RESULT_CACHE_DIRECTORY,
+
+    /**
+     * Maximum size of the result cache in megabytes (100 by default). The least recently used outcomes are removed first.
+     */
+    SERENITY_CUCUMBER_RESULT_CACHE_SIZE,
+
+    /**
+     * Comma-separated names of the properties whose values are part of each cached outcome's key, so that a change to any of them
+     * runs every scenario again. Defaults to environment, webdriver.driver and webdriver.base.url.
+     */
+    SERENITY_CUCUMBER_RESULT_CACHE_PROPERTIES,
+
+    /**
+     * Comma-separated packages whose classes, with those of the glue packages, are part of each cached outcome's key.
+     * By default every class in the directories of the classpath is included, so that changing any compiled class of the
+     * project runs every scenario again. Listing packages makes the key quicker to compute for large projects, but a change
+     * to a class outside these packages (a page object or a step library, for example) is not noticed, and outcomes of
+     * scenarios that use it are still replayed.
+     */
+    SERENITY_CUCUMBER_RESULT_CACHE_PACKAGES,
+
+    /**
+     * Record metrics about the integration layer during the test run: how long the reporter takes to handle each type of event,
+     * scenario and step durations by result, pending feature reports, report generation time and slicing time.
+     * The metrics are exposed through JMX while the test run is in progress, and written to a file when it has finished.
+     */
+    SERENITY_CUCUMBER_METRICS,
+
+    /**
+     * The format of the metrics file written at the end of the test run: "prometheus" (the default), for the textfile collector
+     * of the Prometheus node exporter, or "json".
+     */
+    SERENITY_CUCUMBER_METRICS_FORMAT,
+
+    /**
+     * The metrics file written at the end of the test run. Defaults to cucumber-metrics.prom (or cucumber-metrics.json)
+     * in the Serenity output directory.
+     */
+    SERENITY_CUCUMBER_METRICS_FILE,
+
+    /**
+     * Load the glue classes listed in the glue index written at compile time by the GlueIndexProcessor, rather than scanning
+     * every class in the glue packages (true by default). Glue packages are still scanned when they have classes in a classpath
+     * root without an index.
+     */
+    SERENITY_CUCUMBER_GLUE_INDEX,
+
+    /**
+     * Comma-separated names of glue classes that are created once per feature, as if they were annotated with @FeatureScoped.
+     */
+    SERENITY_CUCUMBER_FEATURE_SCOPED_GLUE,
+
+    /**
+     * Comma-separated names of glue classes that are created once per test run, as if they were annotated with @RunScoped.
+     */
+    SERENITY_CUCUMBER_RUN_SCOPED_GLUE,
+
+    /**
+     * Reuse browser sessions between scenarios that ask for the same driver and driver options, clearing them in between,
+     * rather than starting a new browser for each scenario.
+     */
+    SERENITY_CUCUMBER_DRIVER_POOL,
+
+    /**
+     * The most browser sessions the driver pool keeps alive for each driver and driver options. Defaults to the number of scenario threads,
+     * plus one when pre-warming.
+     */
+    SERENITY_CUCUMBER_DRIVER_POOL_SIZE,
+
+    /**
+     * Start the next browser session of the driver pool in the background while a scenario runs.
+     */
+    SERENITY_CUCUMBER_DRIVER_POOL_PREWARM,
+
+    /**
+     * Run the features that ask for the same driver and driver options (with @driver and @driver-options tags) one after the other,
+     * and split scenarios between forks so that each fork asks for as few different drivers as possible.
+     */
+    SERENITY_CUCUMBER_DRIVER_AFFINITY;
+
+    private final String propertyName;
+
+    CucumberSystemProperty() {
+        this.propertyName = name().replaceAll("_", ".").toLowerCase();
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public String from(EnvironmentVariables environmentVariables, String defaultValue) {
+        return environmentVariables.getProperty(propertyName, defaultValue);
+    }
+
+    public boolean booleanFrom(EnvironmentVariables environmentVariables, boolean defaultValue) {
+        return environmentVariables.getPropertyAsBoolean(propertyName, defaultValue);
+    }
+
+    public int integerFrom(EnvironmentVariables environmentVariables, int defaultValue) {
+        return environmentVariables.getPropertyAsInteger(propertyName, defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return propertyName;
+    }
+}
@@ -6,11 +6,14 @@ import io.cucumber.core.options.RuntimeOptions;
 import cucumber.runtime.formatter.SerenityReporter;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.io.ResourceLoaderClassFinder;
+import net.serenitybdd.cucumber.model.CachedFeatureSupplier;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.webdriver.Configuration;
 
 import java.util.Optional;
 
+import static net.serenitybdd.cucumber.glue.IndexedGlueResourceLoader.withGlueIndexFrom;
+
 public class CucumberWithSerenityRuntime {
 
     public static Runtime using(ResourceLoader resourceLoader,
@@ -31,10 +34,12 @@ public class CucumberWithSerenityRuntime {
                                                         ClassFinder classFinder,
                                                         RuntimeOptions runtimeOptions,
                                                         Configuration systemConfiguration) {
-        ClassFinder resolvedClassFinder = Optional.ofNullable(classFinder).orElse(new ResourceLoaderClassFinder(resourceLoader, classLoader));
+        ResourceLoader glueResourceLoader = withGlueIndexFrom(classLoader, resourceLoader, systemConfiguration.getEnvironmentVariables());
+        ClassFinder resolvedClassFinder = Optional.ofNullable(classFinder).orElse(new ResourceLoaderClassFinder(glueResourceLoader, classLoader));
         SerenityReporter reporter = new SerenityReporter(systemConfiguration, resourceLoader);
-        Runtime runtime = Runtime.builder().withResourceLoader(resourceLoader).withClassFinder(resolvedClassFinder).
-                withClassLoader(classLoader).withRuntimeOptions(runtimeOptions).withAdditionalPlugins(reporter).build();
+        Runtime runtime = Runtime.builder().withResourceLoader(glueResourceLoader).withClassFinder(resolvedClassFinder).
+                withClassLoader(classLoader).withRuntimeOptions(runtimeOptions).withAdditionalPlugins(reporter).
+                withFeatureSupplier(new CachedFeatureSupplier(resourceLoader, runtimeOptions)).build();
         return runtime;
     }
 }
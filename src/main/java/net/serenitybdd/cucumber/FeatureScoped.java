@@ -0,0 +1,25 @@
+package net.serenitybdd.cucumber;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shares one instance of a glue class between all the scenarios of a feature, rather than creating one for each scenario.
+ * The instance is created, and its Serenity fields injected, the first time a scenario of the feature needs it. It is closed,
+ * if it is AutoCloseable, once the last scenario of the feature has finished.
+ * <p>
+ * The scenarios of a feature can run on several threads at the same time, so a feature scoped class should only hold
+ * resources that are safe to share, such as HTTP clients or parsed schemas, and no scenario state. For the same reason,
+ * glue with a page enabled constructor, a WebDriver, a page object or a step library field cannot be feature scoped,
+ * and neither can Java 8 glue, which registers its step definitions as it is created for each scenario.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface FeatureScoped {
+}
@@ -0,0 +1,24 @@
+package net.serenitybdd.cucumber;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shares one instance of a glue class between all the scenarios of a test run, rather than creating one for each scenario.
+ * The instance is created, and its Serenity fields injected, the first time a scenario needs it. It is closed, if it is
+ * AutoCloseable, when the test run has finished.
+ * <p>
+ * Scenarios can run on several threads at the same time, so a run scoped class should only hold resources that are safe
+ * to share, such as connection pools, and no scenario state. As with {@link FeatureScoped} glue, classes with a page enabled
+ * constructor, a WebDriver, a page object or a step library field, and Java 8 glue, cannot be run scoped.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RunScoped {
+}
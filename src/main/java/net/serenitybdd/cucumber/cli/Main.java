@@ -9,9 +9,14 @@ import io.cucumber.core.options.CommandlineOptionsParser;
 import io.cucumber.core.options.RuntimeOptions;
 import net.serenitybdd.cucumber.CucumberWithSerenity;
 import net.serenitybdd.cucumber.CucumberWithSerenityRuntime;
+import net.serenitybdd.cucumber.util.ScenarioThreads;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.webdriver.Configuration;
 
 import java.io.IOException;
 
+import static net.serenitybdd.cucumber.glue.IndexedGlueResourceLoader.withGlueIndexFrom;
+
 public class Main {
 
     public static void main(String[] argv) throws Throwable {
@@ -21,9 +26,16 @@ public class Main {
 
     public static byte run(String[] argv, ClassLoader classLoader) throws IOException {
         RuntimeOptions  runtimeOptions = new CommandlineOptionsParser().parse(argv).build() ;
-        ResourceLoader resourceLoader = new MultiLoader(classLoader);
+        Configuration systemConfiguration = Injectors.getInjector().getInstance(Configuration.class);
+        ResourceLoader resourceLoader = withGlueIndexFrom(classLoader, new MultiLoader(classLoader), systemConfiguration.getEnvironmentVariables());
         ClassFinder classFinder = new ResourceLoaderClassFinder(resourceLoader, classLoader);
         CucumberWithSerenity.setRuntimeOptions(runtimeOptions);
+
+        ScenarioThreads scenarioThreads = ScenarioThreads.from(systemConfiguration.getEnvironmentVariables());
+        if (scenarioThreads.areParallel()) {
+            return new ParallelScenarioRuntime(resourceLoader, classLoader, classFinder, runtimeOptions, systemConfiguration, scenarioThreads).run();
+        }
+
         Runtime runtime =  CucumberWithSerenityRuntime.using(resourceLoader, classLoader, classFinder, runtimeOptions);
 
 
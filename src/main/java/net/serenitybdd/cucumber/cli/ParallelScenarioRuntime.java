@@ -0,0 +1,128 @@
+package net.serenitybdd.cucumber.cli;
+
+import cucumber.api.event.TestRunFinished;
+import cucumber.api.event.TestRunStarted;
+import cucumber.runner.EventBus;
+import cucumber.runner.ThreadLocalRunnerSupplier;
+import cucumber.runner.TimeService;
+import cucumber.runner.TimeServiceEventBus;
+import cucumber.runtime.BackendModuleBackendSupplier;
+import cucumber.runtime.ClassFinder;
+import cucumber.runtime.ExitStatus;
+import cucumber.runtime.GlueScopes;
+import cucumber.runtime.filter.Filters;
+import cucumber.runtime.formatter.PluginFactory;
+import cucumber.runtime.formatter.Plugins;
+import cucumber.runtime.formatter.SerenityReporter;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.events.PickleEvent;
+import io.cucumber.core.options.RuntimeOptions;
+import net.serenitybdd.cucumber.model.CachedFeatureSupplier;
+import net.serenitybdd.cucumber.util.PickleScenarios;
+import net.serenitybdd.cucumber.util.ScenarioThreads;
+import net.thucydides.core.webdriver.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Runs a Cucumber test run from the command line with its scenarios in parallel, on platform or virtual threads.
+ * Unlike Cucumber's own multi-threaded runtime, which runs each pickle separately, the pickles of a scenario outline
+ * run one after the other on the same thread, as Serenity reports a scenario outline as a single test.
+ */
+class ParallelScenarioRuntime {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelScenarioRuntime.class);
+
+    private final ResourceLoader resourceLoader;
+    private final RuntimeOptions runtimeOptions;
+    private final ScenarioThreads scenarioThreads;
+    private final EventBus bus = new TimeServiceEventBus(TimeService.SYSTEM);
+    private final Plugins plugins;
+    private final ExitStatus exitStatus;
+    private final ThreadLocalRunnerSupplier runnerSupplier;
+
+    ParallelScenarioRuntime(ResourceLoader resourceLoader,
+                            ClassLoader classLoader,
+                            ClassFinder classFinder,
+                            RuntimeOptions runtimeOptions,
+                            Configuration systemConfiguration,
+                            ScenarioThreads scenarioThreads) {
+        this.resourceLoader = resourceLoader;
+        this.runtimeOptions = runtimeOptions;
+        this.scenarioThreads = scenarioThreads;
+
+        SerenityReporter reporter = new SerenityReporter(systemConfiguration, resourceLoader);
+        reporter.recordScenariosIndependently();
+        this.plugins = new Plugins(classLoader, new PluginFactory(), runtimeOptions);
+        plugins.addPlugin(reporter);
+        plugins.setSerialEventBusOnEventListenerPlugins(bus);
+
+        this.exitStatus = new ExitStatus(runtimeOptions);
+        exitStatus.setEventPublisher(bus);
+
+        this.runnerSupplier = new ThreadLocalRunnerSupplier(runtimeOptions, bus, new BackendModuleBackendSupplier(resourceLoader, classFinder, runtimeOptions));
+    }
+
+    byte run() {
+        List<CucumberFeature> features = new CachedFeatureSupplier(resourceLoader, runtimeOptions).get();
+        bus.send(new TestRunStarted(bus.getTime(), bus.getTimeMillis()));
+        for (CucumberFeature feature : features) {
+            feature.sendTestSourceRead(bus);
+        }
+        runnerSupplier.get().reportStepDefinitions(plugins.stepDefinitionReporter());
+
+        List<PickleEvent> picklesToRun = picklesToRun(features);
+        picklesToRun.stream().collect(groupingBy(pickleEvent -> pickleEvent.uri, counting()))
+                .forEach((featurePath, testCaseCount) -> GlueScopes.shared().expectTestCasesFor(featurePath, testCaseCount.intValue()));
+        List<List<PickleEvent>> scenarios = PickleScenarios.groupedByScenario(picklesToRun, pickleEvent -> pickleEvent);
+        LOGGER.info("Running {} scenario(s) from {} feature(s) on {}", scenarios.size(), features.size(), scenarioThreads);
+        ExecutorService executor = scenarioThreads.newExecutor();
+        try {
+            List<Future<?>> scenarioResults = new ArrayList<>();
+            for (List<PickleEvent> pickleEvents : scenarios) {
+                scenarioResults.add(executor.submit(() -> pickleEvents.forEach(pickleEvent -> runnerSupplier.get().runPickle(pickleEvent))));
+            }
+            for (Future<?> scenarioResult : scenarioResults) {
+                try {
+                    scenarioResult.get();
+                } catch (ExecutionException e) {
+                    LOGGER.error("Exception while executing scenario", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.debug("Interrupted while executing scenarios");
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+
+        bus.send(new TestRunFinished(bus.getTime(), bus.getTimeMillis()));
+        return exitStatus.exitStatus();
+    }
+
+    /**
+     * The pickles selected by the runtime options, in the order they specify, in the same way as Cucumber's Runtime.
+     */
+    private List<PickleEvent> picklesToRun(List<CucumberFeature> features) {
+        Filters filters = new Filters(runtimeOptions);
+        List<PickleEvent> pickleEvents = new ArrayList<>();
+        for (CucumberFeature feature : features) {
+            for (PickleEvent pickleEvent : feature.getPickles()) {
+                if (filters.matchesFilters(pickleEvent)) {
+                    pickleEvents.add(pickleEvent);
+                }
+            }
+        }
+        return filters.limitPickleEvents(runtimeOptions.getPickleOrder().orderPickleEvents(pickleEvents));
+    }
+}
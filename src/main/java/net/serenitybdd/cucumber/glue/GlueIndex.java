@@ -0,0 +1,141 @@
+package net.serenitybdd.cucumber.glue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The glue classes recorded by the {@link GlueIndexProcessor} in every classpath root that has a glue index.
+ * <p>
+ * A package can only be read from the index when every classpath root that holds classes in that package has an index:
+ * a root without one (such as a jar compiled without the processor) could hold glue that only a scan would find.
+ */
+public class GlueIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/serenity-cucumber/glue.index";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GlueIndex.class);
+
+    private final ClassLoader classLoader;
+    private final Set<String> indexedRoots;
+    private final Set<String> glueClassResources;
+
+    GlueIndex(ClassLoader classLoader, Set<String> indexedRoots, Set<String> glueClassResources) {
+        this.classLoader = classLoader;
+        this.indexedRoots = indexedRoots;
+        this.glueClassResources = glueClassResources;
+    }
+
+    public static GlueIndex loadFrom(ClassLoader classLoader) {
+        Set<String> indexedRoots = new HashSet<>();
+        Set<String> glueClassResources = new TreeSet<>();
+        try {
+            Enumeration<URL> indexes = classLoader.getResources(INDEX_LOCATION);
+            while (indexes.hasMoreElements()) {
+                URL index = indexes.nextElement();
+                indexedRoots.add(rootOf(index, INDEX_LOCATION));
+                glueClassResources.addAll(glueClassResourcesIn(index));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read the glue index, so the glue packages will be scanned: {}", e.getMessage());
+            return new GlueIndex(classLoader, Collections.emptySet(), Collections.emptySet());
+        }
+        return new GlueIndex(classLoader, indexedRoots, glueClassResources);
+    }
+
+    private static List<String> glueClassResourcesIn(URL index) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(className -> className.replace('.', '/') + ".class")
+                    .collect(toList());
+        }
+    }
+
+    public boolean isEmpty() {
+        return indexedRoots.isEmpty();
+    }
+
+    /**
+     * The class files of the glue in the given package and its subpackages, e.g. "net/serenitybdd/cucumber/steps",
+     * or nothing if the package has to be scanned because some of its classes are in a classpath root without an index.
+     */
+    public Optional<List<String>> glueClassResourcesIn(String packagePath) {
+        String packageDirectory = packagePath.endsWith("/") ? packagePath.substring(0, packagePath.length() - 1) : packagePath;
+        if (isEmpty() || packageDirectory.isEmpty() || !isFullyIndexed(packageDirectory)) {
+            return Optional.empty();
+        }
+        String packagePrefix = packageDirectory + "/";
+        return Optional.of(glueClassResources.stream()
+                .filter(classResource -> classResource.startsWith(packagePrefix))
+                .filter(classResource -> classLoader.getResource(classResource) != null)
+                .collect(toList()));
+    }
+
+    private boolean isFullyIndexed(String packagePath) {
+        try {
+            Enumeration<URL> packageDirectories = classLoader.getResources(packagePath);
+            boolean foundPackage = false;
+            while (packageDirectories.hasMoreElements()) {
+                URL packageDirectory = packageDirectories.nextElement();
+                foundPackage = true;
+                if (!indexedRoots.contains(rootOf(packageDirectory, packagePath)) && mayHoldClasses(packageDirectory)) {
+                    LOGGER.debug("Scanning {} for glue, because {} has no glue index", packagePath, packageDirectory);
+                    return false;
+                }
+            }
+            return foundPackage;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Directories holding only resources, such as the feature files of a Gradle build, do not need an index.
+     */
+    private static boolean mayHoldClasses(URL packageDirectory) {
+        if (!"file".equals(packageDirectory.getProtocol())) {
+            return true;
+        }
+        try (Stream<Path> files = Files.walk(Paths.get(packageDirectory.toURI()))) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(".class"));
+        } catch (IOException | UncheckedIOException | URISyntaxException e) {
+            return true;
+        }
+    }
+
+    private static String rootOf(URL resource, String resourcePath) {
+        String location = resource.toExternalForm();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        return location.endsWith(resourcePath) ? location.substring(0, location.length() - resourcePath.length()) : location;
+    }
+
+    @Override
+    public String toString() {
+        return "glue index of " + glueClassResources.size() + " class(es) in " + new ArrayList<>(indexedRoots);
+    }
+}
@@ -0,0 +1,167 @@
+package net.serenitybdd.cucumber.glue;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Records, at compile time, every class that Cucumber would find by scanning the glue packages: classes with step definition
+ * or hook methods, type registry configurers and Java 8 glue. The classes are listed in {@value GlueIndex#INDEX_LOCATION},
+ * so that the runners can load them from the index rather than scanning every class in the glue packages.
+ * <p>
+ * An incremental build only compiles some of the classes, so the index left in the class output by the previous build is
+ * merged with the classes found this time: classes that were not compiled again keep their entry as long as they still exist,
+ * and classes that were compiled again are only kept if they are still glue.
+ * <p>
+ * The processor runs automatically when serenity-cucumber is on the compile classpath of a Maven build. Gradle only runs processors
+ * declared on the annotation processor path, e.g. with {@code testAnnotationProcessor "net.serenity-bdd:serenity-cucumber4:<version>"}.
+ * Pass {@code -Aserenity.cucumber.glue.index=false} to javac to turn it off.
+ */
+@SupportedAnnotationTypes("*")
+public class GlueIndexProcessor extends AbstractProcessor {
+
+    static final String DISABLE_OPTION = "serenity.cucumber.glue.index";
+
+    private static final String STEP_DEFINITION_ANNOTATION = "cucumber.runtime.java.StepDefAnnotation";
+
+    private static final Set<String> HOOK_ANNOTATIONS = new TreeSet<>(Arrays.asList(
+            "cucumber.api.java.Before", "cucumber.api.java.After", "cucumber.api.java.BeforeStep", "cucumber.api.java.AfterStep",
+            "io.cucumber.java.Before", "io.cucumber.java.After", "io.cucumber.java.BeforeStep", "io.cucumber.java.AfterStep"));
+
+    private static final List<String> GLUE_TYPES = Arrays.asList(
+            "cucumber.api.TypeRegistryConfigurer", "io.cucumber.core.api.TypeRegistryConfigurer", "cucumber.api.java8.GlueBase");
+
+    private final Set<String> glueClasses = new TreeSet<>();
+    private final Set<String> compiledClasses = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return new TreeSet<>(Arrays.asList(DISABLE_OPTION));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        if ("false".equalsIgnoreCase(processingEnv.getOptions().get(DISABLE_OPTION))) {
+            return false;
+        }
+        if (roundEnvironment.processingOver()) {
+            writeIndex();
+        } else {
+            List<TypeMirror> glueTypes = GLUE_TYPES.stream()
+                    .map(typeName -> processingEnv.getElementUtils().getTypeElement(typeName))
+                    .filter(type -> type != null)
+                    .map(type -> processingEnv.getTypeUtils().erasure(type.asType()))
+                    .collect(toList());
+            ElementFilter.typesIn(roundEnvironment.getRootElements()).forEach(type -> recordGlueIn(type, glueTypes));
+        }
+        return false;
+    }
+
+    private void recordGlueIn(TypeElement type, List<TypeMirror> glueTypes) {
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        compiledClasses.add(className);
+        if (isGlue(type, glueTypes)) {
+            glueClasses.add(className);
+        }
+        ElementFilter.typesIn(type.getEnclosedElements()).forEach(nestedType -> recordGlueIn(nestedType, glueTypes));
+    }
+
+    private boolean isGlue(TypeElement type, List<TypeMirror> glueTypes) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        TypeMirror erasedType = processingEnv.getTypeUtils().erasure(type.asType());
+        return glueTypes.stream().anyMatch(glueType -> processingEnv.getTypeUtils().isAssignable(erasedType, glueType))
+                || ElementFilter.methodsIn(type.getEnclosedElements()).stream().anyMatch(this::isStepDefinitionOrHook);
+    }
+
+    private boolean isStepDefinitionOrHook(ExecutableElement method) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            Element annotationType = annotation.getAnnotationType().asElement();
+            if (HOOK_ANNOTATIONS.contains(((TypeElement) annotationType).getQualifiedName().toString())) {
+                return true;
+            }
+            for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+                if (((TypeElement) metaAnnotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(STEP_DEFINITION_ANNOTATION)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            Optional<List<String>> previousIndex = previousIndex();
+            if (glueClasses.isEmpty() && !previousIndex.isPresent()) {
+                return;
+            }
+            Set<String> indexedClasses = new TreeSet<>(glueClasses);
+            previousIndex.ifPresent(previousGlueClasses -> previousGlueClasses.stream()
+                    .filter(glueClass -> !compiledClasses.contains(glueClass) && stillExists(glueClass))
+                    .forEach(indexedClasses::add));
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", GlueIndex.INDEX_LOCATION);
+            try (Writer writer = index.openWriter()) {
+                writer.write("# Cucumber glue classes, recorded by " + GlueIndexProcessor.class.getName() + "\n");
+                for (String glueClass : indexedClasses) {
+                    writer.write(glueClass + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not write the Cucumber glue index, so the glue packages will be scanned at runtime: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The glue classes in the index left in the class output by a previous build, if there is one.
+     */
+    private Optional<List<String>> previousIndex() throws IOException {
+        FileObject index = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", GlueIndex.INDEX_LOCATION);
+        try (BufferedReader reader = new BufferedReader(index.openReader(true))) {
+            return Optional.of(reader.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .collect(toList()));
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether a class that was not compiled this time is still there, in the class output or elsewhere on the classpath.
+     */
+    private boolean stillExists(String glueClass) {
+        return processingEnv.getElementUtils().getTypeElement(glueClass.replace('$', '.')) != null;
+    }
+}
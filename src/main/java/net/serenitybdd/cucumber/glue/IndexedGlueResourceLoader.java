@@ -0,0 +1,93 @@
+package net.serenitybdd.cucumber.glue;
+
+import cucumber.runtime.io.Resource;
+import cucumber.runtime.io.ResourceLoader;
+import io.cucumber.core.model.Classpath;
+import net.serenitybdd.cucumber.CucumberSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A resource loader that lists the classes of a glue package from the {@link GlueIndex} rather than by scanning the classpath.
+ * Cucumber finds glue by asking its resource loader for every class file in the glue packages, then loading each class to look
+ * for annotated methods, so only the indexed glue classes are loaded. Packages that are not fully indexed, and all other
+ * resources, are loaded by the underlying resource loader as usual.
+ */
+public class IndexedGlueResourceLoader implements ResourceLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexedGlueResourceLoader.class);
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private final ResourceLoader resourceLoader;
+    private final ClassLoader classLoader;
+    private final GlueIndex glueIndex;
+
+    IndexedGlueResourceLoader(ResourceLoader resourceLoader, ClassLoader classLoader, GlueIndex glueIndex) {
+        this.resourceLoader = resourceLoader;
+        this.classLoader = classLoader;
+        this.glueIndex = glueIndex;
+    }
+
+    /**
+     * Uses the glue index on the classpath, unless there is none or serenity.cucumber.glue.index is set to false.
+     */
+    public static ResourceLoader withGlueIndexFrom(ClassLoader classLoader, ResourceLoader resourceLoader, EnvironmentVariables environmentVariables) {
+        if (resourceLoader instanceof IndexedGlueResourceLoader) {
+            return resourceLoader;
+        }
+        if (!CucumberSystemProperty.SERENITY_CUCUMBER_GLUE_INDEX.booleanFrom(environmentVariables, true)) {
+            return resourceLoader;
+        }
+        GlueIndex glueIndex = GlueIndex.loadFrom(classLoader);
+        if (glueIndex.isEmpty()) {
+            return resourceLoader;
+        }
+        LOGGER.debug("Finding glue with the {}", glueIndex);
+        return new IndexedGlueResourceLoader(resourceLoader, classLoader, glueIndex);
+    }
+
+    @Override
+    public Iterable<Resource> resources(URI path, String suffix) {
+        if (CLASS_SUFFIX.equals(suffix) && Classpath.CLASSPATH_SCHEME.equals(path.getScheme())) {
+            Optional<List<String>> indexedClasses = glueIndex.glueClassResourcesIn(Classpath.resourceName(path));
+            if (indexedClasses.isPresent()) {
+                LOGGER.debug("Found {} glue class(es) in {} from the glue index", indexedClasses.get().size(), path);
+                return indexedClasses.get().stream().map(IndexedClassResource::new).collect(toList());
+            }
+        }
+        return resourceLoader.resources(path, suffix);
+    }
+
+    private class IndexedClassResource implements Resource {
+        private final String classResource;
+
+        IndexedClassResource(String classResource) {
+            this.classResource = classResource;
+        }
+
+        @Override
+        public URI getPath() {
+            return URI.create(Classpath.CLASSPATH_SCHEME_PREFIX + classResource);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            InputStream inputStream = classLoader.getResourceAsStream(classResource);
+            if (inputStream == null) {
+                throw new FileNotFoundException(classResource);
+            }
+            return inputStream;
+        }
+    }
+}
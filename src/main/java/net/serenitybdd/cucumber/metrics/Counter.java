@@ -0,0 +1,29 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only goes up, such as the number of event handlers that failed.
+ */
+public final class Counter extends Instrument {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    void collect(MetricFamily family, Map<String, String> labels, List<MetricSample> samples) {
+        samples.add(new MetricSample(family, family.getName(), labels, count.sum()));
+    }
+}
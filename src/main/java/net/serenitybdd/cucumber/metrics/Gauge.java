@@ -0,0 +1,22 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A value read when the metrics are collected, such as the current depth of a queue.
+ */
+class Gauge extends Instrument {
+
+    private final LongSupplier value;
+
+    Gauge(LongSupplier value) {
+        this.value = value;
+    }
+
+    @Override
+    void collect(MetricFamily family, Map<String, String> labels, List<MetricSample> samples) {
+        samples.add(new MetricSample(family, family.getName(), labels, value.getAsLong()));
+    }
+}
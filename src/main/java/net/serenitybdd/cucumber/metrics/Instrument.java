@@ -0,0 +1,13 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A metric recorded for one combination of label values. Instruments are registered once, when the test run is set up,
+ * and then recorded directly, so that the recording path does no lookups and allocates nothing.
+ */
+abstract class Instrument {
+
+    abstract void collect(MetricFamily family, Map<String, String> labels, List<MetricSample> samples);
+}
@@ -0,0 +1,69 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in fixed buckets, one per power of ten from 10 microseconds to 100 seconds,
+ * and keeps the total of the durations recorded.
+ */
+public final class LatencyHistogram extends Instrument {
+
+    private static final long[] BUCKET_BOUNDS_IN_NANOS = {
+            10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L, 10_000_000_000L, 100_000_000_000L
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_IN_NANOS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    public void record(long durationInNanos) {
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_IN_NANOS.length && durationInNanos > BUCKET_BOUNDS_IN_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        totalNanos.add(durationInNanos);
+    }
+
+    /**
+     * Records the time elapsed since the given value of System.nanoTime().
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    @Override
+    void collect(MetricFamily family, Map<String, String> labels, List<MetricSample> samples) {
+        long cumulativeCount = 0;
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            cumulativeCount += buckets[bucket].sum();
+            Map<String, String> bucketLabels = new LinkedHashMap<>(labels);
+            bucketLabels.put("le", (bucket < BUCKET_BOUNDS_IN_NANOS.length) ? inSeconds(BUCKET_BOUNDS_IN_NANOS[bucket]) : "+Inf");
+            samples.add(new MetricSample(family, family.getName() + "_bucket", bucketLabels, cumulativeCount));
+        }
+        samples.add(new MetricSample(family, family.getName() + "_sum", labels, totalNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1)));
+        samples.add(new MetricSample(family, family.getName() + "_count", labels, cumulativeCount));
+    }
+
+    private static String inSeconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,48 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The instruments recorded under one metric name, one for each combination of label values.
+ */
+class MetricFamily {
+
+    private final String name;
+    private final String help;
+    private final String type;
+    private final Map<Map<String, String>, Instrument> instruments = new ConcurrentHashMap<>();
+
+    MetricFamily(String name, String help, String type) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getHelp() {
+        return help;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    Instrument instrumentFor(Map<String, String> labels, Function<Map<String, String>, Instrument> newInstrument) {
+        return instruments.computeIfAbsent(labels, newInstrument);
+    }
+
+    List<MetricSample> samples() {
+        List<MetricSample> samples = new ArrayList<>();
+        instruments.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey((labels, otherLabels) -> labels.toString().compareTo(otherLabels.toString())))
+                .forEach(instrument -> instrument.getValue().collect(this, instrument.getKey(), samples));
+        return samples;
+    }
+}
@@ -0,0 +1,55 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.Map;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * One value of a metric at the time the metrics were collected.
+ */
+class MetricSample {
+
+    private final MetricFamily family;
+    private final String name;
+    private final Map<String, String> labels;
+    private final double value;
+
+    MetricSample(MetricFamily family, String name, Map<String, String> labels, double value) {
+        this.family = family;
+        this.name = name;
+        this.labels = labels;
+        this.value = value;
+    }
+
+    MetricFamily getFamily() {
+        return family;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<String, String> getLabels() {
+        return labels;
+    }
+
+    double getValue() {
+        return value;
+    }
+
+    /**
+     * The sample name and labels in the Prometheus exposition format, e.g. serenity_cucumber_scenario_duration_seconds_count{result="passed"}
+     */
+    String getQualifiedName() {
+        if (labels.isEmpty()) {
+            return name;
+        }
+        return labels.entrySet().stream()
+                .map(label -> label.getKey() + "=\"" + escaped(label.getValue()) + "\"")
+                .collect(joining(",", name + "{", "}"));
+    }
+
+    private static String escaped(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,87 @@
+package net.serenitybdd.cucumber.metrics;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * The formats in which a snapshot of the metrics can be written at the end of a test run.
+ */
+public enum MetricsFormat {
+
+    /**
+     * The Prometheus text exposition format, as read by the textfile collector of the Prometheus node exporter.
+     */
+    PROMETHEUS("prom") {
+        @Override
+        void write(List<MetricFamily> families, Writer writer) throws IOException {
+            for (MetricFamily family : families) {
+                writer.write("# HELP " + family.getName() + " " + family.getHelp() + "\n");
+                writer.write("# TYPE " + family.getName() + " " + family.getType() + "\n");
+                for (MetricSample sample : family.samples()) {
+                    writer.write(sample.getQualifiedName() + " " + formatted(sample.getValue()) + "\n");
+                }
+            }
+        }
+    },
+
+    /**
+     * A JSON document with one entry for each metric, holding its samples.
+     */
+    JSON("json") {
+        @Override
+        void write(List<MetricFamily> families, Writer writer) {
+            JsonArray metrics = new JsonArray();
+            for (MetricFamily family : families) {
+                JsonObject metric = new JsonObject();
+                metric.addProperty("name", family.getName());
+                metric.addProperty("help", family.getHelp());
+                metric.addProperty("type", family.getType());
+                JsonArray samples = new JsonArray();
+                for (MetricSample sample : family.samples()) {
+                    JsonObject jsonSample = new JsonObject();
+                    jsonSample.addProperty("name", sample.getName());
+                    JsonObject labels = new JsonObject();
+                    sample.getLabels().forEach(labels::addProperty);
+                    jsonSample.add("labels", labels);
+                    jsonSample.addProperty("value", sample.getValue());
+                    samples.add(jsonSample);
+                }
+                metric.add("samples", samples);
+                metrics.add(metric);
+            }
+            JsonObject snapshot = new JsonObject();
+            snapshot.add("metrics", metrics);
+            new GsonBuilder().setPrettyPrinting().create().toJson(snapshot, writer);
+        }
+    };
+
+    private final String fileExtension;
+
+    MetricsFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    abstract void write(List<MetricFamily> families, Writer writer) throws IOException;
+
+    public static MetricsFormat from(String format) {
+        for (MetricsFormat metricsFormat : values()) {
+            if (metricsFormat.name().equalsIgnoreCase(format) || metricsFormat.fileExtension.equalsIgnoreCase(format)) {
+                return metricsFormat;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metrics format '" + format + "': expected prometheus or json");
+    }
+
+    private static String formatted(double value) {
+        return (value == Math.rint(value) && !Double.isInfinite(value)) ? Long.toString((long) value) : Double.toString(value);
+    }
+}
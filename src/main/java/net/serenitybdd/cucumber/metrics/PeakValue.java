@@ -0,0 +1,29 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * The highest value seen during the test run, such as the deepest a queue has been.
+ */
+public final class PeakValue extends Instrument {
+
+    private final LongAccumulator peak = new LongAccumulator(Math::max, 0);
+
+    PeakValue() {
+    }
+
+    public void update(long value) {
+        peak.accumulate(value);
+    }
+
+    public long peak() {
+        return peak.get();
+    }
+
+    @Override
+    void collect(MetricFamily family, Map<String, String> labels, List<MetricSample> samples) {
+        samples.add(new MetricSample(family, family.getName(), labels, peak.get()));
+    }
+}
@@ -0,0 +1,160 @@
+package net.serenitybdd.cucumber.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * A registry of the counters, latency histograms and gauges recorded during a test run.
+ * <p>
+ * Instruments are registered by name and label values when the test run is set up, and are then recorded directly:
+ * they are backed by LongAdders, so that threads recording at the same time do not contend, and recording allocates nothing.
+ * Registering the same name and label values again returns the instrument already registered.
+ * The metrics can be read through JMX while the test run is in progress, and written as a snapshot when it has finished.
+ */
+public class RunMetrics implements RunMetricsMXBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunMetrics.class);
+
+    private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+
+    private final Map<String, MetricFamily> families = new ConcurrentHashMap<>();
+
+    private ObjectName registeredName;
+
+    public Counter counter(String name, String help, String... labelNamesAndValues) {
+        return (Counter) familyCalled(name, help, "counter").instrumentFor(labels(labelNamesAndValues), labels -> new Counter());
+    }
+
+    public LatencyHistogram histogram(String name, String help, String... labelNamesAndValues) {
+        return (LatencyHistogram) familyCalled(name, help, "histogram").instrumentFor(labels(labelNamesAndValues), labels -> new LatencyHistogram());
+    }
+
+    public PeakValue peak(String name, String help, String... labelNamesAndValues) {
+        return (PeakValue) familyCalled(name, help, "gauge").instrumentFor(labels(labelNamesAndValues), labels -> new PeakValue());
+    }
+
+    public void gauge(String name, String help, LongSupplier value, String... labelNamesAndValues) {
+        familyCalled(name, help, "gauge").instrumentFor(labels(labelNamesAndValues), labels -> new Gauge(value));
+    }
+
+    private MetricFamily familyCalled(String name, String help, String type) {
+        MetricFamily family = families.computeIfAbsent(name, newName -> new MetricFamily(newName, help, type));
+        if (!family.getType().equals(type)) {
+            throw new IllegalArgumentException("The metric " + name + " is already registered as a " + family.getType());
+        }
+        return family;
+    }
+
+    private static Map<String, String> labels(String... labelNamesAndValues) {
+        if (labelNamesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as pairs of names and values");
+        }
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (int label = 0; label < labelNamesAndValues.length; label += 2) {
+            labels.put(labelNamesAndValues[label], labelNamesAndValues[label + 1]);
+        }
+        return Collections.unmodifiableMap(labels);
+    }
+
+    private List<MetricFamily> familiesByName() {
+        return new ArrayList<>(new TreeMap<>(families).values());
+    }
+
+    @Override
+    public Map<String, Double> getSamples() {
+        Map<String, Double> samples = new LinkedHashMap<>();
+        familiesByName().forEach(family -> family.samples().forEach(sample -> samples.put(sample.getQualifiedName(), sample.getValue())));
+        return samples;
+    }
+
+    @Override
+    public String getPrometheusText() {
+        StringWriter writer = new StringWriter();
+        try {
+            MetricsFormat.PROMETHEUS.write(familiesByName(), writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public void writeTo(Writer writer, MetricsFormat format) throws IOException {
+        format.write(familiesByName(), writer);
+    }
+
+    /**
+     * Writes a snapshot of the metrics to the given file, replacing it in a single move so that a collector never reads a partial file.
+     */
+    public void writeSnapshotTo(Path snapshotFile, MetricsFormat format) throws IOException {
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writeTo(writer, format);
+            }
+            try {
+                Files.move(temporaryFile, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server, under a name that is unique to this registry.
+     */
+    public synchronized void registerMBean() {
+        if (registeredName != null) {
+            return;
+        }
+        try {
+            ObjectName name = new ObjectName("net.serenitybdd.cucumber:type=RunMetrics,name=run-" + INSTANCE_COUNTER.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            registeredName = name;
+        } catch (JMException e) {
+            LOGGER.warn("Could not expose the test run metrics through JMX: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(registeredName)) {
+                mBeanServer.unregisterMBean(registeredName);
+            }
+        } catch (JMException e) {
+            LOGGER.debug("Could not unregister the test run metrics from JMX", e);
+        } finally {
+            registeredName = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package net.serenitybdd.cucumber.metrics;
+
+import java.util.Map;
+
+/**
+ * Exposes the metrics of a running test run through JMX, under the net.serenitybdd.cucumber:type=RunMetrics object names.
+ */
+public interface RunMetricsMXBean {
+
+    /**
+     * The current value of every metric sample, keyed by its name and labels in the Prometheus exposition format.
+     */
+    Map<String, Double> getSamples();
+
+    /**
+     * The current values of the metrics in the Prometheus text exposition format.
+     */
+    String getPrometheusText();
+}
@@ -0,0 +1,49 @@
+package net.serenitybdd.cucumber.model;
+
+import cucumber.runtime.FeatureSupplier;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import io.cucumber.core.options.FeatureOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Supplies the features to run from the shared {@link FeatureCache}, rather than parsing them again
+ * as Cucumber's FeaturePathFeatureSupplier does.
+ */
+public class CachedFeatureSupplier implements FeatureSupplier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachedFeatureSupplier.class);
+
+    private final ResourceLoader resourceLoader;
+    private final FeatureOptions featureOptions;
+    private final FeatureCache featureCache;
+
+    public CachedFeatureSupplier(ResourceLoader resourceLoader, FeatureOptions featureOptions) {
+        this(resourceLoader, featureOptions, FeatureCache.shared());
+    }
+
+    public CachedFeatureSupplier(ResourceLoader resourceLoader, FeatureOptions featureOptions, FeatureCache featureCache) {
+        this.resourceLoader = resourceLoader;
+        this.featureOptions = featureOptions;
+        this.featureCache = featureCache;
+    }
+
+    @Override
+    public List<CucumberFeature> get() {
+        List<URI> featurePaths = featureOptions.getFeaturePaths();
+        List<CucumberFeature> cucumberFeatures = featureCache.load(resourceLoader, featurePaths);
+        if (cucumberFeatures.isEmpty()) {
+            if (featurePaths.isEmpty()) {
+                LOGGER.warn("Got no path to feature directory or feature file");
+            } else {
+                LOGGER.warn("No features found at {}", featurePaths);
+            }
+        }
+        LOGGER.info("Loaded {} feature(s) ({})", cucumberFeatures.size(), featureCache);
+        return cucumberFeatures;
+    }
+}
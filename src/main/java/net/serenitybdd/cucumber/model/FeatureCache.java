@@ -0,0 +1,276 @@
+package net.serenitybdd.cucumber.model;
+
+import com.google.common.hash.Hashing;
+import cucumber.runtime.CucumberException;
+import cucumber.runtime.io.Resource;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import cucumber.util.Encoding;
+import gherkin.AstBuilder;
+import gherkin.Parser;
+import gherkin.ParserException;
+import gherkin.TokenMatcher;
+import gherkin.ast.GherkinDocument;
+import gherkin.events.PickleEvent;
+import gherkin.pickles.Compiler;
+import io.cucumber.core.model.FeatureIdentifier;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_FEATURE_CACHE;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_FEATURE_CACHE_DIRECTORY;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_FEATURE_CACHE_SIZE;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_OUTPUT_DIRECTORY;
+
+/**
+ * Parsed feature files, shared by everything that needs the Gherkin of a feature during a test run
+ * (the runner, the suite slicer, the scenario statistics and the reporter), so that each feature file
+ * is parsed only once per JVM.
+ * Entries are keyed by feature URI, and are parsed again if the content of the feature file changes.
+ * A {@link PersistentFeatureCache} can also be used to share parsed features between JVMs.
+ */
+public class FeatureCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FeatureCache.class);
+
+    private final Map<URI, CachedFeature> features = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Optional<PersistentFeatureCache> persistentCache;
+    private final AtomicBoolean persistentCacheTrimmed = new AtomicBoolean();
+
+    public FeatureCache() {
+        this(Optional.empty());
+    }
+
+    public FeatureCache(Optional<PersistentFeatureCache> persistentCache) {
+        this.persistentCache = persistentCache;
+    }
+
+    /**
+     * The cache shared by every component in this JVM. Parsed features are also stored on disk
+     * if serenity.cucumber.feature.cache is set.
+     */
+    public static FeatureCache shared() {
+        return SharedFeatureCache.INSTANCE;
+    }
+
+    private static class SharedFeatureCache {
+        private static final FeatureCache INSTANCE = new FeatureCache(persistentCacheConfiguredIn(Injectors.getInjector().getInstance(EnvironmentVariables.class)));
+    }
+
+    static Optional<PersistentFeatureCache> persistentCacheConfiguredIn(EnvironmentVariables environmentVariables) {
+        if (!SERENITY_CUCUMBER_FEATURE_CACHE.booleanFrom(environmentVariables, false)) {
+            return Optional.empty();
+        }
+        String outputDirectory = environmentVariables.getProperty(SERENITY_OUTPUT_DIRECTORY, "target/site/serenity");
+        String cacheDirectory = SERENITY_CUCUMBER_FEATURE_CACHE_DIRECTORY.from(environmentVariables, Paths.get(outputDirectory, "feature-cache").toString());
+        long maximumSizeInBytes = SERENITY_CUCUMBER_FEATURE_CACHE_SIZE.integerFrom(environmentVariables, 100) * 1024L * 1024L;
+        return Optional.of(new PersistentFeatureCache(Paths.get(cacheDirectory), maximumSizeInBytes));
+    }
+
+    /**
+     * Loads the features found under the given feature paths, in the same way as Cucumber's FeatureLoader:
+     * features are sorted by URI, and features whose content is identical to one already loaded are ignored.
+     * The first time features are loaded, the least recently used features are removed from the persistent cache.
+     */
+    public List<CucumberFeature> load(ResourceLoader resourceLoader, List<URI> featurePaths) {
+        Map<String, CucumberFeature> featuresByContent = new LinkedHashMap<>();
+        for (URI featurePath : featurePaths) {
+            Optional<Path> featureRoot = featureRootOf(featurePath);
+            Iterator<Resource> resources = resourceLoader.resources(featurePath, ".feature").iterator();
+            if (FeatureIdentifier.isFeature(featurePath) && !resources.hasNext()) {
+                throw new IllegalArgumentException("Feature not found: " + featurePath);
+            }
+            while (resources.hasNext()) {
+                CachedFeature cachedFeature = cachedFeatureFrom(resources.next(), featureRoot);
+                CucumberFeature duplicate = featuresByContent.putIfAbsent(cachedFeature.contentHash, cachedFeature.feature);
+                if (duplicate != null) {
+                    LOGGER.warn("Duplicate feature ignored. {} was identical to {}", cachedFeature.feature.getUri(), duplicate.getUri());
+                }
+            }
+        }
+        List<CucumberFeature> loadedFeatures = new ArrayList<>(featuresByContent.values());
+        loadedFeatures.sort(Comparator.comparing(CucumberFeature::getUri));
+        if (persistentCacheTrimmed.compareAndSet(false, true)) {
+            persistentCache.ifPresent(PersistentFeatureCache::evictLeastRecentlyUsedEntries);
+        }
+        LOGGER.debug("Loaded {} features from {} ({})", loadedFeatures.size(), featurePaths, this);
+        return loadedFeatures;
+    }
+
+    public CucumberFeature featureFrom(Resource resource) {
+        return cachedFeatureFrom(resource, Optional.empty()).feature;
+    }
+
+    /**
+     * Returns the parsed feature for Gherkin source that has already been read, for example from a TestSourceRead event.
+     */
+    public CucumberFeature featureFrom(URI featureUri, String source) {
+        return cachedFeatureFor(featureUri, source, PersistentFeatureCache.FileAttributes.UNKNOWN).feature;
+    }
+
+    public GherkinDocument gherkinDocumentFor(URI featureUri, String source) {
+        return featureFrom(featureUri, source).getGherkinFeature();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Number of features loaded from the persistent cache rather than parsed.
+     */
+    public long diskHitCount() {
+        return diskHits.get();
+    }
+
+    /**
+     * Number of features that had to be parsed.
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return features.size();
+    }
+
+    public void clear() {
+        features.clear();
+        hits.set(0);
+        diskHits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * The attributes of the feature file are read before its source, so that a feature file modified while it is being
+     * read is never stored as unmodified.
+     *
+     * @param featureRoot the directory that the path of a feature file resource is relative to, if it is on the file system
+     */
+    private CachedFeature cachedFeatureFrom(Resource resource, Optional<Path> featureRoot) {
+        URI featureUri = resource.getPath();
+        PersistentFeatureCache.FileAttributes attributes = featureRoot.map(root -> PersistentFeatureCache.FileAttributes.of(featureFileIn(root, featureUri)))
+                                                                      .orElse(PersistentFeatureCache.FileAttributes.UNKNOWN);
+        Optional<CachedFeature> unmodifiedFeature = persistentCache.flatMap(cache -> cache.readIfUnmodified(featureUri, attributes));
+        if (unmodifiedFeature.isPresent()) {
+            return features.compute(featureUri, (uri, cachedFeature) -> {
+                if (cachedFeature != null && cachedFeature.contentHash.equals(unmodifiedFeature.get().contentHash)) {
+                    hits.incrementAndGet();
+                    return cachedFeature;
+                }
+                diskHits.incrementAndGet();
+                return unmodifiedFeature.get();
+            });
+        }
+        return cachedFeatureFor(featureUri, sourceOf(resource), attributes);
+    }
+
+    /**
+     * Like Cucumber's FileResourceLoader, the paths of feature files are relative to the feature path when it is absolute,
+     * and to the working directory otherwise.
+     */
+    private static Optional<Path> featureRootOf(URI featurePath) {
+        if (!"file".equals(featurePath.getScheme())) {
+            return Optional.empty();
+        }
+        Path path = Paths.get(featurePath.getSchemeSpecificPart());
+        return Optional.of(path.isAbsolute() ? path : Paths.get(""));
+    }
+
+    private static Path featureFileIn(Path featureRoot, URI featureUri) {
+        String relativePath = featureUri.getSchemeSpecificPart();
+        return relativePath.isEmpty() ? featureRoot : featureRoot.resolve(relativePath);
+    }
+
+    /**
+     * @param attributes the attributes of the feature file before its source was read, stored with the parsed feature
+     */
+    private CachedFeature cachedFeatureFor(URI featureUri, String source, PersistentFeatureCache.FileAttributes attributes) {
+        String contentHash = contentHashOf(source);
+        return features.compute(featureUri, (uri, cachedFeature) -> {
+            if (cachedFeature != null && cachedFeature.contentHash.equals(contentHash)) {
+                hits.incrementAndGet();
+                return cachedFeature;
+            }
+            Optional<CachedFeature> storedFeature = persistentCache.flatMap(cache -> cache.readMatching(uri, contentHash));
+            if (storedFeature.isPresent()) {
+                diskHits.incrementAndGet();
+                return storedFeature.get();
+            }
+            misses.incrementAndGet();
+            CachedFeature parsedFeature = new CachedFeature(parse(uri, source), source, contentHash);
+            persistentCache.ifPresent(cache -> cache.write(uri, parsedFeature, attributes));
+            return parsedFeature;
+        });
+    }
+
+    private static String sourceOf(Resource resource) {
+        try {
+            return Encoding.readFile(resource);
+        } catch (IOException e) {
+            throw new CucumberException("Failed to read resource:" + resource.getPath(), e);
+        }
+    }
+
+    private static String contentHashOf(String source) {
+        return Hashing.murmur3_128().hashString(source, StandardCharsets.UTF_8).toString();
+    }
+
+    private static CucumberFeature parse(URI featureUri, String source) {
+        try {
+            GherkinDocument gherkinDocument = new Parser<>(new AstBuilder()).parse(source, new TokenMatcher());
+            return new CucumberFeature(gherkinDocument, featureUri, source, picklesFrom(gherkinDocument, featureUri));
+        } catch (ParserException e) {
+            throw new CucumberException("Failed to parse resource at: " + featureUri.toString(), e);
+        }
+    }
+
+    private static List<PickleEvent> picklesFrom(GherkinDocument gherkinDocument, URI featureUri) {
+        if (gherkinDocument.getFeature() == null) {
+            return Collections.emptyList();
+        }
+        return new Compiler().compile(gherkinDocument).stream()
+                .map(pickle -> new PickleEvent(featureUri.toString(), pickle))
+                .collect(toList());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("feature cache: %d feature(s), %d hit(s), %d loaded from disk, %d parsed", size(), hitCount(), diskHitCount(), missCount());
+    }
+
+    static class CachedFeature {
+        final CucumberFeature feature;
+        final String source;
+        final String contentHash;
+
+        CachedFeature(CucumberFeature feature, String source, String contentHash) {
+            this.feature = feature;
+            this.source = source;
+            this.contentHash = contentHash;
+        }
+    }
+}
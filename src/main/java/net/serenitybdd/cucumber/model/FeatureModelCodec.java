@@ -0,0 +1,431 @@
+package net.serenitybdd.cucumber.model;
+
+import gherkin.ast.Background;
+import gherkin.ast.Comment;
+import gherkin.ast.DataTable;
+import gherkin.ast.DocString;
+import gherkin.ast.Examples;
+import gherkin.ast.Feature;
+import gherkin.ast.GherkinDocument;
+import gherkin.ast.Location;
+import gherkin.ast.Node;
+import gherkin.ast.Scenario;
+import gherkin.ast.ScenarioDefinition;
+import gherkin.ast.ScenarioOutline;
+import gherkin.ast.Step;
+import gherkin.ast.TableCell;
+import gherkin.ast.TableRow;
+import gherkin.ast.Tag;
+import gherkin.pickles.Argument;
+import gherkin.pickles.Pickle;
+import gherkin.pickles.PickleCell;
+import gherkin.pickles.PickleLocation;
+import gherkin.pickles.PickleRow;
+import gherkin.pickles.PickleStep;
+import gherkin.pickles.PickleString;
+import gherkin.pickles.PickleTable;
+import gherkin.pickles.PickleTag;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Compact binary encoding of a parsed feature: the Gherkin AST and the pickles compiled from it.
+ * Every node type is written field by field, in constructor order, so that it can be rebuilt without
+ * running the Gherkin parser or the pickle compiler.
+ */
+class FeatureModelCodec {
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final byte BACKGROUND = 0;
+    private static final byte SCENARIO = 1;
+    private static final byte SCENARIO_OUTLINE = 2;
+
+    private static final byte NO_ARGUMENT = 0;
+    private static final byte DATA_TABLE = 1;
+    private static final byte DOC_STRING = 2;
+
+    interface Writer<T> {
+        void write(DataOutput output, T value) throws IOException;
+    }
+
+    interface Reader<T> {
+        T read(DataInput input) throws IOException;
+    }
+
+    //
+    // Gherkin AST
+    //
+
+    void writeGherkinDocument(DataOutput output, GherkinDocument document) throws IOException {
+        output.writeBoolean(document.getFeature() != null);
+        if (document.getFeature() != null) {
+            writeFeature(output, document.getFeature());
+        }
+        writeList(output, document.getComments(), this::writeComment);
+    }
+
+    GherkinDocument readGherkinDocument(DataInput input) throws IOException {
+        Feature feature = input.readBoolean() ? readFeature(input) : null;
+        return new GherkinDocument(feature, readList(input, this::readComment));
+    }
+
+    private void writeFeature(DataOutput output, Feature feature) throws IOException {
+        writeList(output, feature.getTags(), this::writeTag);
+        writeLocation(output, feature.getLocation());
+        writeString(output, feature.getLanguage());
+        writeString(output, feature.getKeyword());
+        writeString(output, feature.getName());
+        writeString(output, feature.getDescription());
+        writeList(output, feature.getChildren(), this::writeScenarioDefinition);
+    }
+
+    private Feature readFeature(DataInput input) throws IOException {
+        List<Tag> tags = readList(input, this::readTag);
+        Location location = readLocation(input);
+        String language = readString(input);
+        String keyword = readString(input);
+        String name = readString(input);
+        String description = readString(input);
+        return new Feature(tags, location, language, keyword, name, description, readList(input, this::readScenarioDefinition));
+    }
+
+    private void writeScenarioDefinition(DataOutput output, ScenarioDefinition scenarioDefinition) throws IOException {
+        if (scenarioDefinition instanceof ScenarioOutline) {
+            output.writeByte(SCENARIO_OUTLINE);
+            writeList(output, ((ScenarioOutline) scenarioDefinition).getTags(), this::writeTag);
+        } else if (scenarioDefinition instanceof Scenario) {
+            output.writeByte(SCENARIO);
+            writeList(output, ((Scenario) scenarioDefinition).getTags(), this::writeTag);
+        } else if (scenarioDefinition instanceof Background) {
+            output.writeByte(BACKGROUND);
+        } else {
+            throw new IOException("Unsupported scenario definition type: " + scenarioDefinition.getClass().getName());
+        }
+        writeLocation(output, scenarioDefinition.getLocation());
+        writeString(output, scenarioDefinition.getKeyword());
+        writeString(output, scenarioDefinition.getName());
+        writeString(output, scenarioDefinition.getDescription());
+        writeList(output, scenarioDefinition.getSteps(), this::writeStep);
+        if (scenarioDefinition instanceof ScenarioOutline) {
+            writeList(output, ((ScenarioOutline) scenarioDefinition).getExamples(), this::writeExamples);
+        }
+    }
+
+    private ScenarioDefinition readScenarioDefinition(DataInput input) throws IOException {
+        byte type = input.readByte();
+        List<Tag> tags = (type == BACKGROUND) ? null : readList(input, this::readTag);
+        Location location = readLocation(input);
+        String keyword = readString(input);
+        String name = readString(input);
+        String description = readString(input);
+        List<Step> steps = readList(input, this::readStep);
+        switch (type) {
+            case BACKGROUND:
+                return new Background(location, keyword, name, description, steps);
+            case SCENARIO:
+                return new Scenario(tags, location, keyword, name, description, steps);
+            case SCENARIO_OUTLINE:
+                return new ScenarioOutline(tags, location, keyword, name, description, steps, readList(input, this::readExamples));
+            default:
+                throw new IOException("Unknown scenario definition type: " + type);
+        }
+    }
+
+    private void writeExamples(DataOutput output, Examples examples) throws IOException {
+        writeLocation(output, examples.getLocation());
+        writeList(output, examples.getTags(), this::writeTag);
+        writeString(output, examples.getKeyword());
+        writeString(output, examples.getName());
+        writeString(output, examples.getDescription());
+        output.writeBoolean(examples.getTableHeader() != null);
+        if (examples.getTableHeader() != null) {
+            writeTableRow(output, examples.getTableHeader());
+        }
+        writeList(output, examples.getTableBody(), this::writeTableRow);
+    }
+
+    private Examples readExamples(DataInput input) throws IOException {
+        Location location = readLocation(input);
+        List<Tag> tags = readList(input, this::readTag);
+        String keyword = readString(input);
+        String name = readString(input);
+        String description = readString(input);
+        TableRow tableHeader = input.readBoolean() ? readTableRow(input) : null;
+        return new Examples(location, tags, keyword, name, description, tableHeader, readList(input, this::readTableRow));
+    }
+
+    private void writeStep(DataOutput output, Step step) throws IOException {
+        writeLocation(output, step.getLocation());
+        writeString(output, step.getKeyword());
+        writeString(output, step.getText());
+        Node argument = step.getArgument();
+        if (argument instanceof DataTable) {
+            output.writeByte(DATA_TABLE);
+            writeList(output, ((DataTable) argument).getRows(), this::writeTableRow);
+        } else if (argument instanceof DocString) {
+            DocString docString = (DocString) argument;
+            output.writeByte(DOC_STRING);
+            writeLocation(output, docString.getLocation());
+            writeString(output, docString.getContentType());
+            writeString(output, docString.getContent());
+        } else {
+            output.writeByte(NO_ARGUMENT);
+        }
+    }
+
+    private Step readStep(DataInput input) throws IOException {
+        Location location = readLocation(input);
+        String keyword = readString(input);
+        String text = readString(input);
+        byte argumentType = input.readByte();
+        Node argument;
+        switch (argumentType) {
+            case DATA_TABLE:
+                argument = new DataTable(readList(input, this::readTableRow));
+                break;
+            case DOC_STRING:
+                Location docStringLocation = readLocation(input);
+                String contentType = readString(input);
+                argument = new DocString(docStringLocation, contentType, readString(input));
+                break;
+            case NO_ARGUMENT:
+                argument = null;
+                break;
+            default:
+                throw new IOException("Unknown step argument type: " + argumentType);
+        }
+        return new Step(location, keyword, text, argument);
+    }
+
+    private void writeTableRow(DataOutput output, TableRow row) throws IOException {
+        writeLocation(output, row.getLocation());
+        writeList(output, row.getCells(), this::writeTableCell);
+    }
+
+    private TableRow readTableRow(DataInput input) throws IOException {
+        Location location = readLocation(input);
+        return new TableRow(location, readList(input, this::readTableCell));
+    }
+
+    private void writeTableCell(DataOutput output, TableCell cell) throws IOException {
+        writeLocation(output, cell.getLocation());
+        writeString(output, cell.getValue());
+    }
+
+    private TableCell readTableCell(DataInput input) throws IOException {
+        Location location = readLocation(input);
+        return new TableCell(location, readString(input));
+    }
+
+    private void writeTag(DataOutput output, Tag tag) throws IOException {
+        writeLocation(output, tag.getLocation());
+        writeString(output, tag.getName());
+    }
+
+    private Tag readTag(DataInput input) throws IOException {
+        Location location = readLocation(input);
+        return new Tag(location, readString(input));
+    }
+
+    private void writeComment(DataOutput output, Comment comment) throws IOException {
+        writeLocation(output, comment.getLocation());
+        writeString(output, comment.getText());
+    }
+
+    private Comment readComment(DataInput input) throws IOException {
+        Location location = readLocation(input);
+        return new Comment(location, readString(input));
+    }
+
+    private void writeLocation(DataOutput output, Location location) throws IOException {
+        output.writeInt(location.getLine());
+        output.writeInt(location.getColumn());
+    }
+
+    private Location readLocation(DataInput input) throws IOException {
+        int line = input.readInt();
+        return new Location(line, input.readInt());
+    }
+
+    //
+    // Compiled pickles
+    //
+
+    void writePickle(DataOutput output, Pickle pickle) throws IOException {
+        writeString(output, pickle.getName());
+        writeString(output, pickle.getLanguage());
+        writeList(output, pickle.getSteps(), this::writePickleStep);
+        writeList(output, pickle.getLocations(), this::writePickleLocation);
+        writeList(output, pickle.getTags(), (out, tag) -> writeString(out, tag.getName()));
+    }
+
+    /**
+     * Pickle tags do not expose their location, so they are rebuilt from the tags of the Gherkin document
+     * the pickle was compiled from (feature tags, then scenario tags, then examples tags).
+     */
+    Pickle readPickle(DataInput input, GherkinDocument document) throws IOException {
+        String name = readString(input);
+        String language = readString(input);
+        List<PickleStep> steps = readList(input, this::readPickleStep);
+        List<PickleLocation> locations = readList(input, this::readPickleLocation);
+        List<String> tagNames = readList(input, this::readString);
+        return new Pickle(name, language, steps, pickleTagsFor(document, locations, tagNames), locations);
+    }
+
+    private List<PickleTag> pickleTagsFor(GherkinDocument document, List<PickleLocation> locations, List<String> tagNames) throws IOException {
+        Set<Integer> pickleLines = locations.stream().map(PickleLocation::getLine).collect(toSet());
+        List<Tag> sourceTags = new ArrayList<>(document.getFeature().getTags());
+        ScenarioDefinition scenarioDefinition = document.getFeature().getChildren().stream()
+                .filter(child -> pickleLines.contains(child.getLocation().getLine()))
+                .findFirst()
+                .orElseThrow(() -> new IOException("No scenario found at lines " + pickleLines));
+        if (scenarioDefinition instanceof Scenario) {
+            sourceTags.addAll(((Scenario) scenarioDefinition).getTags());
+        } else if (scenarioDefinition instanceof ScenarioOutline) {
+            ScenarioOutline scenarioOutline = (ScenarioOutline) scenarioDefinition;
+            sourceTags.addAll(scenarioOutline.getTags());
+            scenarioOutline.getExamples().stream()
+                    .filter(examples -> examples.getTableBody() != null)
+                    .filter(examples -> examples.getTableBody().stream().anyMatch(row -> pickleLines.contains(row.getLocation().getLine())))
+                    .findFirst()
+                    .ifPresent(examples -> sourceTags.addAll(examples.getTags()));
+        }
+        if (sourceTags.size() != tagNames.size()) {
+            throw new IOException("Stored pickle tags do not match the tags in the feature");
+        }
+        List<PickleTag> pickleTags = new ArrayList<>(tagNames.size());
+        for (int i = 0; i < tagNames.size(); i++) {
+            Tag sourceTag = sourceTags.get(i);
+            if (!sourceTag.getName().equals(tagNames.get(i))) {
+                throw new IOException("Stored pickle tags do not match the tags in the feature");
+            }
+            pickleTags.add(new PickleTag(new PickleLocation(sourceTag.getLocation().getLine(), sourceTag.getLocation().getColumn()), sourceTag.getName()));
+        }
+        return pickleTags;
+    }
+
+    private void writePickleStep(DataOutput output, PickleStep step) throws IOException {
+        writeString(output, step.getText());
+        writeList(output, step.getArgument(), this::writePickleArgument);
+        writeList(output, step.getLocations(), this::writePickleLocation);
+    }
+
+    private PickleStep readPickleStep(DataInput input) throws IOException {
+        String text = readString(input);
+        List<Argument> arguments = readList(input, this::readPickleArgument);
+        return new PickleStep(text, arguments, readList(input, this::readPickleLocation));
+    }
+
+    private void writePickleArgument(DataOutput output, Argument argument) throws IOException {
+        if (argument instanceof PickleTable) {
+            output.writeByte(DATA_TABLE);
+            writeList(output, ((PickleTable) argument).getRows(), this::writePickleRow);
+        } else if (argument instanceof PickleString) {
+            PickleString pickleString = (PickleString) argument;
+            output.writeByte(DOC_STRING);
+            writePickleLocation(output, pickleString.getLocation());
+            writeString(output, pickleString.getContentType());
+            writeString(output, pickleString.getContent());
+        } else {
+            throw new IOException("Unsupported pickle argument type: " + argument.getClass().getName());
+        }
+    }
+
+    private Argument readPickleArgument(DataInput input) throws IOException {
+        byte argumentType = input.readByte();
+        switch (argumentType) {
+            case DATA_TABLE:
+                return new PickleTable(readList(input, this::readPickleRow));
+            case DOC_STRING:
+                PickleLocation location = readPickleLocation(input);
+                String contentType = readString(input);
+                return new PickleString(location, readString(input), contentType);
+            default:
+                throw new IOException("Unknown pickle argument type: " + argumentType);
+        }
+    }
+
+    private void writePickleRow(DataOutput output, PickleRow row) throws IOException {
+        writeList(output, row.getCells(), this::writePickleCell);
+    }
+
+    private PickleRow readPickleRow(DataInput input) throws IOException {
+        return new PickleRow(readList(input, this::readPickleCell));
+    }
+
+    private void writePickleCell(DataOutput output, PickleCell cell) throws IOException {
+        writePickleLocation(output, cell.getLocation());
+        writeString(output, cell.getValue());
+    }
+
+    private PickleCell readPickleCell(DataInput input) throws IOException {
+        PickleLocation location = readPickleLocation(input);
+        return new PickleCell(location, readString(input));
+    }
+
+    private void writePickleLocation(DataOutput output, PickleLocation location) throws IOException {
+        output.writeInt(location.getLine());
+        output.writeInt(location.getColumn());
+    }
+
+    private PickleLocation readPickleLocation(DataInput input) throws IOException {
+        int line = input.readInt();
+        return new PickleLocation(line, input.readInt());
+    }
+
+    //
+    // Primitives
+    //
+
+    void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    String readString(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    <T> void writeList(DataOutput output, List<T> values, Writer<T> writer) throws IOException {
+        if (values == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        output.writeInt(values.size());
+        for (T value : values) {
+            writer.write(output, value);
+        }
+    }
+
+    <T> List<T> readList(DataInput input, Reader<T> reader) throws IOException {
+        int size = input.readInt();
+        if (size == NULL_LENGTH) {
+            return null;
+        }
+        List<T> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(reader.read(input));
+        }
+        return values;
+    }
+}
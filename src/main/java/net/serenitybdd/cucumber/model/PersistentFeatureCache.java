@@ -0,0 +1,274 @@
+package net.serenitybdd.cucumber.model;
+
+import com.google.common.hash.Hashing;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.ast.GherkinDocument;
+import gherkin.events.PickleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stores parsed features on disk, so that other JVMs (later runs, or other forks of the same run)
+ * can load them without running the Gherkin parser.
+ * <p>
+ * Each feature is stored in its own file, keyed by feature URI. An entry records the size, modification time
+ * and content hash of the feature file it was built from: for feature files on the file system, an entry whose
+ * size and modification time still match is used without reading the feature file at all; otherwise the entry
+ * is only used if the content hash matches. The size and modification time are those seen before the feature file was read,
+ * so that a feature file changed while it was being parsed is never taken to be unmodified.
+ * <p>
+ * When the cache grows beyond its maximum size, the least recently used entries are removed, which also clears out
+ * the entries of feature files that no longer exist.
+ * Unreadable or outdated entries are treated as cache misses, and never cause a test run to fail.
+ */
+public class PersistentFeatureCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentFeatureCache.class);
+
+    private static final int MAGIC_NUMBER = 0x53434643;
+    private static final int FORMAT_VERSION = 1;
+    private static final long UNKNOWN_ATTRIBUTE = -1;
+    private static final String ENTRY_SUFFIX = ".feature.bin";
+    static final long DEFAULT_MAXIMUM_SIZE_IN_BYTES = 100 * 1024L * 1024L;
+
+    private final Path cacheDirectory;
+    private final long maximumSizeInBytes;
+    private final FeatureModelCodec codec = new FeatureModelCodec();
+
+    public PersistentFeatureCache(Path cacheDirectory) {
+        this(cacheDirectory, DEFAULT_MAXIMUM_SIZE_IN_BYTES);
+    }
+
+    public PersistentFeatureCache(Path cacheDirectory, long maximumSizeInBytes) {
+        this.cacheDirectory = cacheDirectory;
+        this.maximumSizeInBytes = maximumSizeInBytes;
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Returns the stored feature if the feature file, which currently has the given attributes, has not been modified
+     * since it was stored.
+     */
+    Optional<FeatureCache.CachedFeature> readIfUnmodified(URI featureUri, FileAttributes attributes) {
+        if (attributes.isUnknown()) {
+            return Optional.empty();
+        }
+        return read(featureUri, entry -> entry.size == attributes.size && entry.lastModified == attributes.lastModified);
+    }
+
+    /**
+     * Returns the stored feature if it was built from feature source with the given content hash.
+     */
+    Optional<FeatureCache.CachedFeature> readMatching(URI featureUri, String contentHash) {
+        return read(featureUri, entry -> entry.contentHash.equals(contentHash));
+    }
+
+    /**
+     * Stores a parsed feature, along with the attributes its feature file had before it was read: a feature whose
+     * attributes are unknown (such as one read from the classpath) is only ever matched by content hash.
+     */
+    void write(URI featureUri, FeatureCache.CachedFeature cachedFeature, FileAttributes attributes) {
+        Path entryFile = entryFileFor(featureUri);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            temporaryFile = Files.createTempFile(cacheDirectory, entryFile.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC_NUMBER);
+                output.writeInt(FORMAT_VERSION);
+                codec.writeString(output, featureUri.toString());
+                output.writeLong(attributes.size);
+                output.writeLong(attributes.lastModified);
+                codec.writeString(output, cachedFeature.contentHash);
+                CucumberFeature feature = cachedFeature.feature;
+                codec.writeString(output, cachedFeature.source);
+                codec.writeGherkinDocument(output, feature.getGherkinFeature());
+                output.writeInt(feature.getPickles().size());
+                for (PickleEvent pickleEvent : feature.getPickles()) {
+                    codec.writePickle(output, pickleEvent.pickle);
+                }
+            }
+            moveInPlace(temporaryFile, entryFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not write the cached feature for {} to {}: {}", featureUri, entryFile, e.getMessage());
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private Optional<FeatureCache.CachedFeature> read(URI featureUri, EntryMatcher matcher) {
+        Path entryFile = entryFileFor(featureUri);
+        if (!Files.isRegularFile(entryFile)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entryFile)))) {
+            if (input.readInt() != MAGIC_NUMBER || input.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            EntryHeader entry = new EntryHeader(codec.readString(input), input.readLong(), input.readLong(), codec.readString(input));
+            if (!entry.uri.equals(featureUri.toString()) || !matcher.matches(entry)) {
+                return Optional.empty();
+            }
+            String source = codec.readString(input);
+            GherkinDocument gherkinDocument = codec.readGherkinDocument(input);
+            int pickleCount = input.readInt();
+            List<PickleEvent> pickles = new ArrayList<>(pickleCount);
+            for (int i = 0; i < pickleCount; i++) {
+                pickles.add(new PickleEvent(featureUri.toString(), codec.readPickle(input, gherkinDocument)));
+            }
+            markAsUsed(entryFile);
+            return Optional.of(new FeatureCache.CachedFeature(new CucumberFeature(gherkinDocument, featureUri, source, pickles), source, entry.contentHash));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Ignoring unreadable cached feature {} for {}: {}", entryFile, featureUri, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Removes the least recently used entries until the cache is no larger than its maximum size.
+     */
+    void evictLeastRecentlyUsedEntries() {
+        List<Path> entryFiles = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory, "*" + ENTRY_SUFFIX)) {
+            entries.forEach(entryFiles::add);
+        } catch (IOException e) {
+            LOGGER.debug("Could not list the cached features in {}: {}", cacheDirectory, e.getMessage());
+            return;
+        }
+        Map<Path, Long> lastUsed = new HashMap<>();
+        entryFiles.forEach(entryFile -> lastUsed.put(entryFile, lastModifiedTimeOf(entryFile)));
+        entryFiles.sort(Comparator.comparing(lastUsed::get, Comparator.reverseOrder()));
+
+        long cacheSize = 0;
+        int evictedEntries = 0;
+        for (Path entryFile : entryFiles) {
+            cacheSize += sizeOf(entryFile);
+            if (cacheSize > maximumSizeInBytes) {
+                deleteQuietly(entryFile);
+                evictedEntries++;
+            }
+        }
+        if (evictedEntries > 0) {
+            LOGGER.info("Removed {} least recently used feature(s) from the {}", evictedEntries, this);
+        }
+    }
+
+    private Path entryFileFor(URI featureUri) {
+        return cacheDirectory.resolve(Hashing.murmur3_128().hashString(featureUri.toString(), StandardCharsets.UTF_8) + ENTRY_SUFFIX);
+    }
+
+    private static void markAsUsed(Path entryFile) {
+        try {
+            Files.setLastModifiedTime(entryFile, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            LOGGER.debug("Could not mark {} as used: {}", entryFile, e.getMessage());
+        }
+    }
+
+    private static long lastModifiedTimeOf(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void moveInPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Nothing more we can do
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "persistent feature cache in " + cacheDirectory;
+    }
+
+    private interface EntryMatcher {
+        boolean matches(EntryHeader entry);
+    }
+
+    private static class EntryHeader {
+        private final String uri;
+        private final long size;
+        private final long lastModified;
+        private final String contentHash;
+
+        private EntryHeader(String uri, long size, long lastModified, String contentHash) {
+            this.uri = uri;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+    }
+
+    static class FileAttributes {
+        static final FileAttributes UNKNOWN = new FileAttributes(UNKNOWN_ATTRIBUTE, UNKNOWN_ATTRIBUTE);
+
+        private final long size;
+        private final long lastModified;
+
+        private FileAttributes(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * The size and modification time of a feature file, to be read before the feature file itself.
+         */
+        static FileAttributes of(Path featureFile) {
+            try {
+                return new FileAttributes(Files.size(featureFile), Files.getLastModifiedTime(featureFile).toMillis());
+            } catch (IOException | RuntimeException e) {
+                return UNKNOWN;
+            }
+        }
+
+        boolean isUnknown() {
+            return size == UNKNOWN_ATTRIBUTE;
+        }
+    }
+}
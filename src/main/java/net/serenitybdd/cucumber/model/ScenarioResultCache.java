@@ -0,0 +1,495 @@
+package net.serenitybdd.cucumber.model;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import cucumber.runtime.io.Resource;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.ast.Background;
+import gherkin.ast.DataTable;
+import gherkin.ast.DocString;
+import gherkin.ast.Examples;
+import gherkin.ast.Feature;
+import gherkin.ast.Node;
+import gherkin.ast.Scenario;
+import gherkin.ast.ScenarioDefinition;
+import gherkin.ast.ScenarioOutline;
+import gherkin.ast.Step;
+import gherkin.ast.TableCell;
+import gherkin.ast.TableRow;
+import gherkin.ast.Tag;
+import gherkin.events.PickleEvent;
+import gherkin.pickles.Argument;
+import gherkin.pickles.PickleCell;
+import gherkin.pickles.PickleRow;
+import gherkin.pickles.PickleStep;
+import gherkin.pickles.PickleString;
+import gherkin.pickles.PickleTable;
+import gherkin.pickles.PickleTag;
+import net.serenitybdd.cucumber.util.PickleScenarios;
+import net.serenitybdd.cucumber.util.Splitter;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.json.JSONConverter;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_RESULT_CACHE;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_RESULT_CACHE_DIRECTORY;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_RESULT_CACHE_PACKAGES;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_RESULT_CACHE_PROPERTIES;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_RESULT_CACHE_SIZE;
+import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_OUTPUT_DIRECTORY;
+
+/**
+ * Stores the outcomes of passing scenarios on disk, so that later runs can replay them rather than run the scenarios again.
+ * <p>
+ * Each outcome is stored in its own file, named after a hash of everything that could change it: the Gherkin text of the
+ * scenario (including its background, its examples and the example row of each of its pickles), the bytecode of the
+ * classes of the test run, and the values of a chosen set of properties. An outcome is only replayed while all of
+ * these are unchanged. The classes of the test run are those of the glue packages and, unless the hashed packages are
+ * limited with serenity.cucumber.result.cache.packages, every class in the directories of the classpath: the compiled
+ * classes of the project, such as page objects and step libraries outside the glue, but not the libraries it uses. The pickles of a scenario outline are cached together, as Serenity reports them as a single test.
+ * <p>
+ * Replayed outcomes are tagged with {@link #REPLAYED}, so that reports show which scenarios did not actually run.
+ * When the cache grows beyond its maximum size, the least recently used outcomes are removed.
+ * Any problem reading or writing the cache is treated as a cache miss.
+ */
+public class ScenarioResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioResultCache.class);
+
+    public static final TestTag REPLAYED = TestTag.withName("replayed").andType("result cache");
+
+    private static final String FORMAT_VERSION = "1";
+    private static final String ENTRY_SUFFIX = ".outcome.json";
+    private static final String AMBIGUOUS = "";
+    private static final int DEFAULT_MAXIMUM_SIZE_IN_MEGABYTES = 100;
+    private static final String DEFAULT_CACHED_PROPERTIES = "environment,webdriver.driver,webdriver.base.url";
+
+    private final Path cacheDirectory;
+    private final long maximumSizeInBytes;
+    private final String runFingerprint;
+    private final JSONConverter jsonConverter;
+    private final Map<String, String> cacheKeysByScenario = new ConcurrentHashMap<>();
+
+    ScenarioResultCache(Path cacheDirectory, long maximumSizeInBytes, String runFingerprint, JSONConverter jsonConverter) {
+        this.cacheDirectory = cacheDirectory;
+        this.maximumSizeInBytes = maximumSizeInBytes;
+        this.runFingerprint = runFingerprint;
+        this.jsonConverter = jsonConverter;
+    }
+
+    /**
+     * The result cache configured for this test run, if serenity.cucumber.result.cache is set.
+     */
+    public static Optional<ScenarioResultCache> configuredIn(EnvironmentVariables environmentVariables,
+                                                             ClassLoader classLoader,
+                                                             ResourceLoader resourceLoader,
+                                                             List<URI> gluePaths) {
+        if (!SERENITY_CUCUMBER_RESULT_CACHE.booleanFrom(environmentVariables, false)) {
+            return Optional.empty();
+        }
+        String outputDirectory = environmentVariables.getProperty(SERENITY_OUTPUT_DIRECTORY, "target/site/serenity");
+        Path cacheDirectory = Paths.get(SERENITY_CUCUMBER_RESULT_CACHE_DIRECTORY.from(environmentVariables, Paths.get(outputDirectory, "result-cache").toString()));
+        long maximumSizeInBytes = SERENITY_CUCUMBER_RESULT_CACHE_SIZE.integerFrom(environmentVariables, DEFAULT_MAXIMUM_SIZE_IN_MEGABYTES) * 1024L * 1024L;
+
+        ScenarioResultCache resultCache = new ScenarioResultCache(cacheDirectory, maximumSizeInBytes,
+                                                                  runFingerprintFor(environmentVariables, classLoader, resourceLoader, gluePaths),
+                                                                  new GsonJSONConverter(environmentVariables));
+        LOGGER.info("Replaying unchanged passing scenarios from the {}", resultCache);
+        return Optional.of(resultCache);
+    }
+
+    /**
+     * A hash of the classes of the test run and of the cached properties, which is part of the key of every outcome.
+     */
+    static String runFingerprintFor(EnvironmentVariables environmentVariables,
+                                    ClassLoader classLoader,
+                                    ResourceLoader resourceLoader,
+                                    List<URI> gluePaths) {
+        Hasher runFingerprint = Hashing.murmur3_128().newHasher();
+        List<String> hashedPackages = Splitter.on(",").trimResults().omitEmptyStrings()
+                                              .splitToList(SERENITY_CUCUMBER_RESULT_CACHE_PACKAGES.from(environmentVariables, ""));
+        List<URI> classPaths = new ArrayList<>(gluePaths);
+        hashedPackages.forEach(hashedPackage -> classPaths.add(URI.create("classpath:" + hashedPackage.replace('.', '/'))));
+        putClasses(runFingerprint, resourceLoader, classPaths);
+        if (hashedPackages.isEmpty()) {
+            putClassesInDirectoriesOf(runFingerprint, classLoader);
+        }
+        putProperties(runFingerprint, environmentVariables);
+        return runFingerprint.hash().toString();
+    }
+
+    private static void putClasses(Hasher hasher, ResourceLoader resourceLoader, List<URI> classPaths) {
+        Map<String, Resource> classes = new TreeMap<>();
+        for (URI classPath : classPaths) {
+            for (Resource resource : resourceLoader.resources(classPath, ".class")) {
+                classes.put(classNameOf(resource, classPath), resource);
+            }
+        }
+        for (Map.Entry<String, Resource> hashedClass : classes.entrySet()) {
+            putString(hasher, hashedClass.getKey());
+            try (InputStream classFile = hashedClass.getValue().getInputStream()) {
+                hasher.putBytes(ByteStreams.toByteArray(classFile));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read class " + hashedClass.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Every class file in the directories of the classpath, by its path within its directory. Where a class is in
+     * several directories, the first one on the classpath is used, as it would be by the class loader.
+     */
+    private static void putClassesInDirectoriesOf(Hasher hasher, ClassLoader classLoader) {
+        Map<String, Path> classes = new TreeMap<>();
+        try {
+            for (URL classPathRoot : Collections.list(classLoader.getResources(""))) {
+                if (!"file".equals(classPathRoot.getProtocol())) {
+                    continue;
+                }
+                Path classDirectory = Paths.get(classPathRoot.toURI());
+                try (Stream<Path> files = Files.walk(classDirectory)) {
+                    files.filter(file -> file.toString().endsWith(".class"))
+                         .forEach(file -> classes.putIfAbsent(classDirectory.relativize(file).toString().replace(File.separatorChar, '/'), file));
+                }
+            }
+            for (Map.Entry<String, Path> hashedClass : classes.entrySet()) {
+                putString(hasher, hashedClass.getKey());
+                hasher.putBytes(Files.readAllBytes(hashedClass.getValue()));
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Could not read the classes on the classpath", e);
+        }
+    }
+
+    /**
+     * The path of a class from its package onwards, which does not depend on where the class files are.
+     */
+    private static String classNameOf(Resource resource, URI classPath) {
+        String resourcePath = resource.getPath().toString();
+        int packageStart = resourcePath.lastIndexOf(classPath.getSchemeSpecificPart());
+        return (packageStart < 0) ? resourcePath : resourcePath.substring(packageStart);
+    }
+
+    private static void putProperties(Hasher hasher, EnvironmentVariables environmentVariables) {
+        List<String> propertyNames = new ArrayList<>(Splitter.on(",").trimResults().omitEmptyStrings()
+                                                             .splitToList(SERENITY_CUCUMBER_RESULT_CACHE_PROPERTIES.from(environmentVariables, DEFAULT_CACHED_PROPERTIES)));
+        Collections.sort(propertyNames);
+        for (String propertyName : propertyNames) {
+            putString(hasher, propertyName);
+            putString(hasher, environmentVariables.getProperty(propertyName, ""));
+        }
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Returns the stored outcome of a scenario, tagged as replayed, if the scenario passed the last time it ran with the same
+     * Gherkin text, glue and properties. The pickles are those of one scenario, or of every example of one scenario outline.
+     */
+    public Optional<TestOutcome> replayableOutcomeFor(CucumberFeature feature, List<PickleEvent> scenarioPickles) {
+        Feature gherkinFeature = feature.getGherkinFeature().getFeature();
+        Optional<ScenarioDefinition> scenarioDefinition = scenarioDefinitionOf(gherkinFeature, scenarioPickles);
+        if (!scenarioDefinition.isPresent()) {
+            return Optional.empty();
+        }
+        String cacheKey = cacheKeyFor(feature.getUri(), gherkinFeature, scenarioDefinition.get(), scenarioPickles);
+        cacheKeysByScenario.merge(scenarioIdentity(gherkinFeature.getName(), scenarioDefinition.get().getName()), cacheKey,
+                                  (previousKey, key) -> previousKey.equals(key) ? key : AMBIGUOUS);
+        return read(cacheKey).map(testOutcome -> {
+            testOutcome.addTag(REPLAYED);
+            return testOutcome;
+        });
+    }
+
+    /**
+     * Stores a scenario outcome if it passed, so that it can be replayed by later runs. Only the outcomes of scenarios
+     * looked up with {@link #replayableOutcomeFor} in this run can be stored, as they are matched by feature and scenario name;
+     * outcomes that were themselves replayed, or whose name is shared by several scenarios of the feature, are ignored.
+     */
+    public void storePassingOutcome(TestOutcome testOutcome) {
+        if (testOutcome.getResult() != TestResult.SUCCESS || testOutcome.hasTag(REPLAYED) || testOutcome.getUserStory() == null) {
+            return;
+        }
+        String cacheKey = cacheKeysByScenario.get(scenarioIdentity(testOutcome.getUserStory().getName(), testOutcome.getName()));
+        if (cacheKey == null || cacheKey.equals(AMBIGUOUS)) {
+            return;
+        }
+        write(cacheKey, testOutcome);
+    }
+
+    /**
+     * Removes the least recently used outcomes until the cache is no larger than its maximum size.
+     */
+    public void evictLeastRecentlyUsedOutcomes() {
+        List<Path> entryFiles = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory, "*" + ENTRY_SUFFIX)) {
+            entries.forEach(entryFiles::add);
+        } catch (IOException e) {
+            LOGGER.debug("Could not list the outcomes in {}: {}", cacheDirectory, e.getMessage());
+            return;
+        }
+        Map<Path, Long> lastUsed = new HashMap<>();
+        entryFiles.forEach(entryFile -> lastUsed.put(entryFile, lastModifiedTimeOf(entryFile)));
+        entryFiles.sort(Comparator.comparing(lastUsed::get, Comparator.reverseOrder()));
+
+        long cacheSize = 0;
+        int evictedOutcomes = 0;
+        for (Path entryFile : entryFiles) {
+            cacheSize += sizeOf(entryFile);
+            if (cacheSize > maximumSizeInBytes) {
+                deleteQuietly(entryFile);
+                evictedOutcomes++;
+            }
+        }
+        if (evictedOutcomes > 0) {
+            LOGGER.info("Removed {} least recently used outcome(s) from the {}", evictedOutcomes, this);
+        }
+    }
+
+    private Optional<ScenarioDefinition> scenarioDefinitionOf(Feature feature, List<PickleEvent> scenarioPickles) {
+        if (feature == null || scenarioPickles.isEmpty()) {
+            return Optional.empty();
+        }
+        int scenarioLine = PickleScenarios.scenarioLineOf(scenarioPickles.get(0));
+        return feature.getChildren().stream()
+                .filter(child -> !(child instanceof Background))
+                .filter(child -> child.getLocation().getLine() == scenarioLine)
+                .findFirst();
+    }
+
+    private String cacheKeyFor(URI featureUri, Feature feature, ScenarioDefinition scenarioDefinition, List<PickleEvent> scenarioPickles) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putString(hasher, FORMAT_VERSION);
+        putString(hasher, runFingerprint);
+        putString(hasher, relativeToWorkingDirectory(featureUri));
+
+        putString(hasher, feature.getLanguage());
+        putString(hasher, feature.getKeyword());
+        putString(hasher, feature.getName());
+        putString(hasher, feature.getDescription());
+        putTags(hasher, feature.getTags());
+        for (ScenarioDefinition child : feature.getChildren()) {
+            if (child instanceof Background) {
+                putScenarioDefinition(hasher, child);
+            }
+        }
+
+        putScenarioDefinition(hasher, scenarioDefinition);
+        if (scenarioDefinition instanceof Scenario) {
+            putTags(hasher, ((Scenario) scenarioDefinition).getTags());
+        } else if (scenarioDefinition instanceof ScenarioOutline) {
+            putTags(hasher, ((ScenarioOutline) scenarioDefinition).getTags());
+            for (Examples examples : ((ScenarioOutline) scenarioDefinition).getExamples()) {
+                putString(hasher, examples.getKeyword());
+                putString(hasher, examples.getName());
+                putString(hasher, examples.getDescription());
+                putTags(hasher, examples.getTags());
+                if (examples.getTableHeader() != null) {
+                    putTableRow(hasher, examples.getTableHeader());
+                }
+            }
+        }
+
+        hasher.putInt(scenarioPickles.size());
+        for (PickleEvent pickleEvent : scenarioPickles) {
+            putString(hasher, pickleEvent.pickle.getName());
+            hasher.putInt(pickleEvent.pickle.getTags().size());
+            for (PickleTag tag : pickleEvent.pickle.getTags()) {
+                putString(hasher, tag.getName());
+            }
+            hasher.putInt(pickleEvent.pickle.getSteps().size());
+            for (PickleStep step : pickleEvent.pickle.getSteps()) {
+                putString(hasher, step.getText());
+                putPickleArguments(hasher, step.getArgument());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void putScenarioDefinition(Hasher hasher, ScenarioDefinition scenarioDefinition) {
+        putString(hasher, scenarioDefinition.getKeyword());
+        putString(hasher, scenarioDefinition.getName());
+        putString(hasher, scenarioDefinition.getDescription());
+        hasher.putInt(scenarioDefinition.getSteps().size());
+        for (Step step : scenarioDefinition.getSteps()) {
+            putString(hasher, step.getKeyword());
+            putString(hasher, step.getText());
+            putStepArgument(hasher, step.getArgument());
+        }
+    }
+
+    private static void putStepArgument(Hasher hasher, Node argument) {
+        if (argument instanceof DocString) {
+            putString(hasher, ((DocString) argument).getContentType());
+            putString(hasher, ((DocString) argument).getContent());
+        } else if (argument instanceof DataTable) {
+            for (TableRow row : ((DataTable) argument).getRows()) {
+                putTableRow(hasher, row);
+            }
+        }
+        putString(hasher, "");
+    }
+
+    private static void putPickleArguments(Hasher hasher, List<Argument> arguments) {
+        for (Argument argument : arguments) {
+            if (argument instanceof PickleString) {
+                putString(hasher, ((PickleString) argument).getContentType());
+                putString(hasher, ((PickleString) argument).getContent());
+            } else if (argument instanceof PickleTable) {
+                for (PickleRow row : ((PickleTable) argument).getRows()) {
+                    hasher.putInt(row.getCells().size());
+                    for (PickleCell cell : row.getCells()) {
+                        putString(hasher, cell.getValue());
+                    }
+                }
+            }
+        }
+        putString(hasher, "");
+    }
+
+    private static void putTableRow(Hasher hasher, TableRow row) {
+        hasher.putInt(row.getCells().size());
+        for (TableCell cell : row.getCells()) {
+            putString(hasher, cell.getValue());
+        }
+    }
+
+    private static void putTags(Hasher hasher, List<Tag> tags) {
+        hasher.putInt(tags.size());
+        for (Tag tag : tags) {
+            putString(hasher, tag.getName());
+        }
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        String text = (value == null) ? "" : value;
+        hasher.putInt(text.length());
+        hasher.putString(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Feature files are identified relative to the working directory, so that a cache can be shared by builds of the
+     * same project checked out in different places.
+     */
+    private static String relativeToWorkingDirectory(URI featureUri) {
+        return Paths.get("").toAbsolutePath().toUri().relativize(featureUri).toString();
+    }
+
+    private static String scenarioIdentity(String featureName, String scenarioName) {
+        return featureName + "\n" + scenarioName;
+    }
+
+    private Optional<TestOutcome> read(String cacheKey) {
+        Path entryFile = entryFileFor(cacheKey);
+        if (!Files.isRegularFile(entryFile)) {
+            return Optional.empty();
+        }
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(entryFile))) {
+            Optional<TestOutcome> testOutcome = jsonConverter.fromJson(input)
+                    .filter(outcome -> outcome.getResult() == TestResult.SUCCESS);
+            if (testOutcome.isPresent()) {
+                Files.setLastModifiedTime(entryFile, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return testOutcome;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Ignoring unreadable cached outcome {}: {}", entryFile, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void write(String cacheKey, TestOutcome testOutcome) {
+        Path entryFile = entryFileFor(cacheKey);
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            temporaryFile = Files.createTempFile(cacheDirectory, cacheKey, ".tmp");
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+                jsonConverter.toJson(testOutcome, output);
+            }
+            moveInPlace(temporaryFile, entryFile);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not store the outcome of '{}' in {}: {}", testOutcome.getName(), entryFile, e.getMessage());
+            deleteQuietly(temporaryFile);
+        }
+    }
+
+    private Path entryFileFor(String cacheKey) {
+        return cacheDirectory.resolve(cacheKey + ENTRY_SUFFIX);
+    }
+
+    private static long lastModifiedTimeOf(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void moveInPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Nothing more we can do
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "scenario result cache in " + cacheDirectory;
+    }
+}
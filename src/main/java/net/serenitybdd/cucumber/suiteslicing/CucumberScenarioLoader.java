@@ -4,7 +4,7 @@ import com.google.common.collect.FluentIterable;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
-import cucumber.runtime.model.FeatureLoader;
+import net.serenitybdd.cucumber.model.FeatureCache;
 import gherkin.ast.Scenario;
 import gherkin.ast.ScenarioDefinition;
 import gherkin.ast.ScenarioOutline;
@@ -42,7 +42,7 @@ public class CucumberScenarioLoader {
     public WeightedCucumberScenarios load() {
         LOGGER.debug("Feature paths are {}", featurePaths);
         ResourceLoader resourceLoader = new MultiLoader(CucumberSuiteSlicer.class.getClassLoader());
-        List<WeightedCucumberScenario> weightedCucumberScenarios = new FeatureLoader(resourceLoader).load(featurePaths).stream()
+        List<WeightedCucumberScenario> weightedCucumberScenarios = FeatureCache.shared().load(resourceLoader, featurePaths).stream()
             .map(getScenarios())
             .flatMap(List::stream)
             .collect(toList());
@@ -0,0 +1,61 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.serenitybdd.cucumber.webdriver.DriverSessionKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Splits scenarios so that each slice asks for as few different drivers as possible. The scenarios are lined up by the driver
+ * and driver options they ask for (each group in the position of its first scenario), and the line is cut into slices of
+ * roughly equal weight: each scenario goes to the slice in which the middle of its weight falls. A driver is then only shared
+ * between the slices on either side of a cut, at the cost of a slice being up to about one scenario heavier than with the
+ * other partitioners. When every scenario asks for the same driver, the scenarios are split by the given partitioner instead.
+ */
+public class DriverAffinityPartitioner implements ScenarioPartitioner {
+
+    private final ScenarioPartitioner singleDriverPartitioner;
+
+    public DriverAffinityPartitioner(ScenarioPartitioner singleDriverPartitioner) {
+        this.singleDriverPartitioner = singleDriverPartitioner;
+    }
+
+    @Override
+    public List<List<WeightedCucumberScenario>> partition(List<WeightedCucumberScenario> scenarios, int sliceCount) {
+        Map<Optional<DriverSessionKey>, List<WeightedCucumberScenario>> scenariosByDriver = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> scenariosByDriver.computeIfAbsent(scenario.requestedDriverSession(), driver -> new ArrayList<>()).add(scenario));
+        if (scenariosByDriver.size() <= 1) {
+            return singleDriverPartitioner.partition(scenarios, sliceCount);
+        }
+
+        List<List<WeightedCucumberScenario>> slices = IntStream.range(0, sliceCount).mapToObj(slice -> new ArrayList<WeightedCucumberScenario>()).collect(toList());
+        long totalMicros = scenarios.stream().mapToLong(ScenarioPartitioner::weightInMicros).sum();
+        long micros = 0;
+        int slice = 0;
+        for (List<WeightedCucumberScenario> scenariosForDriver : scenariosByDriver.values()) {
+            for (WeightedCucumberScenario scenario : scenariosForDriver) {
+                long weightInMicros = ScenarioPartitioner.weightInMicros(scenario);
+                while (slice < sliceCount - 1 && isPastTheEndOf(slice, micros * 2 + weightInMicros, totalMicros, sliceCount)) {
+                    slice++;
+                }
+                slices.get(slice).add(scenario);
+                micros += weightInMicros;
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * Whether a point of the line, given as twice its position in micros, lies past the end of a slice.
+     * Slice i (counting from 0) ends at (i + 1) / sliceCount of the total weight.
+     */
+    private static boolean isPastTheEndOf(int slice, long doubledMicros, long totalMicros, int sliceCount) {
+        return (double) doubledMicros * sliceCount > 2.0 * totalMicros * (slice + 1);
+    }
+}
@@ -0,0 +1,138 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.serenitybdd.cucumber.util.BigDecimalAverageCollector;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The recorded durations of a scenario. By default every duration is kept, so that the weight of a scenario
+ * takes all of its historic runs into account. A history can also be given a capacity, so that memory use
+ * does not grow with the number of historic runs: once it is full, each new duration replaces the one from
+ * the oldest run (or the oldest recorded one, for results with no run date).
+ */
+public class DurationHistory {
+
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final int INITIAL_LENGTH = 8;
+    private static final long UNKNOWN_RUN_TIME = Long.MIN_VALUE;
+
+    private final int capacity;
+    private BigDecimal[] durations;
+    private long[] runTimes;
+    private int size;
+    private int next;
+
+    public DurationHistory() {
+        this(UNBOUNDED);
+    }
+
+    public DurationHistory(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Duration history capacity must be at least 1, but was " + capacity);
+        }
+        this.capacity = capacity;
+        this.durations = new BigDecimal[Math.min(capacity, INITIAL_LENGTH)];
+        this.runTimes = new long[durations.length];
+    }
+
+    public void add(BigDecimal duration, Optional<Instant> runDate) {
+        long runTime = runDate.map(Instant::toEpochMilli).orElse(UNKNOWN_RUN_TIME);
+        if (size < capacity) {
+            if (size == durations.length) {
+                int length = (int) Math.min(capacity, durations.length * 2L);
+                durations = Arrays.copyOf(durations, length);
+                runTimes = Arrays.copyOf(runTimes, length);
+            }
+            durations[size] = duration;
+            runTimes[size] = runTime;
+            size++;
+            return;
+        }
+        int oldest = next;
+        for (int i = 1; i < durations.length; i++) {
+            int candidate = (next + i) % durations.length;
+            if (runTimes[candidate] < runTimes[oldest]) {
+                oldest = candidate;
+            }
+        }
+        if (runTime < runTimes[oldest]) {
+            return;
+        }
+        durations[oldest] = duration;
+        runTimes[oldest] = runTime;
+        next = (oldest + 1) % durations.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public BigDecimal mean() {
+        return Arrays.stream(durations, 0, size).collect(BigDecimalAverageCollector.create());
+    }
+
+    /**
+     * The given percentile (between 0 and 1) of the durations, interpolating linearly between the closest ranks.
+     */
+    public BigDecimal percentile(double percentile) {
+        if (size == 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal[] sorted = sortedDurations();
+        double position = percentile * (size - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, size - 1);
+        BigDecimal fraction = BigDecimal.valueOf(position - lower);
+        return sorted[lower].add(sorted[upper].subtract(sorted[lower]).multiply(fraction)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The mean of the durations once the given fraction of the shortest and of the longest durations have been discarded.
+     * At least one duration is discarded at each end when there are three or more.
+     */
+    public BigDecimal trimmedMean(double trimmedFraction) {
+        int trimmed = (size < 3) ? 0 : Math.max(1, (int) (size * trimmedFraction));
+        return Arrays.stream(sortedDurations(), trimmed, size - trimmed).collect(BigDecimalAverageCollector.create());
+    }
+
+    /**
+     * The mean of the durations, with the weight of each duration halving for every half-life between its run
+     * and the most recent run. Durations with no run date are weighted as if they came from the most recent run.
+     */
+    public BigDecimal decayedMean(Duration halfLife) {
+        if (size == 0) {
+            return BigDecimal.ZERO;
+        }
+        long latestRunTime = Arrays.stream(runTimes, 0, size).max().getAsLong();
+        double weightedTotal = 0;
+        double totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            long age = (runTimes[i] == UNKNOWN_RUN_TIME) ? 0 : latestRunTime - runTimes[i];
+            double weight = Math.pow(0.5, (double) age / halfLife.toMillis());
+            weightedTotal += weight * durations[i].doubleValue();
+            totalWeight += weight;
+        }
+        return BigDecimal.valueOf(weightedTotal / totalWeight).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal[] sortedDurations() {
+        BigDecimal[] sorted = Arrays.copyOf(durations, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(durations, size));
+    }
+}
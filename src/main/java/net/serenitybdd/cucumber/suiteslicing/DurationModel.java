@@ -0,0 +1,86 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.serenitybdd.cucumber.CucumberSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Turns the recorded durations of a scenario over several runs into the single weight used to slice the test suite.
+ */
+public interface DurationModel {
+
+    BigDecimal weightOf(DurationHistory history);
+
+    static DurationModel defaultModel() {
+        return DurationModels.MEAN;
+    }
+
+    /**
+     * A mean weighted towards recent runs, the weight of each duration halving for every half-life before the most recent run.
+     */
+    static DurationModel decayedMean(Duration halfLife) {
+        return history -> history.decayedMean(halfLife);
+    }
+
+    /**
+     * The model configured by serenity.cucumber.slicing.weight.model: "mean" (the default), "median", "p90",
+     * "decayed" (a mean weighted towards recent runs, with a half-life of serenity.cucumber.slicing.decay.half.life days)
+     * or "trimmed-mean" (a mean ignoring the extreme durations).
+     */
+    static DurationModel from(EnvironmentVariables environmentVariables) {
+        String model = CucumberSystemProperty.SERENITY_CUCUMBER_SLICING_WEIGHT_MODEL.from(environmentVariables, "mean").trim().toLowerCase();
+        switch (model) {
+            case "mean":
+                return DurationModels.MEAN;
+            case "median":
+                return DurationModels.MEDIAN;
+            case "p90":
+                return DurationModels.P90;
+            case "decayed":
+                int halfLifeInDays = CucumberSystemProperty.SERENITY_CUCUMBER_SLICING_DECAY_HALF_LIFE.integerFrom(environmentVariables, (int) DEFAULT_HALF_LIFE.toDays());
+                return decayedMean(Duration.ofDays(halfLifeInDays));
+            case "trimmed-mean":
+            case "trimmed":
+                return DurationModels.TRIMMED_MEAN;
+            default:
+                throw new IllegalArgumentException("Unknown weight model '" + model + "': expected 'mean', 'median', 'p90', 'decayed' or 'trimmed-mean'");
+        }
+    }
+
+    Duration DEFAULT_HALF_LIFE = Duration.ofDays(7);
+
+    enum DurationModels implements DurationModel {
+        MEAN {
+            @Override
+            public BigDecimal weightOf(DurationHistory history) {
+                return history.mean();
+            }
+        },
+        MEDIAN {
+            @Override
+            public BigDecimal weightOf(DurationHistory history) {
+                return history.percentile(0.5);
+            }
+        },
+        P90 {
+            @Override
+            public BigDecimal weightOf(DurationHistory history) {
+                return history.percentile(0.9);
+            }
+        },
+        DECAYED_MEAN {
+            @Override
+            public BigDecimal weightOf(DurationHistory history) {
+                return history.decayedMean(DEFAULT_HALF_LIFE);
+            }
+        },
+        TRIMMED_MEAN {
+            @Override
+            public BigDecimal weightOf(DurationHistory history) {
+                return history.trimmedMean(0.1);
+            }
+        }
+    }
+}
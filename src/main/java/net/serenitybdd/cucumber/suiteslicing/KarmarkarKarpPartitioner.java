@@ -0,0 +1,149 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Multi-way Karmarkar-Karp (largest differencing) partitioning, which usually balances slices more tightly than the greedy
+ * longest-processing-time approach when a few scenarios are much slower than the rest.
+ * <p>
+ * Every scenario starts as a partial partition with the scenario in one slice and the other slices empty. The two partial
+ * partitions with the largest spread between their heaviest and lightest slices are repeatedly combined, pairing the heaviest
+ * slices of one with the lightest slices of the other, until a single partition remains.
+ * The result is compared with the greedy partition, and whichever has the lightest heaviest slice is used.
+ */
+public class KarmarkarKarpPartitioner implements ScenarioPartitioner {
+
+    private final ScenarioPartitioner greedyPartitioner = new LongestProcessingTimePartitioner();
+
+    @Override
+    public List<List<WeightedCucumberScenario>> partition(List<WeightedCucumberScenario> scenarios, int sliceCount) {
+        List<List<WeightedCucumberScenario>> greedySlices = greedyPartitioner.partition(scenarios, sliceCount);
+        if (scenarios.size() <= sliceCount) {
+            return greedySlices;
+        }
+        List<List<WeightedCucumberScenario>> differencedSlices = largestDifferencing(scenarios, sliceCount);
+        return (heaviestSliceIn(differencedSlices) < heaviestSliceIn(greedySlices)) ? differencedSlices : greedySlices;
+    }
+
+    private List<List<WeightedCucumberScenario>> largestDifferencing(List<WeightedCucumberScenario> scenarios, int sliceCount) {
+        PriorityQueue<PartialPartition> partitions = new PriorityQueue<>(scenarios.size(),
+                Comparator.comparingLong(PartialPartition::spread).reversed().thenComparingInt(partition -> partition.sequence));
+        int sequence = 0;
+        for (WeightedCucumberScenario scenario : scenarios) {
+            partitions.add(PartialPartition.of(scenario, sliceCount, sequence++));
+        }
+        while (partitions.size() > 1) {
+            PartialPartition first = partitions.poll();
+            PartialPartition second = partitions.poll();
+            partitions.add(first.combinedWith(second, sequence++));
+        }
+        return partitions.poll().toSlices();
+    }
+
+    private static long heaviestSliceIn(List<List<WeightedCucumberScenario>> slices) {
+        return slices.stream()
+                .mapToLong(slice -> slice.stream().mapToLong(ScenarioPartitioner::weightInMicros).sum())
+                .max()
+                .orElse(0);
+    }
+
+    /**
+     * A set of slices, kept sorted from heaviest to lightest. Slice contents are linked lists, so that slices can be merged in constant time.
+     */
+    private static class PartialPartition {
+        private final Slice[] slices;
+        private final int sequence;
+
+        private PartialPartition(Slice[] slices, int sequence) {
+            this.slices = slices;
+            this.sequence = sequence;
+        }
+
+        static PartialPartition of(WeightedCucumberScenario scenario, int sliceCount, int sequence) {
+            Slice[] slices = new Slice[sliceCount];
+            slices[0] = new Slice(scenario, sequence);
+            for (int i = 1; i < sliceCount; i++) {
+                slices[i] = new Slice();
+            }
+            return new PartialPartition(slices, sequence);
+        }
+
+        long spread() {
+            return slices[0].totalMicros - slices[slices.length - 1].totalMicros;
+        }
+
+        PartialPartition combinedWith(PartialPartition other, int sequence) {
+            int sliceCount = slices.length;
+            Slice[] combined = new Slice[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                combined[i] = slices[i].mergedWith(other.slices[sliceCount - 1 - i]);
+            }
+            Arrays.sort(combined, Comparator.comparingLong((Slice slice) -> slice.totalMicros).reversed());
+            return new PartialPartition(combined, sequence);
+        }
+
+        List<List<WeightedCucumberScenario>> toSlices() {
+            List<List<WeightedCucumberScenario>> result = new ArrayList<>(slices.length);
+            for (Slice slice : slices) {
+                result.add(slice.scenariosSlowestFirst());
+            }
+            return result;
+        }
+    }
+
+    private static class Slice {
+        private long totalMicros;
+        private Entry first;
+        private Entry last;
+
+        Slice() {
+        }
+
+        Slice(WeightedCucumberScenario scenario, int position) {
+            this.first = new Entry(scenario, position);
+            this.last = first;
+            this.totalMicros = ScenarioPartitioner.weightInMicros(scenario);
+        }
+
+        Slice mergedWith(Slice other) {
+            if (other.first == null) {
+                return this;
+            }
+            if (first == null) {
+                return other;
+            }
+            last.next = other.first;
+            last = other.last;
+            totalMicros += other.totalMicros;
+            return this;
+        }
+
+        List<WeightedCucumberScenario> scenariosSlowestFirst() {
+            List<Entry> entries = new ArrayList<>();
+            for (Entry entry = first; entry != null; entry = entry.next) {
+                entries.add(entry);
+            }
+            entries.sort(Comparator.comparingLong((Entry entry) -> entry.weightInMicros).reversed().thenComparingInt(entry -> entry.position));
+            List<WeightedCucumberScenario> scenarios = new ArrayList<>(entries.size());
+            entries.forEach(entry -> scenarios.add(entry.scenario));
+            return scenarios;
+        }
+    }
+
+    private static class Entry {
+        private final WeightedCucumberScenario scenario;
+        private final long weightInMicros;
+        private final int position;
+        private Entry next;
+
+        Entry(WeightedCucumberScenario scenario, int position) {
+            this.scenario = scenario;
+            this.weightInMicros = ScenarioPartitioner.weightInMicros(scenario);
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Greedy longest-processing-time partitioning: scenarios are taken slowest first, and each one is added to the slice
+ * with the lowest total weight so far (the first such slice if several have the same total).
+ * Slices are kept in a min-heap ordered by their running totals, so partitioning is O(n log n + n log k).
+ */
+public class LongestProcessingTimePartitioner implements ScenarioPartitioner {
+
+    @Override
+    public List<List<WeightedCucumberScenario>> partition(List<WeightedCucumberScenario> scenarios, int sliceCount) {
+        List<List<WeightedCucumberScenario>> slices = IntStream.range(0, sliceCount).mapToObj(slice -> new ArrayList<WeightedCucumberScenario>()).collect(toList());
+
+        PriorityQueue<SliceTotal> slicesByTotal = new PriorityQueue<>(Math.max(1, sliceCount));
+        IntStream.range(0, sliceCount).forEach(slice -> slicesByTotal.add(new SliceTotal(slice)));
+
+        scenarios.stream()
+            .map(WeightedScenario::new)
+            .sorted(Comparator.comparingLong(WeightedScenario::weightInMicros).reversed())
+            .forEach(weightedScenario -> {
+                SliceTotal lightestSlice = slicesByTotal.poll();
+                slices.get(lightestSlice.slice).add(weightedScenario.scenario);
+                lightestSlice.totalMicros += weightedScenario.weightInMicros;
+                slicesByTotal.add(lightestSlice);
+            });
+
+        return slices;
+    }
+
+    private static class WeightedScenario {
+        private final WeightedCucumberScenario scenario;
+        private final long weightInMicros;
+
+        private WeightedScenario(WeightedCucumberScenario scenario) {
+            this.scenario = scenario;
+            this.weightInMicros = ScenarioPartitioner.weightInMicros(scenario);
+        }
+
+        long weightInMicros() {
+            return weightInMicros;
+        }
+    }
+
+    private static class SliceTotal implements Comparable<SliceTotal> {
+        private final int slice;
+        private long totalMicros;
+
+        private SliceTotal(int slice) {
+            this.slice = slice;
+        }
+
+        @Override
+        public int compareTo(SliceTotal other) {
+            int byTotal = Long.compare(totalMicros, other.totalMicros);
+            return (byTotal != 0) ? byTotal : Integer.compare(slice, other.slice);
+        }
+    }
+}
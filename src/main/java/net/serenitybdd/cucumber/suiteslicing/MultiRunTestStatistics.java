@@ -1,6 +1,7 @@
 package net.serenitybdd.cucumber.suiteslicing;
 
 
+import net.serenitybdd.core.time.Stopwatch;
 import net.serenitybdd.cucumber.util.BigDecimalAverageCollector;
 import net.thucydides.core.util.Inflector;
 
@@ -16,21 +17,52 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Stream;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static java.util.stream.Collectors.toList;
 
+/**
+ * Scenario weights calculated from the results of several test runs, using a {@link DurationModel}
+ * (by default, the mean duration).
+ * Results files are parsed in parallel, and the weights are calculated once, when the results are loaded.
+ */
 public class MultiRunTestStatistics implements TestStatistics {
 
-    private final List<TestScenarioResults> results = newArrayList();
+    private final List<TestScenarioResult> records;
+    private final ScenarioResultIndex index;
+    private final BigDecimal averageDuration;
 
     static Logger LOGGER = LoggerFactory.getLogger(MultiRunTestStatistics.class);
 
+    private MultiRunTestStatistics(List<TestStatistics> runs, DurationModel durationModel, int historySize) {
+        Map<ScenarioKey, TestScenarioResults> results = new LinkedHashMap<>();
+        runs.forEach(run -> run.records().forEach(record -> {
+            TestScenarioResults existingResult = results.get(ScenarioKey.of(record));
+            if (existingResult != null) {
+                existingResult.add(record);
+            } else {
+                results.put(ScenarioKey.of(record), TestScenarioResults.create(record, historySize));
+            }
+        }));
+        this.records = Collections.unmodifiableList(results.values().stream().map(result -> result.weightedBy(durationModel)).collect(toList()));
+        this.index = ScenarioResultIndex.of(records);
+        this.averageDuration = records.stream().map(TestScenarioResult::duration).collect(BigDecimalAverageCollector.create());
+    }
+
     public static MultiRunTestStatistics fromRelativePath(String basePath) {
+        return fromRelativePath(basePath, DurationModel.defaultModel(), DurationHistory.UNBOUNDED);
+    }
 
-        MultiRunTestStatistics multiRunTestStatistics = new MultiRunTestStatistics();
+    /**
+     * Loads the results files in the given classpath directory, weighting each scenario with the given model
+     * over (at most) its last historySize durations.
+     */
+    public static MultiRunTestStatistics fromRelativePath(String basePath, DurationModel durationModel, int historySize) {
+        Stopwatch timer = Stopwatch.started();
         try {
             URI uri = MultiRunTestStatistics.class.getResource(basePath).toURI();
             Path resultsPath;
@@ -47,49 +79,45 @@ public class MultiRunTestStatistics implements TestStatistics {
                 resultsPath = Paths.get(uri);
             }
 
-            Files.walk(resultsPath).filter(path -> Files.isRegularFile(path)).forEach(file -> {
-                LOGGER.debug("Aggregating results from {}", file.getFileName());
-                multiRunTestStatistics.addStatistics(SingleRunTestStatistics.fromFileName(basePath + "/" + file.getFileName()));
-            });
+            List<String> fileNames;
+            try (Stream<Path> paths = Files.walk(resultsPath)) {
+                fileNames = paths.filter(path -> Files.isRegularFile(path))
+                    .map(path -> path.getFileName().toString())
+                    .sorted()
+                    .collect(toList());
+            }
+            List<TestStatistics> runs = fileNames.parallelStream()
+                .map(fileName -> {
+                    LOGGER.debug("Aggregating results from {}", fileName);
+                    return SingleRunTestStatistics.fromFileName(basePath + "/" + fileName);
+                })
+                .collect(toList());
+            MultiRunTestStatistics multiRunTestStatistics = new MultiRunTestStatistics(runs, durationModel, historySize);
+            LOGGER.info("Loaded {} scenario results from {} files in {} in {} (weighted by {})", multiRunTestStatistics.records.size(), runs.size(), basePath, timer.executionTimeFormatted(), durationModel);
+            return multiRunTestStatistics;
         } catch (Exception e) {
             throw new RuntimeException(String.format("could not open scenario results from %s", basePath), e);
         }
-
-        return multiRunTestStatistics;
     }
 
     @Override
     public BigDecimal scenarioWeightFor(String feature, String scenario) {
-        return records().stream()
-            .filter(record -> record.feature.equals(feature) && record.scenario.equals(scenario))
-            .map(TestScenarioResult::duration)
-            .findFirst()
-            .orElseGet(() -> average(feature, scenario));
+        return index.durationFor(feature, scenario).orElseGet(() -> average(feature, scenario));
     }
 
     @Override
     public List<TestScenarioResult> records() {
-        return results.stream().map(TestScenarioResults::average).collect(toList());
-    }
-
-    private void addStatistics(TestStatistics statistics) {
-        statistics.records().forEach(record -> {
-            Optional<TestScenarioResults> existingResult = results.stream().filter(existing -> existing.scenarioKey.equals(record.scenarioKey)).findFirst();
-            if (existingResult.isPresent()) {
-                existingResult.get().addDuration(record.duration);
-            } else {
-                results.add(TestScenarioResults.create(record));
-            }
-        });
+        return records;
     }
 
-    private BigDecimal averageDuration() {
-        return records().stream().map(TestScenarioResult::duration).collect(BigDecimalAverageCollector.create());
+    @Override
+    public Optional<TestScenarioResult> resultFor(String feature, String scenario) {
+        return index.resultFor(feature, scenario);
     }
 
     private BigDecimal average(String feature, String scenario) {
-        LOGGER.warn("Returning average weighting of {} due to non-match of {} -> {}", averageDuration(), feature, scenario);
-        return averageDuration();
+        LOGGER.warn("Returning average weighting of {} due to non-match of {} -> {}", averageDuration, feature, scenario);
+        return averageDuration;
     }
 
     public String toString() {
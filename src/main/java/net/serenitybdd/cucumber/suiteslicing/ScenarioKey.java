@@ -0,0 +1,53 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Identifies a scenario by feature name and scenario name, for looking up test statistics.
+ * Names are interned, as the same feature and scenario names are read from every historic results file.
+ */
+final class ScenarioKey {
+
+    private static final Interner<String> NAMES = Interners.newWeakInterner();
+
+    final String feature;
+    final String scenario;
+    private final int hashCode;
+
+    private ScenarioKey(String feature, String scenario) {
+        this.feature = NAMES.intern(feature);
+        this.scenario = NAMES.intern(scenario);
+        this.hashCode = 31 * this.feature.hashCode() + this.scenario.hashCode();
+    }
+
+    static ScenarioKey of(String feature, String scenario) {
+        return new ScenarioKey(feature, scenario);
+    }
+
+    static ScenarioKey of(TestScenarioResult result) {
+        return new ScenarioKey(result.feature, result.scenario);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ScenarioKey)) {
+            return false;
+        }
+        ScenarioKey other = (ScenarioKey) o;
+        return hashCode == other.hashCode && feature.equals(other.feature) && scenario.equals(other.scenario);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return feature + " -> " + scenario;
+    }
+}
@@ -3,7 +3,7 @@ package net.serenitybdd.cucumber.suiteslicing;
 import cucumber.runtime.io.MultiLoader;
 import cucumber.runtime.io.ResourceLoader;
 import cucumber.runtime.model.CucumberFeature;
-import cucumber.runtime.model.FeatureLoader;
+import net.serenitybdd.cucumber.model.FeatureCache;
 import gherkin.ast.Background;
 import gherkin.ast.Scenario;
 import gherkin.ast.ScenarioDefinition;
@@ -14,6 +14,7 @@ import java.math.BigDecimal;
 import java.net.URI;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 import static java.util.Arrays.asList;
@@ -23,14 +24,16 @@ public class ScenarioLineCountStatistics implements TestStatistics {
 
     private final List<URI> featurePaths;
     private final List<TestScenarioResult> results;
+    private final ScenarioResultIndex index;
 
     private ScenarioLineCountStatistics(List<URI> featurePaths) {
         this.featurePaths = featurePaths;
         ResourceLoader resourceLoader = new MultiLoader(CucumberSuiteSlicer.class.getClassLoader());
-        this.results = new FeatureLoader(resourceLoader).load(featurePaths).stream()
+        this.results = FeatureCache.shared().load(resourceLoader, featurePaths).stream()
             .map(featureToScenarios())
             .flatMap(List::stream)
             .collect(toList());
+        this.index = ScenarioResultIndex.of(results);
     }
 
     public static ScenarioLineCountStatistics fromFeaturePath(URI featurePaths) {
@@ -91,10 +94,7 @@ public class ScenarioLineCountStatistics implements TestStatistics {
 
     @Override
     public BigDecimal scenarioWeightFor(String feature, String scenario) {
-        return results.stream()
-            .filter(record -> record.feature.equals(feature) && record.scenario.equals(scenario))
-            .map(TestScenarioResult::duration)
-            .findFirst()
+        return index.durationFor(feature, scenario)
             .orElseThrow(() -> new IllegalArgumentException(String.format("no result found for scenario '%s' in feature '%s'", scenario, feature)));
     }
 
@@ -103,6 +103,11 @@ public class ScenarioLineCountStatistics implements TestStatistics {
         return results;
     }
 
+    @Override
+    public Optional<TestScenarioResult> resultFor(String feature, String scenario) {
+        return index.resultFor(feature, scenario);
+    }
+
     public String toString() {
         return Inflector.getInstance().kebabCase(this.getClass().getSimpleName());
     }
@@ -0,0 +1,71 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.serenitybdd.cucumber.CucumberSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * The order in which scenarios are run, based on their recorded results.
+ * Scenarios with no recorded result run after those that have one, in their declared order.
+ */
+public enum ScenarioOrder {
+
+    /**
+     * Scenarios run in the order in which they are declared.
+     */
+    DECLARED(null),
+
+    /**
+     * Scenarios that failed in their last recorded run come first, then the least stable scenarios, then the longest ones,
+     * so that a test run reports likely failures as early as possible.
+     */
+    FAILURES_FIRST(Comparator.comparing((TestScenarioResult result) -> !result.failed())
+                       .thenComparing(result -> result.stability().orElse(BigDecimal.ONE))
+                       .thenComparing(TestScenarioResult::duration, Comparator.reverseOrder())),
+
+    /**
+     * The longest scenarios come first, so that they do not hold up the end of a test run.
+     */
+    SLOWEST_FIRST(Comparator.comparing(TestScenarioResult::duration, Comparator.reverseOrder()));
+
+    private final Comparator<TestScenarioResult> resultOrder;
+
+    ScenarioOrder(Comparator<TestScenarioResult> resultOrder) {
+        this.resultOrder = resultOrder;
+    }
+
+    /**
+     * The order configured by serenity.cucumber.execution.order: "declared" (the default), "failures-first" or "slowest-first".
+     */
+    public static ScenarioOrder from(EnvironmentVariables environmentVariables) {
+        String order = CucumberSystemProperty.SERENITY_CUCUMBER_EXECUTION_ORDER.from(environmentVariables, "declared").trim().toLowerCase();
+        switch (order) {
+            case "declared":
+                return DECLARED;
+            case "failures-first":
+                return FAILURES_FIRST;
+            case "slowest-first":
+                return SLOWEST_FIRST;
+            default:
+                throw new IllegalArgumentException("Unknown execution order '" + order + "': expected 'declared', 'failures-first' or 'slowest-first'");
+        }
+    }
+
+    public boolean isDeclaredOrder() {
+        return this == DECLARED;
+    }
+
+    /**
+     * Compares items by the recorded result of their scenario, which may be null if there is none.
+     * Items that compare as equal keep their declared order when sorted.
+     */
+    public <T> Comparator<T> comparing(Function<T, TestScenarioResult> resultOf) {
+        if (resultOrder == null) {
+            return (first, second) -> 0;
+        }
+        return Comparator.comparing(resultOf, Comparator.nullsLast(resultOrder));
+    }
+}
@@ -0,0 +1,60 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.serenitybdd.cucumber.CucumberSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Splits a list of weighted scenarios into a number of slices of roughly equal total weight.
+ * Implementations must be deterministic, as every fork computes the partition independently and only runs its own slice.
+ */
+public interface ScenarioPartitioner {
+
+    /**
+     * Returns exactly sliceCount slices (some of which may be empty) containing every scenario once.
+     */
+    List<List<WeightedCucumberScenario>> partition(List<WeightedCucumberScenario> scenarios, int sliceCount);
+
+    static ScenarioPartitioner defaultPartitioner() {
+        return new LongestProcessingTimePartitioner();
+    }
+
+    /**
+     * The partitioner configured by serenity.cucumber.slicing.strategy: "lpt" (the default) or "karmarkar-karp".
+     * With serenity.cucumber.driver.affinity, scenarios are grouped by driver first, and the configured partitioner
+     * is only used when they all ask for the same driver.
+     */
+    static ScenarioPartitioner from(EnvironmentVariables environmentVariables) {
+        String strategy = CucumberSystemProperty.SERENITY_CUCUMBER_SLICING_STRATEGY.from(environmentVariables, "lpt").trim().toLowerCase();
+        ScenarioPartitioner partitioner;
+        switch (strategy) {
+            case "lpt":
+                partitioner = new LongestProcessingTimePartitioner();
+                break;
+            case "karmarkar-karp":
+            case "kk":
+                partitioner = new KarmarkarKarpPartitioner();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown slicing strategy '" + strategy + "': expected 'lpt' or 'karmarkar-karp'");
+        }
+        if (CucumberSystemProperty.SERENITY_CUCUMBER_DRIVER_AFFINITY.booleanFrom(environmentVariables, false)) {
+            return new DriverAffinityPartitioner(partitioner);
+        }
+        return partitioner;
+    }
+
+    /**
+     * Scenario weights in integral millionths, so that slice totals can be kept as primitive longs.
+     */
+    static long weightInMicros(WeightedCucumberScenario scenario) {
+        return scenario.weighting().movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    static BigDecimal weightFromMicros(long micros) {
+        return BigDecimal.valueOf(micros, 6);
+    }
+}
@@ -0,0 +1,37 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Scenario results indexed by feature and scenario name. Where a scenario appears more than once,
+ * the first result is used, as a linear search through the results would.
+ */
+final class ScenarioResultIndex {
+
+    private final Map<ScenarioKey, TestScenarioResult> resultsByScenario;
+
+    private ScenarioResultIndex(List<TestScenarioResult> results) {
+        this.resultsByScenario = new HashMap<>(results.size() * 2);
+        results.forEach(result -> resultsByScenario.putIfAbsent(ScenarioKey.of(result), result));
+    }
+
+    static ScenarioResultIndex of(List<TestScenarioResult> results) {
+        return new ScenarioResultIndex(results);
+    }
+
+    Optional<BigDecimal> durationFor(String feature, String scenario) {
+        return resultFor(feature, scenario).map(TestScenarioResult::duration);
+    }
+
+    Optional<TestScenarioResult> resultFor(String feature, String scenario) {
+        return Optional.ofNullable(resultsByScenario.get(ScenarioKey.of(feature, scenario)));
+    }
+
+    int size() {
+        return resultsByScenario.size();
+    }
+}
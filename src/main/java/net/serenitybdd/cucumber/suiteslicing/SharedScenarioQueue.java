@@ -0,0 +1,201 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A queue of scenarios shared by the forks of a test run on the same machine, so that each fork can take
+ * the next scenario when it finishes the previous one, rather than running a slice fixed up front.
+ * <p>
+ * Every fork computes the same list of scenarios, so the forks only need to share the position of the next
+ * scenario to run. This is kept in a small file in the queue directory, which is locked while it is updated.
+ * The name of the file includes an identifier of the test run that every fork is given, such as a build number
+ * or a timestamp set once by the build, so that a new run never picks up the queue left by an earlier one.
+ */
+public class SharedScenarioQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedScenarioQueue.class);
+
+    private static final int MAGIC_NUMBER = 0x53435351;
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * File locks are held by the whole JVM, so updates from different threads of the same JVM are serialized here first.
+     */
+    private static final Object IN_PROCESS_LOCK = new Object();
+
+    private static final Duration STALE_QUEUE_AGE = Duration.ofDays(7);
+
+    private final Path queueFile;
+    private final List<WeightedCucumberScenario> scenarios;
+    private final int forkCount;
+    private final Map<String, WeightedCucumberScenario> lastScenarioOfEachFeature = new HashMap<>();
+
+    private SharedScenarioQueue(Path queueFile, List<WeightedCucumberScenario> scenarios, int forkCount) {
+        this.queueFile = queueFile;
+        this.scenarios = scenarios;
+        this.forkCount = forkCount;
+        scenarios.forEach(scenario -> lastScenarioOfEachFeature.put(scenario.featurePath, scenario));
+    }
+
+    /**
+     * Joins the queue of the given scenarios in the queue directory. The queue file is created by the first fork to take
+     * a scenario, and queues left by runs that ended more than a week ago are removed.
+     *
+     * @param queueName identifies the queue within the test run, for example the name of the test class and the batch number
+     * @param runId     identifies the test run, and must be the same in every fork of the run
+     * @param scenarios the scenarios to run, in the order in which they should be handed out
+     * @throws IOException if the queue directory cannot be used, in which case forks should fall back to static slicing
+     */
+    public static SharedScenarioQueue join(Path queueDirectory,
+                                           String queueName,
+                                           String runId,
+                                           List<WeightedCucumberScenario> scenarios,
+                                           int forkNumber,
+                                           int forkCount) throws IOException {
+        if (forkNumber < 1 || forkNumber > forkCount) {
+            throw new IllegalArgumentException("Fork number " + forkNumber + " is not between 1 and " + forkCount);
+        }
+        Files.createDirectories(queueDirectory);
+        deleteQueuesUnusedSince(queueDirectory, Instant.now().minus(STALE_QUEUE_AGE));
+        Path queueFile = queueDirectory.resolve("queue-" + fingerprintOf(queueName, runId, scenarios, forkCount) + ".bin");
+        SharedScenarioQueue queue = new SharedScenarioQueue(queueFile, scenarios, forkCount);
+        LOGGER.info("Fork {} of {} joined the shared queue of {} scenarios for run {} in {}", forkNumber, forkCount, scenarios.size(), runId, queueFile);
+        return queue;
+    }
+
+    /**
+     * Takes the next scenario from the queue, or returns an empty value once every scenario has been handed out.
+     */
+    public Optional<WeightedCucumberScenario> next() throws IOException {
+        int index = update(state -> (state.nextIndex < scenarios.size()) ? state.nextIndex++ : -1);
+        return (index < 0) ? Optional.empty() : Optional.of(scenarios.get(index));
+    }
+
+    /**
+     * Whether no scenario of the same feature comes after this one in the queue, so that no fork will run any more of them.
+     */
+    public boolean isTheLastScenarioOfItsFeature(WeightedCucumberScenario scenario) {
+        return lastScenarioOfEachFeature.get(scenario.featurePath) == scenario;
+    }
+
+    public Path getQueueFile() {
+        return queueFile;
+    }
+
+    private <T> T update(StateChange<T> change) throws IOException {
+        synchronized (IN_PROCESS_LOCK) {
+            try (FileChannel channel = FileChannel.open(queueFile, CREATE, READ, WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    QueueState state = readState(channel);
+                    T result = change.apply(state);
+                    writeState(channel, state);
+                    return result;
+                } finally {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    private QueueState readState(FileChannel channel) throws IOException {
+        QueueState freshState = new QueueState();
+        if (channel.size() == 0 || channel.size() > Integer.MAX_VALUE) {
+            return freshState;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // Keep reading until the whole file has been read
+        }
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.array()))) {
+            if (input.readInt() != MAGIC_NUMBER || input.readInt() != FORMAT_VERSION
+                || input.readInt() != scenarios.size() || input.readInt() != forkCount) {
+                return freshState;
+            }
+            QueueState state = new QueueState();
+            state.nextIndex = input.readInt();
+            return state;
+        } catch (IOException | RuntimeException unreadableState) {
+            LOGGER.warn("Ignoring unreadable scenario queue state in {}", queueFile);
+            return freshState;
+        }
+    }
+
+    private void writeState(FileChannel channel, QueueState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(scenarios.size());
+            output.writeInt(forkCount);
+            output.writeInt(state.nextIndex);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        channel.truncate(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+    }
+
+    private static void deleteQueuesUnusedSince(Path queueDirectory, Instant cutOff) {
+        try (DirectoryStream<Path> queueFiles = Files.newDirectoryStream(queueDirectory, "queue-*.bin")) {
+            for (Path queueFile : queueFiles) {
+                if (Files.getLastModifiedTime(queueFile).toInstant().isBefore(cutOff)) {
+                    Files.deleteIfExists(queueFile);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not remove old scenario queues from {}: {}", queueDirectory, e.getMessage());
+        }
+    }
+
+    private static String fingerprintOf(String queueName, String runId, List<WeightedCucumberScenario> scenarios, int forkCount) {
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+            .putString(queueName, StandardCharsets.UTF_8).putChar('\n')
+            .putString(runId, StandardCharsets.UTF_8).putChar('\n')
+            .putInt(forkCount);
+        scenarios.forEach(scenario -> hasher
+            .putString(scenario.featurePath, StandardCharsets.UTF_8).putChar('\n')
+            .putString(scenario.scenario, StandardCharsets.UTF_8).putChar('\n'));
+        return hasher.hash().toString();
+    }
+
+    @Override
+    public String toString() {
+        return "shared scenario queue " + queueFile;
+    }
+
+    private interface StateChange<T> {
+        T apply(QueueState state);
+    }
+
+    private static class QueueState {
+        private int nextIndex;
+    }
+}
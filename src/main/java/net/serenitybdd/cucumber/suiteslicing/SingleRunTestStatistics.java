@@ -5,6 +5,8 @@ import net.serenitybdd.core.time.Stopwatch;
 import net.thucydides.core.util.Inflector;
 
 import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,8 +14,10 @@ import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.DATE;
@@ -28,6 +32,7 @@ public class SingleRunTestStatistics implements TestStatistics {
     private static final Logger LOGGER = LoggerFactory.getLogger(SingleRunTestStatistics.class);
 
     private final List<TestScenarioResult> records;
+    private final ScenarioResultIndex index;
     private String fileName;
     private String[] headers;
 
@@ -36,7 +41,8 @@ public class SingleRunTestStatistics implements TestStatistics {
         Stopwatch timer = Stopwatch.started();
         this.fileName = fileName;
         this.headers = new String[]{STORY, TITLE, RESULT, DATE, STABILITY, DURATION};
-        this.records = records();
+        this.records = Collections.unmodifiableList(parseRecords());
+        this.index = ScenarioResultIndex.of(records);
         LOGGER.info("Loaded {} records from {} in {}", records.size(), fileName, timer.executionTimeFormatted());
     }
 
@@ -46,22 +52,28 @@ public class SingleRunTestStatistics implements TestStatistics {
 
     @Override
     public BigDecimal scenarioWeightFor(String feature, String scenario) {
-        return records.stream()
-            .filter(record -> record.feature.equals(feature) && record.scenario.equals(scenario))
-            .map(TestScenarioResult::duration)
-            .findFirst()
+        return index.durationFor(feature, scenario)
             .orElseThrow(() -> new IllegalArgumentException(String.format("no result found for feature %s and scenario %s", feature, scenario)));
     }
 
     @Override
     public List<TestScenarioResult> records() {
-        try (Reader bufferedReader = new BufferedReader(new InputStreamReader(checkNotNull(getClass().getResourceAsStream(fileName), fileName + " could not be found")))) {
-            return CSVFormat.DEFAULT
-                .withHeader(headers)
-                .withSkipHeaderRecord(true)
-                .parse(bufferedReader)
-                .getRecords().stream()
-                .map(TestScenarioResult::createFromCSV).collect(Collectors.toList());
+        return records;
+    }
+
+    @Override
+    public Optional<TestScenarioResult> resultFor(String feature, String scenario) {
+        return index.resultFor(feature, scenario);
+    }
+
+    private List<TestScenarioResult> parseRecords() {
+        try (Reader bufferedReader = new BufferedReader(new InputStreamReader(checkNotNull(getClass().getResourceAsStream(fileName), fileName + " could not be found")));
+             CSVParser parser = CSVFormat.DEFAULT.withHeader(headers).withSkipHeaderRecord(true).parse(bufferedReader)) {
+            List<TestScenarioResult> results = new ArrayList<>();
+            for (CSVRecord csvRecord : parser) {
+                results.add(TestScenarioResult.createFromCSV(csvRecord));
+            }
+            return results;
         } catch (Exception e) {
             throw new RuntimeException(fileName + " could not be opened", e);
         }
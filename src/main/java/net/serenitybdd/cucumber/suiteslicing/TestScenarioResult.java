@@ -4,8 +4,18 @@ import org.apache.commons.csv.CSVRecord;
 
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
 
+import static java.util.Arrays.asList;
+
+import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.DATE;
 import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.DURATION;
+import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.RESULT;
+import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.STABILITY;
 import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.STORY;
 import static net.serenitybdd.cucumber.suiteslicing.SerenityCSVHeader.TITLE;
 import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
@@ -13,27 +23,90 @@ import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToStrin
 
 public class TestScenarioResult {
 
+    private static final List<String> FAILED_RESULTS = asList("FAILURE", "ERROR", "COMPROMISED");
+
     public final String feature;
     public final String scenario;
     public final BigDecimal duration;
     public final String scenarioKey;
+    private final Instant date;
+    private final String result;
+    private final BigDecimal stability;
 
     public static TestScenarioResult createFromCSV(CSVRecord csvRecord) {
         return new TestScenarioResult(
             csvRecord.get(STORY),
             csvRecord.get(TITLE),
-            new BigDecimal(csvRecord.get(DURATION)));
+            new BigDecimal(csvRecord.get(DURATION)),
+            csvRecord.isSet(DATE) ? runDateFrom(csvRecord.get(DATE)) : null,
+            csvRecord.isSet(RESULT) ? csvRecord.get(RESULT) : null,
+            csvRecord.isSet(STABILITY) ? stabilityFrom(csvRecord.get(STABILITY)) : null);
+    }
+
+    private static BigDecimal stabilityFrom(String stability) {
+        try {
+            return new BigDecimal(stability);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Instant runDateFrom(String date) {
+        try {
+            return ZonedDateTime.parse(date).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     public BigDecimal duration() {
         return duration;
     }
 
+    /**
+     * When the scenario was run, if known.
+     */
+    public Optional<Instant> date() {
+        return Optional.ofNullable(date);
+    }
+
+    /**
+     * The outcome of the scenario (such as SUCCESS or FAILURE), if known.
+     */
+    public Optional<String> result() {
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * The proportion of recent runs in which the scenario passed, between 0 and 1, if known.
+     */
+    public Optional<BigDecimal> stability() {
+        return Optional.ofNullable(stability);
+    }
+
+    /**
+     * Whether the scenario failed, broke or was compromised.
+     */
+    public boolean failed() {
+        return result != null && FAILED_RESULTS.contains(result.trim().toUpperCase());
+    }
+
     public TestScenarioResult(String feature, String scenario, BigDecimal duration) {
+        this(feature, scenario, duration, null);
+    }
+
+    public TestScenarioResult(String feature, String scenario, BigDecimal duration, Instant date) {
+        this(feature, scenario, duration, date, null, null);
+    }
+
+    public TestScenarioResult(String feature, String scenario, BigDecimal duration, Instant date, String result, BigDecimal stability) {
         this.feature = feature;
         this.scenario = scenario;
         this.scenarioKey = feature + ":" + scenario;
         this.duration = duration;
+        this.date = date;
+        this.result = result;
+        this.stability = stability;
     }
 
     @Override
@@ -1,11 +1,8 @@
 package net.serenitybdd.cucumber.suiteslicing;
 
-import net.serenitybdd.cucumber.util.BigDecimalAverageCollector;
-
 import java.math.BigDecimal;
-import java.util.List;
+import java.util.Optional;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
 import static org.apache.commons.lang3.builder.HashCodeBuilder.reflectionHashCode;
 import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
@@ -13,27 +10,59 @@ import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToStrin
 public class TestScenarioResults {
 
     public final String scenarioKey;
-    public final List<BigDecimal> durations;
+    public final DurationHistory durations;
     private final String feature;
     private final String scenario;
+    private TestScenarioResult latestResult;
 
     public static TestScenarioResults create(TestScenarioResult testScenarioDuration) {
-        return new TestScenarioResults(testScenarioDuration);
+        return create(testScenarioDuration, DurationHistory.UNBOUNDED);
+    }
+
+    public static TestScenarioResults create(TestScenarioResult testScenarioDuration, int historySize) {
+        return new TestScenarioResults(testScenarioDuration, historySize);
     }
 
     public void addDuration(BigDecimal duration) {
-        durations.add(duration);
+        durations.add(duration, Optional.empty());
+    }
+
+    public void add(TestScenarioResult testScenarioResult) {
+        durations.add(testScenarioResult.duration, testScenarioResult.date());
+        if (isMoreRecentThanLatestResult(testScenarioResult)) {
+            latestResult = testScenarioResult;
+        }
     }
 
-    private TestScenarioResults(TestScenarioResult testScenarioResult) {
-        this.durations = newArrayList(testScenarioResult.duration);
+    /**
+     * Results are assumed to be added in the order in which the runs took place, unless their dates say otherwise.
+     */
+    private boolean isMoreRecentThanLatestResult(TestScenarioResult testScenarioResult) {
+        if (latestResult == null || !latestResult.date().isPresent() || !testScenarioResult.date().isPresent()) {
+            return true;
+        }
+        return !testScenarioResult.date().get().isBefore(latestResult.date().get());
+    }
+
+    private TestScenarioResults(TestScenarioResult testScenarioResult, int historySize) {
+        this.durations = new DurationHistory(historySize);
         this.scenarioKey = testScenarioResult.scenarioKey;
         this.feature = testScenarioResult.feature;
         this.scenario = testScenarioResult.scenario;
+        add(testScenarioResult);
     }
 
     public TestScenarioResult average() {
-        return new TestScenarioResult(feature, scenario, durations.stream().collect(BigDecimalAverageCollector.create()));
+        return weightedBy(DurationModel.defaultModel());
+    }
+
+    public TestScenarioResult weightedBy(DurationModel durationModel) {
+        return new TestScenarioResult(feature,
+                                      scenario,
+                                      durationModel.weightOf(durations),
+                                      latestResult.date().orElse(null),
+                                      latestResult.result().orElse(null),
+                                      latestResult.stability().orElse(null));
     }
 
     @Override
@@ -5,7 +5,9 @@ import net.thucydides.core.util.EnvironmentVariables;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_SLICING_HISTORY_SIZE;
 import static net.thucydides.core.ThucydidesSystemProperty.SERENITY_TEST_STATISTICS_DIR;
 
 public interface TestStatistics {
@@ -14,13 +16,24 @@ public interface TestStatistics {
 
     List<TestScenarioResult> records();
 
+    /**
+     * The recorded result of a scenario, if there is one.
+     */
+    default Optional<TestScenarioResult> resultFor(String feature, String scenario) {
+        return records().stream()
+            .filter(record -> record.feature.equals(feature) && record.scenario.equals(scenario))
+            .findFirst();
+    }
+
     
     public static TestStatistics from(EnvironmentVariables environmentVariables, List<URI> featurePaths) {
         String directory = environmentVariables.getProperty(SERENITY_TEST_STATISTICS_DIR);
         if (directory == null) {
             return ScenarioLineCountStatistics.fromFeaturePaths(featurePaths);
         } else {
-            return MultiRunTestStatistics.fromRelativePath(directory);
+            return MultiRunTestStatistics.fromRelativePath(directory,
+                DurationModel.from(environmentVariables),
+                SERENITY_CUCUMBER_SLICING_HISTORY_SIZE.integerFrom(environmentVariables, DurationHistory.UNBOUNDED));
         }
     }
 
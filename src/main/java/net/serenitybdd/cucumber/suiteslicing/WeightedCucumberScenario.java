@@ -1,9 +1,14 @@
 package net.serenitybdd.cucumber.suiteslicing;
 
+import net.serenitybdd.cucumber.util.TagDictionary;
+import net.serenitybdd.cucumber.webdriver.DriverSessionKey;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
 import static org.apache.commons.lang3.builder.ToStringBuilder.reflectionToString;
@@ -16,6 +21,7 @@ public class WeightedCucumberScenario {
     public final int scenarioCount;
     public final BigDecimal weighting;
     public final Set<String> tags;
+    private transient BitSet tagSet;
 
     public WeightedCucumberScenario(String featurePath, String feature, String scenario, BigDecimal weighting, Set<String> tags, int scenarioCount) {
         this.featurePath = featurePath;
@@ -30,6 +36,24 @@ public class WeightedCucumberScenario {
         return weighting;
     }
 
+    /**
+     * The tags of this scenario as a tag set of the shared TagDictionary.
+     */
+    public BitSet tagSet() {
+        if (tagSet == null) {
+            tagSet = TagDictionary.shared().tagSetOf(tags);
+        }
+        return tagSet;
+    }
+
+    /**
+     * The driver and driver options asked for by the @driver and @driver-options tags of this scenario, if any.
+     * The tags are unordered, so if there are several @driver tags, the last one in alphabetical order is used.
+     */
+    public Optional<DriverSessionKey> requestedDriverSession() {
+        return DriverSessionKey.requestedBy(new TreeSet<>(tags));
+    }
+
     @Override
     public int hashCode() {
         return HashCodeBuilder.reflectionHashCode(this);
@@ -9,16 +9,14 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.stream.IntStream;
 
 import static java.math.BigDecimal.ZERO;
-import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
-import static org.apache.commons.lang3.ObjectUtils.compare;
 import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
 
 /**
@@ -31,28 +29,42 @@ public class WeightedCucumberScenarios {
     private static final Logger LOGGER = LoggerFactory.getLogger(WeightedCucumberScenarios.class);
     public final BigDecimal totalWeighting;
     public final List<WeightedCucumberScenario> scenarios;
+    private final transient ScenarioPartitioner partitioner;
+    private final transient Map<Integer, List<WeightedCucumberScenarios>> slicesBySliceCount = new ConcurrentHashMap<>();
 
     public WeightedCucumberScenarios(List<WeightedCucumberScenario> scenarios) {
+        this(scenarios, ScenarioPartitioner.defaultPartitioner());
+    }
+
+    public WeightedCucumberScenarios(List<WeightedCucumberScenario> scenarios, ScenarioPartitioner partitioner) {
         this.scenarios = scenarios;
+        this.partitioner = partitioner;
         this.totalWeighting = scenarios.stream().map(WeightedCucumberScenario::weighting).reduce(ZERO, BigDecimal::add);
     }
 
+    public WeightedCucumberScenarios usingPartitioner(ScenarioPartitioner partitioner) {
+        return new WeightedCucumberScenarios(scenarios, partitioner);
+    }
+
     public SliceBuilder slice(int sliceNumber) {
         return new SliceBuilder(sliceNumber, this);
     }
 
+    /**
+     * Splits these scenarios into slices of similar total weight. The slices are only computed once for each slice count,
+     * and slices are themselves sliced using the same partitioner.
+     */
     public List<WeightedCucumberScenarios> sliceInto(int sliceCount) {
-        BigDecimal totalWeight = scenarios.stream().map(WeightedCucumberScenario::weighting).reduce(ZERO, BigDecimal::add);
-        BigDecimal averageWeightPerSlice = totalWeight.divide(new BigDecimal(sliceCount), 2, RoundingMode.HALF_UP);
-        LOGGER.debug("Total weighting for {} scenarios is {}, split across {} slices provides average weighting per slice of {}", scenarios.size(), totalWeight, sliceCount, averageWeightPerSlice);
-
-        List<List<WeightedCucumberScenario>> allScenarios = IntStream.rangeClosed(1, sliceCount).mapToObj(initialiseAs -> new ArrayList<WeightedCucumberScenario>()).collect(toList());
+        return slicesBySliceCount.computeIfAbsent(sliceCount, this::partitionInto);
+    }
 
-        scenarios.stream()
-            .sorted(bySlowestFirst())
-            .forEach(scenario -> allScenarios.stream().min(byLowestSumOfDurationFirst()).get().add(scenario));
+    private List<WeightedCucumberScenarios> partitionInto(int sliceCount) {
+        LOGGER.debug("Total weighting for {} scenarios is {}, split across {} slices provides average weighting per slice of {}",
+                     scenarios.size(), totalWeighting, sliceCount, totalWeighting.divide(new BigDecimal(sliceCount), 2, RoundingMode.HALF_UP));
 
-        return allScenarios.stream().map(WeightedCucumberScenarios::new).collect(toList());
+        return partitioner.partition(scenarios, sliceCount).stream()
+            .map(slice -> new WeightedCucumberScenarios(slice, partitioner))
+            .collect(toList());
     }
 
     public ScenarioFilter createFilterContainingScenariosIn(String featureName) {
@@ -72,8 +84,15 @@ public class WeightedCucumberScenarios {
 
     }
 
+    /**
+     * These scenarios, heaviest first. Scenarios of equal weight keep their original order.
+     */
+    public List<WeightedCucumberScenario> longestFirst() {
+        return scenarios.stream().sorted(Comparator.comparing(WeightedCucumberScenario::weighting).reversed()).collect(toList());
+    }
+
     public WeightedCucumberScenarios filter(Predicate<WeightedCucumberScenario> predicate) {
-        return new WeightedCucumberScenarios(scenarios.stream().filter(predicate).collect(toList()));
+        return new WeightedCucumberScenarios(scenarios.stream().filter(predicate).collect(toList()), partitioner);
     }
 
     @Override
@@ -91,15 +110,6 @@ public class WeightedCucumberScenarios {
         return ToStringBuilder.reflectionToString(this);
     }
 
-    private static Comparator<WeightedCucumberScenario> bySlowestFirst() {
-        return (item1, item2) -> compare(item2.weighting(), item1.weighting());
-    }
-
-    private static Comparator<List<WeightedCucumberScenario>> byLowestSumOfDurationFirst() {
-        return (item1, item2) -> compare(item1.stream().map(WeightedCucumberScenario::weighting).reduce(ZERO, BigDecimal::add),
-                                         item2.stream().map(WeightedCucumberScenario::weighting).reduce(ZERO, BigDecimal::add));
-    }
-
     public int totalScenarioCount() {
         return scenarios.stream().map(scenario -> scenario.scenarioCount).reduce(0, Integer::sum);
     }
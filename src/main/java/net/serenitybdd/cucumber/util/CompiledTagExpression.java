@@ -0,0 +1,152 @@
+package net.serenitybdd.cucumber.util;
+
+import io.cucumber.tagexpressions.TagExpressionParser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Cucumber tag expression compiled to evaluate against tag sets (see {@link TagDictionary}) rather than lists of tag names.
+ * Expressions are compiled once and cached, so evaluating the same expression against many scenarios only costs a few bit lookups per scenario.
+ * <p>
+ * Expressions are first parsed by Cucumber's TagExpressionParser, so invalid expressions are reported in exactly the same way,
+ * and are then compiled following the same operator precedence (not, then and, then or).
+ */
+public class CompiledTagExpression {
+
+    private static final Map<String, CompiledTagExpression> COMPILED_EXPRESSIONS = new ConcurrentHashMap<>();
+
+    private final String expression;
+    private final TagDictionary dictionary;
+    private final Node root;
+
+    private CompiledTagExpression(String expression, TagDictionary dictionary) {
+        this.expression = expression;
+        this.dictionary = dictionary;
+        new TagExpressionParser().parse(expression);
+        this.root = compile(tokenize(expression));
+    }
+
+    public static CompiledTagExpression compile(String expression) {
+        return COMPILED_EXPRESSIONS.computeIfAbsent(expression, infix -> new CompiledTagExpression(infix, TagDictionary.shared()));
+    }
+
+    public boolean evaluate(BitSet tagSet) {
+        return root.evaluate(tagSet);
+    }
+
+    public boolean evaluate(Collection<String> tagNames) {
+        return evaluate(dictionary.tagSetOf(tagNames));
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private interface Node {
+        boolean evaluate(BitSet tagSet);
+    }
+
+    private Node compile(List<String> tokens) {
+        Deque<String> operators = new ArrayDeque<>();
+        Deque<Node> operands = new ArrayDeque<>();
+        for (String token : tokens) {
+            if ("not".equals(token)) {
+                operators.push(token);
+            } else if ("and".equals(token) || "or".equals(token)) {
+                while (!operators.isEmpty() && isOperator(operators.peek()) && precedence(token) <= precedence(operators.peek())) {
+                    apply(operators.pop(), operands);
+                }
+                operators.push(token);
+            } else if ("(".equals(token)) {
+                operators.push(token);
+            } else if (")".equals(token)) {
+                while (!"(".equals(operators.peek())) {
+                    apply(operators.pop(), operands);
+                }
+                operators.pop();
+            } else {
+                int tagId = dictionary.idOf(token);
+                operands.push(tagSet -> tagSet.get(tagId));
+            }
+        }
+        while (!operators.isEmpty()) {
+            apply(operators.pop(), operands);
+        }
+        return operands.isEmpty() ? tagSet -> true : operands.pop();
+    }
+
+    private static boolean isOperator(String token) {
+        return "not".equals(token) || "and".equals(token) || "or".equals(token);
+    }
+
+    private static int precedence(String operator) {
+        switch (operator) {
+            case "or":
+                return 0;
+            case "and":
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    private static void apply(String operator, Deque<Node> operands) {
+        Node right = operands.pop();
+        if ("not".equals(operator)) {
+            operands.push(tagSet -> !right.evaluate(tagSet));
+            return;
+        }
+        Node left = operands.pop();
+        if ("and".equals(operator)) {
+            operands.push(tagSet -> left.evaluate(tagSet) && right.evaluate(tagSet));
+        } else {
+            operands.push(tagSet -> left.evaluate(tagSet) || right.evaluate(tagSet));
+        }
+    }
+
+    /**
+     * Splits an expression into tokens in the same way as Cucumber's TagExpressionParser: on whitespace and on parentheses,
+     * unless the parenthesis is escaped with a backslash.
+     */
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        boolean escaped = false;
+        StringBuilder token = null;
+        for (char c : expression.toCharArray()) {
+            if (c == '\\') {
+                escaped = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                if (token != null) {
+                    tokens.add(token.toString());
+                    token = null;
+                }
+            } else if ((c == '(' || c == ')') && !escaped) {
+                if (token != null) {
+                    tokens.add(token.toString());
+                    token = null;
+                }
+                tokens.add(String.valueOf(c));
+            } else {
+                if (token == null) {
+                    token = new StringBuilder();
+                }
+                token.append(c);
+            }
+            escaped = false;
+        }
+        if (token != null) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+}
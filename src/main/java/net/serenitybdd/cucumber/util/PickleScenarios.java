@@ -0,0 +1,42 @@
+package net.serenitybdd.cucumber.util;
+
+import gherkin.events.PickleEvent;
+import gherkin.pickles.PickleLocation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Finds the scenario (or scenario outline) that a pickle comes from. The pickles of a scenario outline are reported
+ * by Serenity as a single test, so they are grouped, run and recorded together.
+ */
+public final class PickleScenarios {
+
+    private PickleScenarios() {
+    }
+
+    /**
+     * The last location of a pickle is the line of its scenario, or of its scenario outline.
+     */
+    public static int scenarioLineOf(PickleEvent pickleEvent) {
+        List<PickleLocation> locations = pickleEvent.pickle.getLocations();
+        return locations.get(locations.size() - 1).getLine();
+    }
+
+    /**
+     * Groups pickles, or the runners of pickles, by feature and by the line of their scenario.
+     * Scenarios are kept in the order of their first pickle, and pickles keep their order within a scenario.
+     */
+    public static <T> List<List<T>> groupedByScenario(List<T> pickles, Function<T, PickleEvent> pickleEventOf) {
+        Map<String, List<T>> scenarios = new LinkedHashMap<>();
+        for (T pickle : pickles) {
+            PickleEvent pickleEvent = pickleEventOf.apply(pickle);
+            String scenarioKey = pickleEvent.uri + ":" + scenarioLineOf(pickleEvent);
+            scenarios.computeIfAbsent(scenarioKey, key -> new ArrayList<>()).add(pickle);
+        }
+        return new ArrayList<>(scenarios.values());
+    }
+}
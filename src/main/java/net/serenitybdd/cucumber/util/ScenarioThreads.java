@@ -0,0 +1,99 @@
+package net.serenitybdd.cucumber.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_SCENARIO_THREADS;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_VIRTUAL_THREADS;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_VIRTUAL_THREAD_LIMIT;
+
+/**
+ * The threads that scenarios run on when they are run in parallel: either a fixed number of platform threads,
+ * or (on Java 21 or later) up to a given number of virtual threads.
+ * <p>
+ * Cucumber keeps a runner, with its own backend and glue instances, for each thread that runs scenarios,
+ * so threads are reused from one scenario to the next rather than started for every scenario.
+ * Idle virtual threads are discarded, so the number of virtual threads in use follows the number of scenarios
+ * waiting to run.
+ */
+public class ScenarioThreads {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioThreads.class);
+
+    public static final int DEFAULT_VIRTUAL_THREAD_LIMIT = 256;
+
+    private final int platformThreads;
+    private final boolean virtualThreads;
+    private final int virtualThreadLimit;
+
+    ScenarioThreads(int platformThreads, boolean virtualThreads, int virtualThreadLimit) {
+        if (platformThreads < 1) {
+            throw new IllegalArgumentException("The number of scenario threads must be at least 1, but was " + platformThreads);
+        }
+        if (virtualThreadLimit < 1) {
+            throw new IllegalArgumentException("The virtual thread limit must be at least 1, but was " + virtualThreadLimit);
+        }
+        this.platformThreads = platformThreads;
+        this.virtualThreads = virtualThreads && virtualThreadsAreSupported(platformThreads);
+        this.virtualThreadLimit = virtualThreadLimit;
+    }
+
+    public static ScenarioThreads from(EnvironmentVariables environmentVariables) {
+        return new ScenarioThreads(SERENITY_CUCUMBER_SCENARIO_THREADS.integerFrom(environmentVariables, 1),
+                                   SERENITY_CUCUMBER_VIRTUAL_THREADS.booleanFrom(environmentVariables, false),
+                                   SERENITY_CUCUMBER_VIRTUAL_THREAD_LIMIT.integerFrom(environmentVariables, DEFAULT_VIRTUAL_THREAD_LIMIT));
+    }
+
+    private static boolean virtualThreadsAreSupported(int platformThreads) {
+        if (!VirtualThreads.areSupported()) {
+            LOGGER.warn("Virtual threads need Java 21 or later (running on Java {}): scenarios will run on {} platform thread(s)",
+                        System.getProperty("java.version"), platformThreads);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the scenarios of a test run should run at the same time as each other.
+     */
+    public boolean areParallel() {
+        return virtualThreads || platformThreads > 1;
+    }
+
+    public boolean areVirtual() {
+        return virtualThreads;
+    }
+
+    /**
+     * The maximum number of scenarios that can run at the same time.
+     */
+    public int concurrencyLimit() {
+        return virtualThreads ? virtualThreadLimit : platformThreads;
+    }
+
+    public ExecutorService newExecutor() {
+        if (virtualThreads) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(virtualThreadLimit, virtualThreadLimit,
+                                                                 1, TimeUnit.SECONDS,
+                                                                 new LinkedBlockingQueue<>(),
+                                                                 VirtualThreads.threadFactory("serenity-scenario-virtual-"));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+        return Executors.newFixedThreadPool(platformThreads,
+                                            new ThreadFactoryBuilder().setNameFormat("serenity-scenario-%d").setDaemon(true).build());
+    }
+
+    @Override
+    public String toString() {
+        return virtualThreads ? "up to " + virtualThreadLimit + " virtual threads" : platformThreads + " threads";
+    }
+}
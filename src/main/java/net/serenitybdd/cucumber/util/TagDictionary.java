@@ -0,0 +1,46 @@
+package net.serenitybdd.cucumber.util;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns a small, dense integer ID to every tag name it sees, so that a set of tags can be represented as a BitSet.
+ * A single dictionary is shared by the whole test run, so tag sets and compiled tag expressions built at different
+ * times can be compared with each other.
+ */
+public class TagDictionary {
+
+    private static final TagDictionary SHARED_DICTIONARY = new TagDictionary();
+
+    private final Map<String, Integer> tagIds = new ConcurrentHashMap<>();
+
+    public static TagDictionary shared() {
+        return SHARED_DICTIONARY;
+    }
+
+    public int idOf(String tagName) {
+        Integer tagId = tagIds.get(tagName);
+        return (tagId != null) ? tagId : intern(tagName);
+    }
+
+    private synchronized int intern(String tagName) {
+        return tagIds.computeIfAbsent(tagName, name -> tagIds.size());
+    }
+
+    /**
+     * The tag set containing the given tags. Tags not seen before are added to the dictionary.
+     */
+    public BitSet tagSetOf(Collection<String> tagNames) {
+        BitSet tagSet = new BitSet();
+        for (String tagName : tagNames) {
+            tagSet.set(idOf(tagName));
+        }
+        return tagSet;
+    }
+
+    public int size() {
+        return tagIds.size();
+    }
+}
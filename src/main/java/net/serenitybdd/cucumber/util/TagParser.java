@@ -18,12 +18,21 @@ import static java.util.stream.Collectors.toList;
 public class TagParser {
 
     public static Expression parseFromTagFilters(List<String> stringList) {
-        String combinedExpression = stringList.isEmpty() ? "" : stringList.stream()
+        return new TagExpressionParser().parse(combinedExpressionFrom(stringList));
+    }
+
+    /**
+     * Same as parseFromTagFilters, but returns a cached expression that can be evaluated against tag sets.
+     */
+    public static CompiledTagExpression compileFromTagFilters(List<String> stringList) {
+        return CompiledTagExpression.compile(combinedExpressionFrom(stringList));
+    }
+
+    private static String combinedExpressionFrom(List<String> stringList) {
+        return stringList.isEmpty() ? "" : stringList.stream()
             .filter(StringUtils::isNotEmpty)
             .map(tagExpression -> tagExpression.replace("~", "not "))
             .collect(joining(") and (", "(", ")"));
-
-        return new TagExpressionParser().parse(combinedExpression);
     }
 
     public static Collection<String> additionalTagsSuppliedFrom(EnvironmentVariables environmentVariables, List<String> existingTags) {
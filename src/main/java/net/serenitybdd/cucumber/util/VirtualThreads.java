@@ -0,0 +1,25 @@
+package net.serenitybdd.cucumber.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads on JVMs that support them.
+ * This is the implementation used before Java 21: the multi-release JAR built by Maven on JDK 21
+ * or later also contains a Java 21 version of this class (in src/main/java21) that creates real virtual threads.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean areSupported() {
+        return false;
+    }
+
+    /**
+     * A factory for virtual threads whose names start with the given prefix, followed by a counter.
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads need Java 21 or later (running on Java " + System.getProperty("java.version") + ")");
+    }
+}
@@ -0,0 +1,70 @@
+package net.serenitybdd.cucumber.webdriver;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The kind of browser session a scenario asks for: a driver, such as "chrome", and the driver options of its @driver-options tag.
+ * Only sessions with the same key are reused for each other.
+ */
+public final class DriverSessionKey {
+
+    private final String driver;
+    private final String options;
+
+    private DriverSessionKey(String driver, String options) {
+        this.driver = driver;
+        this.options = options;
+    }
+
+    public static DriverSessionKey of(String driver, String options) {
+        return new DriverSessionKey(driver.trim().toLowerCase(), (options == null) ? "" : options.trim());
+    }
+
+    /**
+     * The session asked for by the last @driver tag and the last @driver-options tag in the given tag names,
+     * if there is a @driver tag.
+     */
+    public static Optional<DriverSessionKey> requestedBy(Iterable<String> tagNames) {
+        String driver = null;
+        String options = null;
+        for (String tagName : tagNames) {
+            if (tagName.startsWith("@driver:")) {
+                driver = tagName.substring(8);
+            } else if (tagName.startsWith("@driver-options:")) {
+                options = tagName.substring(16);
+            }
+        }
+        return (driver == null || driver.trim().isEmpty()) ? Optional.empty() : Optional.of(of(driver, options));
+    }
+
+    public String getDriver() {
+        return driver;
+    }
+
+    public String getOptions() {
+        return options;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DriverSessionKey)) {
+            return false;
+        }
+        DriverSessionKey that = (DriverSessionKey) other;
+        return driver.equals(that.driver) && options.equals(that.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(driver, options);
+    }
+
+    @Override
+    public String toString() {
+        return options.isEmpty() ? driver : driver + "[" + options + "]";
+    }
+}
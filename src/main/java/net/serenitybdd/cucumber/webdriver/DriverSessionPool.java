@@ -0,0 +1,422 @@
+package net.serenitybdd.cucumber.webdriver;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.serenitybdd.cucumber.metrics.Counter;
+import net.serenitybdd.cucumber.metrics.RunMetrics;
+import net.serenitybdd.cucumber.util.ScenarioThreads;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.webdriver.ThucydidesWebDriverSupport;
+import net.thucydides.core.webdriver.WebDriverFactory;
+import org.apache.commons.lang3.ClassUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DRIVER_POOL;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DRIVER_POOL_PREWARM;
+import static net.serenitybdd.cucumber.CucumberSystemProperty.SERENITY_CUCUMBER_DRIVER_POOL_SIZE;
+
+/**
+ * Keeps browser sessions alive between scenarios, so that a scenario can reuse the session of an earlier scenario that asked
+ * for the same driver and driver options, rather than starting a new browser.
+ * <p>
+ * Serenity gets its sessions from the pool through the {@link PooledDriverSource}, as a provided driver, while the pool is active.
+ * A scenario that asks for the provided driver itself gets a session from the driver source configured before the pool
+ * replaced it, so projects with their own driver source can use the pool too. When Serenity quits
+ * a session at the end of a scenario, its cookies, local and session storage and extra windows are cleared, and it goes back
+ * to the pool. A session is checked to be still alive before it is reused, and at most a given number of live sessions are
+ * kept for each kind of session. The pool can also start the next session in the background while a scenario runs.
+ */
+public class DriverSessionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DriverSessionPool.class);
+
+    static final String PROVIDED_DRIVER_TYPE = "serenity-cucumber-pool";
+
+    private static final String CLEAR_STORAGE = "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private static final AtomicReference<DriverSessionPool> ACTIVE_POOL = new AtomicReference<>();
+
+    private final Function<DriverSessionKey, WebDriver> sessionFactory;
+    private final int maximumSessionsPerKey;
+    private final boolean preWarm;
+    private final RunMetrics runMetrics;
+    private final DriverSessionKey defaultSessionKey;
+    private final ThreadLocal<DriverSessionKey> requestedSession = new ThreadLocal<>();
+
+    private final Map<DriverSessionKey, Deque<WebDriver>> idleSessions = new HashMap<>();
+    private final Map<DriverSessionKey, Integer> liveSessions = new HashMap<>();
+    private final ExecutorService preWarmer;
+    private final ProvidedDriverOverride providedDriverOverride;
+    private boolean shutdown;
+
+    DriverSessionPool(Function<DriverSessionKey, WebDriver> sessionFactory, int maximumSessionsPerKey, boolean preWarm,
+                      DriverSessionKey defaultSessionKey, RunMetrics runMetrics) {
+        this(sessionFactory, maximumSessionsPerKey, preWarm, defaultSessionKey, runMetrics, null);
+    }
+
+    DriverSessionPool(Function<DriverSessionKey, WebDriver> sessionFactory, int maximumSessionsPerKey, boolean preWarm,
+                      DriverSessionKey defaultSessionKey, RunMetrics runMetrics, ProvidedDriverOverride providedDriverOverride) {
+        if (maximumSessionsPerKey < 1) {
+            throw new IllegalArgumentException("The driver pool must keep at least 1 session per driver, but was configured with " + maximumSessionsPerKey);
+        }
+        this.sessionFactory = sessionFactory;
+        this.maximumSessionsPerKey = maximumSessionsPerKey;
+        this.preWarm = preWarm;
+        this.defaultSessionKey = defaultSessionKey;
+        this.runMetrics = runMetrics;
+        this.providedDriverOverride = providedDriverOverride;
+        this.preWarmer = preWarm ? Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("serenity-driver-prewarm-%d").setDaemon(true).build())
+                                 : null;
+        runMetrics.gauge("serenity_cucumber_driver_pool_idle_sessions", "Browser sessions waiting in the driver pool to be reused", this::idleSessionCount);
+    }
+
+    /**
+     * A driver pool if serenity.cucumber.driver.pool is enabled. Once the pool is activated, Serenity is configured to get its drivers
+     * from the pool, as a provided driver. By default the pool keeps one session per scenario thread for each driver, and one more when pre-warming.
+     */
+    public static Optional<DriverSessionPool> configuredIn(EnvironmentVariables environmentVariables, Optional<RunMetrics> runMetrics) {
+        if (!SERENITY_CUCUMBER_DRIVER_POOL.booleanFrom(environmentVariables, false)) {
+            return Optional.empty();
+        }
+        boolean preWarm = SERENITY_CUCUMBER_DRIVER_POOL_PREWARM.booleanFrom(environmentVariables, false);
+        int defaultPoolSize = ScenarioThreads.from(environmentVariables).concurrencyLimit() + (preWarm ? 1 : 0);
+        int maximumSessionsPerKey = SERENITY_CUCUMBER_DRIVER_POOL_SIZE.integerFrom(environmentVariables, defaultPoolSize);
+        DriverSessionKey defaultSessionKey = DriverSessionKey.of(WebDriverFactory.getDriverFrom(environmentVariables), "");
+        ProvidedDriverOverride providedDriverOverride = new ProvidedDriverOverride(environmentVariables);
+
+        DriverSessionPool pool = new DriverSessionPool(new SerenityDriverSessions(environmentVariables, providedDriverOverride.originalDriverSource()),
+                                                       maximumSessionsPerKey, preWarm, defaultSessionKey, runMetrics.orElseGet(RunMetrics::new),
+                                                       providedDriverOverride);
+        LOGGER.info("Reusing browser sessions from a driver pool of up to {} session(s) per driver{}", maximumSessionsPerKey,
+                    preWarm ? ", starting the next session in the background" : "");
+        return Optional.of(pool);
+    }
+
+    /**
+     * The pool that the {@link PooledDriverSource} takes its sessions from, while a test run is in progress.
+     */
+    static Optional<DriverSessionPool> active() {
+        return Optional.ofNullable(ACTIVE_POOL.get());
+    }
+
+    public void activate() {
+        if (providedDriverOverride != null) {
+            providedDriverOverride.apply();
+        }
+        ACTIVE_POOL.set(this);
+    }
+
+    /**
+     * Makes the scenarios running on this thread use a session of the given driver, or of the configured driver if none is given.
+     */
+    public void useSessionFor(String requestedDriver, String requestedDriverOptions) {
+        requestedSession.set((requestedDriver == null || requestedDriver.trim().isEmpty()) ? defaultSessionKey
+                                                                                            : DriverSessionKey.of(requestedDriver, requestedDriverOptions));
+        ThucydidesWebDriverSupport.useDefaultDriver("provided");
+    }
+
+    WebDriver acquireRequestedSession() {
+        return acquire(Optional.ofNullable(requestedSession.get()).orElse(defaultSessionKey));
+    }
+
+    /**
+     * A session for the given key: a live idle one if there is one, or a new one if not.
+     * The session goes back to the pool when it is quit.
+     */
+    public WebDriver acquire(DriverSessionKey key) {
+        WebDriver session;
+        while ((session = takeIdleSession(key)) != null) {
+            if (isAlive(session)) {
+                requests(key, "hit").increment();
+                preWarmSessionFor(key);
+                return pooled(key, session);
+            }
+            discard(key, session, "unhealthy");
+        }
+        requests(key, "miss").increment();
+        reserveSessionFor(key);
+        try {
+            session = startSession(key);
+        } catch (RuntimeException e) {
+            releaseReservationFor(key);
+            throw e;
+        }
+        preWarmSessionFor(key);
+        return pooled(key, session);
+    }
+
+    private synchronized WebDriver takeIdleSession(DriverSessionKey key) {
+        Deque<WebDriver> sessions = idleSessions.get(key);
+        return (sessions == null) ? null : sessions.pollFirst();
+    }
+
+    private synchronized void reserveSessionFor(DriverSessionKey key) {
+        liveSessions.merge(key, 1, Integer::sum);
+    }
+
+    private synchronized void releaseReservationFor(DriverSessionKey key) {
+        liveSessions.merge(key, -1, Integer::sum);
+    }
+
+    private WebDriver startSession(DriverSessionKey key) {
+        long startTime = System.nanoTime();
+        WebDriver session = sessionFactory.apply(key);
+        runMetrics.histogram("serenity_cucumber_driver_startup_seconds", "Time taken to start a browser session", "driver", key.toString())
+                  .recordSince(startTime);
+        return session;
+    }
+
+    private void preWarmSessionFor(DriverSessionKey key) {
+        if (!preWarm) {
+            return;
+        }
+        synchronized (this) {
+            if (shutdown || liveSessions.getOrDefault(key, 0) >= maximumSessionsPerKey) {
+                return;
+            }
+            liveSessions.merge(key, 1, Integer::sum);
+        }
+        preWarmer.execute(() -> {
+            try {
+                WebDriver session = startSession(key);
+                if (!returnToPool(key, session)) {
+                    discard(key, session, "shutdown");
+                }
+            } catch (RuntimeException e) {
+                releaseReservationFor(key);
+                LOGGER.warn("Could not start a {} session in the background: {}", key, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Clears the session, then keeps it for the next scenario unless the pool already holds enough sessions of this kind.
+     */
+    void release(DriverSessionKey key, WebDriver session) {
+        if (!clear(session)) {
+            discard(key, session, "reset_failed");
+        } else if (!returnToPool(key, session)) {
+            discard(key, session, "pool_full");
+        }
+    }
+
+    private synchronized boolean returnToPool(DriverSessionKey key, WebDriver session) {
+        if (shutdown || liveSessions.getOrDefault(key, 0) > maximumSessionsPerKey) {
+            return false;
+        }
+        idleSessions.computeIfAbsent(key, newKey -> new ArrayDeque<>()).addLast(session);
+        return true;
+    }
+
+    private void discard(DriverSessionKey key, WebDriver session, String reason) {
+        releaseReservationFor(key);
+        runMetrics.counter("serenity_cucumber_driver_pool_discarded_sessions_total", "Browser sessions closed rather than kept in the driver pool",
+                           "driver", key.toString(), "reason", reason).increment();
+        quietlyQuit(session);
+    }
+
+    private static boolean isAlive(WebDriver session) {
+        try {
+            return !session.getWindowHandles().isEmpty();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean clear(WebDriver session) {
+        try {
+            Set<String> windowHandles = session.getWindowHandles();
+            Iterator<String> windows = windowHandles.iterator();
+            String firstWindow = windows.next();
+            while (windows.hasNext()) {
+                session.switchTo().window(windows.next()).close();
+            }
+            session.switchTo().window(firstWindow);
+            session.manage().deleteAllCookies();
+            if (session instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) session).executeScript(CLEAR_STORAGE);
+            }
+            session.navigate().to("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not clear a browser session for reuse: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void quietlyQuit(WebDriver session) {
+        try {
+            session.quit();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not quit a browser session: {}", e.getMessage());
+        }
+    }
+
+    private Counter requests(DriverSessionKey key, String result) {
+        return runMetrics.counter("serenity_cucumber_driver_pool_requests_total", "Browser sessions asked of the driver pool, by whether a live session could be reused",
+                                  "driver", key.toString(), "result", result);
+    }
+
+    private synchronized long idleSessionCount() {
+        return idleSessions.values().stream().mapToLong(Deque::size).sum();
+    }
+
+    /**
+     * Quits every idle session. Sessions still in use are quit when they are released.
+     */
+    public void shutdown() {
+        List<WebDriver> sessionsToQuit = new ArrayList<>();
+        synchronized (this) {
+            shutdown = true;
+            idleSessions.values().forEach(sessionsToQuit::addAll);
+            idleSessions.clear();
+            liveSessions.clear();
+        }
+        if (ACTIVE_POOL.compareAndSet(this, null) && providedDriverOverride != null) {
+            providedDriverOverride.restore();
+        }
+        if (preWarmer != null) {
+            preWarmer.shutdown();
+            try {
+                preWarmer.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sessionsToQuit.forEach(DriverSessionPool::quietlyQuit);
+    }
+
+    /**
+     * Makes the pooled driver source the provided driver while the pool is active, and puts back the provided driver that was
+     * configured before, if any, when it is shut down.
+     */
+    static class ProvidedDriverOverride {
+        private static final String PROVIDED_TYPE = ThucydidesSystemProperty.WEBDRIVER_PROVIDED_TYPE.getPropertyName();
+
+        private final EnvironmentVariables environmentVariables;
+        private final String originalProvidedType;
+        private final String originalPooledDriverSource;
+
+        ProvidedDriverOverride(EnvironmentVariables environmentVariables) {
+            this.environmentVariables = environmentVariables;
+            this.originalProvidedType = environmentVariables.getProperty(PROVIDED_TYPE);
+            this.originalPooledDriverSource = environmentVariables.getProperty(driverSourcePropertyFor(PROVIDED_DRIVER_TYPE));
+        }
+
+        /**
+         * The name of the driver source class of the provided driver configured before the pool, if there is one.
+         */
+        Optional<String> originalDriverSource() {
+            if (originalProvidedType == null || originalProvidedType.trim().isEmpty() || PROVIDED_DRIVER_TYPE.equals(originalProvidedType)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(environmentVariables.getProperty(driverSourcePropertyFor(originalProvidedType)));
+        }
+
+        void apply() {
+            environmentVariables.setProperty(PROVIDED_TYPE, PROVIDED_DRIVER_TYPE);
+            environmentVariables.setProperty(driverSourcePropertyFor(PROVIDED_DRIVER_TYPE), PooledDriverSource.class.getName());
+        }
+
+        void restore() {
+            restore(PROVIDED_TYPE, originalProvidedType);
+            restore(driverSourcePropertyFor(PROVIDED_DRIVER_TYPE), originalPooledDriverSource);
+        }
+
+        private void restore(String property, String originalValue) {
+            if (originalValue == null) {
+                environmentVariables.clearProperty(property);
+            } else {
+                environmentVariables.setProperty(property, originalValue);
+            }
+        }
+
+        private static String driverSourcePropertyFor(String providedType) {
+            return "webdriver.provided." + providedType;
+        }
+    }
+
+    private WebDriver pooled(DriverSessionKey key, WebDriver session) {
+        List<Class<?>> interfaces = ClassUtils.getAllInterfaces(session.getClass());
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), interfaces.toArray(new Class<?>[0]),
+                                                  new PooledSession(key, session));
+    }
+
+    /**
+     * Passes every call on to the pooled session, except quitting it, which returns it to the pool, and closing its last window.
+     */
+    private class PooledSession implements InvocationHandler {
+        private final DriverSessionKey key;
+        private final WebDriver session;
+        private boolean released;
+
+        PooledSession(DriverSessionKey key, WebDriver session) {
+            this.key = key;
+            this.session = session;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, method, args);
+            }
+            if (method.getParameterCount() == 0 && "quit".equals(method.getName())) {
+                releaseSession();
+                return null;
+            }
+            if (released) {
+                throw new WebDriverException("This " + key + " session has already been returned to the driver pool");
+            }
+            if (method.getParameterCount() == 0 && "close".equals(method.getName()) && session.getWindowHandles().size() <= 1) {
+                releaseSession();
+                return null;
+            }
+            try {
+                return method.invoke(session, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private synchronized void releaseSession() {
+            if (!released) {
+                released = true;
+                release(key, session);
+            }
+        }
+
+        private Object objectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "pooled " + session;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package net.serenitybdd.cucumber.webdriver;
+
+import net.thucydides.core.webdriver.DriverSource;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * The provided driver that Serenity uses in driver pool mode: each new driver is a session from the {@link DriverSessionPool}.
+ */
+public class PooledDriverSource implements DriverSource {
+
+    @Override
+    public WebDriver newDriver() {
+        return DriverSessionPool.active()
+                .orElseThrow(() -> new IllegalStateException("The driver pool is only available while a test run is in progress"))
+                .acquireRequestedSession();
+    }
+
+    @Override
+    public boolean takesScreenshots() {
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+package net.serenitybdd.cucumber.webdriver;
+
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.webdriver.DriverSource;
+import net.thucydides.core.webdriver.SupportedWebDriver;
+import net.thucydides.core.webdriver.WebDriverFacade;
+import net.thucydides.core.webdriver.WebDriverFactory;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Starts browser sessions in the same way as Serenity does for a driver and its options, using the configured capabilities.
+ * Sessions of the provided driver come from the driver source that was configured before the pool replaced it with its own.
+ */
+class SerenityDriverSessions implements Function<DriverSessionKey, WebDriver> {
+
+    private final EnvironmentVariables environmentVariables;
+    private final Optional<String> providedDriverSource;
+
+    SerenityDriverSessions(EnvironmentVariables environmentVariables, Optional<String> providedDriverSource) {
+        this.environmentVariables = environmentVariables;
+        this.providedDriverSource = providedDriverSource;
+    }
+
+    @Override
+    public WebDriver apply(DriverSessionKey key) {
+        if (SupportedWebDriver.PROVIDED.name().equalsIgnoreCase(key.getDriver())) {
+            return newProvidedSession();
+        }
+        WebDriverFactory webDriverFactory = new WebDriverFactory(environmentVariables);
+        Class<? extends WebDriver> driverClass = webDriverFactory.getClassFor(SupportedWebDriver.getDriverTypeFor(key.getDriver()));
+        return new WebDriverFacade(driverClass, webDriverFactory, environmentVariables).withOptions(key.getOptions()).getProxiedDriver();
+    }
+
+    private WebDriver newProvidedSession() {
+        String driverSourceClass = providedDriverSource.orElseThrow(() -> new IllegalStateException(
+                "The provided driver was requested, but no webdriver.provided.type and driver source class were configured"));
+        try {
+            DriverSource driverSource = (DriverSource) Class.forName(driverSourceClass, true, Thread.currentThread().getContextClassLoader()).newInstance();
+            return driverSource.newDriver();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Could not create the provided driver source " + driverSourceClass, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package net.serenitybdd.cucumber.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads on JVMs that support them.
+ * This is the Java 21 version of the class, packaged under META-INF/versions/21 in the multi-release JAR by the java21 Maven profile.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean areSupported() {
+        return true;
+    }
+
+    /**
+     * A factory for virtual threads whose names start with the given prefix, followed by a counter.
+     */
+    public static ThreadFactory threadFactory(String namePrefix) {
+        return Thread.ofVirtual().name(namePrefix, 0).factory();
+    }
+}
@@ -0,0 +1,133 @@
+package cucumber.runtime.formatter
+
+import cucumber.api.event.ConcurrentEventListener
+import cucumber.api.event.Event
+import cucumber.api.event.EventHandler
+import cucumber.api.event.EventPublisher
+import cucumber.api.event.TestCaseEvent
+import cucumber.api.event.TestCaseStarted
+import cucumber.api.event.TestRunFinished
+import cucumber.runner.TimeService
+import cucumber.runner.TimeServiceEventBus
+import cucumber.runtime.Env
+import cucumber.runtime.Runtime
+import cucumber.runtime.io.MultiLoader
+import io.cucumber.core.options.CucumberOptionsAnnotationParser
+import io.cucumber.core.options.EnvironmentOptionsParser
+import io.cucumber.core.options.RuntimeOptions
+import io.cucumber.junit.CucumberSerenityRunner
+import io.cucumber.junit.JUnitCucumberOptionsProvider
+import net.serenitybdd.cucumber.integration.BasicArithmeticScenario
+import net.thucydides.core.configuration.SystemPropertiesConfiguration
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class WhenHandlingReporterEventsFromSeveralThreads extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder
+
+    ExecutorService firstThread = Executors.newSingleThreadExecutor()
+    ExecutorService secondThread = Executors.newSingleThreadExecutor()
+
+    RuntimeOptions previousRuntimeOptions = CucumberSerenityRunner.currentRuntimeOptions()
+
+    def cleanup() {
+        firstThread.shutdown()
+        secondThread.shutdown()
+        CucumberSerenityRunner.setRuntimeOptions(previousRuntimeOptions)
+    }
+
+    /*
+    Feature: Basic Arithmetic
+
+      Background: A Calculator
+        Given a calculator I just turned on
+
+      Scenario: Addition
+        When I add 4 and 5
+        Then the result is 9
+
+      Scenario: Another Addition
+        When I add 4 and 7
+        Then the result is 11
+     */
+    def "events of test cases running at the same time should be recorded against their own test case"() {
+        given:
+        def events = eventsOfARunOf(BasicArithmeticScenario)
+        def testCases = events.findAll { it instanceof TestCaseStarted }.collect { it.testCase }
+        def addition = testCases.find { it.name == "Addition" }
+        def anotherAddition = testCases.find { it.name == "Another Addition" }
+
+        and:
+        def outputDirectory = temporaryFolder.newFolder()
+        def reporter = new SerenityReporter(configurationWithOutputIn(outputDirectory), new MultiLoader(getClass().classLoader))
+        reporter.recordScenariosIndependently()
+        def bus = new TimeServiceEventBus(TimeService.SYSTEM)
+        reporter.setEventPublisher(bus)
+
+        when: "each test case is started on one thread and its other events are published on the other, interleaved"
+        def eventsOf = { testCase -> events.findAll { it instanceof TestCaseEvent && it.testCase == testCase && !(it instanceof TestCaseStarted) } }
+        events.takeWhile { !(it instanceof TestCaseStarted) }.each { bus.send(it) }
+        publishOn(firstThread, bus, events.find { it instanceof TestCaseStarted && it.testCase == addition })
+        publishOn(secondThread, bus, events.find { it instanceof TestCaseStarted && it.testCase == anotherAddition })
+        [eventsOf(addition), eventsOf(anotherAddition)].transpose().each { additionEvent, anotherAdditionEvent ->
+            publishOn(secondThread, bus, additionEvent)
+            publishOn(firstThread, bus, anotherAdditionEvent)
+        }
+        bus.send(events.find { it instanceof TestRunFinished })
+
+        then:
+        outcomesIn(outputDirectory).collect { [it.name, it.result.toString(), it.testSteps*.description] } == [
+                ["Addition", "SUCCESS", ["Given a calculator I just turned on", "When I add 4 and 5", "Then the result is 9"]],
+                ["Another Addition", "SUCCESS", ["Given a calculator I just turned on", "When I add 4 and 7", "Then the result is 11"]]
+        ]
+    }
+
+    private static void publishOn(ExecutorService thread, TimeServiceEventBus bus, Event event) {
+        thread.submit({ bus.send(event) } as Runnable).get()
+    }
+
+    private List<Event> eventsOfARunOf(Class testClass) {
+        def resourceLoader = new MultiLoader(testClass.classLoader)
+        def annotationOptions = new CucumberOptionsAnnotationParser(resourceLoader)
+                .withOptionsProvider(new JUnitCucumberOptionsProvider())
+                .parse(testClass)
+                .build()
+        def runtimeOptions = new EnvironmentOptionsParser(resourceLoader).parse(Env.INSTANCE).build(annotationOptions)
+        CucumberSerenityRunner.setRuntimeOptions(runtimeOptions)
+        List<Event> events = []
+        def recorder = new ConcurrentEventListener() {
+            @Override
+            void setEventPublisher(EventPublisher publisher) {
+                publisher.registerHandlerFor(Event, { event -> events << event } as EventHandler)
+            }
+        }
+        Runtime.builder()
+                .withResourceLoader(resourceLoader)
+                .withClassLoader(testClass.classLoader)
+                .withRuntimeOptions(runtimeOptions)
+                .withAdditionalPlugins(recorder)
+                .build()
+                .run()
+        return events
+    }
+
+    private static SystemPropertiesConfiguration configurationWithOutputIn(File outputDirectory) {
+        def configuration = new SystemPropertiesConfiguration(new MockEnvironmentVariables())
+        configuration.setOutputDirectory(outputDirectory)
+        return configuration
+    }
+
+    private static List<TestOutcome> outcomesIn(File outputDirectory) {
+        new TestOutcomeLoader().forFormat(OutcomeFormat.JSON).loadFrom(outputDirectory).sort { it.name }
+    }
+}
@@ -0,0 +1,147 @@
+package cucumber.runtime.formatter
+
+import net.thucydides.core.model.TestOutcome
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.function.Consumer
+
+class WhenWritingFeatureReportsIncrementally extends Specification {
+
+    def completionTracker = new FeatureCompletionTracker()
+
+    def "a feature is finished when the last of its expected test cases has finished"() {
+        given:
+        completionTracker.expectTestCasesFor("features/widgets.feature", 3)
+
+        expect:
+        !completionTracker.testCaseFinishedIn("features/widgets.feature")
+        !completionTracker.testCaseFinishedIn("features/widgets.feature")
+        completionTracker.testCaseFinishedIn("features/widgets.feature")
+    }
+
+    def "a feature is only reported as finished once"() {
+        given:
+        completionTracker.expectTestCasesFor("features/widgets.feature", 1)
+
+        when:
+        def finishedTheFirstTime = completionTracker.testCaseFinishedIn("features/widgets.feature")
+        def finishedAgain = completionTracker.testCaseFinishedIn("features/widgets.feature")
+
+        then:
+        finishedTheFirstTime
+        !finishedAgain
+        !completionTracker.isTracking("features/widgets.feature")
+    }
+
+    def "a feature is finished exactly once when its test cases finish on different threads"() {
+        given:
+        def testCaseCount = 200
+        completionTracker.expectTestCasesFor("features/widgets.feature", testCaseCount)
+        def finishedFeatures = new CopyOnWriteArrayList<Integer>()
+        def start = new CountDownLatch(1)
+
+        when:
+        def threads = (1..testCaseCount).collect { testCase ->
+            Thread.start {
+                start.await()
+                if (completionTracker.testCaseFinishedIn("features/widgets.feature")) {
+                    finishedFeatures.add(testCase)
+                }
+            }
+        }
+        start.countDown()
+        threads*.join()
+
+        then:
+        finishedFeatures.size() == 1
+    }
+
+    def "a feature that never reaches its expected number of test cases is never finished"() {
+        given:
+        completionTracker.expectTestCasesFor("features/widgets.feature", 3)
+
+        when:
+        def finished = [completionTracker.testCaseFinishedIn("features/widgets.feature"),
+                        completionTracker.testCaseFinishedIn("features/widgets.feature")]
+
+        then: "its outcomes are left for the reports written at the end of the run"
+        finished == [false, false]
+        completionTracker.isTracking("features/widgets.feature")
+    }
+
+    def "features that were never announced are never finished"() {
+        expect:
+        !completionTracker.testCaseFinishedIn("features/gizmos.feature")
+        !completionTracker.isTracking("features/gizmos.feature")
+    }
+
+    def "the reports of a finished feature are written once, in the background"() {
+        given:
+        def writtenReports = new CopyOnWriteArrayList<List<TestOutcome>>()
+        def writerThreads = new CopyOnWriteArrayList<String>()
+        def reportWriter = new IncrementalReportWriter({ outcomes ->
+            writerThreads.add(Thread.currentThread().name)
+            writtenReports.add(outcomes)
+        } as Consumer, 2)
+        def testOutcomes = [new TestOutcome("A simple scenario")]
+
+        when:
+        reportWriter.writeReportsFor("features/widgets.feature", testOutcomes)
+        reportWriter.awaitCompletion()
+
+        then:
+        writtenReports == [testOutcomes]
+        writerThreads.every { it.startsWith("serenity-report-writer-") }
+        reportWriter.pendingReports() == 0
+    }
+
+    def "features without any test outcomes are not written"() {
+        given:
+        def writtenReports = new CopyOnWriteArrayList<List<TestOutcome>>()
+        def reportWriter = new IncrementalReportWriter({ outcomes -> writtenReports.add(outcomes) } as Consumer, 1)
+
+        when:
+        reportWriter.writeReportsFor("features/widgets.feature", [])
+        reportWriter.awaitCompletion()
+
+        then:
+        writtenReports.isEmpty()
+    }
+
+    def "the end of the run waits for every feature report to be written"() {
+        given:
+        def release = new CountDownLatch(1)
+        def writtenReports = new CopyOnWriteArrayList<List<TestOutcome>>()
+        def reportWriter = new IncrementalReportWriter({ outcomes ->
+            release.await(10, TimeUnit.SECONDS)
+            writtenReports.add(outcomes)
+        } as Consumer, 1)
+
+        when:
+        reportWriter.writeReportsFor("features/widgets.feature", [new TestOutcome("A simple scenario")])
+        reportWriter.writeReportsFor("features/gizmos.feature", [new TestOutcome("Another scenario")])
+        def pendingBeforeRelease = reportWriter.pendingReports()
+        release.countDown()
+        reportWriter.awaitCompletion()
+
+        then:
+        pendingBeforeRelease == 2
+        writtenReports*.get(0)*.name == ["A simple scenario", "Another scenario"]
+    }
+
+    def "a report that could not be written fails the end of the run"() {
+        given:
+        def reportWriter = new IncrementalReportWriter({ outcomes -> throw new UncheckedIOException(new IOException("Disk full")) } as Consumer, 1)
+        reportWriter.writeReportsFor("features/widgets.feature", [new TestOutcome("A simple scenario")])
+
+        when:
+        reportWriter.awaitCompletion()
+
+        then:
+        def failure = thrown(IllegalStateException)
+        failure.cause instanceof UncheckedIOException
+    }
+}
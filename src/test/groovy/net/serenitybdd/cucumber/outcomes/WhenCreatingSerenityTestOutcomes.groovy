@@ -416,6 +416,25 @@ Feature: A simple feature with tags
     }
 
 
+    def "the tags of a feature should only apply to the scenarios of that feature"() {
+        given:
+        def runtime = serenityRunnerForCucumberTestRunner(PassingAndPendingFeatures.class, outputDirectory);
+
+        when:
+        runtime.run();
+        def recordedTestOutcomes = new TestOutcomeLoader().forFormat(OutcomeFormat.JSON).loadFrom(outputDirectory).sort{it.name}
+
+        then:
+        recordedTestOutcomes.collect { it.name } == ["A simple scenario", "Simple scenario 1", "Simple scenario 2", "Simple scenario 3"]
+
+        and:
+        recordedTestOutcomes[0].result == TestResult.SUCCESS
+        recordedTestOutcomes[1].result == TestResult.PENDING
+        recordedTestOutcomes[2].result == TestResult.PENDING
+        recordedTestOutcomes[3].result == TestResult.PENDING
+    }
+
+
     def "individual scenarios with the @wip tag should be reported as Skipped"() {
         given:
         def runtime = serenityRunnerForCucumberTestRunner(ScenariosWithSkippedTag.class, outputDirectory);
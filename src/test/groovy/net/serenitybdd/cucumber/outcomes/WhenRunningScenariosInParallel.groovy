@@ -0,0 +1,102 @@
+package net.serenitybdd.cucumber.outcomes
+
+import net.serenitybdd.cucumber.cli.Main
+import net.serenitybdd.cucumber.integration.CalculatorScenarios
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.webdriver.Configuration
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.JUnitCore
+import spock.lang.Specification
+
+class WhenRunningScenariosInParallel extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder
+
+    Configuration configuration = Injectors.getInjector().getInstance(Configuration)
+    File originalOutputDirectory
+
+    def setup() {
+        originalOutputDirectory = configuration.outputDirectory
+    }
+
+    def cleanup() {
+        configuration.environmentVariables.clearProperty("serenity.cucumber.scenario.threads")
+        configuration.setOutputDirectory(originalOutputDirectory)
+    }
+
+    /*
+    The calculator features include a scenario outline with two example tables and a background,
+    as well as several plain scenarios in the same feature.
+     */
+    def "scenarios run on several threads should be reported as they are when they run one at a time"() {
+        given:
+        def serialOutputDirectory = temporaryFolder.newFolder("serial")
+        def parallelOutputDirectory = temporaryFolder.newFolder("parallel")
+
+        when:
+        runCalculatorScenarios("1", serialOutputDirectory)
+        runCalculatorScenarios("4", parallelOutputDirectory)
+        def serialOutcomes = outcomesIn(serialOutputDirectory)
+        def parallelOutcomes = outcomesIn(parallelOutputDirectory)
+
+        then:
+        parallelOutcomes.size() == serialOutcomes.size()
+        parallelOutcomes.collect { summaryOf(it) } == serialOutcomes.collect { summaryOf(it) }
+
+        and:
+        def outlineWithBackground = parallelOutcomes.find { it.userStory.name == "Basic Arithmetic with more complex tables" }
+        outlineWithBackground.dataTable.rows.collect { it.stringValues } == [["1", "2", "8"], ["2", "3", "10"], ["10", "20", "35"], ["20", "30", "55"], ["25", "35", "65"]]
+        outlineWithBackground.testSteps.size() == 5
+    }
+
+    def "scenarios run on several threads from the command line should be reported as they are when they run one at a time"() {
+        given:
+        def serialOutputDirectory = temporaryFolder.newFolder("serial")
+        def parallelOutputDirectory = temporaryFolder.newFolder("parallel")
+
+        when:
+        def serialExitStatus = runCalculatorScenariosFromTheCommandLine("1", serialOutputDirectory)
+        def parallelExitStatus = runCalculatorScenariosFromTheCommandLine("4", parallelOutputDirectory)
+        def serialOutcomes = outcomesIn(serialOutputDirectory)
+        def parallelOutcomes = outcomesIn(parallelOutputDirectory)
+
+        then:
+        parallelExitStatus == serialExitStatus
+        parallelOutcomes.size() == serialOutcomes.size()
+        parallelOutcomes.collect { summaryOf(it) } == serialOutcomes.collect { summaryOf(it) }
+
+        and:
+        def outlineWithBackground = parallelOutcomes.find { it.userStory.name == "Basic Arithmetic with more complex tables" }
+        outlineWithBackground.dataTable.rows.size() == 5
+    }
+
+    private void runCalculatorScenarios(String scenarioThreads, File outputDirectory) {
+        configuration.environmentVariables.setProperty("serenity.cucumber.scenario.threads", scenarioThreads)
+        configuration.setOutputDirectory(outputDirectory)
+        new JUnitCore().run(CalculatorScenarios)
+    }
+
+    private byte runCalculatorScenariosFromTheCommandLine(String scenarioThreads, File outputDirectory) {
+        configuration.environmentVariables.setProperty("serenity.cucumber.scenario.threads", scenarioThreads)
+        configuration.setOutputDirectory(outputDirectory)
+        String[] arguments = ["--glue", "classpath:net/serenitybdd/cucumber/integration", "src/test/resources/samples/calculator"]
+        Main.run(arguments, getClass().classLoader)
+    }
+
+    private static List<TestOutcome> outcomesIn(File outputDirectory) {
+        new TestOutcomeLoader().forFormat(OutcomeFormat.JSON).loadFrom(outputDirectory).sort { it.userStory.name + ":" + it.name }
+    }
+
+    private static List summaryOf(TestOutcome outcome) {
+        [outcome.userStory.name,
+         outcome.name,
+         outcome.result,
+         outcome.flattenedTestSteps.collect { step -> [step.description, step.result] },
+         outcome.dataTable?.rows?.collect { row -> [row.stringValues, row.result] }]
+    }
+}
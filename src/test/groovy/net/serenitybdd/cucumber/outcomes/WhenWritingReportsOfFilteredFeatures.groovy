@@ -0,0 +1,99 @@
+package net.serenitybdd.cucumber.outcomes
+
+import net.serenitybdd.cucumber.integration.CalculatorScenarios
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.webdriver.Configuration
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.Description
+import org.junit.runner.JUnitCore
+import org.junit.runner.Request
+import org.junit.runner.manipulation.Filter
+import org.junit.runner.notification.RunListener
+import spock.lang.Specification
+
+class WhenWritingReportsOfFilteredFeatures extends Specification {
+
+    @Rule
+    TemporaryFolder temporaryFolder
+
+    Configuration configuration = Injectors.getInjector().getInstance(Configuration)
+    File originalOutputDirectory
+
+    def setup() {
+        originalOutputDirectory = configuration.outputDirectory
+    }
+
+    def cleanup() {
+        configuration.environmentVariables.clearProperty("serenity.cucumber.incremental.reporting")
+        configuration.setOutputDirectory(originalOutputDirectory)
+    }
+
+    /*
+    Feature: Basic Arithmetic, the first of the calculator features, has two scenarios: Addition and Another Addition.
+    Only Addition is left to run, so the feature is finished as soon as Addition has finished.
+     */
+    def "the report of a feature with filtered out scenarios should be written before the end of the run"() {
+        given:
+        def outputDirectory = temporaryFolder.newFolder()
+        configuration.environmentVariables.setProperty("serenity.cucumber.incremental.reporting", "true")
+        configuration.setOutputDirectory(outputDirectory)
+
+        and:
+        List<String> reportedBeforeTheNextFeature = null
+        def junit = new JUnitCore()
+        junit.addListener(new RunListener() {
+            @Override
+            void testStarted(Description description) {
+                if (reportedBeforeTheNextFeature == null && description.displayName.startsWith("Many additions")) {
+                    reportedBeforeTheNextFeature = scenariosReportedIn(outputDirectory, "Addition")
+                }
+            }
+        })
+
+        when:
+        junit.run(Request.aClass(CalculatorScenarios).filterWith(withoutScenario("Another Addition")))
+
+        then:
+        reportedBeforeTheNextFeature == ["Addition"]
+    }
+
+    private static Filter withoutScenario(String scenarioName) {
+        new Filter() {
+            @Override
+            boolean shouldRun(Description description) {
+                !description.isTest() || !description.displayName.startsWith(scenarioName + "(")
+            }
+
+            @Override
+            String describe() {
+                "without " + scenarioName
+            }
+        }
+    }
+
+    /**
+     * Feature reports are written in the background, so give the report of the finished feature a little time to appear.
+     */
+    private static List<String> scenariosReportedIn(File outputDirectory, String expectedScenario) {
+        List<String> reportedScenarios = []
+        for (int attempt = 0; attempt < 100 && !reportedScenarios.contains(expectedScenario); attempt++) {
+            reportedScenarios = outcomesIn(outputDirectory)*.name
+            if (!reportedScenarios.contains(expectedScenario)) {
+                sleep(100)
+            }
+        }
+        return reportedScenarios
+    }
+
+    private static List<TestOutcome> outcomesIn(File outputDirectory) {
+        try {
+            return new TestOutcomeLoader().forFormat(OutcomeFormat.JSON).loadFrom(outputDirectory)
+        } catch (Exception reportStillBeingWritten) {
+            return []
+        }
+    }
+}
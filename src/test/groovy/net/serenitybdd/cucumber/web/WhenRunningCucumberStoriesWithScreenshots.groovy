@@ -1,12 +1,16 @@
 package net.serenitybdd.cucumber.web
 
 
+import net.serenitybdd.core.environment.WebDriverConfiguredEnvironment
 import net.thucydides.core.model.TestOutcome
 import net.thucydides.core.model.TestStep;
 import net.thucydides.core.reports.OutcomeFormat;
 import net.thucydides.core.reports.TestOutcomeLoader;
 import net.thucydides.core.util.MockEnvironmentVariables
+import net.thucydides.core.webdriver.ThucydidesWebDriverSupport
 import net.serenitybdd.cucumber.integration.PassingWebTestSampleWithNestedSteps
+import net.serenitybdd.cucumber.integration.ScreenshottingDriverSource
+import net.serenitybdd.cucumber.integration.SimpleProvidedDriverScenarios
 import net.serenitybdd.cucumber.integration.SimpleSeleniumFailingAndPassingScenario
 import net.serenitybdd.cucumber.integration.SimpleSeleniumSeveralScenarios
 import org.junit.Rule
@@ -92,6 +96,32 @@ public class WhenRunningCucumberStoriesWithScreenshots extends Specification {
 
     }
 
+    def "web tests should take screenshots when feature reports are written in the background"() {
+
+        given:
+        environmentVariables.setProperty("webdriver.driver", "provided")
+        def webdriverEnvironment = WebDriverConfiguredEnvironment.driverConfiguration.environmentVariables
+        webdriverEnvironment.setProperty("webdriver.provided.type", "screenshotting")
+        webdriverEnvironment.setProperty("webdriver.provided.screenshotting", ScreenshottingDriverSource.name)
+        ThucydidesWebDriverSupport.reset()
+        environmentVariables.setProperty("serenity.take.screenshots", "AFTER_EACH_STEP")
+        environmentVariables.setProperty("serenity.cucumber.incremental.reporting", "true")
+        def runtime = serenityRunnerForCucumberTestRunner(SimpleProvidedDriverScenarios, outputDirectory, environmentVariables);
+
+        when:
+        runtime.run();
+        def recordedTestOutcomes = new TestOutcomeLoader().forFormat(OutcomeFormat.JSON).loadFrom(outputDirectory).sort { it.name };
+
+        then:
+        recordedTestOutcomes.size() == 2
+        recordedTestOutcomes.every { outcome -> outcome.testSteps.every { step -> step.screenshots.size() > 0 } }
+
+        cleanup:
+        webdriverEnvironment.clearProperty("webdriver.provided.type")
+        webdriverEnvironment.clearProperty("webdriver.provided.screenshotting")
+        ThucydidesWebDriverSupport.reset()
+    }
+
     protected TestStep givenStepIn(List<TestOutcome> outcomes) {
         return givenStepIn(outcomes,0);
     }
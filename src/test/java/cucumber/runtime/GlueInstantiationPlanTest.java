@@ -0,0 +1,59 @@
+package cucumber.runtime;
+
+import net.thucydides.core.pages.Pages;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GlueInstantiationPlanTest {
+
+    public static class PlainSteps {
+    }
+
+    public static class PageEnabledSteps {
+        final Pages pages;
+
+        public PageEnabledSteps() {
+            this(null);
+        }
+
+        public PageEnabledSteps(Pages pages) {
+            this.pages = pages;
+        }
+    }
+
+    public static class StepsWithoutUsableConstructor {
+        public StepsWithoutUsableConstructor(String name) {
+        }
+    }
+
+    @Test
+    public void theEmptyConstructorShouldBeUsedWhenThereIsNoPageEnabledOne() throws Throwable {
+        GlueInstantiationPlan plan = GlueInstantiationPlan.forClass(PlainSteps.class);
+
+        assertThat(plan.isPageEnabled(), is(false));
+        assertThat(plan.newInstance(), instanceOf(PlainSteps.class));
+    }
+
+    @Test
+    public void thePageEnabledConstructorShouldBePreferred() throws Throwable {
+        GlueInstantiationPlan plan = GlueInstantiationPlan.forClass(PageEnabledSteps.class);
+        Pages pages = new Pages();
+
+        assertThat(plan.isPageEnabled(), is(true));
+        assertThat(((PageEnabledSteps) plan.newInstance(pages)).pages, sameInstance(pages));
+    }
+
+    @Test
+    public void thePlanOfAClassShouldOnlyBeWorkedOutOnce() {
+        assertThat(GlueInstantiationPlan.forClass(PlainSteps.class), sameInstance(GlueInstantiationPlan.forClass(PlainSteps.class)));
+    }
+
+    @Test(expected = CucumberException.class)
+    public void classesWithoutAnEmptyOrAPageEnabledConstructorCannotBeInstantiated() {
+        GlueInstantiationPlan.forClass(StepsWithoutUsableConstructor.class);
+    }
+}
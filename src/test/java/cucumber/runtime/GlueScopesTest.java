@@ -0,0 +1,120 @@
+package cucumber.runtime;
+
+import net.serenitybdd.cucumber.FeatureScoped;
+import net.serenitybdd.cucumber.RunScoped;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GlueScopesTest {
+
+    public static class ScenarioSteps {
+    }
+
+    @FeatureScoped
+    public static class ApiClient implements AutoCloseable {
+        boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @RunScoped
+    public static class ConnectionPool extends ApiClient {
+    }
+
+    public static class SchemaSteps extends ApiClient {
+    }
+
+    private final GlueScopes glueScopes = new GlueScopes(new MockEnvironmentVariables());
+
+    private <T> Function<Class<T>, T> newInstance() {
+        return type -> {
+            try {
+                return type.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    @Test
+    public void glueShouldBeCreatedForEachScenarioByDefault() {
+        glueScopes.testRunStarted();
+        glueScopes.testCaseStarted("search.feature");
+
+        assertThat(glueScopes.instanceOf(ScenarioSteps.class, newInstance()), not(sameInstance(glueScopes.instanceOf(ScenarioSteps.class, newInstance()))));
+    }
+
+    @Test
+    public void featureScopedGlueShouldBeSharedByTheScenariosOfAFeatureAndClosedAfterTheLastOne() {
+        glueScopes.testRunStarted();
+        glueScopes.expectTestCasesFor("search.feature", 2);
+
+        glueScopes.testCaseStarted("search.feature");
+        ApiClient firstScenarioClient = glueScopes.instanceOf(ApiClient.class, newInstance());
+        glueScopes.testCaseFinished("search.feature");
+        glueScopes.testCaseStarted("search.feature");
+        ApiClient secondScenarioClient = glueScopes.instanceOf(ApiClient.class, newInstance());
+
+        assertThat(secondScenarioClient, sameInstance(firstScenarioClient));
+        assertThat(firstScenarioClient.closed, is(false));
+
+        glueScopes.testCaseFinished("search.feature");
+
+        assertThat(firstScenarioClient.closed, is(true));
+    }
+
+    @Test
+    public void featureScopedGlueOfAFeatureWithNoExpectedTestCasesShouldBeClosedWhenAnotherFeatureStarts() {
+        glueScopes.testRunStarted();
+
+        glueScopes.testCaseStarted("search.feature");
+        ApiClient searchClient = glueScopes.instanceOf(ApiClient.class, newInstance());
+        glueScopes.testCaseFinished("search.feature");
+        glueScopes.testCaseStarted("checkout.feature");
+
+        assertThat(searchClient.closed, is(true));
+        assertThat(glueScopes.instanceOf(ApiClient.class, newInstance()), not(sameInstance(searchClient)));
+    }
+
+    @Test
+    public void runScopedGlueShouldBeSharedByEveryFeatureAndClosedAtTheEndOfTheRun() {
+        glueScopes.testRunStarted();
+
+        glueScopes.testCaseStarted("search.feature");
+        ConnectionPool searchPool = glueScopes.instanceOf(ConnectionPool.class, newInstance());
+        glueScopes.testCaseFinished("search.feature");
+        glueScopes.testCaseStarted("checkout.feature");
+        ConnectionPool checkoutPool = glueScopes.instanceOf(ConnectionPool.class, newInstance());
+        glueScopes.testCaseFinished("checkout.feature");
+
+        assertThat(checkoutPool, sameInstance(searchPool));
+        assertThat(searchPool.closed, is(false));
+
+        glueScopes.testRunFinished();
+
+        assertThat(searchPool.closed, is(true));
+    }
+
+    @Test
+    public void glueCanBeScopedInTheConfiguration() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.run.scoped.glue", SchemaSteps.class.getName());
+
+        assertThat(new GlueScopes(environmentVariables).scopeOf(SchemaSteps.class), is(GlueScopes.Scope.RUN));
+    }
+
+    @Test
+    public void scopedGlueShouldBeCreatedForEachUseOutsideATestRun() {
+        assertThat(glueScopes.instanceOf(ConnectionPool.class, newInstance()), not(sameInstance(glueScopes.instanceOf(ConnectionPool.class, newInstance()))));
+    }
+}
@@ -0,0 +1,90 @@
+package cucumber.runtime;
+
+import net.serenitybdd.cucumber.FeatureScoped;
+import net.serenitybdd.cucumber.RunScoped;
+import net.thucydides.core.annotations.Steps;
+import net.thucydides.core.pages.Pages;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SerenityObjectFactoryTest {
+
+    public static class ScenarioSteps {
+        @Steps
+        SearchSteps searchSteps;
+
+        WebDriver driver;
+    }
+
+    public static class SearchSteps {
+    }
+
+    @FeatureScoped
+    public static class ApiClient {
+    }
+
+    @FeatureScoped
+    public static class FeatureScopedSteps {
+        @Steps
+        SearchSteps searchSteps;
+    }
+
+    @RunScoped
+    public static class RunScopedBrowser {
+        WebDriver driver;
+    }
+
+    @RunScoped
+    public static class InheritedBrowser extends RunScopedBrowser {
+    }
+
+    @FeatureScoped
+    public static class PageEnabledSteps {
+        public PageEnabledSteps(Pages pages) {
+        }
+    }
+
+    private final SerenityObjectFactory objectFactory = new SerenityObjectFactory();
+
+    @Test
+    public void scenarioScopedGlueCanHaveScenarioFields() {
+        assertThat(objectFactory.addClass(ScenarioSteps.class), is(true));
+    }
+
+    @Test
+    public void scopedGlueWithoutScenarioFieldsCanBeShared() {
+        assertThat(objectFactory.addClass(ApiClient.class), is(true));
+    }
+
+    @Test
+    public void scopedGlueShouldNotHaveStepLibraries() {
+        assertThat(errorAdding(FeatureScopedSteps.class),
+                   containsString("FeatureScopedSteps is feature scoped glue, shared by several scenarios, but its searchSteps field"));
+    }
+
+    @Test
+    public void scopedGlueShouldNotHaveADriver() {
+        assertThat(errorAdding(RunScopedBrowser.class), containsString("RunScopedBrowser is run scoped glue"));
+        assertThat(errorAdding(InheritedBrowser.class), containsString("its driver field"));
+    }
+
+    @Test
+    public void scopedGlueShouldNotHaveAPageEnabledConstructor() {
+        assertThat(errorAdding(PageEnabledSteps.class), containsString("its constructor takes the Pages of a single scenario"));
+    }
+
+    private String errorAdding(Class<?> glueClass) {
+        try {
+            objectFactory.addClass(glueClass);
+            fail("Expected " + glueClass.getSimpleName() + " to be refused");
+            return null;
+        } catch (CucumberException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package cucumber.runtime.formatter;
+
+import gherkin.ast.Location;
+import gherkin.ast.TableCell;
+import gherkin.ast.TableRow;
+import gherkin.ast.Tag;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ExamplesTableTest {
+
+    private final List<Tag> tags = singletonList(new Tag(new Location(10, 3), "@smoke"));
+
+    @Test
+    public void rowsShouldBeFoundByTheirLineNumber() {
+        ExamplesTable examplesTable = ExamplesTable.from(row(11, "a", "b", "sum"), asList(row(12, "1", "2", "3"), row(14, "2", "3", "5")), tags);
+
+        assertThat(examplesTable.size(), is(2));
+        assertThat(examplesTable.rowAt(14), is(1));
+        assertThat(examplesTable.rowAt(13), is(-1));
+        assertThat(examplesTable.lineNumberOf(0), is(12));
+        assertThat(examplesTable.valuesOf(1), contains("2", "3", "5"));
+        assertThat(examplesTable.getTags(), is(tags));
+    }
+
+    @Test
+    public void aRowShouldReadAsAMapFromHeaderToValueInTheOrderOfTheHeaders() {
+        ExamplesTable examplesTable = ExamplesTable.from(row(11, "a", "b", "sum"), asList(row(12, "1", "2", "3")), tags);
+        Map<String, String> expectedRow = new LinkedHashMap<>();
+        expectedRow.put("a", "1");
+        expectedRow.put("b", "2");
+        expectedRow.put("sum", "3");
+
+        Map<String, String> row = examplesTable.row(0);
+
+        assertThat(row, is(expectedRow));
+        assertThat(new ArrayList<>(row.keySet()), contains("a", "b", "sum"));
+        assertThat(row.get("sum"), is("3"));
+        assertThat(row.hashCode(), is(expectedRow.hashCode()));
+    }
+
+    @Test
+    public void aRepeatedHeaderShouldTakeTheValueOfItsLastColumn() {
+        ExamplesTable examplesTable = ExamplesTable.from(row(11, "a", "b", "a"), asList(row(12, "1", "2", "3")), tags);
+        Map<String, String> expectedRow = new LinkedHashMap<>();
+        expectedRow.put("a", "1");
+        expectedRow.put("b", "2");
+        expectedRow.put("a", "3");
+
+        assertThat(examplesTable.row(0), is(expectedRow));
+        assertThat(examplesTable.valuesOf(0), contains("1", "2", "3"));
+    }
+
+    @Test
+    public void headersShouldBeSharedBetweenTables() {
+        ExamplesTable firstTable = ExamplesTable.from(row(11, new String("amount")), asList(row(12, "1")), tags);
+        ExamplesTable secondTable = ExamplesTable.from(row(21, new String("amount")), asList(row(22, "2")), tags);
+
+        assertThat(firstTable.getHeaders().get(0), is(sameInstance(secondTable.getHeaders().get(0))));
+    }
+
+    @Test
+    public void lineNumbersShouldBeGivenByRowIndexForSerenityDataTables() {
+        ExamplesTable examplesTable = ExamplesTable.from(row(11, "a"), asList(row(12, "1"), row(13, "2")), tags);
+
+        assertThat(examplesTable.lineNumbersOfEachRow().get(0), is(12));
+        assertThat(examplesTable.lineNumbersOfEachRow().get(1), is(13));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rowsShouldBeReadOnly() {
+        ExamplesTable.from(row(11, "a"), asList(row(12, "1")), tags).row(0).put("a", "2");
+    }
+
+    private static TableRow row(int line, String... values) {
+        List<TableCell> cells = new ArrayList<>();
+        for (int column = 0; column < values.length; column++) {
+            cells.add(new TableCell(new Location(line, 7 + column * 4), values[column]));
+        }
+        return new TableRow(new Location(line, 5), cells);
+    }
+}
@@ -0,0 +1,73 @@
+package io.cucumber.junit;
+
+import cucumber.runtime.filter.Filters;
+import cucumber.runtime.model.CucumberFeature;
+import io.cucumber.core.options.RuntimeOptions;
+import net.serenitybdd.cucumber.model.FeatureCache;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+
+import java.net.URI;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+public class ParallelScenarioExecutionTest {
+
+    private static final String FEATURE =
+        "Feature: Parallel scenarios\n" +
+        "\n" +
+        "  Scenario: First scenario\n" +
+        "    Given a step\n" +
+        "\n" +
+        "  Scenario Outline: An outline\n" +
+        "    Given a step with <value>\n" +
+        "    Examples:\n" +
+        "      | value |\n" +
+        "      | 1     |\n" +
+        "      | 2     |\n" +
+        "      | 3     |\n" +
+        "\n" +
+        "  Scenario: Last scenario\n" +
+        "    Given a step\n";
+
+    @Test
+    public void eachScenarioShouldBeRunSeparatelyWithTheExamplesOfAnOutlineKeptTogether() throws Exception {
+        FeatureRunner featureRunner = featureRunnerFor(FEATURE);
+
+        List<Integer> scenarioSizes = ParallelScenarioExecution.scenariosIn(singletonList(featureRunner))
+            .stream().map(List::size).collect(toList());
+
+        assertThat(scenarioSizes, contains(1, 3, 1));
+    }
+
+    @Test
+    public void scenariosRemovedByAJUnitFilterShouldNotBeRun() throws Exception {
+        FeatureRunner featureRunner = featureRunnerFor(FEATURE);
+        featureRunner.filter(new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                return !description.getDisplayName().startsWith("First scenario");
+            }
+
+            @Override
+            public String describe() {
+                return "all but the first scenario";
+            }
+        });
+
+        List<Integer> scenarioSizes = ParallelScenarioExecution.scenariosIn(singletonList(featureRunner))
+            .stream().map(List::size).collect(toList());
+
+        assertThat(scenarioSizes, contains(3, 1));
+    }
+
+    private FeatureRunner featureRunnerFor(String source) throws Exception {
+        CucumberFeature feature = new FeatureCache().featureFrom(URI.create("file:/parallel/parallel.feature"), source);
+        return new FeatureRunner(feature, new Filters(RuntimeOptions.defaultOptions()), null, new JUnitOptionsBuilder().build());
+    }
+}
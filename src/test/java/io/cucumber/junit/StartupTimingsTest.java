@@ -0,0 +1,75 @@
+package io.cucumber.junit;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.serenitybdd.cucumber.metrics.RunMetrics;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StartupTimingsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void theTimingsOfEachPhaseShouldBeWrittenToTheOutputDirectory() throws IOException {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.outputDirectory", temporaryFolder.getRoot().getAbsolutePath());
+        StartupTimings startupTimings = StartupTimings.startingNow("samples.RunTests");
+        startupTimings.finished("injector");
+        startupTimings.finished("features");
+        startupTimings.finished("junit");
+        startupTimings.finished("slicing");
+        startupTimings.finished("junit");
+
+        startupTimings.report(environmentVariables, Optional.empty());
+
+        JsonObject timings = timingsIn(temporaryFolder.getRoot().toPath().resolve("cucumber-startup-samples.RunTests.json"));
+        assertThat(timings.get("runner").getAsString(), is("samples.RunTests"));
+        assertThat(phasesIn(timings), contains("injector", "features", "junit", "slicing"));
+    }
+
+    @Test
+    public void eachForkShouldWriteItsOwnTimingsAndRecordThemInTheRunMetrics() throws IOException {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.outputDirectory", temporaryFolder.getRoot().getAbsolutePath());
+        environmentVariables.setProperty("serenity.fork.count", "2");
+        environmentVariables.setProperty("serenity.fork.number", "2");
+        RunMetrics runMetrics = new RunMetrics();
+        StartupTimings startupTimings = StartupTimings.startingNow("samples.RunTests");
+        startupTimings.finished("glue");
+
+        startupTimings.report(environmentVariables, Optional.of(runMetrics));
+        startupTimings.finished("after the startup");
+
+        JsonObject timings = timingsIn(temporaryFolder.getRoot().toPath().resolve("cucumber-startup-samples.RunTests-batch-1-fork-2.json"));
+        assertThat(phasesIn(timings), contains("glue"));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_startup_seconds_count{phase=\"glue\"}"), is(1.0));
+    }
+
+    private JsonObject timingsIn(Path timingsFile) throws IOException {
+        return new JsonParser().parse(new String(Files.readAllBytes(timingsFile), StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    private List<String> phasesIn(JsonObject timings) {
+        List<String> phases = new ArrayList<>();
+        JsonArray phaseTimings = timings.getAsJsonArray("phases");
+        phaseTimings.forEach(phase -> phases.add(phase.getAsJsonObject().get("phase").getAsString()));
+        return phases;
+    }
+}
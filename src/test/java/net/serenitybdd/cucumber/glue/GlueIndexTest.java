@@ -0,0 +1,153 @@
+package net.serenitybdd.cucumber.glue;
+
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.Resource;
+import cucumber.runtime.io.ResourceLoader;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GlueIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void theProcessorShouldIndexOnlyTheClassesWithStepDefinitionsOrHooks() throws IOException {
+        Path classes = compile(true, sampleGlue());
+
+        List<String> index = Files.readAllLines(classes.resolve(GlueIndex.INDEX_LOCATION), StandardCharsets.UTF_8);
+
+        assertThat(index.subList(1, index.size()), contains("samples.glue.Hooks", "samples.glue.Outer$NestedSteps", "samples.glue.Steps"));
+    }
+
+    @Test
+    public void recompilingSomeClassesShouldKeepTheIndexedClassesThatWereNotRecompiled() throws IOException {
+        Path classes = compile(true, sampleGlue());
+        Files.delete(classes.resolve("samples/glue/Hooks.class"));
+
+        compileInto(classes, true, Arrays.asList(
+                source("samples.glue.Steps", "public class Steps { public void noLongerAStep() {} }"),
+                source("samples.glue.MoreSteps", "public class MoreSteps { @cucumber.api.java.en.Given(\"more\") public void more() {} }")));
+
+        List<String> index = Files.readAllLines(classes.resolve(GlueIndex.INDEX_LOCATION), StandardCharsets.UTF_8);
+        assertThat(index.subList(1, index.size()), contains("samples.glue.MoreSteps", "samples.glue.Outer$NestedSteps"));
+    }
+
+    @Test
+    public void theGlueClassesOfAnIndexedPackageShouldBeReadFromTheIndex() throws IOException {
+        ClassLoader classLoader = classLoaderFor(compile(true, sampleGlue()));
+        ResourceLoader resourceLoader = IndexedGlueResourceLoader.withGlueIndexFrom(classLoader, new MultiLoader(classLoader), new MockEnvironmentVariables());
+
+        assertThat(resourceLoader, instanceOf(IndexedGlueResourceLoader.class));
+        assertThat(classResourcesIn(resourceLoader, "classpath:samples/glue"),
+                containsInAnyOrder("samples/glue/Hooks.class", "samples/glue/Outer$NestedSteps.class", "samples/glue/Steps.class"));
+    }
+
+    @Test
+    public void aPackageWithClassesOutsideTheIndexedClasspathRootsShouldBeScanned() throws IOException {
+        Path indexedClasses = compile(true, sampleGlue());
+        Path unindexedClasses = compile(false, Arrays.asList(source("samples.glue.MoreSteps",
+                "public class MoreSteps { @cucumber.api.java.en.Given(\"more\") public void more() {} }")));
+        ClassLoader classLoader = classLoaderFor(indexedClasses, unindexedClasses);
+
+        GlueIndex glueIndex = GlueIndex.loadFrom(classLoader);
+
+        assertThat(glueIndex.glueClassResourcesIn("samples/glue"), is(Optional.empty()));
+        assertThat(classResourcesIn(new IndexedGlueResourceLoader(new MultiLoader(classLoader), classLoader, glueIndex), "classpath:samples/glue"),
+                containsInAnyOrder("samples/glue/Hooks.class", "samples/glue/Outer.class", "samples/glue/Outer$NestedSteps.class",
+                                   "samples/glue/Steps.class", "samples/glue/AbstractSteps.class", "samples/glue/Pages.class",
+                                   "samples/glue/MoreSteps.class"));
+    }
+
+    @Test
+    public void theIndexCanBeTurnedOff() throws IOException {
+        ClassLoader classLoader = classLoaderFor(compile(true, sampleGlue()));
+        ResourceLoader multiLoader = new MultiLoader(classLoader);
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.glue.index", "false");
+
+        assertThat(IndexedGlueResourceLoader.withGlueIndexFrom(classLoader, multiLoader, environmentVariables), sameInstance(multiLoader));
+    }
+
+    private List<File> sampleGlue() throws IOException {
+        return Arrays.asList(
+                source("samples.glue.Steps", "public class Steps { @cucumber.api.java.en.Given(\"a step\") public void aStep() {} }"),
+                source("samples.glue.Hooks", "public class Hooks { @io.cucumber.java.Before public void setUp() {} }"),
+                source("samples.glue.Outer", "public class Outer { public static class NestedSteps { @io.cucumber.java.en.When(\"nested\") public void nested() {} } }"),
+                source("samples.glue.AbstractSteps", "public abstract class AbstractSteps { @cucumber.api.java.en.Then(\"inherited\") public void inherited() {} }"),
+                source("samples.glue.Pages", "public class Pages { public void open() {} }"));
+    }
+
+    private File source(String className, String body) throws IOException {
+        int lastDot = className.lastIndexOf('.');
+        Path sourceFile = temporaryFolder.getRoot().toPath().resolve("sources-" + temporaryFolder.getRoot().list().length)
+                .resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, ("package " + className.substring(0, lastDot) + ";\n" + body).getBytes(StandardCharsets.UTF_8));
+        return sourceFile.toFile();
+    }
+
+    private Path compile(boolean withProcessor, List<File> sources) throws IOException {
+        return compileInto(temporaryFolder.newFolder().toPath(), withProcessor, sources);
+    }
+
+    /**
+     * Compiles the sources with the class output on the classpath, as an incremental build does.
+     */
+    private Path compileInto(Path classes, boolean withProcessor, List<File> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            String classpath = classes + File.pathSeparator + System.getProperty("java.class.path");
+            List<String> options = new ArrayList<>(Arrays.asList("-d", classes.toString(), "-classpath", classpath));
+            options.add(withProcessor ? "-processor" : "-proc:none");
+            if (withProcessor) {
+                options.add(GlueIndexProcessor.class.getName());
+            }
+            boolean compiled = compiler.getTask(null, fileManager, null, options, null, fileManager.getJavaFileObjectsFromFiles(sources)).call();
+            assertThat(compiled, is(true));
+        }
+        return classes;
+    }
+
+    private ClassLoader classLoaderFor(Path... classpathRoots) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        for (Path classpathRoot : classpathRoots) {
+            urls.add(classpathRoot.toUri().toURL());
+        }
+        return new URLClassLoader(urls.toArray(new URL[0]), getClass().getClassLoader());
+    }
+
+    private List<String> classResourcesIn(ResourceLoader resourceLoader, String packagePath) {
+        List<String> classResources = new ArrayList<>();
+        for (Resource resource : resourceLoader.resources(URI.create(packagePath), ".class")) {
+            String path = resource.getPath().toString();
+            classResources.add(path.substring(path.indexOf("samples/")));
+        }
+        return classResources;
+    }
+}
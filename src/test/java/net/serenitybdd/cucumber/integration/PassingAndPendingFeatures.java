@@ -0,0 +1,10 @@
+package net.serenitybdd.cucumber.integration;
+
+import io.cucumber.junit.CucumberOptions;
+import cucumber.api.junit.Cucumber;
+import org.junit.runner.RunWith;
+
+@RunWith(Cucumber.class)
+@CucumberOptions(features={"src/test/resources/samples/simple_scenario.feature",
+                           "src/test/resources/samples/feature_pending_tag.feature"})
+public class PassingAndPendingFeatures {}
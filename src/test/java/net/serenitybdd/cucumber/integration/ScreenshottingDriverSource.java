@@ -0,0 +1,77 @@
+package net.serenitybdd.cucumber.integration;
+
+import net.thucydides.core.webdriver.DriverSource;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provides a stand-in browser that shows a blank page and can take screenshots of it, so that screenshots
+ * can be checked without starting a real browser.
+ */
+public class ScreenshottingDriverSource implements DriverSource {
+
+    @Override
+    public WebDriver newDriver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class, TakesScreenshot.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getScreenshotAs":
+                            return ((OutputType<?>) args[0]).convertFromPngBytes(blankPage());
+                        case "getCurrentUrl":
+                            return "about:blank";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "ScreenshottingDriver";
+                        default:
+                            return blank(method.getReturnType());
+                    }
+                });
+    }
+
+    /**
+     * Whatever else is asked of the browser (its title, its windows, its timeouts) is answered with an empty value.
+     */
+    private static Object blank(Class<?> type) {
+        if (type == String.class) {
+            return "";
+        } else if (type == List.class) {
+            return Collections.emptyList();
+        } else if (type == Set.class) {
+            return Collections.singleton("");
+        } else if (type == boolean.class) {
+            return false;
+        } else if (type.isInterface()) {
+            return Proxy.newProxyInstance(ScreenshottingDriverSource.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> method.getName().equals("hashCode") ? System.identityHashCode(proxy) : blank(method.getReturnType()));
+        }
+        return null;
+    }
+
+    @Override
+    public boolean takesScreenshots() {
+        return true;
+    }
+
+    private static byte[] blankPage() {
+        try (ByteArrayOutputStream png = new ByteArrayOutputStream()) {
+            ImageIO.write(new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB), "png", png);
+            return png.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package net.serenitybdd.cucumber.integration;
+
+import io.cucumber.junit.CucumberOptions;
+import net.serenitybdd.cucumber.CucumberWithSerenity;
+import org.junit.runner.RunWith;
+
+@RunWith(CucumberWithSerenity.class)
+@CucumberOptions(features="src/test/resources/samples/web/aPassingBehaviorWithAProvidedDriver.feature")
+public class SimpleProvidedDriverScenarios {}
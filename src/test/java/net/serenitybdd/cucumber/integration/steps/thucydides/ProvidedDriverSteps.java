@@ -0,0 +1,31 @@
+package net.serenitybdd.cucumber.integration.steps.thucydides;
+
+import cucumber.api.java.en.Given;
+import cucumber.api.java.en.Then;
+import cucumber.api.java.en.When;
+import net.thucydides.core.annotations.Managed;
+import org.openqa.selenium.WebDriver;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ProvidedDriverSteps {
+
+    @Managed
+    WebDriver driver;
+
+    @Given("I have opened the provided browser")
+    public void openTheProvidedBrowser() {
+        driver.get("about:blank");
+    }
+
+    @When("I look at the page in the provided browser")
+    public void lookAtThePage() {
+        driver.getTitle();
+    }
+
+    @Then("the page in the provided browser should be blank")
+    public void thePageShouldBeBlank() {
+        assertThat(driver.getCurrentUrl(), is("about:blank"));
+    }
+}
@@ -0,0 +1,99 @@
+package net.serenitybdd.cucumber.metrics;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RunMetricsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final RunMetrics runMetrics = new RunMetrics();
+
+    @Test
+    public void histogramsShouldBeWrittenWithCumulativeBucketsInThePrometheusFormat() {
+        LatencyHistogram stepDurations = runMetrics.histogram("step_duration_seconds", "Step durations", "result", "passed");
+        stepDurations.record(TimeUnit.MICROSECONDS.toNanos(500));
+        stepDurations.record(TimeUnit.MILLISECONDS.toNanos(5));
+        stepDurations.record(TimeUnit.SECONDS.toNanos(2));
+
+        String prometheusText = runMetrics.getPrometheusText();
+
+        assertThat(prometheusText, containsString("# TYPE step_duration_seconds histogram\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_bucket{result=\"passed\",le=\"0.0001\"} 0\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_bucket{result=\"passed\",le=\"0.001\"} 1\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_bucket{result=\"passed\",le=\"0.01\"} 2\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_bucket{result=\"passed\",le=\"10\"} 3\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_bucket{result=\"passed\",le=\"+Inf\"} 3\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_sum{result=\"passed\"} 2.0055\n"));
+        assertThat(prometheusText, containsString("step_duration_seconds_count{result=\"passed\"} 3\n"));
+    }
+
+    @Test
+    public void registeringAMetricAgainShouldReturnTheInstrumentAlreadyRegistered() {
+        Counter failures = runMetrics.counter("failures_total", "Failures", "event", "TestStepFinished");
+        failures.increment();
+
+        assertThat(runMetrics.counter("failures_total", "Failures", "event", "TestStepFinished"), is(sameInstance(failures)));
+        assertThat(runMetrics.getSamples().get("failures_total{event=\"TestStepFinished\"}"), is(1.0));
+    }
+
+    @Test
+    public void peaksAndGaugesShouldReportTheirValues() {
+        PeakValue peakDepth = runMetrics.peak("lane_depth_max", "Deepest lane");
+        peakDepth.update(3);
+        peakDepth.update(12);
+        peakDepth.update(5);
+        runMetrics.gauge("pending_reports", "Pending reports", () -> 4);
+
+        assertThat(runMetrics.getSamples().get("lane_depth_max"), is(12.0));
+        assertThat(runMetrics.getSamples().get("pending_reports"), is(4.0));
+    }
+
+    @Test
+    public void aJsonSnapshotShouldBeWrittenToTheGivenFile() throws IOException {
+        runMetrics.counter("failures_total", "Failures", "event", "TestCaseStarted").increment();
+        Path snapshotFile = temporaryFolder.getRoot().toPath().resolve("metrics/cucumber-metrics.json");
+
+        runMetrics.writeSnapshotTo(snapshotFile, MetricsFormat.JSON);
+
+        JsonObject snapshot = new JsonParser().parse(new String(Files.readAllBytes(snapshotFile), StandardCharsets.UTF_8)).getAsJsonObject();
+        JsonObject metric = snapshot.getAsJsonArray("metrics").get(0).getAsJsonObject();
+        JsonObject sample = metric.getAsJsonArray("samples").get(0).getAsJsonObject();
+        assertThat(metric.get("name").getAsString(), is("failures_total"));
+        assertThat(metric.get("type").getAsString(), is("counter"));
+        assertThat(sample.getAsJsonObject("labels").get("event").getAsString(), is("TestCaseStarted"));
+        assertThat(sample.get("value").getAsDouble(), is(1.0));
+    }
+
+    @Test
+    public void metricsShouldBeExposedThroughJmxUntilTheyAreUnregistered() throws Exception {
+        runMetrics.counter("failures_total", "Failures").increment();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+        runMetrics.registerMBean();
+        ObjectName registeredName = mBeanServer.queryNames(new ObjectName("net.serenitybdd.cucumber:type=RunMetrics,*"), null).iterator().next();
+        String prometheusText = (String) mBeanServer.getAttribute(registeredName, "PrometheusText");
+        runMetrics.unregisterMBean();
+
+        assertThat(prometheusText, containsString("failures_total 1\n"));
+        assertThat(mBeanServer.isRegistered(registeredName), is(false));
+    }
+}
@@ -0,0 +1,58 @@
+package net.serenitybdd.cucumber.model;
+
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class FeatureCacheTest {
+
+    private static final String SIMPLE_FEATURE = "Feature: A simple feature\n\n  Scenario: A simple scenario\n    Given a step\n";
+
+    private FeatureCache featureCache;
+    private ResourceLoader resourceLoader;
+
+    @Before
+    public void setup() {
+        featureCache = new FeatureCache();
+        resourceLoader = new MultiLoader(FeatureCacheTest.class.getClassLoader());
+    }
+
+    @Test
+    public void featuresShouldOnlyBeParsedTheFirstTimeTheyAreLoaded() {
+        List<URI> featurePaths = singletonList(URI.create("classpath:samples"));
+
+        List<CucumberFeature> firstLoad = featureCache.load(resourceLoader, featurePaths);
+        List<CucumberFeature> secondLoad = featureCache.load(resourceLoader, featurePaths);
+
+        assertThat(secondLoad.size(), is(firstLoad.size()));
+        assertThat(secondLoad.get(0), is(sameInstance(firstLoad.get(0))));
+        assertThat(featureCache.missCount(), is((long) featureCache.size()));
+        assertThat(featureCache.hitCount(), is((long) featureCache.size()));
+    }
+
+    @Test
+    public void aFeatureShouldBeParsedAgainWhenItsContentChanges() {
+        URI featureUri = URI.create("file:features/simple.feature");
+
+        CucumberFeature original = featureCache.featureFrom(featureUri, SIMPLE_FEATURE);
+        CucumberFeature unchanged = featureCache.featureFrom(featureUri, SIMPLE_FEATURE);
+        CucumberFeature changed = featureCache.featureFrom(featureUri, SIMPLE_FEATURE + "    Then another step\n");
+
+        assertThat(unchanged, is(sameInstance(original)));
+        assertThat(changed, is(not(sameInstance(original))));
+        assertThat(changed.getGherkinFeature().getFeature().getChildren().get(0).getSteps().size(), is(2));
+        assertThat(featureCache.hitCount(), is(1L));
+        assertThat(featureCache.missCount(), is(2L));
+    }
+}
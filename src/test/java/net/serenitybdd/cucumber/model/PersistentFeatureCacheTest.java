@@ -0,0 +1,209 @@
+package net.serenitybdd.cucumber.model;
+
+import com.google.gson.Gson;
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.io.ResourceLoader;
+import cucumber.runtime.model.CucumberFeature;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistentFeatureCacheTest {
+
+    private static final String FEATURE_WITH_EVERYTHING =
+            "@feature_tag\n" +
+            "Feature: A feature with everything\n" +
+            "  A description\n\n" +
+            "  Background:\n" +
+            "    Given a background step\n\n" +
+            "  # A comment\n" +
+            "  @scenario_tag\n" +
+            "  Scenario: A scenario with a doc string\n" +
+            "    Given a doc string:\n" +
+            "      \"\"\"json\n" +
+            "      {\"key\": \"value\"}\n" +
+            "      \"\"\"\n\n" +
+            "  @outline_tag\n" +
+            "  Scenario Outline: An outline with a data table\n" +
+            "    Given the previous entries:\n" +
+            "      | first | second |\n" +
+            "      | <a>   | <b>    |\n" +
+            "    Then the result is <c>\n\n" +
+            "    @examples_tag\n" +
+            "    Examples: Single digits\n" +
+            "      | a | b | c |\n" +
+            "      | 1 | 2 | 3 |\n" +
+            "      | 2 | 3 | 5 |\n\n" +
+            "    Examples: Double digits\n" +
+            "      | a  | b  | c  |\n" +
+            "      | 10 | 20 | 30 |\n";
+
+    private static final String SIMPLE_FEATURE = "Feature: A simple feature\n\n  Scenario: A simple scenario\n    Given a step\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Gson gson = new Gson();
+
+    private ResourceLoader resourceLoader;
+    private PersistentFeatureCache persistentCache;
+    private File featureDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        resourceLoader = new MultiLoader(PersistentFeatureCacheTest.class.getClassLoader());
+        persistentCache = new PersistentFeatureCache(temporaryFolder.newFolder("feature-cache").toPath());
+        featureDirectory = temporaryFolder.newFolder("features");
+        write("everything.feature", FEATURE_WITH_EVERYTHING);
+        write("simple.feature", SIMPLE_FEATURE);
+    }
+
+    @Test
+    public void featuresShouldBeLoadedFromDiskByAnotherCache() {
+        FeatureCache coldCache = new FeatureCache(Optional.of(persistentCache));
+        List<CucumberFeature> parsedFeatures = coldCache.load(resourceLoader, featurePaths());
+
+        FeatureCache warmCache = new FeatureCache(Optional.of(persistentCache));
+        List<CucumberFeature> storedFeatures = warmCache.load(resourceLoader, featurePaths());
+
+        assertThat(coldCache.missCount(), is(2L));
+        assertThat(warmCache.missCount(), is(0L));
+        assertThat(warmCache.diskHitCount(), is(2L));
+        assertThat(jsonOf(storedFeatures), is(jsonOf(parsedFeatures)));
+    }
+
+    @Test
+    public void onlyModifiedFeaturesShouldBeParsedAgain() throws IOException {
+        new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, featurePaths());
+
+        write("simple.feature", SIMPLE_FEATURE + "    Then another step\n");
+        FeatureCache warmCache = new FeatureCache(Optional.of(persistentCache));
+        List<CucumberFeature> features = warmCache.load(resourceLoader, featurePaths());
+
+        assertThat(warmCache.missCount(), is(1L));
+        assertThat(warmCache.diskHitCount(), is(1L));
+        assertThat(features.get(1).getPickles().get(0).pickle.getSteps().size(), is(2));
+    }
+
+    @Test
+    public void classpathFeaturesShouldBeLoadedFromDiskWhenTheirContentIsUnchanged() {
+        List<URI> classpathFeatures = singletonList(URI.create("classpath:features"));
+        List<CucumberFeature> parsedFeatures = new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, classpathFeatures);
+
+        FeatureCache warmCache = new FeatureCache(Optional.of(persistentCache));
+        List<CucumberFeature> storedFeatures = warmCache.load(resourceLoader, classpathFeatures);
+
+        assertThat(warmCache.missCount(), is(0L));
+        assertThat(jsonOf(storedFeatures), is(jsonOf(parsedFeatures)));
+    }
+
+    @Test
+    public void aFeatureChangedAfterItWasReadShouldNotBeTakenToBeUnmodified() throws IOException {
+        PersistentFeatureCache cacheThatSeesAnEditWhileParsing = new PersistentFeatureCache(persistentCache.getCacheDirectory()) {
+            @Override
+            void write(URI featureUri, FeatureCache.CachedFeature cachedFeature, FileAttributes attributes) {
+                if (featureUri.toString().endsWith("simple.feature")) {
+                    writeQuietly("simple.feature", SIMPLE_FEATURE + "    Then another step\n");
+                }
+                super.write(featureUri, cachedFeature, attributes);
+            }
+        };
+        new FeatureCache(Optional.of(cacheThatSeesAnEditWhileParsing)).load(resourceLoader, featurePaths());
+
+        FeatureCache warmCache = new FeatureCache(Optional.of(persistentCache));
+        List<CucumberFeature> features = warmCache.load(resourceLoader, featurePaths());
+
+        assertThat(warmCache.diskHitCount(), is(1L));
+        assertThat(features.get(1).getPickles().get(0).pickle.getSteps().size(), is(2));
+    }
+
+    @Test
+    public void theLeastRecentlyUsedFeaturesShouldBeRemovedWhenTheCacheIsFull() throws IOException {
+        new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, featurePaths());
+        List<Path> entries = entriesIn(persistentCache);
+        entries.sort(Comparator.comparing(PersistentFeatureCacheTest::sizeOf));
+        Path recentlyUsedEntry = entries.get(0);
+        Path leastRecentlyUsedEntry = entries.get(1);
+        Files.setLastModifiedTime(leastRecentlyUsedEntry, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+
+        PersistentFeatureCache fullCache = new PersistentFeatureCache(persistentCache.getCacheDirectory(), sizeOf(leastRecentlyUsedEntry));
+        fullCache.evictLeastRecentlyUsedEntries();
+
+        assertThat(entriesIn(fullCache), contains(recentlyUsedEntry));
+    }
+
+    @Test
+    public void cachedFeaturesShouldBeMarkedAsUsedWhenTheyAreRead() throws IOException {
+        new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, featurePaths());
+        FileTime longAgo = FileTime.fromMillis(System.currentTimeMillis() - 60000);
+        for (Path entry : entriesIn(persistentCache)) {
+            Files.setLastModifiedTime(entry, longAgo);
+        }
+
+        new FeatureCache(Optional.of(persistentCache)).load(resourceLoader, featurePaths());
+
+        for (Path entry : entriesIn(persistentCache)) {
+            assertThat(Files.getLastModifiedTime(entry).compareTo(longAgo), is(greaterThan(0)));
+        }
+    }
+
+    private List<Path> entriesIn(PersistentFeatureCache cache) throws IOException {
+        try (Stream<Path> entries = Files.list(cache.getCacheDirectory())) {
+            return entries.collect(toList());
+        }
+    }
+
+    private List<URI> featurePaths() {
+        return singletonList(featureDirectory.toURI());
+    }
+
+    private void write(String fileName, String content) throws IOException {
+        File featureFile = new File(featureDirectory, fileName);
+        long previousModificationTime = featureFile.lastModified();
+        Files.write(featureFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        featureFile.setLastModified(Math.max(System.currentTimeMillis(), previousModificationTime + 2000));
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeQuietly(String fileName, String content) {
+        try {
+            write(fileName, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> jsonOf(List<CucumberFeature> features) {
+        return features.stream()
+                .map(feature -> gson.toJson(feature.getGherkinFeature()) + gson.toJson(feature.getPickles()))
+                .collect(toList());
+    }
+}
@@ -0,0 +1,205 @@
+package net.serenitybdd.cucumber.model;
+
+import cucumber.runtime.io.MultiLoader;
+import cucumber.runtime.model.CucumberFeature;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.reports.json.gson.GsonJSONConverter;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class ScenarioResultCacheTest {
+
+    private static final URI FEATURE_URI = URI.create("file:features/calculator.feature");
+
+    private static final String FEATURE =
+            "Feature: A calculator\n\n" +
+            "  Background:\n" +
+            "    Given a calculator\n\n" +
+            "  Scenario: Adding numbers\n" +
+            "    When I add 1 and 2\n" +
+            "    Then the result is 3\n\n" +
+            "  Scenario Outline: Subtracting numbers\n" +
+            "    When I subtract <b> from <a>\n" +
+            "    Then the result is <c>\n\n" +
+            "    Examples:\n" +
+            "      | a | b | c |\n" +
+            "      | 3 | 2 | 1 |\n" +
+            "      | 5 | 3 | 2 |\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path cacheDirectory;
+
+    @Before
+    public void setup() throws IOException {
+        cacheDirectory = temporaryFolder.newFolder("result-cache").toPath();
+    }
+
+    @Test
+    public void passingScenariosShouldBeReplayedWhileTheyAreUnchanged() {
+        CucumberFeature feature = featureFrom(FEATURE);
+        ScenarioResultCache firstRun = cacheFor("glue-1");
+        firstRun.replayableOutcomeFor(feature, feature.getPickles().subList(0, 1));
+        firstRun.storePassingOutcome(outcomeOf("A calculator", "Adding numbers", TestResult.SUCCESS));
+
+        Optional<TestOutcome> replayedOutcome = cacheFor("glue-1").replayableOutcomeFor(feature, feature.getPickles().subList(0, 1));
+
+        assertThat(replayedOutcome.isPresent(), is(true));
+        assertThat(replayedOutcome.get().getName(), is("Adding numbers"));
+        assertThat(replayedOutcome.get().hasTag(ScenarioResultCache.REPLAYED), is(true));
+    }
+
+    @Test
+    public void scenariosShouldRunAgainWhenTheirGherkinTextChanges() {
+        CucumberFeature feature = featureFrom(FEATURE);
+        ScenarioResultCache firstRun = cacheFor("glue-1");
+        firstRun.replayableOutcomeFor(feature, feature.getPickles().subList(1, 3));
+        firstRun.storePassingOutcome(outcomeOf("A calculator", "Subtracting numbers", TestResult.SUCCESS));
+
+        CucumberFeature changedFeature = featureFrom(FEATURE.replace("| 5 | 3 | 2 |", "| 6 | 3 | 3 |"));
+
+        assertThat(cacheFor("glue-1").replayableOutcomeFor(feature, feature.getPickles().subList(1, 3)).isPresent(), is(true));
+        assertThat(cacheFor("glue-1").replayableOutcomeFor(changedFeature, changedFeature.getPickles().subList(1, 3)).isPresent(), is(false));
+    }
+
+    @Test
+    public void scenariosShouldRunAgainWhenTheGlueOrPropertiesChange() {
+        CucumberFeature feature = featureFrom(FEATURE);
+        ScenarioResultCache firstRun = cacheFor("glue-1");
+        firstRun.replayableOutcomeFor(feature, feature.getPickles().subList(0, 1));
+        firstRun.storePassingOutcome(outcomeOf("A calculator", "Adding numbers", TestResult.SUCCESS));
+
+        assertThat(cacheFor("glue-2").replayableOutcomeFor(feature, feature.getPickles().subList(0, 1)).isPresent(), is(false));
+    }
+
+    @Test
+    public void failingScenariosShouldNotBeStored() {
+        CucumberFeature feature = featureFrom(FEATURE);
+        ScenarioResultCache firstRun = cacheFor("glue-1");
+        firstRun.replayableOutcomeFor(feature, feature.getPickles().subList(0, 1));
+        firstRun.storePassingOutcome(outcomeOf("A calculator", "Adding numbers", TestResult.FAILURE));
+
+        assertThat(cacheFor("glue-1").replayableOutcomeFor(feature, feature.getPickles().subList(0, 1)).isPresent(), is(false));
+    }
+
+    @Test
+    public void theLeastRecentlyUsedOutcomesShouldBeRemovedWhenTheCacheIsFull() throws IOException {
+        CucumberFeature feature = featureFrom(FEATURE);
+        ScenarioResultCache firstRun = cacheFor("glue-1");
+        firstRun.replayableOutcomeFor(feature, feature.getPickles().subList(0, 1));
+        firstRun.replayableOutcomeFor(feature, feature.getPickles().subList(1, 3));
+        firstRun.storePassingOutcome(outcomeOf("A calculator", "Adding numbers", TestResult.SUCCESS));
+        firstRun.storePassingOutcome(outcomeOf("A calculator", "Subtracting numbers", TestResult.SUCCESS));
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            entries.forEach(this::makeOld);
+        }
+        long largestEntry;
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            largestEntry = entries.mapToLong(this::sizeOf).max().getAsLong();
+        }
+
+        ScenarioResultCache secondRun = new ScenarioResultCache(cacheDirectory, largestEntry, "glue-1", new GsonJSONConverter(new MockEnvironmentVariables()));
+        secondRun.replayableOutcomeFor(feature, feature.getPickles().subList(1, 3));
+        secondRun.evictLeastRecentlyUsedOutcomes();
+
+        assertThat(cacheFor("glue-1").replayableOutcomeFor(feature, feature.getPickles().subList(0, 1)).isPresent(), is(false));
+        assertThat(cacheFor("glue-1").replayableOutcomeFor(feature, feature.getPickles().subList(1, 3)).isPresent(), is(true));
+    }
+
+    @Test
+    public void theRunFingerprintShouldChangeWhenAClassOutsideTheGluePackagesChanges() throws IOException {
+        Path classDirectory = temporaryFolder.newFolder("classes").toPath();
+        writeClass(classDirectory, "com/example/steps/CalculatorSteps.class", "steps");
+        writeClass(classDirectory, "com/example/pages/CalculatorPage.class", "page");
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        String firstRun = runFingerprintFor(environmentVariables, classDirectory);
+
+        writeClass(classDirectory, "com/example/pages/CalculatorPage.class", "changed page");
+
+        assertThat(runFingerprintFor(environmentVariables, classDirectory), is(not(firstRun)));
+    }
+
+    @Test
+    public void onlyTheGlueAndTheConfiguredPackagesShouldBeHashedWhenPackagesAreConfigured() throws IOException {
+        Path classDirectory = temporaryFolder.newFolder("classes").toPath();
+        writeClass(classDirectory, "com/example/steps/CalculatorSteps.class", "steps");
+        writeClass(classDirectory, "com/example/pages/CalculatorPage.class", "page");
+        writeClass(classDirectory, "com/example/util/Numbers.class", "numbers");
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.result.cache.packages", "com.example.pages");
+        String firstRun = runFingerprintFor(environmentVariables, classDirectory);
+
+        writeClass(classDirectory, "com/example/util/Numbers.class", "changed numbers");
+        String secondRun = runFingerprintFor(environmentVariables, classDirectory);
+        writeClass(classDirectory, "com/example/pages/CalculatorPage.class", "changed page");
+
+        assertThat(secondRun, is(firstRun));
+        assertThat(runFingerprintFor(environmentVariables, classDirectory), is(not(firstRun)));
+    }
+
+    private String runFingerprintFor(MockEnvironmentVariables environmentVariables, Path classDirectory) throws IOException {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classDirectory.toUri().toURL()}, null)) {
+            return ScenarioResultCache.runFingerprintFor(environmentVariables, classLoader, new MultiLoader(classLoader),
+                                                         singletonList(URI.create("classpath:com/example/steps")));
+        }
+    }
+
+    private void writeClass(Path classDirectory, String path, String content) throws IOException {
+        Path classFile = classDirectory.resolve(path);
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ScenarioResultCache cacheFor(String runFingerprint) {
+        return new ScenarioResultCache(cacheDirectory, 1024 * 1024, runFingerprint, new GsonJSONConverter(new MockEnvironmentVariables()));
+    }
+
+    private CucumberFeature featureFrom(String source) {
+        return new FeatureCache().featureFrom(FEATURE_URI, source);
+    }
+
+    private TestOutcome outcomeOf(String featureName, String scenarioName, TestResult result) {
+        TestOutcome testOutcome = TestOutcome.forTestInStory(scenarioName, Story.withIdAndPath("a-calculator", featureName, "calculator.feature").asFeature());
+        testOutcome.recordStep(TestStep.forStepCalled("Given a calculator").withResult(result));
+        return testOutcome;
+    }
+
+    private void makeOld(Path entryFile) {
+        try {
+            Files.setLastModifiedTime(entryFile, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long sizeOf(Path entryFile) {
+        try {
+            return Files.size(entryFile);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
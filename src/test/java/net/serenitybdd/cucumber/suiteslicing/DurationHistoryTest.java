@@ -0,0 +1,100 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class DurationHistoryTest {
+
+    private static final Instant FIRST_RUN = Instant.parse("2018-08-01T10:00:00Z");
+
+    @Test
+    public void percentilesShouldInterpolateBetweenDurations() {
+        DurationHistory history = historyOf(1, 2, 3, 4);
+
+        assertThat(history.percentile(0.5), is(new BigDecimal("2.50")));
+        assertThat(history.percentile(0.9), is(new BigDecimal("3.70")));
+    }
+
+    @Test
+    public void trimmedMeanShouldIgnoreOccasionalTimeouts() {
+        DurationHistory history = historyOf(10, 11, 9, 600, 10);
+
+        assertThat(history.mean(), is(new BigDecimal("128.00")));
+        assertThat(history.trimmedMean(0.1), is(new BigDecimal("10.33")));
+    }
+
+    @Test
+    public void decayedMeanShouldFavourRecentRuns() {
+        DurationHistory history = new DurationHistory(10);
+        history.add(new BigDecimal("100"), Optional.of(FIRST_RUN));
+        history.add(new BigDecimal("10"), Optional.of(FIRST_RUN.plus(Duration.ofDays(7))));
+
+        assertThat(history.decayedMean(Duration.ofDays(7)), is(new BigDecimal("40.00")));
+    }
+
+    @Test
+    public void theDecayedModelShouldUseTheConfiguredHalfLife() {
+        DurationHistory history = new DurationHistory();
+        history.add(new BigDecimal("100"), Optional.of(FIRST_RUN));
+        history.add(new BigDecimal("10"), Optional.of(FIRST_RUN.plus(Duration.ofDays(7))));
+        EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.slicing.weight.model", "decayed");
+
+        assertThat(DurationModel.from(environmentVariables).weightOf(history), is(new BigDecimal("40.00")));
+
+        environmentVariables.setProperty("serenity.cucumber.slicing.decay.half.life", "14");
+
+        assertThat(DurationModel.from(environmentVariables).weightOf(history), is(new BigDecimal("47.28")));
+    }
+
+    @Test
+    public void aHistoryShouldKeepEveryDurationByDefault() {
+        DurationHistory history = new DurationHistory();
+        for (int duration = 1; duration <= 200; duration++) {
+            history.add(BigDecimal.valueOf(duration), Optional.empty());
+        }
+
+        assertThat(history.size(), is(200));
+        assertThat(history.mean(), is(new BigDecimal("100.50")));
+    }
+
+    @Test
+    public void aFullHistoryShouldReplaceTheDurationFromTheOldestRun() {
+        DurationHistory history = new DurationHistory(2);
+        history.add(new BigDecimal("5"), Optional.of(FIRST_RUN.plus(Duration.ofDays(2))));
+        history.add(new BigDecimal("500"), Optional.of(FIRST_RUN));
+        history.add(new BigDecimal("7"), Optional.of(FIRST_RUN.plus(Duration.ofDays(3))));
+        history.add(new BigDecimal("900"), Optional.of(FIRST_RUN.plus(Duration.ofDays(1))));
+
+        assertThat(history.size(), is(2));
+        assertThat(history.mean(), is(new BigDecimal("6.00")));
+    }
+
+    @Test
+    public void aFullHistoryWithoutRunDatesShouldKeepTheMostRecentlyAddedDurations() {
+        DurationHistory history = new DurationHistory(3);
+        for (int duration : new int[]{100, 1, 2, 4, 6}) {
+            history.add(BigDecimal.valueOf(duration), Optional.empty());
+        }
+
+        assertThat(history.size(), is(3));
+        assertThat(history.mean(), is(new BigDecimal("4.00")));
+    }
+
+    private DurationHistory historyOf(int... durations) {
+        DurationHistory history = new DurationHistory();
+        for (int duration : durations) {
+            history.add(BigDecimal.valueOf(duration), Optional.empty());
+        }
+        return history;
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.time.ZonedDateTime;
 
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.core.Is.is;
@@ -33,4 +34,26 @@ public class MultiRunTestStatisticsTest {
         assertThat(statistics.scenarioWeightFor("Yo", "I don't exist matey"), is(new BigDecimal("5.53")));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void scenarioWeightForShouldUseTheConfiguredDurationModel()  {
+        TestStatistics p90Statistics = MultiRunTestStatistics.fromRelativePath("/statistics", DurationModel.DurationModels.P90, DurationHistory.UNBOUNDED);
+        assertThat(p90Statistics.scenarioWeightFor("Using Background Steps", "Running a scenario with a Before clause"), is(new BigDecimal("37.60")));
+    }
+
+    @Test
+    public void resultForShouldReturnTheOutcomeOfTheMostRecentRunWithTheWeightedDuration()  {
+        TestScenarioResult result = statistics.resultFor("Using Background Steps", "Skipping a scenario").get();
+
+        assertThat(result.result().get(), is("FAILURE"));
+        assertThat(result.failed(), is(true));
+        assertThat(result.stability().get(), is(new BigDecimal("0.0")));
+        assertThat(result.date().get(), is(ZonedDateTime.parse("2018-08-17T15:48:56.179+01:00[Europe/London]").toInstant()));
+        assertThat(result.duration(), is(new BigDecimal("23.77")));
+    }
+
+    @Test
+    public void resultForShouldBeEmptyForUnknownScenario()  {
+        assertThat(statistics.resultFor("Yo", "I don't exist matey").isPresent(), is(false));
+    }
+
+}
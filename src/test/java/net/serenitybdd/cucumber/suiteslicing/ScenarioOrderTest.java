@@ -0,0 +1,76 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ScenarioOrderTest {
+
+    private static final TestScenarioResult STABLE_AND_SHORT = result("Stable and short", "SUCCESS", "1.0", "1");
+    private static final TestScenarioResult STABLE_AND_LONG = result("Stable and long", "SUCCESS", "1.0", "30");
+    private static final TestScenarioResult UNSTABLE = result("Unstable", "SUCCESS", "0.5", "2");
+    private static final TestScenarioResult VERY_UNSTABLE = result("Very unstable", "SUCCESS", "0.2", "1");
+    private static final TestScenarioResult FAILED_AND_SHORT = result("Failed and short", "FAILURE", "0.8", "1");
+    private static final TestScenarioResult BROKEN_AND_LONG = result("Broken and long", "ERROR", "0.8", "20");
+    private static final TestScenarioResult NO_STABILITY = new TestScenarioResult("Feature", "No stability", new BigDecimal("5"));
+
+    private static final List<TestScenarioResult> DECLARED_RESULTS = asList(STABLE_AND_SHORT, UNSTABLE, null, FAILED_AND_SHORT, STABLE_AND_LONG,
+                                                                            NO_STABILITY, BROKEN_AND_LONG, VERY_UNSTABLE);
+
+    @Test
+    public void failuresFirstShouldRunFailuresThenUnstableScenariosThenTheLongestScenarios() {
+        assertThat(scenariosIn(ScenarioOrder.FAILURES_FIRST),
+                   contains("Broken and long", "Failed and short", "Very unstable", "Unstable", "Stable and long", "No stability", "Stable and short", null));
+    }
+
+    @Test
+    public void slowestFirstShouldRunTheLongestScenariosFirst() {
+        assertThat(scenariosIn(ScenarioOrder.SLOWEST_FIRST),
+                   contains("Stable and long", "Broken and long", "No stability", "Unstable", "Stable and short", "Failed and short", "Very unstable", null));
+    }
+
+    @Test
+    public void declaredOrderShouldKeepScenariosInTheirDeclaredOrder() {
+        assertThat(scenariosIn(ScenarioOrder.DECLARED),
+                   contains("Stable and short", "Unstable", null, "Failed and short", "Stable and long", "No stability", "Broken and long", "Very unstable"));
+    }
+
+    @Test
+    public void orderShouldBeReadFromTheEnvironment() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        assertThat(ScenarioOrder.from(environmentVariables), is(ScenarioOrder.DECLARED));
+
+        environmentVariables.setProperty("serenity.cucumber.execution.order", "Failures-First");
+        assertThat(ScenarioOrder.from(environmentVariables), is(ScenarioOrder.FAILURES_FIRST));
+
+        environmentVariables.setProperty("serenity.cucumber.execution.order", "slowest-first");
+        assertThat(ScenarioOrder.from(environmentVariables), is(ScenarioOrder.SLOWEST_FIRST));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownOrdersShouldBeRejected() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.execution.order", "random");
+
+        ScenarioOrder.from(environmentVariables);
+    }
+
+    private static List<String> scenariosIn(ScenarioOrder scenarioOrder) {
+        List<TestScenarioResult> results = new ArrayList<>(DECLARED_RESULTS);
+        results.sort(scenarioOrder.comparing(result -> result));
+        return results.stream().map(result -> (result == null) ? null : result.scenario).collect(toList());
+    }
+
+    private static TestScenarioResult result(String scenario, String result, String stability, String duration) {
+        return new TestScenarioResult("Feature", scenario, new BigDecimal(duration), null, result, new BigDecimal(stability));
+    }
+}
@@ -0,0 +1,185 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ScenarioPartitionerTest {
+
+    @Test
+    public void greedyPartitioningShouldGiveEachScenarioToTheLightestSliceSlowestFirst() {
+        List<WeightedCucumberScenario> scenarios = scenariosWeighing("3", "5", "4", "2", "2", "1.5");
+
+        List<List<WeightedCucumberScenario>> slices = new LongestProcessingTimePartitioner().partition(scenarios, 2);
+
+        assertThat(weightsOf(slices.get(0)), is(asList("5", "2", "2")));
+        assertThat(weightsOf(slices.get(1)), is(asList("4", "3", "1.5")));
+    }
+
+    @Test
+    public void largestDifferencingShouldFindABetterBalanceThanGreedyPartitioningWhenThereIsOne() {
+        List<WeightedCucumberScenario> scenarios = scenariosWeighing("8", "7", "6", "5", "4");
+
+        List<List<WeightedCucumberScenario>> greedySlices = new LongestProcessingTimePartitioner().partition(scenarios, 2);
+        List<List<WeightedCucumberScenario>> differencedSlices = new KarmarkarKarpPartitioner().partition(scenarios, 2);
+
+        assertThat(heaviestSliceIn(greedySlices), is(new BigDecimal("17")));
+        assertThat(heaviestSliceIn(differencedSlices), lessThan(new BigDecimal("17")));
+    }
+
+    @Test
+    public void largestDifferencingShouldNeverBeWorseThanGreedyPartitioning() {
+        Random random = new Random(7);
+        for (int run = 0; run < 20; run++) {
+            List<WeightedCucumberScenario> scenarios = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                scenarios.add(scenarioWeighing(BigDecimal.valueOf(random.nextInt(100_000), 2)));
+            }
+            int sliceCount = 2 + random.nextInt(10);
+
+            List<List<WeightedCucumberScenario>> greedySlices = new LongestProcessingTimePartitioner().partition(scenarios, sliceCount);
+            List<List<WeightedCucumberScenario>> differencedSlices = new KarmarkarKarpPartitioner().partition(scenarios, sliceCount);
+
+            assertThat(differencedSlices, hasSize(sliceCount));
+            assertThat(differencedSlices.stream().flatMap(List::stream).collect(toList()), containsInAnyOrder(scenarios.toArray()));
+            assertThat(heaviestSliceIn(differencedSlices), lessThanOrEqualTo(heaviestSliceIn(greedySlices)));
+        }
+    }
+
+    @Test
+    public void slicesShouldOnlyBeComputedOncePerSliceCount() {
+        WeightedCucumberScenarios scenarios = new WeightedCucumberScenarios(scenariosWeighing("3", "5", "4", "2"));
+
+        assertThat(scenarios.slice(1).of(2), is(sameInstance(scenarios.slice(1).of(2))));
+        assertThat(scenarios.slice(2).of(2).slice(1).of(3), is(sameInstance(scenarios.slice(2).of(2).slice(1).of(3))));
+    }
+
+    @Test
+    public void driverAffinityShouldGiveEachSliceTheScenariosOfAsFewDriversAsPossible() {
+        List<WeightedCucumberScenario> scenarios = asList(scenarioFor("@driver:chrome"), scenarioFor("@driver:firefox"), scenarioFor(),
+                                                          scenarioFor("@driver:firefox"), scenarioFor(), scenarioFor("@driver:chrome"));
+
+        List<List<WeightedCucumberScenario>> slices = new DriverAffinityPartitioner(new LongestProcessingTimePartitioner()).partition(scenarios, 3);
+
+        assertThat(driversIn(slices.get(0)), is(singleton("chrome")));
+        assertThat(driversIn(slices.get(1)), is(singleton("firefox")));
+        assertThat(driversIn(slices.get(2)), is(singleton("default")));
+        assertThat(slices.get(0), hasSize(2));
+    }
+
+    @Test
+    public void driverAffinityShouldTellDriverOptionsApart() {
+        List<WeightedCucumberScenario> scenarios = asList(scenarioFor("@driver:chrome", "@driver-options:--headless"), scenarioFor("@driver:chrome"),
+                                                          scenarioFor("@driver:chrome", "@driver-options:--headless"), scenarioFor("@driver:chrome"));
+
+        List<List<WeightedCucumberScenario>> slices = new DriverAffinityPartitioner(new LongestProcessingTimePartitioner()).partition(scenarios, 2);
+
+        assertThat(driversIn(slices.get(0)), is(singleton("chrome[--headless]")));
+        assertThat(driversIn(slices.get(1)), is(singleton("chrome")));
+    }
+
+    @Test
+    public void driverAffinityShouldSplitADriverBetweenSlicesToKeepThemBalanced() {
+        List<WeightedCucumberScenario> scenarios = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            scenarios.add(scenarioFor("@driver:chrome"));
+        }
+        scenarios.add(scenarioFor("@driver:firefox"));
+
+        List<List<WeightedCucumberScenario>> slices = new DriverAffinityPartitioner(new LongestProcessingTimePartitioner()).partition(scenarios, 2);
+
+        assertThat(slices.get(0), hasSize(4));
+        assertThat(driversIn(slices.get(0)), is(singleton("chrome")));
+        assertThat(driversIn(slices.get(1)), containsInAnyOrder("chrome", "firefox"));
+    }
+
+    @Test
+    public void driverAffinityShouldKeepSlicesWithinHalfAScenarioOfAnEvenSplit() {
+        Random random = new Random(11);
+        for (int run = 0; run < 20; run++) {
+            List<WeightedCucumberScenario> scenarios = new ArrayList<>();
+            BigDecimal heaviestScenario = BigDecimal.ZERO;
+            for (int i = 0; i < 200; i++) {
+                BigDecimal weight = BigDecimal.valueOf(1 + random.nextInt(100_000), 2);
+                heaviestScenario = heaviestScenario.max(weight);
+                scenarios.add(new WeightedCucumberScenario("test.feature", "feature", "scenario " + i, weight,
+                                                           singleton("@driver:browser-" + random.nextInt(4)), 1));
+            }
+            int sliceCount = 2 + random.nextInt(10);
+
+            List<List<WeightedCucumberScenario>> slices = new DriverAffinityPartitioner(new LongestProcessingTimePartitioner()).partition(scenarios, sliceCount);
+
+            BigDecimal evenSplit = new WeightedCucumberScenarios(scenarios).totalWeighting.divide(BigDecimal.valueOf(sliceCount), 6, BigDecimal.ROUND_HALF_UP);
+            assertThat(slices, hasSize(sliceCount));
+            assertThat(slices.stream().flatMap(List::stream).collect(toList()), containsInAnyOrder(scenarios.toArray()));
+            assertThat(heaviestSliceIn(slices), lessThanOrEqualTo(evenSplit.add(heaviestScenario)));
+        }
+    }
+
+    @Test
+    public void driverAffinityShouldLeaveScenariosThatAllAskForTheSameDriverToTheConfiguredPartitioner() {
+        List<WeightedCucumberScenario> scenarios = scenariosWeighing("3", "5", "4", "2", "2", "1.5");
+
+        List<List<WeightedCucumberScenario>> slices = new DriverAffinityPartitioner(new LongestProcessingTimePartitioner()).partition(scenarios, 2);
+
+        assertThat(slices, is(new LongestProcessingTimePartitioner().partition(scenarios, 2)));
+    }
+
+    @Test
+    public void driverAffinityShouldBeUsedWhenItIsConfigured() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.driver.affinity", "true");
+
+        assertThat(ScenarioPartitioner.from(environmentVariables), is(instanceOf(DriverAffinityPartitioner.class)));
+        assertThat(ScenarioPartitioner.from(new MockEnvironmentVariables()), is(instanceOf(LongestProcessingTimePartitioner.class)));
+    }
+
+    private static WeightedCucumberScenario scenarioFor(String... tags) {
+        Set<String> tagSet = new HashSet<>(asList(tags));
+        return new WeightedCucumberScenario("test.feature", "feature", "scenario tagged " + tagSet, BigDecimal.ONE, tagSet, 1);
+    }
+
+    private static Set<String> driversIn(List<WeightedCucumberScenario> slice) {
+        Set<String> drivers = new HashSet<>();
+        slice.forEach(scenario -> drivers.add(scenario.requestedDriverSession().map(Object::toString).orElse("default")));
+        return drivers;
+    }
+
+    private static List<WeightedCucumberScenario> scenariosWeighing(String... weights) {
+        return asList(weights).stream().map(weight -> scenarioWeighing(new BigDecimal(weight))).collect(toList());
+    }
+
+    private static WeightedCucumberScenario scenarioWeighing(BigDecimal weight) {
+        return new WeightedCucumberScenario("test.feature", "feature", "scenario weighing " + weight, weight, emptySet(), 1);
+    }
+
+    private static List<String> weightsOf(List<WeightedCucumberScenario> slice) {
+        return slice.stream().map(scenario -> scenario.weighting().toPlainString()).collect(toList());
+    }
+
+    private static BigDecimal heaviestSliceIn(List<List<WeightedCucumberScenario>> slices) {
+        return slices.stream()
+            .map(slice -> slice.stream().map(WeightedCucumberScenario::weighting).reduce(BigDecimal.ZERO, BigDecimal::add))
+            .max(BigDecimal::compareTo)
+            .orElse(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,34 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class ScenarioResultIndexTest {
+
+    @Test
+    public void durationForShouldReturnTheFirstResultForAScenario() {
+        ScenarioResultIndex index = ScenarioResultIndex.of(asList(
+            new TestScenarioResult("Feature", "Scenario", new BigDecimal("1.5")),
+            new TestScenarioResult("Feature", "Scenario", new BigDecimal("2.5"))));
+
+        assertThat(index.durationFor("Feature", "Scenario"), is(Optional.of(new BigDecimal("1.5"))));
+        assertThat(index.size(), is(1));
+    }
+
+    @Test
+    public void durationForShouldMatchBothFeatureAndScenarioNames() {
+        ScenarioResultIndex index = ScenarioResultIndex.of(asList(
+            new TestScenarioResult("A:B", "C", new BigDecimal("1")),
+            new TestScenarioResult("A", "B:C", new BigDecimal("2"))));
+
+        assertThat(index.durationFor("A:B", "C"), is(Optional.of(new BigDecimal("1"))));
+        assertThat(index.durationFor("A", "B:C"), is(Optional.of(new BigDecimal("2"))));
+        assertThat(index.durationFor("A", "C"), is(Optional.empty()));
+    }
+}
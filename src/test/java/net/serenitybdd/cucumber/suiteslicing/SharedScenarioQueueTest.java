@@ -0,0 +1,130 @@
+package net.serenitybdd.cucumber.suiteslicing;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class SharedScenarioQueueTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path queueDirectory;
+    private List<WeightedCucumberScenario> scenarios;
+
+    @Before
+    public void setup() throws IOException {
+        queueDirectory = temporaryFolder.newFolder("scenario-queue").toPath();
+        scenarios = IntStream.rangeClosed(1, 20)
+            .mapToObj(i -> new WeightedCucumberScenario("test.feature", "Feature", "Scenario " + i, BigDecimal.valueOf(i), Collections.emptySet(), 1))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void forksShouldTakeEachScenarioOnceInQueueOrder() throws IOException {
+        SharedScenarioQueue firstFork = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, 1, 2);
+        SharedScenarioQueue secondFork = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, 2, 2);
+
+        List<WeightedCucumberScenario> handedOut = new ArrayList<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            handedOut.add(((i % 3 == 0) ? secondFork : firstFork).next().get());
+        }
+
+        assertThat(handedOut, is(scenarios));
+        assertThat(firstFork.next(), is(Optional.empty()));
+        assertThat(secondFork.next(), is(Optional.empty()));
+    }
+
+    @Test
+    public void concurrentForksShouldNeverTakeTheSameScenario() throws Exception {
+        int forkCount = 4;
+        List<SharedScenarioQueue> forks = new ArrayList<>();
+        for (int forkNumber = 1; forkNumber <= forkCount; forkNumber++) {
+            forks.add(SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, forkNumber, forkCount));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(forkCount);
+        try {
+            List<Future<List<WeightedCucumberScenario>>> results = new ArrayList<>();
+            for (SharedScenarioQueue fork : forks) {
+                results.add(executor.submit(() -> {
+                    List<WeightedCucumberScenario> taken = new ArrayList<>();
+                    Optional<WeightedCucumberScenario> next;
+                    while ((next = fork.next()).isPresent()) {
+                        taken.add(next.get());
+                    }
+                    return taken;
+                }));
+            }
+            List<WeightedCucumberScenario> handedOut = new ArrayList<>();
+            for (Future<List<WeightedCucumberScenario>> result : results) {
+                handedOut.addAll(result.get());
+            }
+            assertThat(handedOut, containsInAnyOrder(scenarios.toArray()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void aNewRunShouldStartFromTheBeginningOfTheQueue() throws IOException {
+        SharedScenarioQueue previousRun = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, 1, 2);
+        while (previousRun.next().isPresent()) {
+            // Take every scenario
+        }
+
+        SharedScenarioQueue nextRun = SharedScenarioQueue.join(queueDirectory, "run", "build-2", scenarios, 1, 2);
+
+        assertThat(nextRun.next(), is(Optional.of(scenarios.get(0))));
+    }
+
+    @Test
+    public void aForkJoiningAgainInTheSameRunShouldNotRunScenariosTwice() throws IOException {
+        SharedScenarioQueue firstFork = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, 1, 2);
+        firstFork.next();
+        firstFork.next();
+
+        SharedScenarioQueue restartedFork = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, 1, 2);
+
+        assertThat(restartedFork.next(), is(Optional.of(scenarios.get(2))));
+    }
+
+    @Test
+    public void theLastScenarioOfEachFeatureShouldBeKnown() throws IOException {
+        WeightedCucumberScenario firstWidget = new WeightedCucumberScenario("widgets.feature", "Widgets", "First widget", BigDecimal.TEN, Collections.emptySet(), 1);
+        WeightedCucumberScenario gizmo = new WeightedCucumberScenario("gizmos.feature", "Gizmos", "Gizmo", BigDecimal.TEN, Collections.emptySet(), 1);
+        WeightedCucumberScenario lastWidget = new WeightedCucumberScenario("widgets.feature", "Widgets", "Last widget", BigDecimal.ONE, Collections.emptySet(), 1);
+        SharedScenarioQueue queue = SharedScenarioQueue.join(queueDirectory, "run", "build-1", Arrays.asList(firstWidget, gizmo, lastWidget), 1, 2);
+
+        assertThat(queue.isTheLastScenarioOfItsFeature(firstWidget), is(false));
+        assertThat(queue.isTheLastScenarioOfItsFeature(gizmo), is(true));
+        assertThat(queue.isTheLastScenarioOfItsFeature(lastWidget), is(true));
+    }
+
+    @Test
+    public void differentScenarioListsShouldUseDifferentQueues() throws IOException {
+        SharedScenarioQueue queue = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios, 1, 2);
+        SharedScenarioQueue otherQueue = SharedScenarioQueue.join(queueDirectory, "run", "build-1", scenarios.subList(0, 10), 1, 2);
+
+        assertThat(queue.getQueueFile(), is(not(otherQueue.getQueueFile())));
+    }
+}
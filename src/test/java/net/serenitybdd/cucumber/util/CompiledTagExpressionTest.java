@@ -0,0 +1,94 @@
+package net.serenitybdd.cucumber.util;
+
+import io.cucumber.tagexpressions.Expression;
+import io.cucumber.tagexpressions.TagExpressionException;
+import io.cucumber.tagexpressions.TagExpressionParser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CompiledTagExpressionTest {
+
+    private static final List<String> TAGS = asList("@smoke", "@wip", "@slow", "@web", "@api", "@manual");
+
+    private static final List<String> EXPRESSIONS = asList(
+            "",
+            "@smoke",
+            "not @wip",
+            "@smoke and @web",
+            "@smoke or @api",
+            "@smoke and not @wip",
+            "not @wip and @smoke or @api",
+            "@smoke or @api and @web",
+            "not @smoke or @wip and not @slow",
+            "not not @manual",
+            "(@smoke or @api) and not (@wip or @slow)",
+            "((@smoke)) and (not (@web and (@api or @manual)))",
+            "(not @wip) and (@smoke) and (@web or @api)"
+    );
+
+    @Test
+    public void shouldEvaluateEveryTagCombinationInTheSameWayAsCucumber() {
+        for (String infix : EXPRESSIONS) {
+            Expression cucumberExpression = new TagExpressionParser().parse(infix);
+            CompiledTagExpression compiledExpression = CompiledTagExpression.compile(infix);
+            for (int combination = 0; combination < (1 << TAGS.size()); combination++) {
+                List<String> tags = tagsIn(combination);
+                assertThat(infix + " with " + tags, compiledExpression.evaluate(tags), is(cucumberExpression.evaluate(tags)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldOnlyCompileEachExpressionOnce() {
+        assertThat(CompiledTagExpression.compile("@smoke and not @wip"), is(sameInstance(CompiledTagExpression.compile("@smoke and not @wip"))));
+    }
+
+    @Test
+    public void escapedParenthesesShouldBePartOfTheTagName() {
+        CompiledTagExpression expression = CompiledTagExpression.compile("@tag\\(1\\) or @other");
+        assertThat(expression.evaluate(asList("@tag(1)")), is(true));
+        assertThat(expression.evaluate(asList("@tag")), is(false));
+    }
+
+    @Test(expected = TagExpressionException.class)
+    public void invalidExpressionsShouldBeRejectedLikeCucumberDoes() {
+        CompiledTagExpression.compile("@smoke and or @wip");
+    }
+
+    @Test
+    public void shouldFilterALargeNumberOfTagSetsQuickly() {
+        CompiledTagExpression expression = TagParser.compileFromTagFilters(asList("not @wip", "@smoke or @api", "not @manual"));
+        Random random = new Random(42);
+        List<BitSet> tagSets = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            tagSets.add(TagDictionary.shared().tagSetOf(tagsIn(random.nextInt(1 << TAGS.size()))));
+        }
+
+        long start = System.nanoTime();
+        long matchingTagSets = tagSets.stream().filter(expression::evaluate).count();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(matchingTagSets > 0, is(true));
+        assertThat(elapsedMillis, lessThan(1000L));
+    }
+
+    private List<String> tagsIn(int combination) {
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < TAGS.size(); i++) {
+            if ((combination & (1 << i)) != 0) {
+                tags.add(TAGS.get(i));
+            }
+        }
+        return tags;
+    }
+}
@@ -0,0 +1,66 @@
+package net.serenitybdd.cucumber.util;
+
+import cucumber.runtime.model.CucumberFeature;
+import gherkin.events.PickleEvent;
+import net.serenitybdd.cucumber.model.FeatureCache;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+public class PickleScenariosTest {
+
+    private static final String FEATURE =
+        "Feature: Scenarios\n" +
+        "\n" +
+        "  Scenario: First scenario\n" +
+        "    Given a step\n" +
+        "\n" +
+        "  Scenario Outline: An outline\n" +
+        "    Given a step with <value>\n" +
+        "    Examples:\n" +
+        "      | value |\n" +
+        "      | 1     |\n" +
+        "      | 2     |\n" +
+        "    Examples:\n" +
+        "      | value |\n" +
+        "      | 3     |\n";
+
+    @Test
+    public void theScenarioLineOfAnExampleShouldBeTheLineOfItsOutline() {
+        List<PickleEvent> pickleEvents = pickleEventsIn("file:/scenarios/first.feature");
+
+        assertThat(pickleEvents.stream().map(PickleScenarios::scenarioLineOf).collect(toList()), contains(3, 6, 6, 6));
+    }
+
+    @Test
+    public void picklesShouldBeGroupedByFeatureAndScenarioInTheOrderOfTheirFirstPickle() {
+        List<PickleEvent> firstFeature = pickleEventsIn("file:/scenarios/first.feature");
+        List<PickleEvent> secondFeature = pickleEventsIn("file:/scenarios/second.feature");
+        List<PickleEvent> pickleEvents = new ArrayList<>();
+        pickleEvents.add(firstFeature.get(1));
+        pickleEvents.add(secondFeature.get(1));
+        pickleEvents.add(firstFeature.get(0));
+        pickleEvents.add(firstFeature.get(3));
+        pickleEvents.add(secondFeature.get(2));
+
+        List<List<String>> scenarios = PickleScenarios.groupedByScenario(pickleEvents, pickleEvent -> pickleEvent).stream()
+            .map(scenario -> scenario.stream().map(pickleEvent -> pickleEvent.uri + ":" + pickleEvent.pickle.getName()).collect(toList()))
+            .collect(toList());
+
+        assertThat(scenarios, contains(
+            contains("file:/scenarios/first.feature:An outline", "file:/scenarios/first.feature:An outline"),
+            contains("file:/scenarios/second.feature:An outline", "file:/scenarios/second.feature:An outline"),
+            contains("file:/scenarios/first.feature:First scenario")));
+    }
+
+    private static List<PickleEvent> pickleEventsIn(String uri) {
+        CucumberFeature feature = new FeatureCache().featureFrom(URI.create(uri), FEATURE);
+        return feature.getPickles();
+    }
+}
@@ -0,0 +1,69 @@
+package net.serenitybdd.cucumber.util;
+
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class ScenarioThreadsTest {
+
+    @Test
+    public void scenariosShouldRunOneAfterTheOtherByDefault() {
+        ScenarioThreads scenarioThreads = ScenarioThreads.from(new MockEnvironmentVariables());
+
+        assertThat(scenarioThreads.areParallel(), is(false));
+        assertThat(scenarioThreads.concurrencyLimit(), is(1));
+    }
+
+    @Test
+    public void scenariosShouldRunInParallelOnTheConfiguredNumberOfPlatformThreads() throws Exception {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.scenario.threads", "4");
+
+        ScenarioThreads scenarioThreads = ScenarioThreads.from(environmentVariables);
+
+        assertThat(scenarioThreads.areParallel(), is(true));
+        assertThat(scenarioThreads.areVirtual(), is(false));
+        assertThat(scenarioThreads.concurrencyLimit(), is(4));
+        assertThat(threadNameUsedBy(scenarioThreads), startsWith("serenity-scenario-"));
+    }
+
+    @Test
+    public void virtualThreadsShouldBeLimitedByTheVirtualThreadLimitWhenTheyAreSupported() throws Exception {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("serenity.cucumber.scenario.threads", "2");
+        environmentVariables.setProperty("serenity.cucumber.virtual.threads", "true");
+        environmentVariables.setProperty("serenity.cucumber.virtual.thread.limit", "1000");
+
+        ScenarioThreads scenarioThreads = ScenarioThreads.from(environmentVariables);
+
+        assertThat(scenarioThreads.areParallel(), is(true));
+        assertThat(scenarioThreads.areVirtual(), is(VirtualThreads.areSupported()));
+        assertThat(scenarioThreads.concurrencyLimit(), is(VirtualThreads.areSupported() ? 1000 : 2));
+        assertThat(threadNameUsedBy(scenarioThreads), startsWith(VirtualThreads.areSupported() ? "serenity-scenario-virtual-" : "serenity-scenario-"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theVirtualThreadLimitShouldBePositive() {
+        new ScenarioThreads(1, true, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void theNumberOfScenarioThreadsShouldBePositive() {
+        new ScenarioThreads(0, false, 1);
+    }
+
+    private String threadNameUsedBy(ScenarioThreads scenarioThreads) throws Exception {
+        ExecutorService executor = scenarioThreads.newExecutor();
+        try {
+            return executor.submit(() -> Thread.currentThread().getName()).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
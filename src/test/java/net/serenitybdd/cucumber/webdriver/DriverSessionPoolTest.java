@@ -0,0 +1,207 @@
+package net.serenitybdd.cucumber.webdriver;
+
+import net.serenitybdd.cucumber.metrics.RunMetrics;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import net.thucydides.core.webdriver.DriverSource;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class DriverSessionPoolTest {
+
+    private static final DriverSessionKey CHROME = DriverSessionKey.of("chrome", "");
+
+    private final List<FakeWebDriver> startedSessions = new CopyOnWriteArrayList<>();
+    private final Function<DriverSessionKey, WebDriver> sessionFactory = key -> {
+        FakeWebDriver session = new FakeWebDriver();
+        startedSessions.add(session);
+        return session;
+    };
+    private final RunMetrics runMetrics = new RunMetrics();
+
+    @Test
+    public void aQuitSessionShouldBeClearedAndReusedByTheNextScenarioAskingForTheSameDriver() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        pool.acquire(CHROME).quit();
+        pool.acquire(CHROME);
+
+        assertThat(startedSessions, hasSize(1));
+        assertThat(startedSessions.get(0).hasQuit(), is(false));
+        assertThat(startedSessions.get(0).calls, hasItems("deleteAllCookies", "executeScript", "to[about:blank]"));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_requests_total{driver=\"chrome\",result=\"miss\"}"), is(1.0));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_requests_total{driver=\"chrome\",result=\"hit\"}"), is(1.0));
+    }
+
+    @Test
+    public void sessionsWithDifferentDriverOptionsShouldNotBeShared() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        pool.acquire(CHROME).quit();
+        pool.acquire(DriverSessionKey.of("Chrome", "--headless"));
+
+        assertThat(startedSessions, hasSize(2));
+    }
+
+    @Test
+    public void extraWindowsShouldBeClosedBeforeASessionIsReused() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        WebDriver driver = pool.acquire(CHROME);
+        startedSessions.get(0).windows.add("popup");
+        driver.quit();
+
+        assertThat(startedSessions.get(0).windows, hasSize(1));
+        assertThat(startedSessions.get(0).calls, hasItems("close popup"));
+    }
+
+    @Test
+    public void closingTheLastWindowShouldReturnTheSessionToThePool() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        pool.acquire(CHROME).close();
+        pool.acquire(CHROME);
+
+        assertThat(startedSessions, hasSize(1));
+        assertThat(startedSessions.get(0).windows, hasSize(1));
+    }
+
+    @Test(expected = WebDriverException.class)
+    public void aSessionShouldNotBeUsedAfterItHasBeenReturnedToThePool() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        WebDriver driver = pool.acquire(CHROME);
+        driver.quit();
+        driver.get("http://example.org");
+    }
+
+    @Test
+    public void aSessionThatDiedInThePoolShouldBeReplacedByANewOne() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        pool.acquire(CHROME).quit();
+        startedSessions.get(0).crash();
+        pool.acquire(CHROME);
+
+        assertThat(startedSessions, hasSize(2));
+        assertThat(startedSessions.get(0).hasQuit(), is(true));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_discarded_sessions_total{driver=\"chrome\",reason=\"unhealthy\"}"), is(1.0));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_requests_total{driver=\"chrome\",result=\"miss\"}"), is(2.0));
+    }
+
+    @Test
+    public void sessionsBeyondThePoolSizeShouldBeQuitWhenReleased() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics);
+
+        WebDriver first = pool.acquire(CHROME);
+        WebDriver second = pool.acquire(CHROME);
+        first.quit();
+        second.quit();
+
+        assertThat(startedSessions.get(0).hasQuit(), is(true));
+        assertThat(startedSessions.get(1).hasQuit(), is(false));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_discarded_sessions_total{driver=\"chrome\",reason=\"pool_full\"}"), is(1.0));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_idle_sessions"), is(1.0));
+    }
+
+    @Test
+    public void aPreWarmingPoolShouldStartTheNextSessionInTheBackground() throws InterruptedException {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 2, true, CHROME, runMetrics);
+
+        pool.acquire(CHROME);
+        for (int attempt = 0; attempt < 100 && runMetrics.getSamples().get("serenity_cucumber_driver_pool_idle_sessions") < 1; attempt++) {
+            Thread.sleep(20);
+        }
+        pool.acquire(CHROME);
+
+        assertThat(startedSessions, hasSize(2));
+        assertThat(runMetrics.getSamples().get("serenity_cucumber_driver_pool_requests_total{driver=\"chrome\",result=\"hit\"}"), is(1.0));
+        pool.shutdown();
+    }
+
+    @Test
+    public void shuttingDownThePoolShouldQuitItsIdleSessions() {
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 2, false, CHROME, runMetrics);
+
+        WebDriver inUse = pool.acquire(CHROME);
+        pool.acquire(CHROME).quit();
+        pool.shutdown();
+
+        assertThat(startedSessions.get(1).hasQuit(), is(true));
+        assertThat(startedSessions.get(0).hasQuit(), is(false));
+
+        inUse.quit();
+
+        assertThat(startedSessions.get(0).hasQuit(), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thePoolShouldKeepAtLeastOneSessionPerDriver() {
+        new DriverSessionPool(sessionFactory, 0, false, CHROME, runMetrics);
+    }
+
+    @Test
+    public void thePoolShouldOnlyBeTheProvidedDriverWhileItIsActive() {
+        EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("webdriver.provided.type", "mydriver");
+        environmentVariables.setProperty("webdriver.provided.mydriver", FakeDriverSource.class.getName());
+        DriverSessionPool.ProvidedDriverOverride providedDriverOverride = new DriverSessionPool.ProvidedDriverOverride(environmentVariables);
+        DriverSessionPool pool = new DriverSessionPool(sessionFactory, 1, false, CHROME, runMetrics, providedDriverOverride);
+
+        assertThat(environmentVariables.getProperty("webdriver.provided.type"), is("mydriver"));
+
+        pool.activate();
+
+        assertThat(environmentVariables.getProperty("webdriver.provided.type"), is(DriverSessionPool.PROVIDED_DRIVER_TYPE));
+        assertThat(environmentVariables.getProperty("webdriver.provided." + DriverSessionPool.PROVIDED_DRIVER_TYPE), is(PooledDriverSource.class.getName()));
+
+        pool.shutdown();
+
+        assertThat(environmentVariables.getProperty("webdriver.provided.type"), is("mydriver"));
+        assertThat(environmentVariables.getProperty("webdriver.provided." + DriverSessionPool.PROVIDED_DRIVER_TYPE), is(nullValue()));
+        assertThat(providedDriverOverride.originalDriverSource(), is(Optional.of(FakeDriverSource.class.getName())));
+    }
+
+    @Test
+    public void providedDriverSessionsShouldComeFromTheDriverSourceConfiguredBeforeThePool() {
+        EnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("webdriver.provided.type", "mydriver");
+        environmentVariables.setProperty("webdriver.provided.mydriver", FakeDriverSource.class.getName());
+        DriverSessionPool.ProvidedDriverOverride providedDriverOverride = new DriverSessionPool.ProvidedDriverOverride(environmentVariables);
+        providedDriverOverride.apply();
+
+        SerenityDriverSessions sessions = new SerenityDriverSessions(environmentVariables, providedDriverOverride.originalDriverSource());
+
+        assertThat(sessions.apply(DriverSessionKey.of("provided", "")), instanceOf(FakeWebDriver.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void theProvidedDriverShouldNotBeRequestedWithoutADriverSource() {
+        new SerenityDriverSessions(new MockEnvironmentVariables(), Optional.empty()).apply(DriverSessionKey.of("provided", ""));
+    }
+
+    public static class FakeDriverSource implements DriverSource {
+        @Override
+        public WebDriver newDriver() {
+            return new FakeWebDriver();
+        }
+
+        @Override
+        public boolean takesScreenshots() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package net.serenitybdd.cucumber.webdriver;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A stand-in for a browser session, which records the calls made to it rather than driving a browser.
+ */
+class FakeWebDriver implements WebDriver, JavascriptExecutor {
+
+    final List<String> calls = new ArrayList<>();
+    final Set<String> windows = new LinkedHashSet<>(Arrays.asList("main"));
+    private String currentWindow = "main";
+    private boolean alive = true;
+
+    void crash() {
+        alive = false;
+    }
+
+    boolean hasQuit() {
+        return calls.contains("quit");
+    }
+
+    private void record(String call) {
+        if (!alive) {
+            throw new NoSuchSessionException("The session has gone");
+        }
+        calls.add(call);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T recording(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            record(method.getName() + ((args == null) ? "" : Arrays.asList(args)));
+            if (method.getName().equals("window")) {
+                currentWindow = (String) args[0];
+                return this;
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void get(String url) {
+        record("get " + url);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        record("getCurrentUrl");
+        return "about:blank";
+    }
+
+    @Override
+    public String getTitle() {
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        return null;
+    }
+
+    @Override
+    public String getPageSource() {
+        return "";
+    }
+
+    @Override
+    public void close() {
+        record("close " + currentWindow);
+        windows.remove(currentWindow);
+    }
+
+    @Override
+    public void quit() {
+        calls.add("quit");
+        alive = false;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        record("getWindowHandles");
+        return new LinkedHashSet<>(windows);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        return currentWindow;
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        return recording(TargetLocator.class);
+    }
+
+    @Override
+    public Navigation navigate() {
+        return recording(Navigation.class);
+    }
+
+    @Override
+    public Options manage() {
+        return recording(Options.class);
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        record("executeScript");
+        return null;
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return null;
+    }
+}
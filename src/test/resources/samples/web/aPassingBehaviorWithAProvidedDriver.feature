@@ -0,0 +1,11 @@
+@driver:provided
+Feature: A feature that uses a provided driver
+
+Scenario: A scenario that uses a provided driver
+   Given I have opened the provided browser
+   When I look at the page in the provided browser
+   Then the page in the provided browser should be blank
+
+Scenario: Another scenario that uses a provided driver
+   Given I have opened the provided browser
+   Then the page in the provided browser should be blank